@@ -0,0 +1,386 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.DrawingSupplier;
+import org.jfree.chart.plot.PiePlot;
+import org.jfree.chart.plot.Plot;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.title.LegendTitle;
+import org.jfree.chart.title.Title;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ObjectUtils;
+import org.jfree.data.category.CategoryDataset;
+import org.jfree.data.general.Dataset;
+import org.jfree.data.general.PieDataset;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A template for rendering many charts that share the same configuration
+ * but show different data, for example in a server that renders charts
+ * for concurrent requests.  The template takes a private copy of a
+ * configured chart (applying a theme, if one is supplied, just once) and
+ * then draws that configuration with the dataset supplied for each
+ * request:
+ * <pre>
+ * ChartTemplate template = new ChartTemplate(ChartFactory.createXYLineChart(
+ *         "Title", "X", "Y", null));
+ * ...
+ * BufferedImage image = template.createBufferedImage(dataset, 600, 400);
+ * </pre>
+ * The template cannot be modified once it is created, and it is safe to use
+ * from multiple threads.  Each thread that draws with the template gets
+ * its own copy of the chart, which is created (by cloning) the first time
+ * the thread draws and then reused for every later drawing on that thread.
+ * Pool threads keep their copy for as long as they live;  call
+ * {@link #dispose()} on a thread to release its copy earlier.
+ * For each drawing the dataset is bound to the primary dataset slot
+ * (index 0) of the thread's copy of the plot.  Binding registers the plot
+ * as a listener with the dataset for the duration of the drawing (so the
+ * dataset's listener list is updated twice per drawing, and a dataset
+ * shared by concurrent drawings has one listener per drawing).  Once the
+ * drawing is finished the dataset is unbound, so the template does not keep
+ * a reference to it or stay registered as a listener.  The copies do not
+ * send change events.
+ * <p>
+ * The template supports charts whose plot is an {@link XYPlot},
+ * {@link CategoryPlot} or {@link PiePlot}.  Pie section paints that are
+ * assigned automatically during a drawing are discarded afterwards, so
+ * each drawing assigns them in the same way as a new chart would.  The
+ * template's own copy of the chart holds the configured section
+ * attributes, and a thread's copy is restored from it only after a
+ * drawing that assigned new ones (detected from the state of the drawing
+ * supplier).  Any datasets at other indices in the original chart are
+ * shared, read-only, by all the copies.  The copies are not registered as
+ * listeners with these datasets (so they do not keep the copies reachable),
+ * and changes to them are picked up when the next drawing binds its
+ * dataset.  Legends that take their items from the plot are redirected to
+ * the plot of each copy.
+ *
+ * @since 1.5.1
+ */
+public class ChartTemplate {
+
+    /** The private, unbound copy of the chart that is cloned per thread. */
+    private final JFreeChart prototype;
+
+    /** The copy of the chart for each thread. */
+    private final ThreadLocal<JFreeChart> charts;
+
+    /**
+     * Creates a new template from a chart.  The chart is copied, so later
+     * changes to it do not affect the template.
+     *
+     * @param chart  the chart ({@code null} not permitted).
+     *
+     * @throws CloneNotSupportedException if the chart cannot be cloned.
+     */
+    public ChartTemplate(JFreeChart chart) throws CloneNotSupportedException {
+        this(chart, null);
+    }
+
+    /**
+     * Creates a new template from a chart and applies a theme to the
+     * template's copy of the chart.  The chart is copied, so later changes
+     * to it do not affect the template.
+     *
+     * @param chart  the chart ({@code null} not permitted).
+     * @param theme  the theme ({@code null} permitted, in which case the
+     *     chart is used as it is).
+     *
+     * @throws CloneNotSupportedException if the chart cannot be cloned.
+     */
+    public ChartTemplate(JFreeChart chart, ChartTheme theme)
+            throws CloneNotSupportedException {
+        Args.nullNotPermitted(chart, "chart");
+        JFreeChart copy = (JFreeChart) chart.clone();
+        Plot plot = copy.getPlot();
+        checkPlot(plot);
+        retargetLegends(copy, chart.getPlot());
+        bind(plot, null);
+        detachDatasets(plot);
+        if (theme != null) {
+            theme.apply(copy);
+        }
+        copy.setNotify(false);
+        this.prototype = copy;
+        this.charts = new ThreadLocal<JFreeChart>() {
+            @Override
+            protected JFreeChart initialValue() {
+                return createInstance();
+            }
+        };
+    }
+
+    /**
+     * Draws the chart with the specified dataset.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     * @param g2  the graphics device ({@code null} not permitted).
+     * @param area  the area within which the chart should be drawn
+     *     ({@code null} not permitted).
+     */
+    public void draw(Dataset dataset, Graphics2D g2, Rectangle2D area) {
+        draw(dataset, g2, area, null);
+    }
+
+    /**
+     * Draws the chart with the specified dataset.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     * @param g2  the graphics device ({@code null} not permitted).
+     * @param area  the area within which the chart should be drawn
+     *     ({@code null} not permitted).
+     * @param info  records info about the drawing (null means collect no
+     *     info).
+     */
+    public void draw(Dataset dataset, Graphics2D g2, Rectangle2D area,
+            ChartRenderingInfo info) {
+        JFreeChart chart = this.charts.get();
+        Plot plot = chart.getPlot();
+        bind(plot, dataset);
+        try {
+            chart.draw(g2, area, null, info);
+        }
+        finally {
+            unbind(plot);
+        }
+    }
+
+    /**
+     * Creates and returns a buffered image into which the chart has been
+     * drawn with the specified dataset.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     * @param width  the width.
+     * @param height  the height.
+     *
+     * @return A buffered image.
+     */
+    public BufferedImage createBufferedImage(Dataset dataset, int width,
+            int height) {
+        return createBufferedImage(dataset, width, height, null);
+    }
+
+    /**
+     * Creates and returns a buffered image into which the chart has been
+     * drawn with the specified dataset.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     * @param width  the width.
+     * @param height  the height.
+     * @param info  carries back chart state information ({@code null}
+     *     permitted).
+     *
+     * @return A buffered image.
+     */
+    public BufferedImage createBufferedImage(Dataset dataset, int width,
+            int height, ChartRenderingInfo info) {
+        JFreeChart chart = this.charts.get();
+        Plot plot = chart.getPlot();
+        bind(plot, dataset);
+        try {
+            return chart.createBufferedImage(width, height, info);
+        }
+        finally {
+            unbind(plot);
+        }
+    }
+
+    /**
+     * Releases the copy of the chart held for the calling thread.  Threads
+     * from a pool that will not draw with this template again can call this
+     * method so that they do not keep their copy for as long as they live.
+     * If the thread draws with the template later, a new copy is created.
+     */
+    public void dispose() {
+        this.charts.remove();
+    }
+
+    /**
+     * Creates a copy of the prototype chart for the current thread.
+     *
+     * @return A copy of the chart.
+     */
+    private JFreeChart createInstance() {
+        JFreeChart chart;
+        synchronized (this.prototype) {
+            try {
+                chart = (JFreeChart) this.prototype.clone();
+            }
+            catch (CloneNotSupportedException e) {
+                // the prototype was itself created by cloning, so this
+                // should not happen
+                throw new RuntimeException(e);
+            }
+        }
+        retargetLegends(chart, this.prototype.getPlot());
+        detachDatasets(chart.getPlot());
+        return chart;
+    }
+
+    /**
+     * Removes the dataset from a plot after drawing and, for a pie plot,
+     * discards the section attributes assigned during the drawing.  The
+     * pie plot assigns section attributes only from its drawing supplier,
+     * so if the supplier is still equal to the prototype's there is nothing
+     * to discard.
+     *
+     * @param plot  the plot (from the current thread's chart).
+     */
+    private void unbind(Plot plot) {
+        bind(plot, null);
+        if (plot instanceof PiePlot) {
+            PiePlot prototypePlot = (PiePlot) this.prototype.getPlot();
+            if (ObjectUtils.equal(plot.getDrawingSupplier(),
+                    prototypePlot.getDrawingSupplier())) {
+                return;
+            }
+            ((PiePlot) plot).copySectionAttributes(prototypePlot);
+            try {
+                plot.setDrawingSupplier((DrawingSupplier) ObjectUtils.clone(
+                        prototypePlot.getDrawingSupplier()), false);
+            }
+            catch (CloneNotSupportedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Points the legends of a chart that take their items from
+     * {@code plot} at the chart's own plot.
+     *
+     * @param chart  the chart.
+     * @param plot  the plot that the chart was copied from.
+     */
+    private static void retargetLegends(JFreeChart chart, Plot plot) {
+        for (int i = 0; i < chart.getSubtitleCount(); i++) {
+            Title title = chart.getSubtitle(i);
+            if (title instanceof LegendTitle) {
+                LegendTitle legend = (LegendTitle) title;
+                LegendItemSource[] sources = legend.getSources();
+                LegendItemSource[] updated = null;
+                for (int s = 0; s < sources.length; s++) {
+                    if (sources[s] == plot) {
+                        if (updated == null) {
+                            updated = (LegendItemSource[]) sources.clone();
+                        }
+                        updated[s] = chart.getPlot();
+                    }
+                }
+                if (updated != null) {
+                    legend.setSources(updated);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a plot from the listeners of its datasets.  A cloned plot
+     * registers with the same datasets as the original, so without this
+     * every copy of the chart would stay reachable from the datasets at
+     * other indices for as long as they exist.  The copies do not need the
+     * events: binding a dataset for each drawing configures the axes for
+     * all the datasets again.
+     *
+     * @param plot  the plot.
+     */
+    private static void detachDatasets(Plot plot) {
+        Collection<? extends Dataset> datasets;
+        if (plot instanceof XYPlot) {
+            datasets = ((XYPlot) plot).getDatasets().values();
+        }
+        else if (plot instanceof CategoryPlot) {
+            datasets = ((CategoryPlot) plot).getDatasets().values();
+        }
+        else {
+            return;  // a pie plot has only the primary dataset
+        }
+        for (Dataset dataset : datasets) {
+            if (dataset != null) {
+                dataset.removeChangeListener(plot);
+            }
+        }
+    }
+
+    /**
+     * Checks that the template supports a plot.
+     *
+     * @param plot  the plot ({@code null} permitted).
+     */
+    private static void checkPlot(Plot plot) {
+        if (!(plot instanceof XYPlot || plot instanceof CategoryPlot
+                || plot instanceof PiePlot)) {
+            throw new IllegalArgumentException("Requires a chart with an "
+                    + "XYPlot, CategoryPlot or PiePlot.");
+        }
+    }
+
+    /**
+     * Sets the primary dataset of a plot.
+     *
+     * @param plot  the plot.
+     * @param dataset  the dataset ({@code null} permitted).
+     */
+    private static void bind(Plot plot, Dataset dataset) {
+        if (plot instanceof XYPlot) {
+            checkDataset(dataset, XYDataset.class);
+            ((XYPlot) plot).setDataset((XYDataset) dataset);
+        }
+        else if (plot instanceof CategoryPlot) {
+            checkDataset(dataset, CategoryDataset.class);
+            ((CategoryPlot) plot).setDataset((CategoryDataset) dataset);
+        }
+        else {
+            checkDataset(dataset, PieDataset.class);
+            ((PiePlot) plot).setDataset((PieDataset) dataset);
+        }
+    }
+
+    /**
+     * Checks that a dataset has the type required by the plot.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     * @param type  the required type.
+     */
+    private static void checkDataset(Dataset dataset, Class type) {
+        if (dataset != null && !type.isInstance(dataset)) {
+            throw new IllegalArgumentException("Requires a dataset of type "
+                    + type.getName() + ".");
+        }
+    }
+
+}
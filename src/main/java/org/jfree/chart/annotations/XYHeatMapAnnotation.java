@@ -0,0 +1,505 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.annotations;
+
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+import org.jfree.chart.HashUtils;
+import org.jfree.chart.axis.AxisLocation;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.Plot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.PaintScale;
+import org.jfree.chart.renderer.ShapeStampCache;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ObjectUtils;
+import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.Range;
+import org.jfree.data.general.Dataset;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.general.HeatMapChangeEvent;
+import org.jfree.data.general.HeatMapDataset;
+import org.jfree.data.general.HeatMapUtils;
+
+/**
+ * An annotation that draws a {@link HeatMapDataset} as an image on an
+ * {@link XYPlot}, covering the x- and y-ranges of the dataset.  Unlike an
+ * {@link XYDataImageAnnotation} holding an image created by
+ * {@link HeatMapUtils#createHeatMapImage(HeatMapDataset, PaintScale)},
+ * this annotation listens for changes to the dataset and keeps its image
+ * up to date:  for a {@link HeatMapChangeEvent} (as sent by
+ * {@link org.jfree.data.general.TiledHeatMapDataset}) only the region that
+ * changed is redrawn, and appended rows scroll the existing image, so a
+ * large waterfall display costs one row of pixels per update.  Other
+ * change events rebuild the whole image.  The image is brought up to date
+ * when the annotation is next drawn, so several changes between two
+ * repaints are handled together.  Call {@link #dispose()} when the
+ * annotation is no longer required but the dataset will continue to be
+ * used, otherwise the dataset keeps a reference to the annotation.  On
+ * vector targets (such as SVG or PDF
+ * generators) the cells are drawn as separate rectangles instead of an
+ * image.
+ *
+ * @since 1.5.1
+ */
+public class XYHeatMapAnnotation extends AbstractXYAnnotation
+        implements DatasetChangeListener, Cloneable, PublicCloneable,
+        XYAnnotationBoundsInfo {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -4315087409640367723L;
+
+    /** The dataset. */
+    private HeatMapDataset dataset;
+
+    /** The paint scale for the z-values. */
+    private PaintScale paintScale;
+
+    /**
+     * A flag indicating whether or not the annotation should contribute to
+     * the data range for a plot/renderer.
+     */
+    private boolean includeInDataBounds;
+
+    /** The image (created when the annotation is first drawn). */
+    private transient BufferedImage image;
+
+    /** A flag that indicates that the whole image must be redrawn. */
+    private transient boolean invalid;
+
+    /**
+     * A flag that indicates that the annotation is registered to receive
+     * change events from the dataset.
+     */
+    private transient boolean listening;
+
+    /** The first x-index of the region to redraw. */
+    private transient int dirtyX0;
+
+    /** The first y-index of the region to redraw. */
+    private transient int dirtyY0;
+
+    /** The x-index after the region to redraw. */
+    private transient int dirtyX1;
+
+    /** The y-index after the region to redraw. */
+    private transient int dirtyY1;
+
+    /** The number of rows by which the image must be scrolled. */
+    private transient int dirtyShift;
+
+    /**
+     * Creates a new annotation.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param paintScale  the paint scale ({@code null} not permitted).
+     */
+    public XYHeatMapAnnotation(HeatMapDataset dataset,
+            PaintScale paintScale) {
+        this(dataset, paintScale, false);
+    }
+
+    /**
+     * Creates a new annotation.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param paintScale  the paint scale ({@code null} not permitted).
+     * @param includeInDataBounds  a flag that controls whether or not the
+     *     annotation is included in the data bounds for the axis autoRange.
+     */
+    public XYHeatMapAnnotation(HeatMapDataset dataset, PaintScale paintScale,
+            boolean includeInDataBounds) {
+        super();
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(paintScale, "paintScale");
+        this.dataset = dataset;
+        this.paintScale = paintScale;
+        this.includeInDataBounds = includeInDataBounds;
+        this.invalid = true;
+        listen();
+    }
+
+    /**
+     * Registers this annotation with the dataset, if the dataset sends
+     * change events.
+     */
+    private void listen() {
+        if (this.dataset instanceof Dataset) {
+            ((Dataset) this.dataset).addChangeListener(this);
+            this.listening = true;
+        }
+    }
+
+    /**
+     * Stops listening for changes to the dataset and releases the image.
+     * Call this method when the annotation is no longer required but the
+     * dataset will continue to be used.  If the annotation is drawn again,
+     * the image is rebuilt from the dataset every time it is drawn.
+     */
+    public void dispose() {
+        if (this.listening) {
+            ((Dataset) this.dataset).removeChangeListener(this);
+            this.listening = false;
+        }
+        this.image = null;
+        this.invalid = true;
+    }
+
+    /**
+     * Returns the dataset.
+     *
+     * @return The dataset (never {@code null}).
+     */
+    public HeatMapDataset getDataset() {
+        return this.dataset;
+    }
+
+    /**
+     * Returns the paint scale.
+     *
+     * @return The paint scale (never {@code null}).
+     */
+    public PaintScale getPaintScale() {
+        return this.paintScale;
+    }
+
+    /**
+     * Sets the paint scale and sends an {@link AnnotationChangeEvent} to all
+     * registered listeners.
+     *
+     * @param scale  the paint scale ({@code null} not permitted).
+     */
+    public void setPaintScale(PaintScale scale) {
+        Args.nullNotPermitted(scale, "scale");
+        this.paintScale = scale;
+        this.invalid = true;
+        fireAnnotationChanged();
+    }
+
+    /**
+     * Returns the flag that controls whether or not the annotation should
+     * contribute to the autoRange for the axis it is plotted against.
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean getIncludeInDataBounds() {
+        return this.includeInDataBounds;
+    }
+
+    /**
+     * Returns the x-range for the annotation.
+     *
+     * @return The range.
+     */
+    @Override
+    public Range getXRange() {
+        return new Range(this.dataset.getMinimumXValue(),
+                this.dataset.getMaximumXValue());
+    }
+
+    /**
+     * Returns the y-range for the annotation.
+     *
+     * @return The range.
+     */
+    @Override
+    public Range getYRange() {
+        return new Range(this.dataset.getMinimumYValue(),
+                this.dataset.getMaximumYValue());
+    }
+
+    /**
+     * Receives notification of a change to the dataset, records the part of
+     * the image that must be redrawn and sends an
+     * {@link AnnotationChangeEvent} to all registered listeners.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        if (event instanceof HeatMapChangeEvent && !this.invalid) {
+            HeatMapChangeEvent e = (HeatMapChangeEvent) event;
+            int shift = e.getYShift();
+            if (shift > 0) {
+                this.dirtyShift += shift;
+                if (this.dirtyY1 > 0) {
+                    this.dirtyY0 = Math.max(this.dirtyY0 - shift, 0);
+                    this.dirtyY1 = Math.max(this.dirtyY1 - shift, 0);
+                }
+            }
+            if (e.getWidth() > 0 && e.getHeight() > 0) {
+                if (this.dirtyY1 > this.dirtyY0) {
+                    this.dirtyX0 = Math.min(this.dirtyX0, e.getXIndex());
+                    this.dirtyY0 = Math.min(this.dirtyY0, e.getYIndex());
+                    this.dirtyX1 = Math.max(this.dirtyX1,
+                            e.getXIndex() + e.getWidth());
+                    this.dirtyY1 = Math.max(this.dirtyY1,
+                            e.getYIndex() + e.getHeight());
+                }
+                else {
+                    this.dirtyX0 = e.getXIndex();
+                    this.dirtyY0 = e.getYIndex();
+                    this.dirtyX1 = e.getXIndex() + e.getWidth();
+                    this.dirtyY1 = e.getYIndex() + e.getHeight();
+                }
+            }
+        }
+        else {
+            this.invalid = true;
+        }
+        fireAnnotationChanged();
+    }
+
+    /**
+     * Brings the image up to date with the dataset.
+     */
+    private void updateImage() {
+        int w = this.dataset.getXSampleCount();
+        int h = this.dataset.getYSampleCount();
+        if (!this.listening || this.image == null
+                || this.image.getWidth() != w || this.image.getHeight() != h
+                || this.dirtyShift >= h) {
+            this.invalid = true;
+        }
+        if (this.invalid) {
+            this.image = HeatMapUtils.createHeatMapImage(this.dataset,
+                    this.paintScale);
+        }
+        else {
+            HeatMapUtils.scrollHeatMapImage(this.image, this.dirtyShift);
+            HeatMapUtils.updateHeatMapImage(this.dataset, this.paintScale,
+                    this.image, this.dirtyX0, this.dirtyY0,
+                    this.dirtyX1 - this.dirtyX0,
+                    this.dirtyY1 - this.dirtyY0);
+        }
+        this.invalid = false;
+        this.dirtyX0 = 0;
+        this.dirtyY0 = 0;
+        this.dirtyX1 = 0;
+        this.dirtyY1 = 0;
+        this.dirtyShift = 0;
+    }
+
+    /**
+     * Draws the annotation.  This method is called by the drawing code in the
+     * {@link XYPlot} class, you don't normally need to call this method
+     * directly.
+     *
+     * @param g2  the graphics device.
+     * @param plot  the plot.
+     * @param dataArea  the data area.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param rendererIndex  the renderer index.
+     * @param info  if supplied, this info object will be populated with
+     *              entity information.
+     */
+    @Override
+    public void draw(Graphics2D g2, XYPlot plot, Rectangle2D dataArea,
+            ValueAxis domainAxis, ValueAxis rangeAxis, int rendererIndex,
+            PlotRenderingInfo info) {
+
+        PlotOrientation orientation = plot.getOrientation();
+        AxisLocation xAxisLocation = plot.getDomainAxisLocation();
+        AxisLocation yAxisLocation = plot.getRangeAxisLocation();
+        RectangleEdge xEdge = Plot.resolveDomainAxisLocation(xAxisLocation,
+                orientation);
+        RectangleEdge yEdge = Plot.resolveRangeAxisLocation(yAxisLocation,
+                orientation);
+        double x0 = domainAxis.valueToJava2D(this.dataset.getMinimumXValue(),
+                dataArea, xEdge);
+        double x1 = domainAxis.valueToJava2D(this.dataset.getMaximumXValue(),
+                dataArea, xEdge);
+        // the top row of the image holds the highest y-values
+        double y0 = rangeAxis.valueToJava2D(this.dataset.getMaximumYValue(),
+                dataArea, yEdge);
+        double y1 = rangeAxis.valueToJava2D(this.dataset.getMinimumYValue(),
+                dataArea, yEdge);
+        int w = this.dataset.getXSampleCount();
+        int h = this.dataset.getYSampleCount();
+        AffineTransform transform;
+        Rectangle2D area;
+        if (orientation == PlotOrientation.HORIZONTAL) {
+            transform = new AffineTransform(0.0, (x1 - x0) / w,
+                    (y1 - y0) / h, 0.0, y0, x0);
+            area = new Rectangle2D.Double(Math.min(y0, y1), Math.min(x0, x1),
+                    Math.abs(y1 - y0), Math.abs(x1 - x0));
+        }
+        else {
+            transform = new AffineTransform((x1 - x0) / w, 0.0, 0.0,
+                    (y1 - y0) / h, x0, y0);
+            area = new Rectangle2D.Double(Math.min(x0, x1), Math.min(y0, y1),
+                    Math.abs(x1 - x0), Math.abs(y1 - y0));
+        }
+        if (ShapeStampCache.isRasterTarget(g2)) {
+            updateImage();
+            RenderingHints saved = g2.getRenderingHints();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g2.drawImage(this.image, transform, null);
+            g2.setRenderingHints(saved);
+        }
+        else {
+            drawCells(g2, transform);
+        }
+        String toolTip = getToolTipText();
+        String url = getURL();
+        if (toolTip != null || url != null) {
+            addEntity(info, area, rendererIndex, toolTip, url);
+        }
+    }
+
+    /**
+     * Fills one rectangle per cell of the dataset, for targets where an
+     * image would lose the vector output.  The cells are laid out as the
+     * pixels of the image, and {@code transform} maps them to the data area.
+     *
+     * @param g2  the graphics device.
+     * @param transform  the transform from image space to Java2D space.
+     */
+    private void drawCells(Graphics2D g2, AffineTransform transform) {
+        int xCount = this.dataset.getXSampleCount();
+        int yCount = this.dataset.getYSampleCount();
+        Point2D p0 = new Point2D.Double();
+        Point2D p1 = new Point2D.Double();
+        Rectangle2D cell = new Rectangle2D.Double();
+        Paint saved = g2.getPaint();
+        for (int yIndex = 0; yIndex < yCount; yIndex++) {
+            int row = yCount - yIndex - 1;
+            for (int xIndex = 0; xIndex < xCount; xIndex++) {
+                p0.setLocation(xIndex, row);
+                p1.setLocation(xIndex + 1, row + 1);
+                transform.transform(p0, p0);
+                transform.transform(p1, p1);
+                cell.setFrameFromDiagonal(p0, p1);
+                g2.setPaint(this.paintScale.getPaint(
+                        this.dataset.getZValue(xIndex, yIndex)));
+                g2.fill(cell);
+            }
+        }
+        g2.setPaint(saved);
+    }
+
+    /**
+     * Tests this object for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        if (!(obj instanceof XYHeatMapAnnotation)) {
+            return false;
+        }
+        XYHeatMapAnnotation that = (XYHeatMapAnnotation) obj;
+        if (this.includeInDataBounds != that.includeInDataBounds) {
+            return false;
+        }
+        if (!ObjectUtils.equal(this.dataset, that.dataset)) {
+            return false;
+        }
+        if (!ObjectUtils.equal(this.paintScale, that.paintScale)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this object.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = 193;
+        result = HashUtils.hashCode(result, this.dataset);
+        result = HashUtils.hashCode(result, this.paintScale);
+        result = HashUtils.hashCode(result, this.includeInDataBounds);
+        return result;
+    }
+
+    /**
+     * Returns a clone of the annotation.  The clone shares the dataset and,
+     * unless this annotation has been disposed, is registered to receive
+     * change events from it (so it must be disposed separately).
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException  if the annotation can't be cloned.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        XYHeatMapAnnotation clone = (XYHeatMapAnnotation) super.clone();
+        clone.image = null;
+        clone.invalid = true;
+        clone.listening = false;
+        if (this.listening) {
+            clone.listen();
+        }
+        return clone;
+    }
+
+    /**
+     * Provides serialization support.  The restored annotation is registered
+     * to receive change events from its dataset.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.invalid = true;
+        listen();
+    }
+
+}
@@ -300,6 +300,9 @@ public abstract class Axis implements Cloneable, Serializable {
     /** Storage for registered listeners. */
     private transient EventListenerList listenerList;
 
+    /** The cached tick calculations (created when first needed). */
+    private transient TickCache tickCache;
+
     /**
      * Constructs an axis, using default values where necessary.
      *
@@ -1215,6 +1218,9 @@ public abstract class Axis implements Cloneable, Serializable {
      * @param event  information about the change to the axis.
      */
     protected void notifyListeners(AxisChangeEvent event) {
+        if (this.tickCache != null) {
+            this.tickCache.clear();
+        }
         Object[] listeners = this.listenerList.getListenerList();
         for (int i = listeners.length - 2; i >= 0; i -= 2) {
             if (listeners[i] == AxisChangeListener.class) {
@@ -1223,6 +1229,20 @@ public abstract class Axis implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Returns the cache of tick calculations for this axis, creating it if
+     * necessary.  The cache is cleared whenever the axis sends a change
+     * event.
+     *
+     * @return The cache (never {@code null}).
+     */
+    TickCache getTickCache() {
+        if (this.tickCache == null) {
+            this.tickCache = new TickCache();
+        }
+        return this.tickCache;
+    }
+
     /**
      * Sends an {@link AxisChangeEvent} to all registered listeners.
      *
@@ -1566,6 +1586,7 @@ public abstract class Axis implements Cloneable, Serializable {
         // It's up to the plot which clones up to restore the correct references
         clone.plot = null;
         clone.listenerList = new EventListenerList();
+        clone.tickCache = null;
         return clone;
     }
 
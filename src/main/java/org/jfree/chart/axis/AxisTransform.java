@@ -0,0 +1,261 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.axis;
+
+import java.awt.geom.Rectangle2D;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.chart.util.Args;
+
+/**
+ * Converts data values to Java2D coordinates for an axis, a data area and an
+ * edge, in the same way as
+ * {@link ValueAxis#valueToJava2D(double, Rectangle2D, RectangleEdge)}.  An
+ * instance is obtained from
+ * {@link ValueAxis#createTransform(Rectangle2D, RectangleEdge)}, and the
+ * standard axis classes return transforms that work out the axis range and
+ * the area bounds once, rather than for every value, so that a renderer can
+ * convert many values with a tight loop.
+ * <p>
+ * A transform reflects the axis at the time it was created, so a new
+ * transform should be obtained for each drawing.  Transforms are not
+ * modified once created, and can be used by several threads at once.
+ *
+ * @since 1.5.1
+ */
+public abstract class AxisTransform {
+
+    /**
+     * Default constructor.
+     */
+    protected AxisTransform() {
+        super();
+    }
+
+    /**
+     * Converts a data value to a Java2D coordinate.
+     *
+     * @param value  the data value.
+     *
+     * @return The Java2D coordinate.
+     */
+    public abstract double transform(double value);
+
+    /**
+     * Converts the first {@code n} values in {@code src} to Java2D
+     * coordinates, writing the results to {@code dst}.
+     *
+     * @param src  the data values ({@code null} not permitted).
+     * @param dst  the array for the results ({@code null} not permitted).
+     * @param n  the number of values.
+     */
+    public void transform(double[] src, float[] dst, int n) {
+        checkArrays(src, dst, n);
+        for (int i = 0; i < n; i++) {
+            dst[i] = (float) transform(src[i]);
+        }
+    }
+
+    /**
+     * Checks the arguments for a bulk transform.
+     *
+     * @param src  the data values.
+     * @param dst  the array for the results.
+     * @param n  the number of values.
+     */
+    static void checkArrays(double[] src, float[] dst, int n) {
+        Args.nullNotPermitted(src, "src");
+        Args.nullNotPermitted(dst, "dst");
+        if (n < 0 || n > src.length || n > dst.length) {
+            throw new IllegalArgumentException("Requires 0 <= 'n' <= the "
+                    + "length of 'src' and 'dst'.");
+        }
+    }
+
+    /**
+     * A transform that calls the axis for each value (used for axes that do
+     * not provide a specialised transform).
+     */
+    static final class Generic extends AxisTransform {
+
+        /** The axis. */
+        private final ValueAxis axis;
+
+        /** The data area. */
+        private final Rectangle2D area;
+
+        /** The edge. */
+        private final RectangleEdge edge;
+
+        /**
+         * Creates a new transform.
+         *
+         * @param axis  the axis ({@code null} not permitted).
+         * @param area  the data area ({@code null} not permitted).
+         * @param edge  the edge.
+         */
+        Generic(ValueAxis axis, Rectangle2D area, RectangleEdge edge) {
+            Args.nullNotPermitted(axis, "axis");
+            Args.nullNotPermitted(area, "area");
+            this.axis = axis;
+            this.area = (Rectangle2D) area.clone();
+            this.edge = edge;
+        }
+
+        /**
+         * Converts a data value to a Java2D coordinate.
+         *
+         * @param value  the data value.
+         *
+         * @return The Java2D coordinate.
+         */
+        @Override
+        public double transform(double value) {
+            return this.axis.valueToJava2D(value, this.area, this.edge);
+        }
+
+    }
+
+    /**
+     * A linear transform, calculated with the same operations (and so with
+     * the same results) as {@link NumberAxis}.
+     */
+    static class Linear extends AxisTransform {
+
+        /** The lower bound of the axis (in axis units). */
+        private final double axisMin;
+
+        /** The length of the axis (in axis units). */
+        private final double axisLength;
+
+        /** The Java2D coordinate of the lower bound. */
+        private final double base;
+
+        /**
+         * The distance (in Java2D units, possibly negative) from the lower
+         * bound to the upper bound.
+         */
+        private final double delta;
+
+        /**
+         * Creates a new transform.
+         *
+         * @param axisMin  the lower bound of the axis (in axis units).
+         * @param axisMax  the upper bound of the axis (in axis units).
+         * @param base  the Java2D coordinate for {@code axisMin}.
+         * @param delta  the Java2D distance from {@code axisMin} to
+         *     {@code axisMax}.
+         */
+        Linear(double axisMin, double axisMax, double base, double delta) {
+            this.axisMin = axisMin;
+            this.axisLength = axisMax - axisMin;
+            this.base = base;
+            this.delta = delta;
+        }
+
+        /**
+         * Creates a transform for an axis (in the style of
+         * {@link NumberAxis}) running along the specified edge.
+         *
+         * @param axisMin  the lower bound of the axis (in axis units).
+         * @param axisMax  the upper bound of the axis (in axis units).
+         * @param area  the data area.
+         * @param edge  the edge (top, bottom, left or right).
+         * @param inverted  the axis inversion flag.
+         *
+         * @return The transform.
+         */
+        static Linear create(double axisMin, double axisMax, Rectangle2D area,
+                RectangleEdge edge, boolean inverted) {
+            double min;
+            double max;
+            if (RectangleEdge.isTopOrBottom(edge)) {
+                min = area.getX();
+                max = area.getMaxX();
+            }
+            else {
+                max = area.getMinY();
+                min = area.getMaxY();
+            }
+            if (inverted) {
+                return new Linear(axisMin, axisMax, max, -(max - min));
+            }
+            return new Linear(axisMin, axisMax, min, max - min);
+        }
+
+        /**
+         * Applies the linear scaling to a value in axis units.
+         *
+         * @param value  the value (in axis units).
+         *
+         * @return The Java2D coordinate.
+         */
+        final double scale(double value) {
+            return this.base + ((value - this.axisMin) / this.axisLength)
+                    * this.delta;
+        }
+
+        /**
+         * Converts a data value to a Java2D coordinate.
+         *
+         * @param value  the data value.
+         *
+         * @return The Java2D coordinate.
+         */
+        @Override
+        public double transform(double value) {
+            return scale(value);
+        }
+
+        /**
+         * Converts the first {@code n} values in {@code src} to Java2D
+         * coordinates, writing the results to {@code dst}.
+         *
+         * @param src  the data values ({@code null} not permitted).
+         * @param dst  the array for the results ({@code null} not permitted).
+         * @param n  the number of values.
+         */
+        @Override
+        public void transform(double[] src, float[] dst, int n) {
+            if (getClass() != Linear.class) {
+                super.transform(src, dst, n);
+                return;
+            }
+            checkArrays(src, dst, n);
+            double m = this.axisMin;
+            double l = this.axisLength;
+            double b = this.base;
+            double d = this.delta;
+            for (int i = 0; i < n; i++) {
+                dst[i] = (float) (b + ((src[i] - m) / l) * d);
+            }
+        }
+
+    }
+
+}
@@ -115,6 +115,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -1137,6 +1138,25 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
         List categories = plot.getCategoriesForAxis(this);
         double max = 0.0;
 
+        // see NumberAxis.refreshTicks(), here the categories are part of
+        // the key since the plot's datasets can change without an axis
+        // change event
+        Object[] key = null;
+        if (getClass() == CategoryAxis.class && categories != null) {
+            key = new Object[] {edge, dataArea.clone(),
+                new ArrayList(categories), g2.getFontRenderContext(),
+                g2.getClass()};
+            TickCache.Entry entry = getTickCache().get(key);
+            if (entry != null) {
+                if (!categories.isEmpty()) {
+                    g2.setFont(getTickLabelFont((Comparable) categories.get(
+                            categories.size() - 1)));
+                }
+                state.setMax(entry.getMax());
+                return entry.getTicks();
+            }
+        }
+
         if (categories != null) {
             CategoryLabelPosition position
                     = this.categoryLabelPositions.getLabelPosition(edge);
@@ -1181,6 +1201,9 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
             }
         }
         state.setMax(max);
+        if (key != null) {
+            getTickCache().put(key, ticks, null, max);
+        }
         return ticks;
 
     }
@@ -1208,16 +1231,15 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
         double ol = getTickMarkOutsideLength();
         Line2D line = new Line2D.Double();
         List categories = plot.getCategoriesForAxis(this);
+        int count = categories.size();
         g2.setPaint(getTickMarkPaint());
         g2.setStroke(getTickMarkStroke());
         Object saved = g2.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
         g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, 
                 RenderingHints.VALUE_STROKE_NORMALIZE);
         if (edge.equals(RectangleEdge.TOP)) {
-            Iterator iterator = categories.iterator();
-            while (iterator.hasNext()) {
-                Comparable key = (Comparable) iterator.next();
-                double x = getCategoryMiddle(key, categories, dataArea, edge);
+            for (int i = 0; i < count; i++) {
+                double x = getCategoryMiddle(i, count, dataArea, edge);
                 line.setLine(x, cursor, x, cursor + il);
                 g2.draw(line);
                 line.setLine(x, cursor, x, cursor - ol);
@@ -1225,10 +1247,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
             }
             state.cursorUp(ol);
         } else if (edge.equals(RectangleEdge.BOTTOM)) {
-            Iterator iterator = categories.iterator();
-            while (iterator.hasNext()) {
-                Comparable key = (Comparable) iterator.next();
-                double x = getCategoryMiddle(key, categories, dataArea, edge);
+            for (int i = 0; i < count; i++) {
+                double x = getCategoryMiddle(i, count, dataArea, edge);
                 line.setLine(x, cursor, x, cursor - il);
                 g2.draw(line);
                 line.setLine(x, cursor, x, cursor + ol);
@@ -1236,10 +1256,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
             }
             state.cursorDown(ol);
         } else if (edge.equals(RectangleEdge.LEFT)) {
-            Iterator iterator = categories.iterator();
-            while (iterator.hasNext()) {
-                Comparable key = (Comparable) iterator.next();
-                double y = getCategoryMiddle(key, categories, dataArea, edge);
+            for (int i = 0; i < count; i++) {
+                double y = getCategoryMiddle(i, count, dataArea, edge);
                 line.setLine(cursor, y, cursor + il, y);
                 g2.draw(line);
                 line.setLine(cursor, y, cursor - ol, y);
@@ -1247,10 +1265,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
             }
             state.cursorLeft(ol);
         } else if (edge.equals(RectangleEdge.RIGHT)) {
-            Iterator iterator = categories.iterator();
-            while (iterator.hasNext()) {
-                Comparable key = (Comparable) iterator.next();
-                double y = getCategoryMiddle(key, categories, dataArea, edge);
+            for (int i = 0; i < count; i++) {
+                double y = getCategoryMiddle(i, count, dataArea, edge);
                 line.setLine(cursor, y, cursor - il, y);
                 g2.draw(line);
                 line.setLine(cursor, y, cursor + ol, y);
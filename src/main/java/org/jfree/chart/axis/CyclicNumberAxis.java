@@ -830,6 +830,41 @@ public class CyclicNumberAxis extends NumberAxis {
         }
     }
 
+    /**
+     * Returns a transform that converts data values to Java2D coordinates.
+     * For this class (but not for subclasses) the transform works out the
+     * cycle bound and the area bounds once, rather than for every value.
+     *
+     * @param area  the area for plotting the data ({@code null} not
+     *     permitted).
+     * @param edge  the edge along which the axis lies.
+     *
+     * @return The transform (never {@code null}).
+     *
+     * @since 1.5.1
+     */
+    @Override
+    public AxisTransform createTransform(Rectangle2D area,
+            RectangleEdge edge) {
+        if (getClass() == CyclicNumberAxis.class) {
+            double jmin = 0.0;
+            double jmax = 0.0;
+            if (RectangleEdge.isTopOrBottom(edge)) {
+                jmin = area.getMinX();
+                jmax = area.getMaxX();
+            }
+            else if (RectangleEdge.isLeftOrRight(edge)) {
+                jmax = area.getMinY();
+                jmin = area.getMaxY();
+            }
+            Range range = getRange();
+            return new CyclicTransform(range.getLowerBound(),
+                    range.getUpperBound(), getCycleBound(), this.period,
+                    jmin, jmax, isInverted(), this.boundMappedToLastCycle);
+        }
+        return super.createTransform(area, edge);
+    }
+
     /**
      * Centers the range about the given value.
      *
@@ -1181,4 +1216,104 @@ public class CyclicNumberAxis extends NumberAxis {
         }
         return true;
     }
+
+    /**
+     * A transform for a {@link CyclicNumberAxis}, with the same calculation
+     * as {@link CyclicNumberAxis#valueToJava2D(double, Rectangle2D,
+     * RectangleEdge)}.
+     */
+    private static final class CyclicTransform extends AxisTransform {
+
+        /** The lower bound of the axis. */
+        private final double vmin;
+
+        /** The upper bound of the axis. */
+        private final double vmax;
+
+        /** The cycle bound. */
+        private final double vp;
+
+        /** The period. */
+        private final double period;
+
+        /** The Java2D coordinate at the start of the axis. */
+        private final double jmin;
+
+        /** The Java2D coordinate at the end of the axis. */
+        private final double jmax;
+
+        /** The axis inversion flag. */
+        private final boolean inverted;
+
+        /** The flag that maps the cycle bound to the last cycle. */
+        private final boolean boundMappedToLastCycle;
+
+        /**
+         * Creates a new transform.
+         *
+         * @param vmin  the lower bound of the axis.
+         * @param vmax  the upper bound of the axis.
+         * @param vp  the cycle bound.
+         * @param period  the period.
+         * @param jmin  the Java2D coordinate at the start of the axis.
+         * @param jmax  the Java2D coordinate at the end of the axis.
+         * @param inverted  the axis inversion flag.
+         * @param boundMappedToLastCycle  the bound mapping flag.
+         */
+        CyclicTransform(double vmin, double vmax, double vp, double period,
+                double jmin, double jmax, boolean inverted,
+                boolean boundMappedToLastCycle) {
+            this.vmin = vmin;
+            this.vmax = vmax;
+            this.vp = vp;
+            this.period = period;
+            this.jmin = jmin;
+            this.jmax = jmax;
+            this.inverted = inverted;
+            this.boundMappedToLastCycle = boundMappedToLastCycle;
+        }
+
+        /**
+         * Converts a data value to a Java2D coordinate.
+         *
+         * @param value  the data value.
+         *
+         * @return The Java2D coordinate ({@code Double.NaN} for a value
+         *     outside the axis range).
+         */
+        @Override
+        public double transform(double value) {
+            if ((value < this.vmin) || (value > this.vmax)) {
+                return Double.NaN;
+            }
+            if (this.inverted) {
+                if (value == this.vp) {
+                    return this.boundMappedToLastCycle ? this.jmin : this.jmax;
+                }
+                else if (value > this.vp) {
+                    return this.jmax - (value - this.vp)
+                            * (this.jmax - this.jmin) / this.period;
+                }
+                else {
+                    return this.jmin + (this.vp - value)
+                            * (this.jmax - this.jmin) / this.period;
+                }
+            }
+            else {
+                if (value == this.vp) {
+                    return this.boundMappedToLastCycle ? this.jmax : this.jmin;
+                }
+                else if (value >= this.vp) {
+                    return this.jmin + (value - this.vp)
+                            * (this.jmax - this.jmin) / this.period;
+                }
+                else {
+                    return this.jmax - (this.vp - value)
+                            * (this.jmax - this.jmin) / this.period;
+                }
+            }
+        }
+
+    }
+
 }
@@ -157,6 +157,7 @@ import org.jfree.chart.event.AxisChangeEvent;
 import org.jfree.chart.plot.Plot;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.ValueAxisPlot;
+import org.jfree.chart.text.TextUtils;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.chart.ui.TextAnchor;
@@ -179,7 +180,7 @@ import org.jfree.data.time.Year;
  * You can also create a {@link org.jfree.chart.axis.Timeline} and supply in
  * the constructor to create an axis that only contains certain domain values.
  * For example, this allows you to create a date axis that only contains
- * working days.
+ * working days, or only the trading sessions (see {@link SessionTimeline}).
  */
 public class DateAxis extends ValueAxis implements Cloneable, Serializable {
 
@@ -786,6 +787,33 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         return result;
     }
 
+    /**
+     * Returns a transform that converts data values to Java2D coordinates.
+     * For this class (but not for subclasses) the transform works out the
+     * timeline values for the axis bounds once, rather than for every value.
+     *
+     * @param area  the area for plotting the data ({@code null} not
+     *     permitted).
+     * @param edge  the edge along which the axis lies.
+     *
+     * @return The transform (never {@code null}).
+     *
+     * @since 1.5.1
+     */
+    @Override
+    public AxisTransform createTransform(Rectangle2D area,
+            RectangleEdge edge) {
+        if (getClass() == DateAxis.class && (RectangleEdge.isTopOrBottom(edge)
+                || RectangleEdge.isLeftOrRight(edge))) {
+            DateRange range = (DateRange) getRange();
+            return new DateTransform(AxisTransform.Linear.create(
+                    this.timeline.toTimelineValue(range.getLowerMillis()),
+                    this.timeline.toTimelineValue(range.getUpperMillis()),
+                    area, edge, isInverted()), this.timeline);
+        }
+        return super.createTransform(area, edge);
+    }
+
     /**
      * Translates a date to Java2D coordinates, based on the range displayed by
      * this axis for the specified data area.
@@ -1423,19 +1451,11 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
             DateRange range = (DateRange) getRange();
             Date lower = range.getLowerDate();
             Date upper = range.getUpperDate();
-            String lowerStr, upperStr;
-            DateFormat formatter = getDateFormatOverride();
-            if (formatter != null) {
-                lowerStr = formatter.format(lower);
-                upperStr = formatter.format(upper);
-            }
-            else {
-                lowerStr = unit.dateToString(lower);
-                upperStr = unit.dateToString(upper);
-            }
+            String lowerStr = formatTickDate(lower, unit);
+            String upperStr = formatTickDate(upper, unit);
             FontMetrics fm = g2.getFontMetrics(tickLabelFont);
-            double w1 = fm.stringWidth(lowerStr);
-            double w2 = fm.stringWidth(upperStr);
+            double w1 = TextUtils.stringWidth(lowerStr, fm);
+            double w2 = TextUtils.stringWidth(upperStr, fm);
             result += Math.max(w1, w2);
         }
 
@@ -1475,19 +1495,11 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
             DateRange range = (DateRange) getRange();
             Date lower = range.getLowerDate();
             Date upper = range.getUpperDate();
-            String lowerStr, upperStr;
-            DateFormat formatter = getDateFormatOverride();
-            if (formatter != null) {
-                lowerStr = formatter.format(lower);
-                upperStr = formatter.format(upper);
-            }
-            else {
-                lowerStr = unit.dateToString(lower);
-                upperStr = unit.dateToString(upper);
-            }
+            String lowerStr = formatTickDate(lower, unit);
+            String upperStr = formatTickDate(upper, unit);
             FontMetrics fm = g2.getFontMetrics(tickLabelFont);
-            double w1 = fm.stringWidth(lowerStr);
-            double w2 = fm.stringWidth(upperStr);
+            double w1 = TextUtils.stringWidth(lowerStr, fm);
+            double w2 = TextUtils.stringWidth(upperStr, fm);
             result += Math.max(w1, w2);
         }
 
@@ -1510,6 +1522,19 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
     public List refreshTicks(Graphics2D g2, AxisState state, 
             Rectangle2D dataArea, RectangleEdge edge) {
 
+        // see NumberAxis.refreshTicks()
+        Object[] key = null;
+        if (getClass() == DateAxis.class) {
+            key = new Object[] {edge, dataArea.clone(), getRange(),
+                getTickUnit(), Boolean.valueOf(isAutoTickUnitSelection()),
+                getTickLabelFont(), g2.getFontRenderContext(), g2.getClass()};
+            TickCache.Entry entry = getTickCache().get(key);
+            if (entry != null) {
+                g2.setFont(getTickLabelFont());
+                setTickUnit((DateTickUnit) entry.getTickUnit(), false, false);
+                return entry.getTicks();
+            }
+        }
         List result = null;
         if (RectangleEdge.isTopOrBottom(edge)) {
             result = refreshTicksHorizontal(g2, dataArea, edge);
@@ -1517,10 +1542,70 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         else if (RectangleEdge.isLeftOrRight(edge)) {
             result = refreshTicksVertical(g2, dataArea, edge);
         }
+        if (key != null && result != null) {
+            getTickCache().put(key, result, getTickUnit(), 0.0);
+        }
         return result;
 
     }
 
+    /**
+     * Returns the label for a tick date, using the date format override if
+     * there is one, and otherwise the tick unit's formatter.  A formatter
+     * may be shared by charts that are drawn concurrently, and
+     * {@code DateFormat} is not thread-safe, so the override is used while
+     * holding its lock (as {@link DateTickUnit} does for its formatter).
+     *
+     * @param date  the tick date.
+     * @param unit  the tick unit.
+     *
+     * @return The label.
+     */
+    private String formatTickDate(Date date, DateTickUnit unit) {
+        DateFormat formatter = getDateFormatOverride();
+        if (formatter != null) {
+            synchronized (formatter) {
+                return formatter.format(date);
+            }
+        }
+        return unit.dateToString(date);
+    }
+
+    /**
+     * Adds the tick unit to a date, reusing the supplied calendar (which
+     * is in the axis time zone) for the standard tick unit class.
+     *
+     * @param unit  the tick unit.
+     * @param date  the base date.
+     * @param calendar  the calendar.
+     *
+     * @return The new date.
+     */
+    private Date addToDate(DateTickUnit unit, Date date, Calendar calendar) {
+        if (unit.getClass() == DateTickUnit.class) {
+            return unit.addToDate(date, calendar);
+        }
+        return unit.addToDate(date, this.timeZone);
+    }
+
+    /**
+     * Rolls a date forward by the tick unit's roll amount, reusing the
+     * supplied calendar (which is in the axis time zone) for the standard
+     * tick unit class.
+     *
+     * @param unit  the tick unit.
+     * @param date  the base date.
+     * @param calendar  the calendar.
+     *
+     * @return The new date.
+     */
+    private Date rollDate(DateTickUnit unit, Date date, Calendar calendar) {
+        if (unit.getClass() == DateTickUnit.class) {
+            return unit.rollDate(date, calendar);
+        }
+        return unit.rollDate(date, this.timeZone);
+    }
+
     /**
      * Corrects the given tick date for the position setting.
      *
@@ -1567,6 +1652,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         DateTickUnit unit = getTickUnit();
         Date tickDate = calculateLowestVisibleTickValue(unit);
         Date upperDate = getMaximumDate();
+        Calendar calendar = Calendar.getInstance(this.timeZone);
 
         boolean hasRolled = false;
         while (tickDate.before(upperDate)) {
@@ -1577,7 +1663,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
             }
 
             long lowestTickTime = tickDate.getTime();
-            long distance = unit.addToDate(tickDate, this.timeZone).getTime()
+            long distance = addToDate(unit, tickDate, calendar).getTime()
                     - lowestTickTime;
             int minorTickSpaces = getMinorTickCount();
             if (minorTickSpaces <= 0) {
@@ -1596,14 +1682,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
 
             if (!isHiddenValue(tickDate.getTime())) {
                 // work out the value, label and position
-                String tickLabel;
-                DateFormat formatter = getDateFormatOverride();
-                if (formatter != null) {
-                    tickLabel = formatter.format(tickDate);
-                }
-                else {
-                    tickLabel = this.tickUnit.dateToString(tickDate);
-                }
+                String tickLabel = formatTickDate(tickDate, unit);
                 TextAnchor anchor, rotationAnchor;
                 double angle = 0.0;
                 if (isVerticalTickLabels()) {
@@ -1633,7 +1712,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
                 hasRolled = false;
 
                 long currentTickTime = tickDate.getTime();
-                tickDate = unit.addToDate(tickDate, this.timeZone);
+                tickDate = addToDate(unit, tickDate, calendar);
                 long nextTickTime = tickDate.getTime();
                 for (int minorTick = 1; minorTick < minorTickSpaces;
                         minorTick++) {
@@ -1651,7 +1730,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
 
             }
             else {
-                tickDate = unit.rollDate(tickDate, this.timeZone);
+                tickDate = rollDate(unit, tickDate, calendar);
                 hasRolled = true;
                 continue;
             }
@@ -1684,6 +1763,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         DateTickUnit unit = getTickUnit();
         Date tickDate = calculateLowestVisibleTickValue(unit);
         Date upperDate = getMaximumDate();
+        Calendar calendar = Calendar.getInstance(this.timeZone);
 
         boolean hasRolled = false;
         while (tickDate.before(upperDate)) {
@@ -1695,7 +1775,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
             }
 
             long lowestTickTime = tickDate.getTime();
-            long distance = unit.addToDate(tickDate, this.timeZone).getTime()
+            long distance = addToDate(unit, tickDate, calendar).getTime()
                     - lowestTickTime;
             int minorTickSpaces = getMinorTickCount();
             if (minorTickSpaces <= 0) {
@@ -1713,14 +1793,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
             }
             if (!isHiddenValue(tickDate.getTime())) {
                 // work out the value, label and position
-                String tickLabel;
-                DateFormat formatter = getDateFormatOverride();
-                if (formatter != null) {
-                    tickLabel = formatter.format(tickDate);
-                }
-                else {
-                    tickLabel = this.tickUnit.dateToString(tickDate);
-                }
+                String tickLabel = formatTickDate(tickDate, unit);
                 TextAnchor anchor, rotationAnchor;
                 double angle = 0.0;
                 if (isVerticalTickLabels()) {
@@ -1750,7 +1823,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
                 hasRolled = false;
 
                 long currentTickTime = tickDate.getTime();
-                tickDate = unit.addToDate(tickDate, this.timeZone);
+                tickDate = addToDate(unit, tickDate, calendar);
                 long nextTickTime = tickDate.getTime();
                 for (int minorTick = 1; minorTick < minorTickSpaces;
                         minorTick++) {
@@ -1767,7 +1840,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
                 }
             }
             else {
-                tickDate = unit.rollDate(tickDate, this.timeZone);
+                tickDate = rollDate(unit, tickDate, calendar);
                 hasRolled = true;
             }
         }
@@ -1927,4 +2000,42 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         return clone;
     }
 
+    /**
+     * A transform for a {@link DateAxis}: each value is converted to a
+     * timeline value, which is scaled linearly.
+     */
+    private static final class DateTransform extends AxisTransform {
+
+        /** The linear scaling of the timeline values. */
+        private final AxisTransform.Linear linear;
+
+        /** The timeline. */
+        private final Timeline timeline;
+
+        /**
+         * Creates a new transform.
+         *
+         * @param linear  the linear scaling of the timeline values.
+         * @param timeline  the timeline.
+         */
+        DateTransform(AxisTransform.Linear linear, Timeline timeline) {
+            this.linear = linear;
+            this.timeline = timeline;
+        }
+
+        /**
+         * Converts a data value to a Java2D coordinate.
+         *
+         * @param value  the data value.
+         *
+         * @return The Java2D coordinate.
+         */
+        @Override
+        public double transform(double value) {
+            return this.linear.scale(this.timeline.toTimelineValue(
+                    (long) value));
+        }
+
+    }
+
 }
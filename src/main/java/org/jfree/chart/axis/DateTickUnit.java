@@ -66,7 +66,8 @@ import org.jfree.chart.util.Args;
 
 /**
  * A tick unit for use by subclasses of {@link DateAxis}.  Instances of this
- * class are immutable.
+ * class are immutable.  The formatting methods synchronize on the formatter,
+ * so a tick unit can be shared by charts that are drawn concurrently.
  */
 public class DateTickUnit extends TickUnit implements Serializable {
 
@@ -202,7 +203,9 @@ public class DateTickUnit extends TickUnit implements Serializable {
      */
     @Override
     public String valueToString(double milliseconds) {
-        return this.formatter.format(new Date((long) milliseconds));
+        synchronized (this.formatter) {
+            return this.formatter.format(new Date((long) milliseconds));
+        }
     }
 
     /**
@@ -213,7 +216,10 @@ public class DateTickUnit extends TickUnit implements Serializable {
      * @return The formatted date.
      */
     public String dateToString(Date date) {
-        return this.formatter.format(date);
+        // DateFormat instances are not thread-safe
+        synchronized (this.formatter) {
+            return this.formatter.format(date);
+        }
     }
 
     /**
@@ -231,7 +237,21 @@ public class DateTickUnit extends TickUnit implements Serializable {
         // number calculations, and since DateTickUnit doesn't do week
         // arithmetic, the default locale (whatever it is) should be fine
         // here...
-        Calendar calendar = Calendar.getInstance(zone);
+        return addToDate(base, Calendar.getInstance(zone));
+    }
+
+    /**
+     * Calculates a new date by adding this unit to the base date, using
+     * the supplied calendar (which is modified) for the date arithmetic.
+     * This allows a caller that calculates many dates to reuse one
+     * calendar.
+     *
+     * @param base  the base date.
+     * @param calendar  the calendar (in the required time zone).
+     *
+     * @return A new date one unit after the base date.
+     */
+    Date addToDate(Date base, Calendar calendar) {
         calendar.setTime(base);
         calendar.add(this.unitType.getCalendarField(), this.count);
         return calendar.getTime();
@@ -267,7 +287,20 @@ public class DateTickUnit extends TickUnit implements Serializable {
         // number calculations, and since DateTickUnit doesn't do week
         // arithmetic, the default locale (whatever it is) should be fine
         // here...
-        Calendar calendar = Calendar.getInstance(zone);
+        return rollDate(base, Calendar.getInstance(zone));
+    }
+
+    /**
+     * Rolls the date forward by the amount specified by the roll unit and
+     * count, using the supplied calendar (which is modified) for the date
+     * arithmetic.
+     *
+     * @param base  the base date.
+     * @param calendar  the calendar (in the required time zone).
+     *
+     * @return The rolled date.
+     */
+    Date rollDate(Date base, Calendar calendar) {
         calendar.setTime(base);
         calendar.add(this.rollUnitType.getCalendarField(), this.rollCount);
         return calendar.getTime();
@@ -450,6 +450,33 @@ public class LogAxis extends ValueAxis {
         }
     }
 
+    /**
+     * Returns a transform that converts data values to Java2D coordinates.
+     * For this class (but not for subclasses) the transform works out the
+     * log of the axis bounds once, rather than for every value.
+     *
+     * @param area  the area for plotting the data ({@code null} not
+     *     permitted).
+     * @param edge  the edge along which the axis lies.
+     *
+     * @return The transform (never {@code null}).
+     *
+     * @since 1.5.1
+     */
+    @Override
+    public AxisTransform createTransform(Rectangle2D area,
+            RectangleEdge edge) {
+        if (getClass() == LogAxis.class && (RectangleEdge.isTopOrBottom(edge)
+                || RectangleEdge.isLeftOrRight(edge))) {
+            Range range = getRange();
+            return new LogTransform(AxisTransform.Linear.create(
+                    calculateLog(range.getLowerBound()),
+                    calculateLog(range.getUpperBound()), area, edge,
+                    isInverted()), this.baseLog);
+        }
+        return super.createTransform(area, edge);
+    }
+
     /**
      * Configures the axis.  This method is typically called when an axis
      * is assigned to a new plot.
@@ -1091,4 +1118,41 @@ public class LogAxis extends ValueAxis {
         return result;
     }
 
+    /**
+     * A transform for a {@link LogAxis}: the log of each value is scaled
+     * linearly.
+     */
+    private static final class LogTransform extends AxisTransform {
+
+        /** The linear scaling of the log values. */
+        private final AxisTransform.Linear linear;
+
+        /** The log of the axis base. */
+        private final double baseLog;
+
+        /**
+         * Creates a new transform.
+         *
+         * @param linear  the linear scaling of the log values.
+         * @param baseLog  the log of the axis base.
+         */
+        LogTransform(AxisTransform.Linear linear, double baseLog) {
+            this.linear = linear;
+            this.baseLog = baseLog;
+        }
+
+        /**
+         * Converts a data value to a Java2D coordinate.
+         *
+         * @param value  the data value.
+         *
+         * @return The Java2D coordinate.
+         */
+        @Override
+        public double transform(double value) {
+            return this.linear.scale(Math.log(value) / this.baseLog);
+        }
+
+    }
+
 }
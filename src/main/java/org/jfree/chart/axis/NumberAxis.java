@@ -121,6 +121,7 @@ import org.jfree.chart.event.AxisChangeEvent;
 import org.jfree.chart.plot.Plot;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.ValueAxisPlot;
+import org.jfree.chart.text.TextUtils;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.chart.ui.TextAnchor;
@@ -552,6 +553,32 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
 
     }
 
+    /**
+     * Returns a transform that converts data values to Java2D coordinates.
+     * For this class (but not for subclasses, which may override
+     * {@code valueToJava2D()}) the transform is linear with coefficients
+     * that are calculated once.
+     *
+     * @param area  the area for plotting the data ({@code null} not
+     *     permitted).
+     * @param edge  the edge along which the axis lies.
+     *
+     * @return The transform (never {@code null}).
+     *
+     * @since 1.5.1
+     */
+    @Override
+    public AxisTransform createTransform(Rectangle2D area,
+            RectangleEdge edge) {
+        if (getClass() == NumberAxis.class && (RectangleEdge.isTopOrBottom(
+                edge) || RectangleEdge.isLeftOrRight(edge))) {
+            Range range = getRange();
+            return AxisTransform.Linear.create(range.getLowerBound(),
+                    range.getUpperBound(), area, edge, isInverted());
+        }
+        return super.createTransform(area, edge);
+    }
+
     /**
      * Converts a coordinate in Java2D space to the corresponding data value,
      * assuming that the axis runs along one edge of the specified dataArea.
@@ -800,8 +827,8 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
                 lowerStr = unit.valueToString(lower);
                 upperStr = unit.valueToString(upper);
             }
-            double w1 = fm.stringWidth(lowerStr);
-            double w2 = fm.stringWidth(upperStr);
+            double w1 = TextUtils.stringWidth(lowerStr, fm);
+            double w2 = TextUtils.stringWidth(upperStr, fm);
             result += Math.max(w1, w2);
         }
 
@@ -921,6 +948,23 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
     public List refreshTicks(Graphics2D g2, AxisState state, 
             Rectangle2D dataArea, RectangleEdge edge) {
 
+        // the ticks are recalculated with the same inputs for each drawing
+        // (and again by reserveSpace()), so for this class (where the
+        // inputs are known) the results are cached until the next change
+        // event
+        Object[] key = null;
+        if (getClass() == NumberAxis.class) {
+            key = new Object[] {edge, dataArea.clone(), getRange(),
+                getTickUnit(), Boolean.valueOf(isAutoTickUnitSelection()),
+                getTickLabelFont(), g2.getFontRenderContext(), g2.getClass()};
+            TickCache.Entry entry = getTickCache().get(key);
+            if (entry != null) {
+                g2.setFont(getTickLabelFont());
+                setTickUnit((NumberTickUnit) entry.getTickUnit(), false,
+                        false);
+                return entry.getTicks();
+            }
+        }
         List result = new java.util.ArrayList();
         if (RectangleEdge.isTopOrBottom(edge)) {
             result = refreshTicksHorizontal(g2, dataArea, edge);
@@ -928,6 +972,9 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
         else if (RectangleEdge.isLeftOrRight(edge)) {
             result = refreshTicksVertical(g2, dataArea, edge);
         }
+        if (key != null) {
+            getTickCache().put(key, result, getTickUnit(), 0.0);
+        }
         return result;
 
     }
@@ -104,7 +104,9 @@ public class NumberTickUnit extends TickUnit implements Serializable {
     }
 
     /**
-     * Converts a value to a string.
+     * Converts a value to a string.  The formatter is not thread-safe and
+     * may be shared by tick units (and by the axes of cloned charts), so
+     * access to it is synchronized.
      *
      * @param value  the value.
      *
@@ -112,7 +114,9 @@ public class NumberTickUnit extends TickUnit implements Serializable {
      */
     @Override
     public String valueToString(double value) {
-        return this.formatter.format(value);
+        synchronized (this.formatter) {
+            return this.formatter.format(value);
+        }
     }
 
     /**
@@ -44,6 +44,7 @@ import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import org.jfree.chart.util.ObjectUtils;
+import org.jfree.chart.util.PublicCloneable;
 
 /**
  * A tick unit source implementation that returns NumberTickUnit instances 
@@ -51,7 +52,8 @@ import org.jfree.chart.util.ObjectUtils;
  * 
  * @since 1.0.18
  */
-public class NumberTickUnitSource implements TickUnitSource, Serializable {
+public class NumberTickUnitSource implements TickUnitSource, PublicCloneable,
+        Serializable {
 
     private boolean integers;
     
@@ -237,4 +239,28 @@ public class NumberTickUnitSource implements TickUnitSource, Serializable {
         }
         return true;
     }
+
+    /**
+     * Returns a clone of this source.  The clone has its own formatters
+     * and search state, so that (for example) a cloned axis can select
+     * tick units on a different thread from the original.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        NumberTickUnitSource clone = (NumberTickUnitSource) super.clone();
+        if (this.formatter != null) {
+            clone.formatter = (NumberFormat) this.formatter.clone();
+        }
+        clone.dfNeg4 = (DecimalFormat) this.dfNeg4.clone();
+        clone.dfNeg3 = (DecimalFormat) this.dfNeg3.clone();
+        clone.dfNeg2 = (DecimalFormat) this.dfNeg2.clone();
+        clone.dfNeg1 = (DecimalFormat) this.dfNeg1.clone();
+        clone.df0 = (DecimalFormat) this.df0.clone();
+        clone.df = (DecimalFormat) this.df.clone();
+        return clone;
+    }
 }
@@ -704,6 +704,9 @@ public class PeriodAxis extends ValueAxis
         double y0 = state.getCursor();
         double insideLength = getTickMarkInsideLength();
         double outsideLength = getTickMarkOutsideLength();
+        // the axis calendar is not used directly, since the axis may be
+        // drawn by more than one thread at a time
+        Calendar calendar = (Calendar) this.calendar.clone();
         RegularTimePeriod t = createInstance(this.majorTickTimePeriodClass, 
                 this.first.getStart(), getTimeZone(), this.locale);
         long t0 = t.getFirstMillisecond();
@@ -757,12 +760,12 @@ public class PeriodAxis extends ValueAxis
                         g2.draw(outside);
                     }
                     tminor = tminor.next();
-                    tminor.peg(this.calendar);
+                    tminor.peg(calendar);
                     tt0 = tminor.getFirstMillisecond();
                 }
             }
             t = t.next();
-            t.peg(this.calendar);
+            t.peg(calendar);
             t0 = t.getFirstMillisecond();
         }
         if (edge == RectangleEdge.TOP) {
@@ -825,8 +828,11 @@ public class PeriodAxis extends ValueAxis
                 new Date(axisMin), this.timeZone, this.locale);
         RegularTimePeriod p2 = this.labelInfo[band].createInstance(
                 new Date(axisMax), this.timeZone, this.locale);
+        // getDateFormat() returns a copy, so it is safe to modify and use
+        // here without synchronization
         DateFormat df = this.labelInfo[band].getDateFormat();
         df.setTimeZone(this.timeZone);
+        Calendar calendar = (Calendar) this.calendar.clone();
         String label1 = df.format(new Date(p1.getMiddleMillisecond()));
         String label2 = df.format(new Date(p2.getMiddleMillisecond()));
         Rectangle2D b1 = TextUtils.getTextBounds(label1, g2,
@@ -914,7 +920,7 @@ public class PeriodAxis extends ValueAxis
             for (int i = 0; i < periods; i++) {
                 p = p.next();
             }
-            p.peg(this.calendar);
+            p.peg(calendar);
         }
         double used = 0.0;
         if (b != null) {
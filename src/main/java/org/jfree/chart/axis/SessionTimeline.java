@@ -0,0 +1,717 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.axis;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TimeZone;
+import org.jfree.chart.util.Args;
+import org.jfree.data.time.Day;
+
+/**
+ * A {@link Timeline} that includes only the trading sessions (or business
+ * hours) within a span of time, so that a {@link DateAxis} shows the
+ * sessions without gaps between them.  The included time is made up of one
+ * or more sessions per day (for example 09:30 to 16:00, or 08:00 to 12:00
+ * and 13:00 to 17:00), on the included days of the week (Monday to Friday
+ * by default), excluding holidays and any other excluded ranges (for example
+ * an early close or a trading halt).
+ * <p>
+ * The sessions are expanded into a table of included segments, with the
+ * cumulative included time at the start of each segment, when the timeline
+ * is first used.  Each conversion is then a binary search in the table, so
+ * the cost does not depend on the number of sessions (a ten year span of
+ * daily sessions has roughly 2,500 segments).  Outside the span the
+ * timeline includes all milliseconds, and before the span the timeline
+ * values are equal to the millisecond values.
+ * <p>
+ * The timeline should be configured before it is used by an axis: changes
+ * made afterwards take effect for the next conversion, but the axis is not
+ * notified of them.
+ *
+ * @since 1.5.1
+ */
+public class SessionTimeline implements Timeline, Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4123547789210478543L;
+
+    /** The number of milliseconds in a day. */
+    private static final long DAY_MILLIS = 24L * 60L * 60L * 1000L;
+
+    /** The time zone for the sessions. */
+    private TimeZone timeZone;
+
+    /** The start of the span covered by the sessions (inclusive). */
+    private long start;
+
+    /** The end of the span covered by the sessions (exclusive). */
+    private long end;
+
+    /**
+     * The sessions, as pairs of start and end offsets (in milliseconds
+     * from the start of the day, wall clock time) in ascending order.  An
+     * empty array means the whole day.
+     */
+    private long[] sessions;
+
+    /** Flags for the included days, indexed by {@code Calendar} day. */
+    private boolean[] includedDays;
+
+    /** The excluded days (holidays). */
+    private Set<Day> excludedDays;
+
+    /** Excluded ranges as pairs of start (inclusive) and end (exclusive). */
+    private long[] excludedRanges;
+
+    /** The segment table (built when first required). */
+    private transient volatile SegmentTable table;
+
+    /**
+     * Creates a new timeline that includes the whole of each weekday
+     * (Monday to Friday) between {@code start} and {@code end}.  Use
+     * {@link #addSession(long, long)} to restrict the included time within
+     * each day.
+     *
+     * @param timeZone  the time zone for the sessions ({@code null} not
+     *     permitted).
+     * @param start  the start of the span (in milliseconds, inclusive).
+     * @param end  the end of the span (in milliseconds, exclusive).
+     */
+    public SessionTimeline(TimeZone timeZone, long start, long end) {
+        Args.nullNotPermitted(timeZone, "timeZone");
+        if (end <= start) {
+            throw new IllegalArgumentException("Requires 'start' < 'end'.");
+        }
+        this.timeZone = timeZone;
+        this.start = start;
+        this.end = end;
+        this.sessions = new long[0];
+        this.includedDays = new boolean[8];
+        for (int d = Calendar.MONDAY; d <= Calendar.FRIDAY; d++) {
+            this.includedDays[d] = true;
+        }
+        this.excludedDays = new HashSet<Day>();
+        this.excludedRanges = new long[0];
+    }
+
+    /**
+     * Returns the time zone for the sessions.
+     *
+     * @return The time zone (never {@code null}).
+     */
+    public TimeZone getTimeZone() {
+        return this.timeZone;
+    }
+
+    /**
+     * Returns the start of the span covered by the sessions.
+     *
+     * @return The start (in milliseconds, inclusive).
+     */
+    public long getStart() {
+        return this.start;
+    }
+
+    /**
+     * Returns the end of the span covered by the sessions.
+     *
+     * @return The end (in milliseconds, exclusive).
+     */
+    public long getEnd() {
+        return this.end;
+    }
+
+    /**
+     * Adds a daily session.  The offsets are wall clock times measured from
+     * the start of the day, so a session from 09:30 to 16:00 is added with
+     * {@code addSession(34200000L, 57600000L)}.  Sessions may not overlap.
+     *
+     * @param startOffset  the session start (in milliseconds from the start
+     *     of the day, inclusive).
+     * @param endOffset  the session end (in milliseconds from the start of
+     *     the day, exclusive, at most one day).
+     */
+    public void addSession(long startOffset, long endOffset) {
+        if (startOffset < 0L || endOffset > DAY_MILLIS
+                || startOffset >= endOffset) {
+            throw new IllegalArgumentException("Requires 0 <= 'startOffset'"
+                    + " < 'endOffset' <= " + DAY_MILLIS + ".");
+        }
+        int n = this.sessions.length;
+        int i = 0;
+        while (i < n && this.sessions[i] < startOffset) {
+            i += 2;
+        }
+        if ((i > 0 && this.sessions[i - 1] > startOffset)
+                || (i < n && this.sessions[i] < endOffset)) {
+            throw new IllegalArgumentException(
+                    "Requires sessions that do not overlap.");
+        }
+        long[] s = new long[n + 2];
+        System.arraycopy(this.sessions, 0, s, 0, i);
+        s[i] = startOffset;
+        s[i + 1] = endOffset;
+        System.arraycopy(this.sessions, i, s, i + 2, n - i);
+        this.sessions = s;
+        this.table = null;
+    }
+
+    /**
+     * Returns {@code true} if the specified day of the week is included.
+     *
+     * @param dayOfWeek  the day ({@code Calendar.SUNDAY} to
+     *     {@code Calendar.SATURDAY}).
+     *
+     * @return A boolean.
+     */
+    public boolean isDayOfWeekIncluded(int dayOfWeek) {
+        checkDayOfWeek(dayOfWeek);
+        return this.includedDays[dayOfWeek];
+    }
+
+    /**
+     * Sets the flag that controls whether or not the specified day of the
+     * week is included.
+     *
+     * @param dayOfWeek  the day ({@code Calendar.SUNDAY} to
+     *     {@code Calendar.SATURDAY}).
+     * @param included  the flag.
+     */
+    public void setDayOfWeekIncluded(int dayOfWeek, boolean included) {
+        checkDayOfWeek(dayOfWeek);
+        this.includedDays[dayOfWeek] = included;
+        this.table = null;
+    }
+
+    /**
+     * Checks a day of the week argument.
+     *
+     * @param dayOfWeek  the day.
+     */
+    private static void checkDayOfWeek(int dayOfWeek) {
+        if (dayOfWeek < Calendar.SUNDAY || dayOfWeek > Calendar.SATURDAY) {
+            throw new IllegalArgumentException("Requires 'dayOfWeek' in the "
+                    + "range Calendar.SUNDAY to Calendar.SATURDAY.");
+        }
+    }
+
+    /**
+     * Excludes a day (for example a holiday).  The day is interpreted in the
+     * time zone of the timeline.
+     *
+     * @param day  the day ({@code null} not permitted).
+     */
+    public void addExcludedDay(Day day) {
+        Args.nullNotPermitted(day, "day");
+        this.excludedDays.add(day);
+        this.table = null;
+    }
+
+    /**
+     * Excludes a range of time (for example the time after an early close,
+     * or a trading halt).
+     *
+     * @param from  the start of the range (in milliseconds, inclusive).
+     * @param to  the end of the range (in milliseconds, exclusive).
+     */
+    public void addExcludedRange(long from, long to) {
+        if (to <= from) {
+            throw new IllegalArgumentException("Requires 'from' < 'to'.");
+        }
+        int n = this.excludedRanges.length;
+        long[] r = Arrays.copyOf(this.excludedRanges, n + 2);
+        r[n] = from;
+        r[n + 1] = to;
+        this.excludedRanges = r;
+        this.table = null;
+    }
+
+    /**
+     * Returns the number of included segments in the span.  Sessions that
+     * meet (for example a session ending at midnight and a session starting
+     * at midnight on the next day) form a single segment.
+     *
+     * @return The segment count.
+     */
+    public int getSegmentCount() {
+        return getTable().count;
+    }
+
+    /**
+     * Translates a millisecond into a timeline value.  A millisecond that
+     * is not included is mapped to the start of the next segment.
+     *
+     * @param millisecond  the millisecond.
+     *
+     * @return The timeline value.
+     */
+    @Override
+    public long toTimelineValue(long millisecond) {
+        if (millisecond < this.start) {
+            return millisecond;
+        }
+        SegmentTable t = getTable();
+        if (millisecond >= this.end) {
+            return t.total + (millisecond - this.end);
+        }
+        int i = t.segmentAtOrBefore(millisecond);
+        if (i < 0) {
+            return this.start;
+        }
+        return t.cumulative[i] + Math.min(millisecond - t.starts[i],
+                t.ends[i] - t.starts[i]);
+    }
+
+    /**
+     * Translates a date into a timeline value.
+     *
+     * @param date  the date ({@code null} not permitted).
+     *
+     * @return The timeline value.
+     */
+    @Override
+    public long toTimelineValue(Date date) {
+        return toTimelineValue(date.getTime());
+    }
+
+    /**
+     * Translates a timeline value into a millisecond.
+     *
+     * @param timelineValue  the timeline value.
+     *
+     * @return The millisecond.
+     */
+    @Override
+    public long toMillisecond(long timelineValue) {
+        if (timelineValue < this.start) {
+            return timelineValue;
+        }
+        SegmentTable t = getTable();
+        if (timelineValue >= t.total) {
+            return this.end + (timelineValue - t.total);
+        }
+        // the last segment with a cumulative value <= timelineValue (there
+        // is at least one, since cumulative[0] is the span start)
+        int low = 0;
+        int high = t.count - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (t.cumulative[mid] <= timelineValue) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return t.starts[low] + (timelineValue - t.cumulative[low]);
+    }
+
+    /**
+     * Returns {@code true} if the millisecond is included in the timeline.
+     *
+     * @param millisecond  the millisecond.
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean containsDomainValue(long millisecond) {
+        if (millisecond < this.start || millisecond >= this.end) {
+            return true;
+        }
+        SegmentTable t = getTable();
+        int i = t.segmentAtOrBefore(millisecond);
+        return i >= 0 && millisecond < t.ends[i];
+    }
+
+    /**
+     * Returns {@code true} if the date is included in the timeline.
+     *
+     * @param date  the date ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean containsDomainValue(Date date) {
+        return containsDomainValue(date.getTime());
+    }
+
+    /**
+     * Returns {@code true} if every millisecond in the range is included in
+     * the timeline.
+     *
+     * @param fromMillisecond  the start of the range (inclusive).
+     * @param toMillisecond  the end of the range (inclusive).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean containsDomainRange(long fromMillisecond,
+            long toMillisecond) {
+        if (toMillisecond < fromMillisecond) {
+            throw new IllegalArgumentException(
+                    "Requires 'fromMillisecond' <= 'toMillisecond'.");
+        }
+        // any excluded time in the range would make the distance along the
+        // timeline shorter than the distance in milliseconds
+        return containsDomainValue(fromMillisecond)
+                && containsDomainValue(toMillisecond)
+                && toTimelineValue(toMillisecond)
+                - toTimelineValue(fromMillisecond)
+                == toMillisecond - fromMillisecond;
+    }
+
+    /**
+     * Returns {@code true} if every millisecond in the range is included in
+     * the timeline.
+     *
+     * @param fromDate  the start of the range ({@code null} not permitted).
+     * @param toDate  the end of the range ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean containsDomainRange(Date fromDate, Date toDate) {
+        return containsDomainRange(fromDate.getTime(), toDate.getTime());
+    }
+
+    /**
+     * Returns the segment table, building it if necessary.
+     *
+     * @return The segment table.
+     */
+    private SegmentTable getTable() {
+        SegmentTable t = this.table;
+        if (t == null) {
+            t = buildTable();
+            this.table = t;
+        }
+        return t;
+    }
+
+    /**
+     * Builds the segment table from the current settings.
+     *
+     * @return The segment table.
+     */
+    private SegmentTable buildTable() {
+        long[] excluded = mergeRanges(this.excludedRanges);
+        SegmentTable t = new SegmentTable(this.start);
+        Calendar day = Calendar.getInstance(this.timeZone);
+        day.setTimeInMillis(this.start);
+        day.set(Calendar.HOUR_OF_DAY, 0);
+        day.set(Calendar.MINUTE, 0);
+        day.set(Calendar.SECOND, 0);
+        day.set(Calendar.MILLISECOND, 0);
+        Calendar c = (Calendar) day.clone();
+        long[] daySessions = this.sessions.length > 0 ? this.sessions
+                : new long[] {0L, DAY_MILLIS};
+        int e = 0;
+        while (day.getTimeInMillis() < this.end) {
+            if (this.includedDays[day.get(Calendar.DAY_OF_WEEK)]
+                    && (this.excludedDays.isEmpty()
+                    || !this.excludedDays.contains(new Day(
+                    day.get(Calendar.DATE), day.get(Calendar.MONTH) + 1,
+                    day.get(Calendar.YEAR))))) {
+                for (int i = 0; i < daySessions.length; i += 2) {
+                    long s = Math.max(wallClock(day, c, daySessions[i]),
+                            this.start);
+                    long f = Math.min(wallClock(day, c, daySessions[i + 1]),
+                            this.end);
+                    if (s >= f) {
+                        continue;
+                    }
+                    // subtract the excluded ranges (which are sorted and do
+                    // not overlap)
+                    while (e < excluded.length && excluded[e + 1] <= s) {
+                        e += 2;
+                    }
+                    int k = e;
+                    while (k < excluded.length && excluded[k] < f) {
+                        if (excluded[k] > s) {
+                            t.add(s, excluded[k]);
+                        }
+                        s = Math.max(s, excluded[k + 1]);
+                        k += 2;
+                    }
+                    if (s < f) {
+                        t.add(s, f);
+                    }
+                }
+            }
+            day.add(Calendar.DATE, 1);
+        }
+        t.finish();
+        return t;
+    }
+
+    /**
+     * Returns the millisecond for a wall clock offset from the start of a
+     * day (this allows for days that are not 24 hours long because of a
+     * daylight saving change).
+     *
+     * @param day  a calendar set to the start of the day.
+     * @param c  a calendar to use for the calculation.
+     * @param offset  the offset in milliseconds.
+     *
+     * @return The millisecond.
+     */
+    private static long wallClock(Calendar day, Calendar c, long offset) {
+        if (offset >= DAY_MILLIS) {
+            c.setTimeInMillis(day.getTimeInMillis());
+            c.add(Calendar.DATE, 1);
+            return c.getTimeInMillis();
+        }
+        c.setTimeInMillis(day.getTimeInMillis());
+        c.set(Calendar.HOUR_OF_DAY, (int) (offset / 3600000L));
+        c.set(Calendar.MINUTE, (int) (offset / 60000L % 60L));
+        c.set(Calendar.SECOND, (int) (offset / 1000L % 60L));
+        c.set(Calendar.MILLISECOND, (int) (offset % 1000L));
+        return c.getTimeInMillis();
+    }
+
+    /**
+     * Returns the ranges sorted by start, with overlapping ranges merged.
+     *
+     * @param ranges  pairs of start and end values.
+     *
+     * @return The merged ranges.
+     */
+    private static long[] mergeRanges(long[] ranges) {
+        int n = ranges.length / 2;
+        long[][] pairs = new long[n][];
+        for (int i = 0; i < n; i++) {
+            pairs[i] = new long[] {ranges[2 * i], ranges[2 * i + 1]};
+        }
+        Arrays.sort(pairs, new java.util.Comparator<long[]>() {
+            @Override
+            public int compare(long[] a, long[] b) {
+                return a[0] < b[0] ? -1 : (a[0] > b[0] ? 1 : 0);
+            }
+        });
+        long[] result = new long[ranges.length];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (count > 0 && pairs[i][0] <= result[count - 1]) {
+                result[count - 1] = Math.max(result[count - 1], pairs[i][1]);
+            }
+            else {
+                result[count++] = pairs[i][0];
+                result[count++] = pairs[i][1];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Tests this timeline for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof SessionTimeline)) {
+            return false;
+        }
+        SessionTimeline that = (SessionTimeline) obj;
+        if (!this.timeZone.equals(that.timeZone)) {
+            return false;
+        }
+        if (this.start != that.start || this.end != that.end) {
+            return false;
+        }
+        if (!Arrays.equals(this.sessions, that.sessions)) {
+            return false;
+        }
+        if (!Arrays.equals(this.includedDays, that.includedDays)) {
+            return false;
+        }
+        if (!this.excludedDays.equals(that.excludedDays)) {
+            return false;
+        }
+        if (!Arrays.equals(this.excludedRanges, that.excludedRanges)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 37 * hash + this.timeZone.hashCode();
+        hash = 37 * hash + (int) (this.start ^ (this.start >>> 32));
+        hash = 37 * hash + (int) (this.end ^ (this.end >>> 32));
+        hash = 37 * hash + Arrays.hashCode(this.sessions);
+        return hash;
+    }
+
+    /**
+     * Returns a clone of this timeline.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        SessionTimeline clone = (SessionTimeline) super.clone();
+        clone.timeZone = (TimeZone) this.timeZone.clone();
+        clone.includedDays = this.includedDays.clone();
+        clone.excludedDays = new HashSet<Day>(this.excludedDays);
+        // 'sessions' and 'excludedRanges' are replaced (never modified), and
+        // the segment table is immutable
+        return clone;
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.table = null;
+    }
+
+    /**
+     * The included segments with the timeline value at the start of each.
+     * Instances are not modified once built, so they can be shared by
+     * threads without synchronization.
+     */
+    private static final class SegmentTable {
+
+        /** The timeline value at the start of the span. */
+        private final long origin;
+
+        /** The timeline value at the end of the span. */
+        private long total;
+
+        /** The segment count. */
+        private int count;
+
+        /** The segment starts (inclusive). */
+        private long[] starts = new long[64];
+
+        /** The segment ends (exclusive). */
+        private long[] ends = new long[64];
+
+        /** The timeline value at the start of each segment. */
+        private long[] cumulative;
+
+        /**
+         * Creates a new empty table.
+         *
+         * @param origin  the timeline value at the start of the span.
+         */
+        SegmentTable(long origin) {
+            this.origin = origin;
+        }
+
+        /**
+         * Adds a segment after the existing segments, joining it to the last
+         * segment if they meet.
+         *
+         * @param s  the start.
+         * @param e  the end.
+         */
+        void add(long s, long e) {
+            if (this.count > 0 && this.ends[this.count - 1] == s) {
+                this.ends[this.count - 1] = e;
+                return;
+            }
+            if (this.count == this.starts.length) {
+                this.starts = Arrays.copyOf(this.starts, this.count * 2);
+                this.ends = Arrays.copyOf(this.ends, this.count * 2);
+            }
+            this.starts[this.count] = s;
+            this.ends[this.count] = e;
+            this.count++;
+        }
+
+        /**
+         * Calculates the cumulative values once all segments are added.
+         */
+        void finish() {
+            this.cumulative = new long[this.count];
+            long value = this.origin;
+            for (int i = 0; i < this.count; i++) {
+                this.cumulative[i] = value;
+                value += this.ends[i] - this.starts[i];
+            }
+            this.total = value;
+        }
+
+        /**
+         * Returns the index of the last segment that starts at or before the
+         * specified millisecond, or -1.
+         *
+         * @param millisecond  the millisecond.
+         *
+         * @return The segment index.
+         */
+        int segmentAtOrBefore(long millisecond) {
+            int low = 0;
+            int high = this.count - 1;
+            int result = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (this.starts[mid] <= millisecond) {
+                    result = mid;
+                    low = mid + 1;
+                }
+                else {
+                    high = mid - 1;
+                }
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,171 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.axis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A small cache of the ticks calculated by an axis.  An axis usually
+ * calculates its ticks twice for each chart drawing (once to reserve space
+ * and once to draw), and then again for every repaint, with the same
+ * inputs.  The axis records each result against a key listing everything
+ * the calculation depends on (the range, the tick unit, the area, the font,
+ * the font render context and so on), and the cache is cleared whenever
+ * the axis sends an {@link org.jfree.chart.event.AxisChangeEvent}.
+ * <p>
+ * Formatters are assumed not to be modified in place: changes to a tick
+ * label formatter should be made by setting a new formatter on the axis.
+ *
+ * @since 1.5.1
+ */
+final class TickCache {
+
+    /** The maximum number of entries retained. */
+    private static final int MAXIMUM_ENTRY_COUNT = 4;
+
+    /** The entries, most recently used first. */
+    private final LinkedList<Entry> entries;
+
+    /**
+     * Creates a new empty cache.
+     */
+    TickCache() {
+        this.entries = new LinkedList<Entry>();
+    }
+
+    /**
+     * Returns the entry for a key, or {@code null}.
+     *
+     * @param key  the key (an array of values compared with
+     *     {@code equals()}).
+     *
+     * @return The entry (possibly {@code null}).
+     */
+    synchronized Entry get(Object[] key) {
+        for (Entry entry : this.entries) {
+            if (Arrays.equals(entry.key, key)) {
+                if (entry != this.entries.getFirst()) {
+                    this.entries.remove(entry);
+                    this.entries.addFirst(entry);
+                }
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds an entry to the cache.
+     *
+     * @param key  the key.
+     * @param ticks  the ticks (copied).
+     * @param tickUnit  the tick unit selected by the calculation
+     *     ({@code null} permitted).
+     * @param max  the maximum label size recorded in the axis state.
+     */
+    synchronized void put(Object[] key, List ticks, Object tickUnit,
+            double max) {
+        this.entries.addFirst(new Entry(key, ticks, tickUnit, max));
+        if (this.entries.size() > MAXIMUM_ENTRY_COUNT) {
+            this.entries.removeLast();
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * A cached calculation.
+     */
+    static final class Entry {
+
+        /** The key. */
+        private final Object[] key;
+
+        /** The ticks. */
+        private final List ticks;
+
+        /** The tick unit selected by the calculation. */
+        private final Object tickUnit;
+
+        /** The maximum label size. */
+        private final double max;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param key  the key.
+         * @param ticks  the ticks (copied).
+         * @param tickUnit  the tick unit ({@code null} permitted).
+         * @param max  the maximum label size.
+         */
+        Entry(Object[] key, List ticks, Object tickUnit, double max) {
+            this.key = key;
+            this.ticks = new ArrayList(ticks);
+            this.tickUnit = tickUnit;
+            this.max = max;
+        }
+
+        /**
+         * Returns a new list containing the ticks.
+         *
+         * @return The ticks.
+         */
+        List getTicks() {
+            return new ArrayList(this.ticks);
+        }
+
+        /**
+         * Returns the tick unit selected by the calculation.
+         *
+         * @return The tick unit (possibly {@code null}).
+         */
+        Object getTickUnit() {
+            return this.tickUnit;
+        }
+
+        /**
+         * Returns the maximum label size recorded in the axis state.
+         *
+         * @return The maximum label size.
+         */
+        double getMax() {
+            return this.max;
+        }
+
+    }
+
+}
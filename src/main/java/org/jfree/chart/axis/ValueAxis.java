@@ -1474,6 +1474,29 @@ public abstract class ValueAxis extends Axis
     public abstract double valueToJava2D(double value, Rectangle2D area,
                                          RectangleEdge edge);
 
+    /**
+     * Returns a transform that converts data values to Java2D coordinates
+     * in the same way as
+     * {@link #valueToJava2D(double, Rectangle2D, RectangleEdge)}, for the
+     * current state of this axis and the specified area and edge.  This is
+     * intended for renderers that convert many values for one drawing.
+     * This implementation returns a transform that calls
+     * {@code valueToJava2D()} for each value, subclasses may return a
+     * transform that does less work for each value.
+     *
+     * @param area  the area for plotting the data ({@code null} not
+     *     permitted).
+     * @param edge  the edge along which the axis lies.
+     *
+     * @return The transform (never {@code null}).
+     *
+     * @since 1.5.1
+     */
+    public AxisTransform createTransform(Rectangle2D area,
+            RectangleEdge edge) {
+        return new AxisTransform.Generic(this, area, edge);
+    }
+
     /**
      * Converts a length in data coordinates into the corresponding length in
      * Java2D coordinates.
@@ -1731,6 +1754,11 @@ public abstract class ValueAxis extends Axis
     @Override
     public Object clone() throws CloneNotSupportedException {
         ValueAxis clone = (ValueAxis) super.clone();
+        if (this.standardTickUnits instanceof PublicCloneable) {
+            // some sources (NumberTickUnitSource) hold mutable search state
+            clone.standardTickUnits = (TickUnitSource) ObjectUtils.clone(
+                    this.standardTickUnits);
+        }
         return clone;
     }
 
@@ -42,8 +42,10 @@
 package org.jfree.chart.plot;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import org.jfree.chart.util.Args;
+import org.jfree.chart.util.PublicCloneable;
 
 /**
  * A base class for handling the distribution of pie section labels.  Create
@@ -51,7 +53,8 @@ import org.jfree.chart.util.Args;
  * {@link PiePlot#setLabelDistributor(AbstractPieLabelDistributor)} method
  * if you want to customise the label distribution.
  */
-public abstract class AbstractPieLabelDistributor implements Serializable {
+public abstract class AbstractPieLabelDistributor implements PublicCloneable,
+        Serializable {
 
     /** The label records. */
     protected List labels;
@@ -60,7 +63,7 @@ public abstract class AbstractPieLabelDistributor implements Serializable {
      * Creates a new instance.
      */
     public AbstractPieLabelDistributor() {
-        this.labels = new java.util.ArrayList();
+        this.labels = new ArrayList();
     }
 
     /**
@@ -109,4 +112,50 @@ public abstract class AbstractPieLabelDistributor implements Serializable {
      */
     public abstract void distributeLabels(double minY, double height);
 
+    /**
+     * Labels are spaced evenly in the available space in an attempt to
+     * eliminate the overlaps.
+     *
+     * @param minY  the minimum y value (in Java2D coordinate space).
+     * @param height  the height available for all labels.
+     *
+     * @since 1.5.1
+     */
+    protected void spreadEvenly(double minY, double height) {
+        double y = minY;
+        double sumOfLabelHeights = 0.0;
+        for (int i = 0; i < this.labels.size(); i++) {
+            sumOfLabelHeights += getPieLabelRecord(i).getLabelHeight();
+        }
+        double gap = height - sumOfLabelHeights;
+        if (this.labels.size() > 1) {
+            gap = gap / (this.labels.size() - 1);
+        }
+        for (int i = 0; i < this.labels.size(); i++) {
+            PieLabelRecord record = getPieLabelRecord(i);
+            y = y + record.getLabelHeight() / 2.0;
+            record.setAllocatedY(y);
+            y = y + record.getLabelHeight() / 2.0 + gap;
+        }
+    }
+
+    /**
+     * Returns a clone of this distributor.  The clone has its own (empty)
+     * list of label records, so that a cloned plot does not share the
+     * working state of the original.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     *
+     * @since 1.5.1
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        AbstractPieLabelDistributor clone
+                = (AbstractPieLabelDistributor) super.clone();
+        clone.labels = new ArrayList();
+        return clone;
+    }
+
 }
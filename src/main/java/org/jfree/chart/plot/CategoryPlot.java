@@ -289,6 +289,13 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
     /** The default grid line paint. */
     public static final Paint DEFAULT_GRIDLINE_PAINT = Color.LIGHT_GRAY;
 
+    /**
+     * The distance (in Java2D units) beyond the clip within which columns
+     * are still drawn, to allow for shapes and labels that extend past their
+     * category.
+     */
+    private static final double COLUMN_CULLING_MARGIN = 64.0;
+
     /** The default value label font. */
     public static final Font DEFAULT_VALUE_LABEL_FONT = new Font("SansSerif",
             Font.PLAIN, 10);
@@ -1360,6 +1367,18 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
         return this.datasets.size();
     }
 
+    /**
+     * Returns the datasets for the plot, keyed by dataset index.  The map may
+     * contain {@code null} values.
+     *
+     * @return An unmodifiable map of the datasets (never {@code null}).
+     *
+     * @since 1.5.1
+     */
+    public Map<Integer, CategoryDataset> getDatasets() {
+        return Collections.unmodifiableMap(this.datasets);
+    }
+
     /**
      * Returns the index of the specified dataset, or {@code -1} if the
      * dataset does not belong to the plot.
@@ -3884,10 +3903,30 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
             state.setCrosshairState(crosshairState);
             int columnCount = currentDataset.getColumnCount();
             int rowCount = currentDataset.getRowCount();
+            int firstColumn = 0;
+            int lastColumn = columnCount - 1;
+            if (domainAxis != null && state.getEntityCollection() == null
+                    && renderer instanceof AbstractCategoryItemRenderer
+                    && ((AbstractCategoryItemRenderer) renderer)
+                    .isColumnCullingSupported()) {
+                int[] visible = findVisibleColumns(g2, dataArea, domainAxis,
+                        columnCount);
+                if (visible != null) {
+                    firstColumn = visible[0];
+                    lastColumn = visible[1];
+                }
+            }
             int passCount = renderer.getPassCount();
             for (int pass = 0; pass < passCount; pass++) {
-                if (this.columnRenderingOrder == SortOrder.ASCENDING) {
-                    for (int column = 0; column < columnCount; column++) {
+                if (renderer instanceof AbstractCategoryItemRenderer) {
+                    ((AbstractCategoryItemRenderer) renderer).drawColumns(g2,
+                            state, dataArea, this, domainAxis, rangeAxis,
+                            currentDataset, firstColumn, lastColumn, pass,
+                            this.columnRenderingOrder, this.rowRenderingOrder);
+                }
+                else if (this.columnRenderingOrder == SortOrder.ASCENDING) {
+                    for (int column = firstColumn; column <= lastColumn;
+                            column++) {
                         if (this.rowRenderingOrder == SortOrder.ASCENDING) {
                             for (int row = 0; row < rowCount; row++) {
                                 renderer.drawItem(g2, state, dataArea, this,
@@ -3905,7 +3944,8 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
                     }
                 }
                 else {
-                    for (int column = columnCount - 1; column >= 0; column--) {
+                    for (int column = lastColumn; column >= firstColumn;
+                            column--) {
                         if (this.rowRenderingOrder == SortOrder.ASCENDING) {
                             for (int row = 0; row < rowCount; row++) {
                                 renderer.drawItem(g2, state, dataArea, this,
@@ -3928,6 +3968,79 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
 
     }
 
+    /**
+     * Finds the range of columns that can be seen through the clip of the
+     * graphics target.  When a chart is much larger than the area being
+     * painted (for example a chart with many thousands of categories in a
+     * scroll pane), this limits the work to the visible categories.  Items
+     * that are skipped create no entities, so the caller only uses the
+     * result when no entities are being collected (they also do not update
+     * the crosshair state, but a crosshair anchor lies within the painted
+     * area in practice).  The result is also only used for renderers that
+     * support it (see
+     * {@link AbstractCategoryItemRenderer#isColumnCullingSupported()}).
+     *
+     * @param g2  the graphics target.
+     * @param dataArea  the data area.
+     * @param axis  the domain axis.
+     * @param columnCount  the number of columns in the dataset.
+     *
+     * @return The indices of the first and last visible columns (the first
+     *     will be greater than the last if no column is visible), or
+     *     {@code null} if the clip does not exclude any part of the data
+     *     area.
+     */
+    private int[] findVisibleColumns(Graphics2D g2, Rectangle2D dataArea,
+            CategoryAxis axis, int columnCount) {
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null || columnCount < 2) {
+            return null;
+        }
+        RectangleEdge edge = getDomainAxisEdge(getDomainAxisIndex(axis));
+        boolean horizontal = RectangleEdge.isTopOrBottom(edge);
+        double lo = (horizontal ? clip.getMinX() : clip.getMinY())
+                - COLUMN_CULLING_MARGIN;
+        double hi = (horizontal ? clip.getMaxX() : clip.getMaxY())
+                + COLUMN_CULLING_MARGIN;
+        if (lo <= (horizontal ? dataArea.getMinX() : dataArea.getMinY())
+                && hi >= (horizontal ? dataArea.getMaxX()
+                : dataArea.getMaxY())) {
+            return null;
+        }
+        // the categories are laid out in increasing order along the axis,
+        // so find the first category ending after 'lo' and the last one
+        // starting before 'hi'
+        int low = 0;
+        int high = columnCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (axis.getCategoryEnd(mid, columnCount, dataArea, edge) < lo) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        int first = low;
+        low = 0;
+        high = columnCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (axis.getCategoryStart(mid, columnCount, dataArea, edge)
+                    <= hi) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        int last = low - 1;
+        // one more column on each side, for items that connect to their
+        // neighbours
+        return new int[] {Math.max(0, first - 1),
+                Math.min(columnCount - 1, last + 1)};
+    }
+
     /**
      * Draws the domain gridlines for the plot, if they are visible.
      *
@@ -4458,12 +4571,13 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
      */
     public List getCategoriesForAxis(CategoryAxis axis) {
         List result = new ArrayList();
+        Set<Comparable> seen = new HashSet<Comparable>();
         int axisIndex = getDomainAxisIndex(axis);
         for (CategoryDataset dataset : datasetsMappedToDomainAxis(axisIndex)) {
             // add the unique categories from this dataset
             for (int i = 0; i < dataset.getColumnCount(); i++) {
                 Comparable category = dataset.getColumnKey(i);
-                if (!result.contains(category)) {
+                if (seen.add(category)) {
                     result.add(category);
                 }
             }
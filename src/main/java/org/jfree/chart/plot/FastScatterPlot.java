@@ -80,20 +80,25 @@ import java.awt.Stroke;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ResourceBundle;
 
 import org.jfree.chart.axis.AxisSpace;
 import org.jfree.chart.axis.AxisState;
+import org.jfree.chart.axis.AxisTransform;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.axis.ValueTick;
 import org.jfree.chart.event.PlotChangeEvent;
+import org.jfree.chart.renderer.ShapeStampCache;
 import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.chart.util.ArrayUtils;
@@ -106,6 +111,15 @@ import org.jfree.data.Range;
 
 /**
  * A fast scatter plot.
+ * <p>
+ * When the plot paint is a {@code Color} and the chart is drawn to a raster
+ * target (such as a {@code BufferedImage}), the points are written directly
+ * into the pixels of an image that is then drawn in one operation (each
+ * pixel is painted once, however many points fall in it).  Large data
+ * arrays can optionally be processed by several threads (see
+ * {@link #setThreadCount(int)}).  When the domain axis is zoomed
+ * in, an index of the items by x-value (built the first time it is needed)
+ * limits the work to the items that can be visible.
  */
 public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         Zoomable, Cloneable, Serializable {
@@ -173,6 +187,41 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
      */
     private boolean rangePannable;
 
+    /**
+     * The number of threads used to draw the points (1 by default, 0 to use
+     * the number of available processors).
+     *
+     * @since 1.5.1
+     */
+    private int threadCount;
+
+    /**
+     * The item indices ordered by x-value bucket (built when first needed,
+     * {@code null} otherwise).
+     */
+    private transient int[] xIndexOrder;
+
+    /**
+     * The position in {@code xIndexOrder} of the first item in each bucket,
+     * with the total number of indexed items as the last element.
+     */
+    private transient int[] xIndexStarts;
+
+    /** The x-value at the start of the first bucket. */
+    private transient double xIndexMin;
+
+    /** The number of buckets per unit of x. */
+    private transient double xIndexScale;
+
+    /** The maximum number of x-value buckets in the index. */
+    private static final int MAXIMUM_BUCKET_COUNT = 65536;
+
+    /** The smallest item count for which an x-value index is built. */
+    private static final int MINIMUM_INDEX_ITEM_COUNT = 10000;
+
+    /** The smallest number of items that is worth drawing in a thread. */
+    private static final int MINIMUM_ITEMS_PER_THREAD = 100000;
+
     /** The resourceBundle for the localization. */
     protected static ResourceBundle localizationResources
             = ResourceBundleWrapper.getBundle(
@@ -221,6 +270,8 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         this.rangeGridlinesVisible = true;
         this.rangeGridlinePaint = FastScatterPlot.DEFAULT_GRIDLINE_PAINT;
         this.rangeGridlineStroke = FastScatterPlot.DEFAULT_GRIDLINE_STROKE;
+
+        this.threadCount = 1;
     }
 
     /**
@@ -246,7 +297,9 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
 
     /**
      * Sets the data array used by the plot and sends a {@link PlotChangeEvent}
-     * to all registered listeners.
+     * to all registered listeners.  The plot caches the data ranges and an
+     * index of the x-values, so if the array is modified in place this
+     * method should be called again.
      *
      * @param data  the data array ({@code null} permitted).
      *
@@ -254,6 +307,50 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
      */
     public void setData(float[][] data) {
         this.data = data;
+        this.xDataRange = calculateXDataRange(data);
+        this.yDataRange = calculateYDataRange(data);
+        this.xIndexOrder = null;
+        this.xIndexStarts = null;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the number of threads used to draw the points.  The default
+     * is 1 (the points are drawn in the thread that draws the chart), and
+     * zero means that the number of available processors is used.
+     *
+     * @return The thread count.
+     *
+     * @see #setThreadCount(int)
+     *
+     * @since 1.5.1
+     */
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+
+    /**
+     * Sets the number of threads used to draw the points and sends a
+     * {@link PlotChangeEvent} to all registered listeners.  Small data
+     * arrays, and all data arrays drawn to a target that is not a raster
+     * target, are drawn in the calling thread.
+     * <p>
+     * With a count other than 1 the data arrays and the axes are read from
+     * several threads at once, so neither may be modified while the chart
+     * is being drawn.
+     *
+     * @param count  the thread count (zero for automatic, negative values
+     *     not permitted).
+     *
+     * @see #getThreadCount()
+     *
+     * @since 1.5.1
+     */
+    public void setThreadCount(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Requires 'count' >= 0.");
+        }
+        this.threadCount = count;
         fireChangeEvent();
     }
 
@@ -583,34 +680,176 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
     public void render(Graphics2D g2, Rectangle2D dataArea,
                        PlotRenderingInfo info, CrosshairState crosshairState) {
         g2.setPaint(this.paint);
+        if (this.data == null) {
+            return;
+        }
 
-        // if the axes use a linear scale, you can uncomment the code below and
-        // switch to the alternative transX/transY calculation inside the loop
-        // that follows - it is a little bit faster then.
-        //
-        // int xx = (int) dataArea.getMinX();
-        // int ww = (int) dataArea.getWidth();
-        // int yy = (int) dataArea.getMaxY();
-        // int hh = (int) dataArea.getHeight();
-        // double domainMin = this.domainAxis.getLowerBound();
-        // double domainLength = this.domainAxis.getUpperBound() - domainMin;
-        // double rangeMin = this.rangeAxis.getLowerBound();
-        // double rangeLength = this.rangeAxis.getUpperBound() - rangeMin;
+        // when zoomed in on the domain axis, use the index to find the items
+        // that can be visible
+        int[] order = null;
+        int from = 0;
+        int to = this.data[0].length;
+        Range xRange = this.xDataRange;
+        double lower = this.domainAxis.getLowerBound();
+        double upper = this.domainAxis.getUpperBound();
+        if (xRange != null && to >= MINIMUM_INDEX_ITEM_COUNT
+                && (lower > xRange.getLowerBound()
+                || upper < xRange.getUpperBound())) {
+            if (this.xIndexOrder == null) {
+                buildXIndex();
+            }
+            int start = this.xIndexStarts[findXBucket(lower)];
+            int end = this.xIndexStarts[findXBucket(upper) + 1];
+            if (end - start < to / 2) {
+                order = this.xIndexOrder;
+                from = start;
+                to = end;
+            }
+        }
 
-        if (this.data != null) {
-            for (int i = 0; i < this.data[0].length; i++) {
-                float x = this.data[0][i];
-                float y = this.data[1][i];
-
-                //int transX = (int) (xx + ww * (x - domainMin) / domainLength);
-                //int transY = (int) (yy - hh * (y - rangeMin) / rangeLength);
-                int transX = (int) this.domainAxis.valueToJava2D(x, dataArea,
-                        RectangleEdge.BOTTOM);
-                int transY = (int) this.rangeAxis.valueToJava2D(y, dataArea,
-                        RectangleEdge.LEFT);
-                g2.fillRect(transX, transY, 1, 1);
+        if (this.paint instanceof Color
+                && ShapeStampCache.isRasterTarget(g2)) {
+            renderImage(g2, dataArea, ((Color) this.paint).getRGB(), order,
+                    from, to);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            int item = (order != null ? order[i] : i);
+            float x = this.data[0][item];
+            float y = this.data[1][item];
+            int transX = (int) this.domainAxis.valueToJava2D(x, dataArea,
+                    RectangleEdge.BOTTOM);
+            int transY = (int) this.rangeAxis.valueToJava2D(y, dataArea,
+                    RectangleEdge.LEFT);
+            g2.fillRect(transX, transY, 1, 1);
+        }
+    }
+
+    /**
+     * Draws the points by writing the color directly into the pixels of an
+     * image covering the data area, then draws the image.  The pixels are
+     * the same ones that {@code fillRect(transX, transY, 1, 1)} would
+     * paint for each point.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the data area.
+     * @param argb  the point color.
+     * @param order  the item order ({@code null} for the natural order).
+     * @param from  the first position (inclusive).
+     * @param to  the last position (exclusive).
+     */
+    private void renderImage(Graphics2D g2, Rectangle2D dataArea, int argb,
+            int[] order, int from, int to) {
+        int x0 = (int) Math.floor(dataArea.getMinX());
+        int y0 = (int) Math.floor(dataArea.getMinY());
+        int width = (int) Math.ceil(dataArea.getMaxX()) - x0;
+        int height = (int) Math.ceil(dataArea.getMaxY()) - y0;
+        if (width <= 0 || height <= 0 || to <= from) {
+            return;
+        }
+        BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        int threads = this.threadCount;
+        if (threads == 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        threads = Math.max(1, Math.min(threads,
+                (to - from) / MINIMUM_ITEMS_PER_THREAD));
+        PointWriter[] writers = new PointWriter[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int start = from + (int) ((long) (to - from) * t / threads);
+            int end = from + (int) ((long) (to - from) * (t + 1) / threads);
+            writers[t] = new PointWriter(this.data, order, start, end,
+                    this.domainAxis, this.rangeAxis, dataArea, x0, y0, width,
+                    height, argb, pixels);
+            if (t > 0) {
+                workers[t] = new Thread(writers[t], "FastScatterPlot-" + t);
+                workers[t].setDaemon(true);
+                workers[t].start();
+            }
+        }
+        // all the writers store the same value, so they can share the pixels
+        writers[0].run();
+        boolean interrupted = false;
+        for (int t = 1; t < threads; t++) {
+            while (workers[t].isAlive()) {
+                try {
+                    workers[t].join();
+                }
+                catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        for (int t = 0; t < threads; t++) {
+            Throwable error = writers[t].error;
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+        }
+        g2.drawImage(image, x0, y0, null);
+    }
+
+    /**
+     * Builds the index of the items by x-value: the range of x-values is
+     * divided into buckets of equal width, and the item indices are sorted
+     * by bucket (a counting sort).  Items with a {@code NaN} x-value are
+     * left out.
+     */
+    private void buildXIndex() {
+        float[] xs = this.data[0];
+        int n = xs.length;
+        int buckets = Math.max(1, Math.min(n / 8, MAXIMUM_BUCKET_COUNT));
+        this.xIndexMin = this.xDataRange.getLowerBound();
+        double length = this.xDataRange.getLength();
+        this.xIndexScale = 0.0;
+        if (length > 0.0 && !Double.isInfinite(length)) {
+            this.xIndexScale = buckets / length;
+        }
+        int[] starts = new int[buckets + 1];
+        this.xIndexStarts = starts;
+        for (int i = 0; i < n; i++) {
+            if (!Float.isNaN(xs[i])) {
+                starts[findXBucket(xs[i]) + 1]++;
+            }
+        }
+        for (int b = 0; b < buckets; b++) {
+            starts[b + 1] += starts[b];
+        }
+        int[] next = Arrays.copyOf(starts, buckets);
+        int[] order = new int[starts[buckets]];
+        for (int i = 0; i < n; i++) {
+            if (!Float.isNaN(xs[i])) {
+                order[next[findXBucket(xs[i])]++] = i;
             }
         }
+        this.xIndexOrder = order;
+    }
+
+    /**
+     * Returns the index bucket for an x-value (values outside the data range
+     * are assigned to the first or last bucket).
+     *
+     * @param x  the x-value.
+     *
+     * @return The bucket.
+     */
+    private int findXBucket(double x) {
+        int last = this.xIndexStarts.length - 2;
+        double b = (x - this.xIndexMin) * this.xIndexScale;
+        if (!(b >= 0.0)) {
+            return 0;
+        }
+        return (b >= last ? last : (int) b);
     }
 
     /**
@@ -705,7 +944,7 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
 
         Range result = null;
 
-        if (data != null) {
+        if (data != null && data[0] != null) {
             float lowest = Float.POSITIVE_INFINITY;
             float highest = Float.NEGATIVE_INFINITY;
             for (int i = 0; i < data[0].length; i++) {
@@ -736,7 +975,7 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
     private Range calculateYDataRange(float[][] data) {
 
         Range result = null;
-        if (data != null) {
+        if (data != null && data[0] != null && data[1] != null) {
             float lowest = Float.POSITIVE_INFINITY;
             float highest = Float.NEGATIVE_INFINITY;
             for (int i = 0; i < data[0].length; i++) {
@@ -1020,6 +1259,9 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         if (this.rangePannable != that.rangePannable) {
             return false;
         }
+        if (this.threadCount != that.threadCount) {
+            return false;
+        }
         if (!ArrayUtils.equal(this.data, that.data)) {
             return false;
         }
@@ -1072,6 +1314,8 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         if (this.data != null) {
             clone.data = ArrayUtils.clone(this.data);
         }
+        clone.xIndexOrder = null;
+        clone.xIndexStarts = null;
         if (this.domainAxis != null) {
             clone.domainAxis = (ValueAxis) this.domainAxis.clone();
             clone.domainAxis.setPlot(clone);
@@ -1130,4 +1374,130 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         }
     }
 
+    /**
+     * Writes a range of the data items into the pixels of an image, mapping
+     * the values with the axis transforms (see
+     * {@link ValueAxis#createTransform(Rectangle2D, RectangleEdge)}).
+     */
+    private static final class PointWriter implements Runnable {
+
+        /** The data. */
+        private final float[][] data;
+
+        /** The item order ({@code null} for the natural order). */
+        private final int[] order;
+
+        /** The first position (inclusive). */
+        private final int from;
+
+        /** The last position (exclusive). */
+        private final int to;
+
+        /** The domain axis. */
+        private final ValueAxis domainAxis;
+
+        /** The range axis. */
+        private final ValueAxis rangeAxis;
+
+        /** The data area. */
+        private final Rectangle2D dataArea;
+
+        /** The x-coordinate of the image origin. */
+        private final int x0;
+
+        /** The y-coordinate of the image origin. */
+        private final int y0;
+
+        /** The image width. */
+        private final int width;
+
+        /** The image height. */
+        private final int height;
+
+        /** The point color. */
+        private final int argb;
+
+        /** The image pixels. */
+        private final int[] pixels;
+
+        /** The error thrown by {@link #run()}, if any. */
+        private Throwable error;
+
+        /**
+         * Creates a new writer.
+         *
+         * @param data  the data.
+         * @param order  the item order ({@code null} permitted).
+         * @param from  the first position (inclusive).
+         * @param to  the last position (exclusive).
+         * @param domainAxis  the domain axis.
+         * @param rangeAxis  the range axis.
+         * @param dataArea  the data area.
+         * @param x0  the x-coordinate of the image origin.
+         * @param y0  the y-coordinate of the image origin.
+         * @param width  the image width.
+         * @param height  the image height.
+         * @param argb  the point color.
+         * @param pixels  the image pixels.
+         */
+        PointWriter(float[][] data, int[] order, int from, int to,
+                ValueAxis domainAxis, ValueAxis rangeAxis,
+                Rectangle2D dataArea, int x0, int y0, int width, int height,
+                int argb, int[] pixels) {
+            this.data = data;
+            this.order = order;
+            this.from = from;
+            this.to = to;
+            this.domainAxis = domainAxis;
+            this.rangeAxis = rangeAxis;
+            this.dataArea = dataArea;
+            this.x0 = x0;
+            this.y0 = y0;
+            this.width = width;
+            this.height = height;
+            this.argb = argb;
+            this.pixels = pixels;
+        }
+
+        /**
+         * Writes the points, recording any error for the calling thread.
+         */
+        @Override
+        public void run() {
+            try {
+                write();
+            }
+            catch (Throwable t) {
+                this.error = t;
+            }
+        }
+
+        /**
+         * Writes the points.
+         */
+        private void write() {
+            float[] xs = this.data[0];
+            float[] ys = this.data[1];
+            AxisTransform tx = this.domainAxis.createTransform(this.dataArea,
+                    RectangleEdge.BOTTOM);
+            AxisTransform ty = this.rangeAxis.createTransform(this.dataArea,
+                    RectangleEdge.LEFT);
+            for (int i = this.from; i < this.to; i++) {
+                int item = (this.order != null ? this.order[i] : i);
+                float x = xs[item];
+                float y = ys[item];
+                double transX = tx.transform(x);
+                double transY = ty.transform(y);
+                // the same truncation as fillRect((int) transX, ...)
+                int px = (int) transX - this.x0;
+                int py = (int) transY - this.y0;
+                if (px >= 0 && px < this.width && py >= 0
+                        && py < this.height) {
+                    this.pixels[py * this.width + px] = this.argb;
+                }
+            }
+        }
+
+    }
+
 }
@@ -174,31 +174,6 @@ public class PieLabelDistributor extends AbstractPieLabelDistributor {
         }
     }
 
-    /**
-     * Labels are spaced evenly in the available space in an attempt to
-     * eliminate the overlaps.
-     *
-     * @param minY  the minimum y value (in Java2D coordinate space).
-     * @param height  the height available for all labels.
-     */
-    protected void spreadEvenly(double minY, double height) {
-        double y = minY;
-        double sumOfLabelHeights = 0.0;
-        for (int i = 0; i < this.labels.size(); i++) {
-            sumOfLabelHeights += getPieLabelRecord(i).getLabelHeight();
-        }
-        double gap = height - sumOfLabelHeights;
-        if (this.labels.size() > 1) {
-            gap = gap / (this.labels.size() - 1);
-        }
-        for (int i = 0; i < this.labels.size(); i++) {
-            PieLabelRecord record = getPieLabelRecord(i);
-            y = y + record.getLabelHeight() / 2.0;
-            record.setAllocatedY(y);
-            y = y + record.getLabelHeight() / 2.0 + gap;
-        }
-    }
-
     /**
      * Sorts the label records into ascending order by y-value.
      */
@@ -186,6 +186,7 @@ import java.awt.Paint;
 import java.awt.RadialGradientPaint;
 import java.awt.Shape;
 import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
 import java.awt.geom.Arc2D;
 import java.awt.geom.CubicCurve2D;
 import java.awt.geom.Ellipse2D;
@@ -198,6 +199,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -469,6 +471,12 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
      */
     private AbstractPieLabelDistributor labelDistributor;
 
+    /**
+     * The section label blocks from the most recent drawing, by section key
+     * (not serialized, rebuilt when needed).
+     */
+    private transient Map<Comparable, LabelBlock> labelBlockCache;
+
     /** The tooltip generator. */
     private PieToolTipGenerator toolTipGenerator;
 
@@ -1399,6 +1407,33 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Replaces the section paints, section outline paints and section
+     * outline strokes for this plot with copies of those defined for another
+     * plot, without sending a change event.  This discards any values that
+     * were added by auto-population, so a plot that is reused to draw
+     * different datasets can be returned to its configured state.
+     *
+     * @param plot  the plot to copy the settings from ({@code null} not
+     *     permitted).
+     *
+     * @since 1.5.1
+     */
+    public void copySectionAttributes(PiePlot plot) {
+        Args.nullNotPermitted(plot, "plot");
+        try {
+            this.sectionPaintMap = (PaintMap) plot.sectionPaintMap.clone();
+            this.sectionOutlinePaintMap
+                    = (PaintMap) plot.sectionOutlinePaintMap.clone();
+            this.sectionOutlineStrokeMap
+                    = (StrokeMap) plot.sectionOutlineStrokeMap.clone();
+        }
+        catch (CloneNotSupportedException e) {
+            // the maps support cloning, so this should not happen
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Returns the default section stroke.  This is used when no other stroke is
      * available.
@@ -2780,6 +2815,11 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
 
         // draw the labels...
         if (this.labelGenerator != null) {
+            if (this.labelBlockCache != null
+                    && this.labelBlockCache.size() > 2 * keys.size()) {
+                // discard the blocks for sections that have gone away
+                this.labelBlockCache.clear();
+            }
             drawLeftLabels(leftKeys, g2, plotArea, linkArea, labelWidth,
                     state);
             drawRightLabels(rightKeys, g2, plotArea, linkArea, labelWidth,
@@ -2789,6 +2829,43 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
 
     }
 
+    /**
+     * Returns the text block for a section label, reusing the block from the
+     * previous drawing when the label text, font, paint, maximum width and
+     * font render context are unchanged (so that the text is only wrapped
+     * and measured once for a pie that is repainted).
+     *
+     * @param key  the section key.
+     * @param label  the label text.
+     * @param g2  the graphics device.
+     * @param maxLabelWidth  the maximum label width.
+     *
+     * @return The label block.
+     */
+    private LabelBlock getLabelBlock(Comparable key, String label,
+            Graphics2D g2, float maxLabelWidth) {
+        if (this.labelBlockCache == null) {
+            this.labelBlockCache = new HashMap<Comparable, LabelBlock>();
+        }
+        FontRenderContext frc = g2.getFontRenderContext();
+        LabelBlock cached = this.labelBlockCache.get(key);
+        if (cached != null && cached.label.equals(label)
+                && cached.font.equals(this.labelFont)
+                && cached.paint.equals(this.labelPaint)
+                && cached.maxWidth == maxLabelWidth
+                && cached.frc.equals(frc)
+                && cached.g2Class == g2.getClass()) {
+            return cached;
+        }
+        TextBlock block = TextUtils.createTextBlock(label, this.labelFont,
+                this.labelPaint, maxLabelWidth, new G2TextMeasurer(g2));
+        cached = new LabelBlock(label, this.labelFont, this.labelPaint,
+                maxLabelWidth, frc, g2.getClass(), block,
+                block.calculateDimensions(g2).getHeight());
+        this.labelBlockCache.put(key, cached);
+        return cached;
+    }
+
     /**
      * Draws the left labels.
      *
@@ -2812,10 +2889,9 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
             String label = this.labelGenerator.generateSectionLabel(
                     this.dataset, leftKeys.getKey(i));
             if (label != null) {
-                TextBlock block = TextUtils.createTextBlock(label,
-                        this.labelFont, this.labelPaint, maxLabelWidth,
-                        new G2TextMeasurer(g2));
-                TextBox labelBox = new TextBox(block);
+                LabelBlock cached = getLabelBlock(leftKeys.getKey(i), label, g2,
+                        maxLabelWidth);
+                TextBox labelBox = new TextBox(cached.block);
                 labelBox.setBackgroundPaint(this.labelBackgroundPaint);
                 labelBox.setOutlinePaint(this.labelOutlinePaint);
                 labelBox.setOutlineStroke(this.labelOutlineStroke);
@@ -2830,7 +2906,8 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
                         leftKeys.getValue(i).doubleValue());
                 double baseY = state.getPieCenterY() - Math.sin(theta)
                                * verticalLinkRadius;
-                double hh = labelBox.getHeight(g2);
+                double hh = this.labelPadding.extendHeight(
+                        cached.blockHeight);
 
                 this.labelDistributor.addPieLabelRecord(new PieLabelRecord(
                         leftKeys.getKey(i), theta, baseY, labelBox, hh,
@@ -2873,10 +2950,9 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
                     this.dataset, keys.getKey(i));
 
             if (label != null) {
-                TextBlock block = TextUtils.createTextBlock(label,
-                        this.labelFont, this.labelPaint, maxLabelWidth,
-                        new G2TextMeasurer(g2));
-                TextBox labelBox = new TextBox(block);
+                LabelBlock cached = getLabelBlock(keys.getKey(i), label, g2,
+                        maxLabelWidth);
+                TextBox labelBox = new TextBox(cached.block);
                 labelBox.setBackgroundPaint(this.labelBackgroundPaint);
                 labelBox.setOutlinePaint(this.labelOutlinePaint);
                 labelBox.setOutlineStroke(this.labelOutlineStroke);
@@ -2890,7 +2966,8 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
                 double theta = Math.toRadians(keys.getValue(i).doubleValue());
                 double baseY = state.getPieCenterY()
                               - Math.sin(theta) * verticalLinkRadius;
-                double hh = labelBox.getHeight(g2);
+                double hh = this.labelPadding.extendHeight(
+                        cached.blockHeight);
                 this.labelDistributor.addPieLabelRecord(new PieLabelRecord(
                         keys.getKey(i), theta, baseY, labelBox, hh,
                         lGap / 2.0 + lGap / 2.0 * Math.cos(theta),
@@ -3410,6 +3487,9 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
                 = (StrokeMap) this.sectionOutlineStrokeMap.clone();
         clone.explodePercentages 
                 = new TreeMap<Comparable, Double>(this.explodePercentages);
+        clone.labelBlockCache = null;
+        clone.labelDistributor = (AbstractPieLabelDistributor)
+                this.labelDistributor.clone();
         if (this.labelGenerator != null) {
             clone.labelGenerator = (PieSectionLabelGenerator) 
                     ObjectUtils.clone(this.labelGenerator);
@@ -3485,4 +3565,60 @@ public class PiePlot extends Plot implements Cloneable, Serializable {
         this.legendItemShape = SerialUtils.readShape(stream);
     }
 
+    /**
+     * A section label block together with the inputs it was created from.
+     */
+    private static class LabelBlock {
+
+        /** The label text. */
+        private final String label;
+
+        /** The label font. */
+        private final Font font;
+
+        /** The label paint. */
+        private final Paint paint;
+
+        /** The maximum label width. */
+        private final float maxWidth;
+
+        /** The font render context. */
+        private final FontRenderContext frc;
+
+        /** The class of the graphics device. */
+        private final Class g2Class;
+
+        /** The text block. */
+        private final TextBlock block;
+
+        /** The height of the text block. */
+        private final double blockHeight;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param label  the label text.
+         * @param font  the font.
+         * @param paint  the paint.
+         * @param maxWidth  the maximum width.
+         * @param frc  the font render context.
+         * @param g2Class  the class of the graphics device.
+         * @param block  the text block.
+         * @param blockHeight  the height of the text block.
+         */
+        LabelBlock(String label, Font font, Paint paint, float maxWidth,
+                FontRenderContext frc, Class g2Class, TextBlock block,
+                double blockHeight) {
+            this.label = label;
+            this.font = font;
+            this.paint = paint;
+            this.maxWidth = maxWidth;
+            this.frc = frc;
+            this.g2Class = g2Class;
+            this.block = block;
+            this.blockHeight = blockHeight;
+        }
+
+    }
+
 }
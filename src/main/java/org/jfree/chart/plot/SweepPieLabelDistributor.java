@@ -0,0 +1,150 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.plot;
+
+import java.util.Collections;
+
+/**
+ * A label distributor that resolves overlapping pie section labels in a
+ * single sweep over the sorted labels.  The labels are sorted once by their
+ * base y-coordinate, then consecutive labels that would collide are merged
+ * into clusters which are positioned (as a unit) as close as possible to
+ * the mean of their members' base positions.  Finally the result is clamped
+ * to the available height.  The cost is O(n log n) for the sort plus O(n)
+ * for the sweep, so this distributor is suitable for pies with hundreds of
+ * sections (where {@link PieLabelDistributor} repeats its adjustment passes).
+ * <p>
+ * The resulting positions keep the labels in the same order as their base
+ * positions and, where there is room, separate neighbouring labels by at
+ * least the minimum gap.  If the labels cannot fit in the available height
+ * they are spread evenly, as in {@link PieLabelDistributor}.
+ *
+ * @since 1.5.1
+ */
+public class SweepPieLabelDistributor extends AbstractPieLabelDistributor {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -6296871429180217387L;
+
+    /** The minimum gap between neighbouring labels. */
+    private double minGap;
+
+    /**
+     * Creates a new distributor with a minimum gap of {@code 4.0}.
+     */
+    public SweepPieLabelDistributor() {
+        this(4.0);
+    }
+
+    /**
+     * Creates a new distributor.
+     *
+     * @param minGap  the minimum gap between neighbouring labels (in Java2D
+     *     units, must be non-negative).
+     */
+    public SweepPieLabelDistributor(double minGap) {
+        super();
+        if (!(minGap >= 0.0)) {
+            throw new IllegalArgumentException("Requires 'minGap' >= 0.0.");
+        }
+        this.minGap = minGap;
+    }
+
+    /**
+     * Returns the minimum gap between neighbouring labels.
+     *
+     * @return The minimum gap (in Java2D units).
+     */
+    public double getMinGap() {
+        return this.minGap;
+    }
+
+    /**
+     * Distributes the labels.
+     *
+     * @param minY  the minimum y-coordinate in Java2D-space.
+     * @param height  the available height (in Java2D units).
+     */
+    @Override
+    public void distributeLabels(double minY, double height) {
+        int n = this.labels.size();
+        if (n == 0) {
+            return;
+        }
+        Collections.sort(this.labels);
+
+        // offsets[i] is the distance from the centre of the first label to
+        // the centre of label i when all labels are packed at the minimum
+        // gap; subtracting it turns the non-overlap constraint into the
+        // requirement that the shifted positions are non-decreasing
+        double[] offsets = new double[n];
+        double previousHalf = getPieLabelRecord(0).getLabelHeight() / 2.0;
+        offsets[0] = previousHalf;
+        for (int i = 1; i < n; i++) {
+            double half = getPieLabelRecord(i).getLabelHeight() / 2.0;
+            offsets[i] = offsets[i - 1] + previousHalf + this.minGap + half;
+            previousHalf = half;
+        }
+        double lower = minY;
+        double upper = minY + height - offsets[n - 1] - previousHalf;
+        if (upper < lower) {
+            spreadEvenly(minY, height);
+            return;
+        }
+
+        // sweep, merging each label into the preceding cluster while the
+        // cluster would sit below it
+        double[] sums = new double[n];
+        int[] counts = new int[n];
+        int clusters = 0;
+        for (int i = 0; i < n; i++) {
+            sums[clusters] = getPieLabelRecord(i).getBaseY() - offsets[i];
+            counts[clusters] = 1;
+            clusters++;
+            while (clusters > 1 && sums[clusters - 2] * counts[clusters - 1]
+                    > sums[clusters - 1] * counts[clusters - 2]) {
+                sums[clusters - 2] += sums[clusters - 1];
+                counts[clusters - 2] += counts[clusters - 1];
+                clusters--;
+            }
+        }
+
+        int i = 0;
+        for (int c = 0; c < clusters; c++) {
+            double z = sums[c] / counts[c];
+            z = Math.max(lower, Math.min(upper, z));
+            for (int j = 0; j < counts[c]; j++) {
+                getPieLabelRecord(i).setAllocatedY(z + offsets[i]);
+                i++;
+            }
+        }
+    }
+
+}
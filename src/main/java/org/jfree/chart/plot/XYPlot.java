@@ -1405,6 +1405,18 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         return this.datasets.size();
     }
 
+    /**
+     * Returns the datasets for the plot, keyed by dataset index.  The map may
+     * contain {@code null} values.
+     *
+     * @return An unmodifiable map of the datasets (never {@code null}).
+     *
+     * @since 1.5.1
+     */
+    public Map<Integer, XYDataset> getDatasets() {
+        return Collections.unmodifiableMap(this.datasets);
+    }
+
     /**
      * Returns the index of the specified dataset, or {@code -1} if the
      * dataset does not belong to the plot.
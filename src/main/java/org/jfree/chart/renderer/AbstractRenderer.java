@@ -386,6 +386,23 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     /** The default radius for the entity 'hotspot' */
     private int defaultEntityRadius;
 
+    /**
+     * A flag that controls whether or not item shapes are drawn using
+     * cached images when the target is a raster surface.
+     *
+     * @since 1.5.1
+     */
+    private boolean useShapeStamps;
+
+    /** The shape stamps (created when first needed). */
+    private transient ShapeStampCache shapeStamps;
+
+    /**
+     * The resolved series attributes (created when first needed, and
+     * cleared whenever an attribute changes).
+     */
+    private transient SeriesAttributeCache seriesAttributes;
+
     /** Storage for registered change listeners. */
     private transient EventListenerList listenerList;
 
@@ -449,6 +466,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         this.defaultCreateEntities = true;
 
         this.defaultEntityRadius = 3;
+        this.useShapeStamps = false;
 
         this.legendShapeList = new ShapeList();
         this.defaultLegendShape = null;
@@ -527,11 +545,16 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      * @return A boolean.
      */
     public boolean isSeriesVisible(int series) {
+        Boolean cached = getSeriesAttributes().getVisible(series);
+        if (cached != null) {
+            return cached;
+        }
         boolean result = this.defaultSeriesVisible;
         Boolean b = this.seriesVisibleList.getBoolean(series);
         if (b != null) {
             result = b;
         }
+        getSeriesAttributes().putVisible(series, result);
         return result;
     }
 
@@ -574,6 +597,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesVisible(int series, Boolean visible, boolean notify) {
         this.seriesVisibleList.setBoolean(series, visible);
+        clearSeriesAttributeCache();
         if (notify) {
             // we create an event with a special flag set...the purpose of
             // this is to communicate to the plot (the default receiver of
@@ -619,6 +643,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setDefaultSeriesVisible(boolean visible, boolean notify) {
         this.defaultSeriesVisible = visible;
+        clearSeriesAttributeCache();
         if (notify) {
             // we create an event with a special flag set...the purpose of
             // this is to communicate to the plot (the default receiver of
@@ -767,6 +792,11 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public Paint lookupSeriesPaint(int series) {
 
+        Paint cached = (Paint) getSeriesAttributes().get(
+                SeriesAttributeCache.PAINT, series);
+        if (cached != null) {
+            return cached;
+        }
         Paint seriesPaint = getSeriesPaint(series);
         if (seriesPaint == null && this.autoPopulateSeriesPaint) {
             DrawingSupplier supplier = getDrawingSupplier();
@@ -778,6 +808,12 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         if (seriesPaint == null) {
             seriesPaint = this.defaultPaint;
         }
+        if (getSeriesPaint(series) != null
+                || !this.autoPopulateSeriesPaint) {
+            // otherwise the paint may be auto-populated later
+            getSeriesAttributes().put(SeriesAttributeCache.PAINT,
+                    series, seriesPaint);
+        }
         return seriesPaint;
 
     }
@@ -820,6 +856,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesPaint(int series, Paint paint, boolean notify) {
         this.paintList.setPaint(series, paint);
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -835,6 +872,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void clearSeriesPaints(boolean notify) {
         this.paintList.clear();
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -875,6 +913,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setDefaultPaint(Paint paint, boolean notify) {
         this.defaultPaint = paint;
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -906,6 +945,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setAutoPopulateSeriesPaint(boolean auto) {
         this.autoPopulateSeriesPaint = auto;
+        clearSeriesAttributeCache();
     }
 
     //// FILL PAINT //////////////////////////////////////////////////////////
@@ -936,6 +976,11 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public Paint lookupSeriesFillPaint(int series) {
 
+        Paint cached = (Paint) getSeriesAttributes().get(
+                SeriesAttributeCache.FILL_PAINT, series);
+        if (cached != null) {
+            return cached;
+        }
         Paint seriesFillPaint = getSeriesFillPaint(series);
         if (seriesFillPaint == null && this.autoPopulateSeriesFillPaint) {
             DrawingSupplier supplier = getDrawingSupplier();
@@ -947,6 +992,12 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         if (seriesFillPaint == null) {
             seriesFillPaint = this.defaultFillPaint;
         }
+        if (getSeriesFillPaint(series) != null
+                || !this.autoPopulateSeriesFillPaint) {
+            // otherwise the paint may be auto-populated later
+            getSeriesAttributes().put(SeriesAttributeCache.FILL_PAINT,
+                    series, seriesFillPaint);
+        }
         return seriesFillPaint;
 
     }
@@ -989,6 +1040,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesFillPaint(int series, Paint paint, boolean notify) {
         this.fillPaintList.setPaint(series, paint);
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1030,6 +1082,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setDefaultFillPaint(Paint paint, boolean notify) {
         Args.nullNotPermitted(paint, "paint");
         this.defaultFillPaint = paint;
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1063,6 +1116,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setAutoPopulateSeriesFillPaint(boolean auto) {
         this.autoPopulateSeriesFillPaint = auto;
+        clearSeriesAttributeCache();
     }
 
     // OUTLINE PAINT //////////////////////////////////////////////////////////
@@ -1095,6 +1149,11 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public Paint lookupSeriesOutlinePaint(int series) {
 
+        Paint cached = (Paint) getSeriesAttributes().get(
+                SeriesAttributeCache.OUTLINE_PAINT, series);
+        if (cached != null) {
+            return cached;
+        }
         Paint seriesOutlinePaint = getSeriesOutlinePaint(series);
         if (seriesOutlinePaint == null && this.autoPopulateSeriesOutlinePaint) {
             DrawingSupplier supplier = getDrawingSupplier();
@@ -1106,6 +1165,12 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         if (seriesOutlinePaint == null) {
             seriesOutlinePaint = this.defaultOutlinePaint;
         }
+        if (getSeriesOutlinePaint(series) != null
+                || !this.autoPopulateSeriesOutlinePaint) {
+            // otherwise the paint may be auto-populated later
+            getSeriesAttributes().put(SeriesAttributeCache.OUTLINE_PAINT,
+                    series, seriesOutlinePaint);
+        }
         return seriesOutlinePaint;
 
     }
@@ -1148,6 +1213,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesOutlinePaint(int series, Paint paint, boolean notify) {
         this.outlinePaintList.setPaint(series, paint);
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1189,6 +1255,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setDefaultOutlinePaint(Paint paint, boolean notify) {
         Args.nullNotPermitted(paint, "paint");
         this.defaultOutlinePaint = paint;
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1222,6 +1289,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setAutoPopulateSeriesOutlinePaint(boolean auto) {
         this.autoPopulateSeriesOutlinePaint = auto;
+        clearSeriesAttributeCache();
     }
 
     // STROKE
@@ -1252,6 +1320,11 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public Stroke lookupSeriesStroke(int series) {
 
+        Stroke cached = (Stroke) getSeriesAttributes().get(
+                SeriesAttributeCache.STROKE, series);
+        if (cached != null) {
+            return cached;
+        }
         Stroke result = getSeriesStroke(series);
         if (result == null && this.autoPopulateSeriesStroke) {
             DrawingSupplier supplier = getDrawingSupplier();
@@ -1263,6 +1336,12 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         if (result == null) {
             result = this.defaultStroke;
         }
+        if (getSeriesStroke(series) != null
+                || !this.autoPopulateSeriesStroke) {
+            // otherwise the stroke may be auto-populated later
+            getSeriesAttributes().put(SeriesAttributeCache.STROKE,
+                    series, result);
+        }
         return result;
 
     }
@@ -1305,6 +1384,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesStroke(int series, Stroke stroke, boolean notify) {
         this.strokeList.setStroke(series, stroke);
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1320,6 +1400,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void clearSeriesStrokes(boolean notify) {
         this.strokeList.clear();
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1361,6 +1442,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setDefaultStroke(Stroke stroke, boolean notify) {
         Args.nullNotPermitted(stroke, "stroke");
         this.defaultStroke = stroke;
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1392,6 +1474,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setAutoPopulateSeriesStroke(boolean auto) {
         this.autoPopulateSeriesStroke = auto;
+        clearSeriesAttributeCache();
     }
 
     // OUTLINE STROKE
@@ -1422,6 +1505,11 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public Stroke lookupSeriesOutlineStroke(int series) {
 
+        Stroke cached = (Stroke) getSeriesAttributes().get(
+                SeriesAttributeCache.OUTLINE_STROKE, series);
+        if (cached != null) {
+            return cached;
+        }
         Stroke result = getSeriesOutlineStroke(series);
         if (result == null && this.autoPopulateSeriesOutlineStroke) {
             DrawingSupplier supplier = getDrawingSupplier();
@@ -1433,6 +1521,12 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         if (result == null) {
             result = this.defaultOutlineStroke;
         }
+        if (getSeriesOutlineStroke(series) != null
+                || !this.autoPopulateSeriesOutlineStroke) {
+            // otherwise the stroke may be auto-populated later
+            getSeriesAttributes().put(SeriesAttributeCache.OUTLINE_STROKE,
+                    series, result);
+        }
         return result;
 
     }
@@ -1476,6 +1570,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setSeriesOutlineStroke(int series, Stroke stroke,
                                        boolean notify) {
         this.outlineStrokeList.setStroke(series, stroke);
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1517,6 +1612,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setDefaultOutlineStroke(Stroke stroke, boolean notify) {
         Args.nullNotPermitted(stroke, "stroke");
         this.defaultOutlineStroke = stroke;
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1550,6 +1646,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setAutoPopulateSeriesOutlineStroke(boolean auto) {
         this.autoPopulateSeriesOutlineStroke = auto;
+        clearSeriesAttributeCache();
     }
 
     // SHAPE
@@ -1581,6 +1678,11 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public Shape lookupSeriesShape(int series) {
 
+        Shape cached = (Shape) getSeriesAttributes().get(
+                SeriesAttributeCache.SHAPE, series);
+        if (cached != null) {
+            return cached;
+        }
         Shape result = getSeriesShape(series);
         if (result == null && this.autoPopulateSeriesShape) {
             DrawingSupplier supplier = getDrawingSupplier();
@@ -1592,6 +1694,12 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         if (result == null) {
             result = this.defaultShape;
         }
+        if (getSeriesShape(series) != null
+                || !this.autoPopulateSeriesShape) {
+            // otherwise the shape may be auto-populated later
+            getSeriesAttributes().put(SeriesAttributeCache.SHAPE,
+                    series, result);
+        }
         return result;
 
     }
@@ -1634,6 +1742,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesShape(int series, Shape shape, boolean notify) {
         this.shapeList.setShape(series, shape);
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1675,6 +1784,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setDefaultShape(Shape shape, boolean notify) {
         Args.nullNotPermitted(shape, "shape");
         this.defaultShape = shape;
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1706,6 +1816,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setAutoPopulateSeriesShape(boolean auto) {
         this.autoPopulateSeriesShape = auto;
+        clearSeriesAttributeCache();
     }
 
     // ITEM LABEL VISIBILITY...
@@ -1831,10 +1942,17 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      * @return The font (never {@code null}).
      */
     public Font getItemLabelFont(int row, int column) {
-        Font result = getSeriesItemLabelFont(row);
+        Font result = (Font) getSeriesAttributes().get(
+                SeriesAttributeCache.ITEM_LABEL_FONT, row);
+        if (result != null) {
+            return result;
+        }
+        result = getSeriesItemLabelFont(row);
         if (result == null) {
             result = this.defaultItemLabelFont;
         }
+        getSeriesAttributes().put(SeriesAttributeCache.ITEM_LABEL_FONT, row,
+                result);
         return result;
     }
 
@@ -1877,6 +1995,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setSeriesItemLabelFont(int series, Font font, boolean notify) {
         this.itemLabelFontMap.put(series, font);
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1919,6 +2038,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      */
     public void setDefaultItemLabelFont(Font font, boolean notify) {
         this.defaultItemLabelFont = font;
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -1935,10 +2055,17 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      * @return The paint (never {@code null}).
      */
     public Paint getItemLabelPaint(int row, int column) {
-        Paint result = getSeriesItemLabelPaint(row);
+        Paint result = (Paint) getSeriesAttributes().get(
+                SeriesAttributeCache.ITEM_LABEL_PAINT, row);
+        if (result != null) {
+            return result;
+        }
+        result = getSeriesItemLabelPaint(row);
         if (result == null) {
             result = this.defaultItemLabelPaint;
         }
+        getSeriesAttributes().put(SeriesAttributeCache.ITEM_LABEL_PAINT, row,
+                result);
         return result;
     }
 
@@ -1982,6 +2109,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setSeriesItemLabelPaint(int series, Paint paint,
                                         boolean notify) {
         this.itemLabelPaintList.setPaint(series, paint);
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -2024,6 +2152,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     public void setDefaultItemLabelPaint(Paint paint, boolean notify) {
         Args.nullNotPermitted(paint, "paint");
         this.defaultItemLabelPaint = paint;
+        clearSeriesAttributeCache();
         if (notify) {
             fireChangeEvent();
         }
@@ -2404,6 +2533,89 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         this.defaultEntityRadius = radius;
     }
 
+    /**
+     * Returns the flag that controls whether or not item shapes are drawn
+     * using cached images (see {@link ShapeStampCache}) when the target is a
+     * raster surface.  The default value is {@code false}.
+     * <p>
+     * Stamps are much faster for large numbers of small shapes, but the
+     * shapes are placed at quarter-pixel positions and only the
+     * antialiasing and stroke control hints are applied to them, so the
+     * output can differ slightly from drawing the shapes directly.
+     *
+     * @return A boolean.
+     *
+     * @see #setUseShapeStamps(boolean)
+     *
+     * @since 1.5.1
+     */
+    public boolean getUseShapeStamps() {
+        return this.useShapeStamps;
+    }
+
+    /**
+     * Sets the flag that controls whether or not item shapes are drawn
+     * using cached images when the target is a raster surface, and sends a
+     * {@link RendererChangeEvent} to all registered listeners.  Vector
+     * targets (such as SVG or PDF generators) always receive the shapes.
+     *
+     * @param use  the new flag value.
+     *
+     * @see #getUseShapeStamps()
+     *
+     * @since 1.5.1
+     */
+    public void setUseShapeStamps(boolean use) {
+        this.useShapeStamps = use;
+        if (!use) {
+            this.shapeStamps = null;
+        }
+        fireChangeEvent();
+    }
+
+    /**
+     * Fills and/or outlines an item shape at the specified location.  When
+     * the {@code useShapeStamps} flag is set and the target is a raster
+     * surface, a cached image of the shape is copied to the target, and
+     * otherwise a translated copy of the shape is drawn.
+     *
+     * @param g2  the graphics target.
+     * @param shape  the shape (centred on the origin).
+     * @param x  the x-coordinate of the shape origin (in Java2D space).
+     * @param y  the y-coordinate of the shape origin (in Java2D space).
+     * @param fillPaint  the fill paint ({@code null} if the shape is not
+     *     filled).
+     * @param outlinePaint  the outline paint ({@code null} if the shape is
+     *     not outlined).
+     * @param outlineStroke  the outline stroke ({@code null} if the shape is
+     *     not outlined).
+     *
+     * @since 1.5.1
+     */
+    protected void drawItemShape(Graphics2D g2, Shape shape, double x,
+            double y, Paint fillPaint, Paint outlinePaint,
+            Stroke outlineStroke) {
+        if (this.useShapeStamps) {
+            if (this.shapeStamps == null) {
+                this.shapeStamps = new ShapeStampCache();
+            }
+            if (this.shapeStamps.draw(g2, shape, x, y, fillPaint,
+                    outlinePaint, outlineStroke)) {
+                return;
+            }
+        }
+        Shape s = ShapeUtils.createTranslatedShape(shape, x, y);
+        if (fillPaint != null) {
+            g2.setPaint(fillPaint);
+            g2.fill(s);
+        }
+        if (outlinePaint != null && outlineStroke != null) {
+            g2.setPaint(outlinePaint);
+            g2.setStroke(outlineStroke);
+            g2.draw(s);
+        }
+    }
+
     /**
      * Performs a lookup for the legend shape.
      *
@@ -2838,6 +3050,37 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         return list.contains(listener);
     }
 
+    /**
+     * Returns the table of resolved series attributes, creating it if
+     * necessary.
+     *
+     * @return The table (never {@code null}).
+     */
+    private SeriesAttributeCache getSeriesAttributes() {
+        if (this.seriesAttributes == null) {
+            this.seriesAttributes = new SeriesAttributeCache();
+        }
+        return this.seriesAttributes;
+    }
+
+    /**
+     * Discards the resolved series attributes (paint, stroke, shape,
+     * visibility and item label font and paint) that the lookup methods
+     * keep so that per-item calls are cheap.  The renderer calls this
+     * method whenever one of these attributes changes, when a
+     * {@link RendererChangeEvent} is sent and at the start of each
+     * rendering pass.  A subclass that overrides one of the lookup methods
+     * with a result that depends on other state should call it when that
+     * state changes.
+     *
+     * @since 1.5.1
+     */
+    protected void clearSeriesAttributeCache() {
+        if (this.seriesAttributes != null) {
+            this.seriesAttributes.clear();
+        }
+    }
+
     /**
      * Sends a {@link RendererChangeEvent} to all registered listeners.
      *
@@ -2863,6 +3106,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
      * @param event  information about the change event.
      */
     public void notifyListeners(RendererChangeEvent event) {
+        clearSeriesAttributeCache();
         Object[] ls = this.listenerList.getListenerList();
         for (int i = ls.length - 2; i >= 0; i -= 2) {
             if (ls[i] == RendererChangeListener.class) {
@@ -2897,6 +3141,9 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         if (this.defaultEntityRadius != that.defaultEntityRadius) {
             return false;
         }
+        if (this.useShapeStamps != that.useShapeStamps) {
+            return false;
+        }
         if (!this.seriesVisibleList.equals(that.seriesVisibleList)) {
             return false;
         }
@@ -3069,6 +3316,7 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         // itemLabelAnchorOffset
         // createEntityList
         // baseCreateEntities
+        result = HashUtils.hashCode(result, this.useShapeStamps);
         return result;
     }
 
@@ -3180,6 +3428,8 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         }
         clone.listenerList = new EventListenerList();
         clone.event = null;
+        clone.shapeStamps = null;
+        clone.seriesAttributes = null;
         return clone;
     }
 
@@ -0,0 +1,518 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.renderer;
+
+import java.awt.Color;
+import java.awt.Paint;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import org.jfree.chart.HashUtils;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.PublicCloneable;
+
+/**
+ * A paint scale backed by a precomputed table of ARGB values.  The table
+ * samples the range from the lower bound to the upper bound (inclusive) at
+ * evenly spaced points, so a lookup is a single multiplication and array
+ * access regardless of how the colors were originally defined.  Values
+ * between two samples take the color of the nearest sample or, if
+ * interpolation is enabled, a linear blend of the two neighbouring samples.
+ * Separate colors are used for {@code NaN} values and for values below the
+ * lower bound or above the upper bound.
+ * <p>
+ * The {@link #getRGB(double)} method does not allocate, and is used
+ * directly by the raster code in
+ * {@link org.jfree.chart.renderer.xy.XYBlockRenderer} and
+ * {@link org.jfree.data.general.HeatMapUtils}.  Without interpolation the
+ * {@link #getPaint(double)} method returns shared {@code Color} instances,
+ * so renderers that only use the {@link PaintScale} interface (for example
+ * {@link org.jfree.chart.renderer.xy.XYShapeRenderer} and
+ * {@link org.jfree.chart.title.PaintScaleLegend}) benefit as well.
+ * <p>
+ * A compiled scale is an approximation of its source:  a color boundary in
+ * the source scale (such as a step in a {@link LookupPaintScale}) can move
+ * by up to half the sample spacing, so choose a table size that suits the
+ * resolution of the output.
+ *
+ * @since 1.5.1
+ */
+public class CompiledPaintScale
+        implements PaintScale, PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3720158743961275104L;
+
+    /** The default table size. */
+    public static final int DEFAULT_SIZE = 1024;
+
+    /** The lower bound. */
+    private double lowerBound;
+
+    /** The upper bound. */
+    private double upperBound;
+
+    /** The ARGB values (sampled from the lower bound to the upper bound). */
+    private int[] table;
+
+    /**
+     * A flag that controls whether values between two samples are blended
+     * linearly or take the color of the nearest sample.
+     */
+    private boolean interpolate;
+
+    /** The ARGB value for {@code NaN} values. */
+    private int nanRGB;
+
+    /** The ARGB value for values below the lower bound. */
+    private int belowRangeRGB;
+
+    /** The ARGB value for values above the upper bound. */
+    private int aboveRangeRGB;
+
+    /** The multiplier that converts a value offset to a table position. */
+    private transient double factor;
+
+    /** Colors for the table entries (created lazily). */
+    private transient Color[] colors;
+
+    /**
+     * Creates a new scale by sampling {@code source} at
+     * {@link #DEFAULT_SIZE} points, without interpolation.
+     *
+     * @param source  the source scale ({@code null} not permitted).
+     */
+    public CompiledPaintScale(PaintScale source) {
+        this(source, DEFAULT_SIZE, false);
+    }
+
+    /**
+     * Creates a new scale by sampling {@code source} at {@code size}
+     * evenly spaced points between its lower and upper bounds.  The source
+     * is also queried once for each of {@code NaN}, a value just below the
+     * lower bound and a value just above the upper bound, so the
+     * out-of-range behaviour of the source is preserved.
+     *
+     * @param source  the source scale ({@code null} not permitted, and it
+     *     must return {@code Color} instances).
+     * @param size  the number of table entries (at least 2).
+     * @param interpolate  interpolate between the table entries?
+     */
+    public CompiledPaintScale(PaintScale source, int size,
+            boolean interpolate) {
+        Args.nullNotPermitted(source, "source");
+        checkSize(size);
+        double lower = source.getLowerBound();
+        double upper = source.getUpperBound();
+        if (!(lower < upper)) {
+            throw new IllegalArgumentException(
+                    "Requires lowerBound < upperBound.");
+        }
+        this.lowerBound = lower;
+        this.upperBound = upper;
+        this.table = new int[size];
+        for (int i = 0; i < size; i++) {
+            double v = (i == size - 1) ? upper
+                    : lower + (upper - lower) * i / (size - 1);
+            this.table[i] = toRGB(source.getPaint(v));
+        }
+        this.interpolate = interpolate;
+        this.nanRGB = toRGB(source.getPaint(Double.NaN));
+        this.belowRangeRGB = toRGB(source.getPaint(Math.nextAfter(lower,
+                Double.NEGATIVE_INFINITY)));
+        this.aboveRangeRGB = toRGB(source.getPaint(Math.nextAfter(upper,
+                Double.POSITIVE_INFINITY)));
+        this.factor = (size - 1) / (upper - lower);
+    }
+
+    /**
+     * Creates a new gradient scale that passes through the specified colors,
+     * which are evenly spaced between the lower and upper bounds.  The table
+     * is filled by blending neighbouring colors, values outside the range
+     * take the first or last color, and {@code NaN} values are transparent.
+     * This is a convenient way to define multi-stop (for example,
+     * perceptually uniform) color maps with no per-lookup cost.
+     *
+     * @param lowerBound  the lower bound.
+     * @param upperBound  the upper bound.
+     * @param colors  the colors ({@code null} not permitted, at least two
+     *     required).
+     * @param size  the number of table entries (at least 2).
+     */
+    public CompiledPaintScale(double lowerBound, double upperBound,
+            Color[] colors, int size) {
+        Args.nullNotPermitted(colors, "colors");
+        if (colors.length < 2) {
+            throw new IllegalArgumentException("Requires at least 2 colors.");
+        }
+        checkSize(size);
+        if (!(lowerBound < upperBound)) {
+            throw new IllegalArgumentException(
+                    "Requires lowerBound < upperBound.");
+        }
+        int[] stops = new int[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            Args.nullNotPermitted(colors[i], "colors[" + i + "]");
+            stops[i] = colors[i].getRGB();
+        }
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.table = new int[size];
+        int segments = stops.length - 1;
+        for (int i = 0; i < size; i++) {
+            double t = (double) i * segments / (size - 1);
+            int s = Math.min((int) t, segments - 1);
+            this.table[i] = blend(stops[s], stops[s + 1], t - s);
+        }
+        this.interpolate = false;
+        this.nanRGB = 0;
+        this.belowRangeRGB = stops[0];
+        this.aboveRangeRGB = stops[segments];
+        this.factor = (size - 1) / (upperBound - lowerBound);
+    }
+
+    /**
+     * Checks the table size.
+     *
+     * @param size  the size.
+     */
+    private static void checkSize(int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Requires 'size' >= 2.");
+        }
+    }
+
+    /**
+     * Returns the ARGB value for a paint.
+     *
+     * @param paint  the paint (must be a {@code Color}).
+     *
+     * @return The ARGB value.
+     */
+    private static int toRGB(Paint paint) {
+        if (!(paint instanceof Color)) {
+            throw new IllegalArgumentException(
+                    "Requires a paint scale that returns Color instances.");
+        }
+        return ((Color) paint).getRGB();
+    }
+
+    /**
+     * Blends two ARGB values channel by channel.
+     *
+     * @param rgb0  the first value.
+     * @param rgb1  the second value.
+     * @param f  the fraction of the second value (0.0 to 1.0).
+     *
+     * @return The blended value.
+     */
+    private static int blend(int rgb0, int rgb1, double f) {
+        if (f <= 0.0 || rgb0 == rgb1) {
+            return rgb0;
+        }
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int c0 = (rgb0 >>> shift) & 0xFF;
+            int c1 = (rgb1 >>> shift) & 0xFF;
+            int c = (int) (c0 + (c1 - c0) * f + 0.5);
+            result |= c << shift;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the lower bound.
+     *
+     * @return The lower bound.
+     */
+    @Override
+    public double getLowerBound() {
+        return this.lowerBound;
+    }
+
+    /**
+     * Returns the upper bound.
+     *
+     * @return The upper bound.
+     */
+    @Override
+    public double getUpperBound() {
+        return this.upperBound;
+    }
+
+    /**
+     * Returns the number of entries in the lookup table.
+     *
+     * @return The table size.
+     */
+    public int getSize() {
+        return this.table.length;
+    }
+
+    /**
+     * Returns the flag that controls whether values between two table
+     * entries are blended linearly ({@code true}) or take the color of the
+     * nearest entry ({@code false}).
+     *
+     * @return A boolean.
+     */
+    public boolean getInterpolate() {
+        return this.interpolate;
+    }
+
+    /**
+     * Returns the color used for {@code NaN} values.
+     *
+     * @return The color (never {@code null}).
+     */
+    public Color getNaNColor() {
+        return new Color(this.nanRGB, true);
+    }
+
+    /**
+     * Sets the color used for {@code NaN} values.
+     *
+     * @param color  the color ({@code null} not permitted).
+     */
+    public void setNaNColor(Color color) {
+        Args.nullNotPermitted(color, "color");
+        this.nanRGB = color.getRGB();
+    }
+
+    /**
+     * Returns the color used for values below the lower bound.
+     *
+     * @return The color (never {@code null}).
+     */
+    public Color getBelowRangeColor() {
+        return new Color(this.belowRangeRGB, true);
+    }
+
+    /**
+     * Sets the color used for values below the lower bound.
+     *
+     * @param color  the color ({@code null} not permitted).
+     */
+    public void setBelowRangeColor(Color color) {
+        Args.nullNotPermitted(color, "color");
+        this.belowRangeRGB = color.getRGB();
+    }
+
+    /**
+     * Returns the color used for values above the upper bound.
+     *
+     * @return The color (never {@code null}).
+     */
+    public Color getAboveRangeColor() {
+        return new Color(this.aboveRangeRGB, true);
+    }
+
+    /**
+     * Sets the color used for values above the upper bound.
+     *
+     * @param color  the color ({@code null} not permitted).
+     */
+    public void setAboveRangeColor(Color color) {
+        Args.nullNotPermitted(color, "color");
+        this.aboveRangeRGB = color.getRGB();
+    }
+
+    /**
+     * Returns the ARGB value for the specified value.  This method does not
+     * allocate any objects.
+     *
+     * @param value  the value.
+     *
+     * @return The ARGB value.
+     */
+    public int getRGB(double value) {
+        if (value >= this.lowerBound && value <= this.upperBound) {
+            double t = (value - this.lowerBound) * this.factor;
+            if (this.interpolate) {
+                int i = Math.min((int) t, this.table.length - 2);
+                return blend(this.table[i], this.table[i + 1], t - i);
+            }
+            return this.table[(int) (t + 0.5)];
+        }
+        if (value < this.lowerBound) {
+            return this.belowRangeRGB;
+        }
+        if (value > this.upperBound) {
+            return this.aboveRangeRGB;
+        }
+        return this.nanRGB;
+    }
+
+    /**
+     * Returns a paint for the specified value.  Without interpolation the
+     * returned {@code Color} is shared between calls; with interpolation a
+     * new instance is created for values that fall between table entries.
+     *
+     * @param value  the value.
+     *
+     * @return A paint for the specified value (never {@code null}).
+     */
+    @Override
+    public Paint getPaint(double value) {
+        int rgb = getRGB(value);
+        if (value >= this.lowerBound && value <= this.upperBound) {
+            double t = (value - this.lowerBound) * this.factor;
+            int i = (int) (t + 0.5);
+            if (this.table[i] == rgb) {
+                return getColor(i, rgb);
+            }
+            return new Color(rgb, true);
+        }
+        return getColor(-1, rgb);
+    }
+
+    /**
+     * Returns the shared color for a table entry or, when {@code index} is
+     * negative, for one of the out-of-range values.
+     *
+     * @param index  the table index (or -1).
+     * @param rgb  the ARGB value.
+     *
+     * @return The color.
+     */
+    private Color getColor(int index, int rgb) {
+        Color[] cache = this.colors;
+        if (cache == null) {
+            // the extra three entries hold the NaN and out-of-range colors
+            cache = new Color[this.table.length + 3];
+            this.colors = cache;
+        }
+        int slot = index;
+        if (slot < 0) {
+            if (rgb == this.nanRGB) {
+                slot = this.table.length;
+            }
+            else if (rgb == this.belowRangeRGB) {
+                slot = this.table.length + 1;
+            }
+            else {
+                slot = this.table.length + 2;
+            }
+        }
+        Color c = cache[slot];
+        if (c == null || c.getRGB() != rgb) {
+            c = new Color(rgb, true);
+            cache[slot] = c;
+        }
+        return c;
+    }
+
+    /**
+     * Tests this instance for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CompiledPaintScale)) {
+            return false;
+        }
+        CompiledPaintScale that = (CompiledPaintScale) obj;
+        if (this.lowerBound != that.lowerBound) {
+            return false;
+        }
+        if (this.upperBound != that.upperBound) {
+            return false;
+        }
+        if (this.interpolate != that.interpolate) {
+            return false;
+        }
+        if (this.nanRGB != that.nanRGB) {
+            return false;
+        }
+        if (this.belowRangeRGB != that.belowRangeRGB) {
+            return false;
+        }
+        if (this.aboveRangeRGB != that.aboveRangeRGB) {
+            return false;
+        }
+        if (!Arrays.equals(this.table, that.table)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = HashUtils.hashCode(hash, this.lowerBound);
+        hash = HashUtils.hashCode(hash, this.upperBound);
+        hash = 37 * hash + Arrays.hashCode(this.table);
+        return hash;
+    }
+
+    /**
+     * Returns a clone of this instance.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning this
+     *     instance.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        CompiledPaintScale clone = (CompiledPaintScale) super.clone();
+        clone.table = (int[]) this.table.clone();
+        clone.colors = null;
+        return clone;
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.factor = (this.table.length - 1)
+                / (this.upperBound - this.lowerBound);
+    }
+
+}
@@ -71,6 +71,9 @@ public class GrayPaintScale
      */
     private int alpha;
 
+    /** The 256 shades of gray (created lazily, shared by clones). */
+    private transient Color[] colors;
+
     /**
      * Creates a new {@code GrayPaintScale} instance with default values.
      */
@@ -168,9 +171,17 @@ public class GrayPaintScale
         v = Math.min(v, this.upperBound);
         int g = (int) ((v - this.lowerBound) / (this.upperBound
                 - this.lowerBound) * 255.0);
-        // FIXME:  it probably makes sense to allocate an array of 256 Colors
-        // and lazily populate this array...
-        return new Color(g, g, g, this.alpha);
+        Color[] cache = this.colors;
+        if (cache == null) {
+            cache = new Color[256];
+            this.colors = cache;
+        }
+        Color c = cache[g];
+        if (c == null) {
+            c = new Color(g, g, g, this.alpha);
+            cache[g] = c;
+        }
+        return c;
     }
 
     /**
@@ -0,0 +1,201 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import java.util.Arrays;
+
+/**
+ * A table of resolved per-series attributes for a renderer, indexed by
+ * attribute and series.  The renderer's lookup methods combine the series
+ * setting, the auto-population from the drawing supplier and the default
+ * value; the result is stored here so that later lookups for the same
+ * series (usually one for every data item) are a plain array read.  The
+ * renderer clears the table whenever one of the attributes changes and at
+ * the start of each rendering pass.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * @since 1.5.1
+ */
+final class SeriesAttributeCache {
+
+    /** The series paint. */
+    static final int PAINT = 0;
+
+    /** The series fill paint. */
+    static final int FILL_PAINT = 1;
+
+    /** The series outline paint. */
+    static final int OUTLINE_PAINT = 2;
+
+    /** The series stroke. */
+    static final int STROKE = 3;
+
+    /** The series outline stroke. */
+    static final int OUTLINE_STROKE = 4;
+
+    /** The series shape. */
+    static final int SHAPE = 5;
+
+    /** The item label font. */
+    static final int ITEM_LABEL_FONT = 6;
+
+    /** The item label paint. */
+    static final int ITEM_LABEL_PAINT = 7;
+
+    /** The number of object attributes. */
+    private static final int ATTRIBUTE_COUNT = 8;
+
+    /**
+     * Series with an index at or above this limit are not cached (the
+     * arrays are sized by the largest series index).
+     */
+    static final int MAXIMUM_SERIES_COUNT = 4096;
+
+    /** A resolved visibility of {@code false}. */
+    private static final byte HIDDEN = 1;
+
+    /** A resolved visibility of {@code true}. */
+    private static final byte VISIBLE = 2;
+
+    /** The resolved values (by attribute, then by series). */
+    private final Object[][] values;
+
+    /**
+     * The resolved series visibility flags (zero for a series that has not
+     * been resolved).
+     */
+    private byte[] visibility;
+
+    /**
+     * Creates a new empty table.
+     */
+    SeriesAttributeCache() {
+        this.values = new Object[ATTRIBUTE_COUNT][];
+    }
+
+    /**
+     * Returns the resolved value of an attribute for a series.
+     *
+     * @param attribute  the attribute (for example {@link #PAINT}).
+     * @param series  the series index.
+     *
+     * @return The value, or {@code null} if it has not been resolved.
+     */
+    Object get(int attribute, int series) {
+        Object[] a = this.values[attribute];
+        if (a == null || series < 0 || series >= a.length) {
+            return null;
+        }
+        return a[series];
+    }
+
+    /**
+     * Stores the resolved value of an attribute for a series.
+     *
+     * @param attribute  the attribute (for example {@link #PAINT}).
+     * @param series  the series index.
+     * @param value  the value ({@code null} is stored as unresolved).
+     */
+    void put(int attribute, int series, Object value) {
+        if (series < 0 || series >= MAXIMUM_SERIES_COUNT) {
+            return;
+        }
+        Object[] a = this.values[attribute];
+        if (a == null || series >= a.length) {
+            a = (a == null ? new Object[capacityFor(series)]
+                    : Arrays.copyOf(a, capacityFor(series)));
+            this.values[attribute] = a;
+        }
+        a[series] = value;
+    }
+
+    /**
+     * Returns the resolved visibility of a series.
+     *
+     * @param series  the series index.
+     *
+     * @return {@code Boolean.TRUE} or {@code Boolean.FALSE}, or
+     *     {@code null} if the visibility has not been resolved.
+     */
+    Boolean getVisible(int series) {
+        byte[] v = this.visibility;
+        if (v == null || series < 0 || series >= v.length) {
+            return null;
+        }
+        switch (v[series]) {
+            case VISIBLE:
+                return Boolean.TRUE;
+            case HIDDEN:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Stores the resolved visibility of a series.
+     *
+     * @param series  the series index.
+     * @param visible  the visibility.
+     */
+    void putVisible(int series, boolean visible) {
+        if (series < 0 || series >= MAXIMUM_SERIES_COUNT) {
+            return;
+        }
+        byte[] v = this.visibility;
+        if (v == null || series >= v.length) {
+            v = (v == null ? new byte[capacityFor(series)]
+                    : Arrays.copyOf(v, capacityFor(series)));
+            this.visibility = v;
+        }
+        v[series] = visible ? VISIBLE : HIDDEN;
+    }
+
+    /**
+     * Discards all the resolved values.
+     */
+    void clear() {
+        Arrays.fill(this.values, null);
+        this.visibility = null;
+    }
+
+    /**
+     * Returns the array length used to hold a series index.
+     *
+     * @param series  the series index.
+     *
+     * @return The capacity.
+     */
+    private static int capacityFor(int series) {
+        return Math.min(MAXIMUM_SERIES_COUNT, Math.max(8,
+                Integer.highestOneBit(series) * 2));
+    }
+
+}
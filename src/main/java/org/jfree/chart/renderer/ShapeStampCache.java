@@ -0,0 +1,526 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.renderer;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jfree.chart.util.ObjectUtils;
+
+/**
+ * A cache of small pre-rendered images ("stamps") of the shapes used to mark
+ * data items.  Each distinct combination of shape, fill paint, outline paint
+ * and outline stroke is rasterized once (for each of
+ * {@code SUBPIXEL_STEPS * SUBPIXEL_STEPS} sub-pixel offsets, as they are
+ * needed) and then copied to the target with {@code drawImage()}, which is
+ * much faster than filling and stroking a translated copy of the shape for
+ * every item.
+ * <p>
+ * Stamps are only used when the target is a raster surface (an image or the
+ * screen) drawn by the JDK's own {@code Graphics2D} implementation, with at
+ * most an integer translation, a source-over composite and {@code Color}
+ * paints.  In every other case (for example when exporting to SVG or PDF)
+ * the {@link #draw(Graphics2D, Shape, double, double, Paint, Paint, Stroke)}
+ * method returns {@code false} and the caller should draw the shape as a
+ * vector.
+ * <p>
+ * Stamps only pay off when each style is reused for many items.  If more
+ * than a quarter of the shapes in a window of 256 need a style that is not
+ * in the cache (for example with a paint
+ * scale that returns many distinct colors, or a renderer that creates a new
+ * shape for each item), no new styles are created until the miss rate
+ * falls again, and the shapes that would need them are left to the vector
+ * path.
+ * <p>
+ * Shapes are matched by reference, so a shape must not be modified while it
+ * is in use (call {@link #clear()} if it is).  Instances of this class are
+ * not thread-safe.
+ *
+ * @since 1.5.1
+ */
+public class ShapeStampCache {
+
+    /** The default maximum number of styles that are retained. */
+    public static final int DEFAULT_MAXIMUM_STYLE_COUNT = 256;
+
+    /**
+     * The number of sub-pixel positions (in each direction) for which a
+     * separate stamp is rendered.
+     */
+    public static final int SUBPIXEL_STEPS = 4;
+
+    /**
+     * The maximum width and height of a stamp (larger shapes are drawn as
+     * vectors).
+     */
+    public static final int MAXIMUM_STAMP_SIZE = 48;
+
+    /**
+     * Coordinates beyond this limit (in either direction) are left to the
+     * vector path.
+     */
+    private static final double COORDINATE_LIMIT = 1.0E6;
+
+    /** The number of style requests over which the miss rate is measured. */
+    private static final int MISS_WINDOW = 256;
+
+    /**
+     * The number of misses in a window above which no new styles are
+     * created.
+     */
+    private static final int MAXIMUM_MISSES = MISS_WINDOW / 4;
+
+    /** The maximum number of styles that are retained. */
+    private int maximumStyleCount;
+
+    /** The styles, in least recently used order. */
+    private Map<Style, Style> styles;
+
+    /** The style used for the most recent call. */
+    private Style lastStyle;
+
+    /** A reusable key for style lookups. */
+    private Style lookup;
+
+    /** The number of style requests in the current window. */
+    private int lookupCount;
+
+    /**
+     * The number of style requests in the current window that were not
+     * found in the cache.
+     */
+    private int missCount;
+
+    /**
+     * A flag that is set while the miss rate is too high for new styles
+     * to be worth creating.
+     */
+    private boolean bypass;
+
+    /**
+     * Creates a new cache with the default maximum style count.
+     */
+    public ShapeStampCache() {
+        this(DEFAULT_MAXIMUM_STYLE_COUNT);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumStyleCount  the maximum number of styles that are
+     *     retained (must be positive).
+     */
+    public ShapeStampCache(int maximumStyleCount) {
+        if (maximumStyleCount < 1) {
+            throw new IllegalArgumentException(
+                    "Requires 'maximumStyleCount' > 0.");
+        }
+        this.maximumStyleCount = maximumStyleCount;
+        this.styles = new LinkedHashMap<Style, Style>(16, 0.75f, true);
+        this.lookup = new Style();
+    }
+
+    /**
+     * Returns the maximum number of styles that are retained.
+     *
+     * @return The maximum style count.
+     */
+    public int getMaximumStyleCount() {
+        return this.maximumStyleCount;
+    }
+
+    /**
+     * Returns the number of styles currently in the cache.
+     *
+     * @return The style count.
+     */
+    public int getStyleCount() {
+        return this.styles.size();
+    }
+
+    /**
+     * Removes all the stamps from the cache.
+     */
+    public void clear() {
+        this.styles.clear();
+        this.lastStyle = null;
+        this.lookupCount = 0;
+        this.missCount = 0;
+        this.bypass = false;
+    }
+
+    /**
+     * Returns {@code true} if the specified graphics target is a raster
+     * surface drawn by the JDK (rather than, for example, an SVG or PDF
+     * generator) with a transform that is at most an integer translation.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    public static boolean isRasterTarget(Graphics2D g2) {
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        if (gc == null) {
+            return false;
+        }
+        int type = gc.getDevice().getType();
+        if (type != GraphicsDevice.TYPE_RASTER_SCREEN
+                && type != GraphicsDevice.TYPE_IMAGE_BUFFER) {
+            return false;
+        }
+        // vector generators commonly report an image buffer device, so
+        // the implementation class is checked as well
+        if (!g2.getClass().getName().startsWith("sun.java2d.")) {
+            return false;
+        }
+        AffineTransform t = g2.getTransform();
+        if ((t.getType() & ~AffineTransform.TYPE_TRANSLATION) != 0) {
+            return false;
+        }
+        return t.getTranslateX() == Math.rint(t.getTranslateX())
+                && t.getTranslateY() == Math.rint(t.getTranslateY());
+    }
+
+    /**
+     * Draws {@code shape} translated by {@code (x, y)} using a cached
+     * stamp, if possible.  The paint and stroke of the target are not
+     * changed.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     * @param shape  the shape, centred on the origin ({@code null} not
+     *     permitted).
+     * @param x  the x-translation.
+     * @param y  the y-translation.
+     * @param fillPaint  the fill paint ({@code null} if the shape is not
+     *     filled).
+     * @param outlinePaint  the outline paint ({@code null} if the shape is
+     *     not outlined).
+     * @param outlineStroke  the outline stroke ({@code null} if the shape is
+     *     not outlined).
+     *
+     * @return {@code true} if the shape was drawn, and {@code false} if the
+     *     caller should draw it as a vector.
+     */
+    public boolean draw(Graphics2D g2, Shape shape, double x, double y,
+            Paint fillPaint, Paint outlinePaint, Stroke outlineStroke) {
+        if (fillPaint != null && !(fillPaint instanceof Color)) {
+            return false;
+        }
+        if (outlinePaint == null || outlineStroke == null) {
+            outlinePaint = null;
+            outlineStroke = null;
+        }
+        else if (!(outlinePaint instanceof Color)) {
+            return false;
+        }
+        if (!(Math.abs(x) < COORDINATE_LIMIT)
+                || !(Math.abs(y) < COORDINATE_LIMIT)) {
+            return false;
+        }
+        Composite composite = g2.getComposite();
+        if (!(composite instanceof AlphaComposite) || ((AlphaComposite)
+                composite).getRule() != AlphaComposite.SRC_OVER) {
+            return false;
+        }
+        if (!isRasterTarget(g2)) {
+            return false;
+        }
+        if (fillPaint == null && outlinePaint == null) {
+            return true;
+        }
+        Style style = findStyle(shape, fillPaint, outlinePaint, outlineStroke,
+                g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING),
+                g2.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL));
+        if (style == null || style.stamps == null) {
+            return false;
+        }
+        double floorX = Math.floor(x);
+        double floorY = Math.floor(y);
+        int ix = (int) floorX;
+        int iy = (int) floorY;
+        int px = (int) ((x - floorX) * SUBPIXEL_STEPS + 0.5);
+        int py = (int) ((y - floorY) * SUBPIXEL_STEPS + 0.5);
+        if (px == SUBPIXEL_STEPS) {
+            px = 0;
+            ix++;
+        }
+        if (py == SUBPIXEL_STEPS) {
+            py = 0;
+            iy++;
+        }
+        g2.drawImage(style.getStamp(px, py), ix + style.left,
+                iy + style.top, null);
+        return true;
+    }
+
+    /**
+     * Returns the cached style matching the arguments, creating it if
+     * necessary (unless the miss rate is too high).
+     *
+     * @param shape  the shape.
+     * @param fillPaint  the fill paint ({@code null} permitted).
+     * @param outlinePaint  the outline paint ({@code null} permitted).
+     * @param outlineStroke  the outline stroke ({@code null} permitted).
+     * @param antialias  the antialiasing hint value.
+     * @param strokeControl  the stroke control hint value.
+     *
+     * @return The style ({@code null} if there is none and the miss rate is
+     *     too high to create one).
+     */
+    private Style findStyle(Shape shape, Paint fillPaint, Paint outlinePaint,
+            Stroke outlineStroke, Object antialias, Object strokeControl) {
+        this.lookupCount++;
+        if (this.lookupCount == MISS_WINDOW) {
+            this.bypass = this.missCount > MAXIMUM_MISSES;
+            this.lookupCount = 0;
+            this.missCount = 0;
+        }
+        Style last = this.lastStyle;
+        if (last != null && last.shape == shape
+                && last.fillPaint == fillPaint
+                && last.outlinePaint == outlinePaint
+                && last.outlineStroke == outlineStroke
+                && last.antialias == antialias
+                && last.strokeControl == strokeControl) {
+            return last;
+        }
+        this.lookup.set(shape, fillPaint, outlinePaint, outlineStroke,
+                antialias, strokeControl);
+        Style style = this.styles.get(this.lookup);
+        if (style == null) {
+            this.missCount++;
+            if (this.missCount > MAXIMUM_MISSES) {
+                this.bypass = true;
+            }
+            if (this.bypass) {
+                return null;
+            }
+            if (this.styles.size() >= this.maximumStyleCount) {
+                Iterator<Style> iterator = this.styles.keySet().iterator();
+                iterator.next();
+                iterator.remove();
+            }
+            style = new Style();
+            style.set(shape, fillPaint, outlinePaint, outlineStroke,
+                    antialias, strokeControl);
+            style.prepare();
+            this.styles.put(style, style);
+        }
+        this.lastStyle = style;
+        return style;
+    }
+
+    /**
+     * A combination of shape and drawing attributes, with the stamps that
+     * have been rendered for it.
+     */
+    private static class Style {
+
+        /** The shape (matched by reference). */
+        Shape shape;
+
+        /** The fill paint ({@code null} permitted). */
+        Paint fillPaint;
+
+        /** The outline paint ({@code null} permitted). */
+        Paint outlinePaint;
+
+        /** The outline stroke ({@code null} permitted). */
+        Stroke outlineStroke;
+
+        /** The antialiasing hint value. */
+        Object antialias;
+
+        /** The stroke control hint value. */
+        Object strokeControl;
+
+        /** The offset from the shape origin to the left edge of a stamp. */
+        int left;
+
+        /** The offset from the shape origin to the top edge of a stamp. */
+        int top;
+
+        /** The stamp width. */
+        int width;
+
+        /** The stamp height. */
+        int height;
+
+        /**
+         * The stamps, indexed by sub-pixel offset ({@code null} if the
+         * shape is too large or has no usable bounds).
+         */
+        BufferedImage[] stamps;
+
+        /**
+         * Sets the key fields.
+         *
+         * @param shape  the shape.
+         * @param fillPaint  the fill paint.
+         * @param outlinePaint  the outline paint.
+         * @param outlineStroke  the outline stroke.
+         * @param antialias  the antialiasing hint value.
+         * @param strokeControl  the stroke control hint value.
+         */
+        void set(Shape shape, Paint fillPaint, Paint outlinePaint,
+                Stroke outlineStroke, Object antialias,
+                Object strokeControl) {
+            this.shape = shape;
+            this.fillPaint = fillPaint;
+            this.outlinePaint = outlinePaint;
+            this.outlineStroke = outlineStroke;
+            this.antialias = antialias;
+            this.strokeControl = strokeControl;
+        }
+
+        /**
+         * Calculates the stamp bounds.
+         */
+        void prepare() {
+            Rectangle2D bounds = null;
+            if (this.fillPaint != null) {
+                bounds = this.shape.getBounds2D();
+            }
+            if (this.outlinePaint != null) {
+                Rectangle2D b = this.outlineStroke.createStrokedShape(
+                        this.shape).getBounds2D();
+                bounds = (bounds == null ? b : bounds.createUnion(b));
+            }
+            if (bounds == null || !(bounds.getWidth() >= 0.0)
+                    || !(bounds.getHeight() >= 0.0)) {
+                return;
+            }
+            // one pixel of margin for antialiasing, plus one on the right
+            // and bottom for the sub-pixel offset
+            this.left = (int) Math.floor(bounds.getMinX()) - 1;
+            this.top = (int) Math.floor(bounds.getMinY()) - 1;
+            this.width = (int) Math.ceil(bounds.getMaxX()) + 2 - this.left;
+            this.height = (int) Math.ceil(bounds.getMaxY()) + 2 - this.top;
+            if (this.width > MAXIMUM_STAMP_SIZE
+                    || this.height > MAXIMUM_STAMP_SIZE) {
+                return;
+            }
+            this.stamps = new BufferedImage[SUBPIXEL_STEPS * SUBPIXEL_STEPS];
+        }
+
+        /**
+         * Returns the stamp for a sub-pixel offset, rendering it if
+         * necessary.
+         *
+         * @param px  the x-offset (in sub-pixel steps).
+         * @param py  the y-offset (in sub-pixel steps).
+         *
+         * @return The stamp.
+         */
+        BufferedImage getStamp(int px, int py) {
+            int index = py * SUBPIXEL_STEPS + px;
+            BufferedImage stamp = this.stamps[index];
+            if (stamp == null) {
+                stamp = new BufferedImage(this.width, this.height,
+                        BufferedImage.TYPE_INT_ARGB_PRE);
+                Graphics2D g2 = stamp.createGraphics();
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                        this.antialias);
+                g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
+                        this.strokeControl);
+                g2.translate((double) px / SUBPIXEL_STEPS - this.left,
+                        (double) py / SUBPIXEL_STEPS - this.top);
+                if (this.fillPaint != null) {
+                    g2.setPaint(this.fillPaint);
+                    g2.fill(this.shape);
+                }
+                if (this.outlinePaint != null) {
+                    g2.setPaint(this.outlinePaint);
+                    g2.setStroke(this.outlineStroke);
+                    g2.draw(this.shape);
+                }
+                g2.dispose();
+                this.stamps[index] = stamp;
+            }
+            return stamp;
+        }
+
+        /**
+         * Tests this style for equality with an arbitrary object.
+         *
+         * @param obj  the object ({@code null} permitted).
+         *
+         * @return A boolean.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Style)) {
+                return false;
+            }
+            Style that = (Style) obj;
+            return this.shape == that.shape
+                    && ObjectUtils.equal(this.fillPaint, that.fillPaint)
+                    && ObjectUtils.equal(this.outlinePaint, that.outlinePaint)
+                    && ObjectUtils.equal(this.outlineStroke,
+                            that.outlineStroke)
+                    && ObjectUtils.equal(this.antialias, that.antialias)
+                    && ObjectUtils.equal(this.strokeControl,
+                            that.strokeControl);
+        }
+
+        /**
+         * Returns a hash code for this style.
+         *
+         * @return A hash code.
+         */
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(this.shape);
+            result = 37 * result + ObjectUtils.hashCode(this.fillPaint);
+            result = 37 * result + ObjectUtils.hashCode(this.outlinePaint);
+            result = 37 * result + ObjectUtils.hashCode(this.outlineStroke);
+            result = 37 * result + ObjectUtils.hashCode(this.antialias);
+            return 37 * result + ObjectUtils.hashCode(this.strokeControl);
+        }
+
+    }
+
+}
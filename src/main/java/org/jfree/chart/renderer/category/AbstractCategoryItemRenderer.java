@@ -678,6 +678,7 @@ public abstract class AbstractCategoryItemRenderer extends AbstractRenderer
             PlotRenderingInfo info) {
 
         setPlot(plot);
+        clearSeriesAttributeCache();
         CategoryDataset data = plot.getDataset(rendererIndex);
         if (data != null) {
             this.rowCount = data.getRowCount();
@@ -703,6 +704,65 @@ public abstract class AbstractCategoryItemRenderer extends AbstractRenderer
         return state;
     }
 
+    /**
+     * Returns {@code true} if the items in a column can be drawn without
+     * first drawing the columns before it, in which case the
+     * {@link CategoryPlot} may skip the columns that lie outside the visible
+     * part of the data area.  This is the case when each item only depends
+     * on values read from the dataset, but not for a renderer that carries
+     * state from one column to the next (such as a running total).  The
+     * default implementation returns {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @since 1.5.1
+     */
+    public boolean isColumnCullingSupported() {
+        return false;
+    }
+
+    /**
+     * Draws the items in a range of columns for one rendering pass.  The
+     * {@link CategoryPlot} calls this method once per pass (rather than
+     * calling {@code drawItem()} for every item), so a subclass can override
+     * it to draw a batch of columns at once.  The default implementation
+     * calls {@code drawItem()} for each item, visiting the columns and the
+     * rows within each column in the requested order.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the data area.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param firstColumn  the index of the first column to draw.
+     * @param lastColumn  the index of the last column to draw (inclusive).
+     * @param pass  the pass index.
+     * @param columnOrder  the column rendering order ({@code null} not
+     *     permitted).
+     * @param rowOrder  the row rendering order ({@code null} not permitted).
+     *
+     * @since 1.5.1
+     */
+    public void drawColumns(Graphics2D g2, CategoryItemRendererState state,
+            Rectangle2D dataArea, CategoryPlot plot, CategoryAxis domainAxis,
+            ValueAxis rangeAxis, CategoryDataset dataset, int firstColumn,
+            int lastColumn, int pass, SortOrder columnOrder,
+            SortOrder rowOrder) {
+        int rows = dataset.getRowCount();
+        boolean ascendingColumns = (columnOrder == SortOrder.ASCENDING);
+        boolean ascendingRows = (rowOrder == SortOrder.ASCENDING);
+        for (int c = firstColumn; c <= lastColumn; c++) {
+            int column = ascendingColumns ? c : firstColumn + lastColumn - c;
+            for (int r = 0; r < rows; r++) {
+                int row = ascendingRows ? r : rows - 1 - r;
+                drawItem(g2, state, dataArea, plot, domainAxis, rangeAxis,
+                        dataset, row, column, pass);
+            }
+        }
+    }
+
     /**
      * Adds a {@code KEY_BEGIN_ELEMENT} hint to the graphics target.  This
      * hint is recognised by <b>JFreeSVG</b> (in theory it could be used by 
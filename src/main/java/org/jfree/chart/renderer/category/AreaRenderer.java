@@ -148,6 +148,19 @@ public class AreaRenderer extends AbstractCategoryItemRenderer
         fireChangeEvent();
     }
 
+    /**
+     * Returns {@code true}, since each area is drawn from the dataset values
+     * for its own column and the columns next to it.
+     *
+     * @return {@code true}.
+     *
+     * @since 1.5.1
+     */
+    @Override
+    public boolean isColumnCullingSupported() {
+        return true;
+    }
+
     /**
      * Returns a legend item for a series.
      *
@@ -728,6 +728,19 @@ public class BarRenderer extends AbstractCategoryItemRenderer
         return this.upperClip;
     }
 
+    /**
+     * Returns {@code true}, since each bar is drawn from the dataset values
+     * for its own column.
+     *
+     * @return {@code true}.
+     *
+     * @since 1.5.1
+     */
+    @Override
+    public boolean isColumnCullingSupported() {
+        return true;
+    }
+
     /**
      * Initialises the renderer and returns a state object that will be passed
      * to subsequent calls to the drawItem method.  This method gets called
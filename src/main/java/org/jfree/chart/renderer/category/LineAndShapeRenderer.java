@@ -692,6 +692,19 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
         return 2;
     }
 
+    /**
+     * Returns {@code true}, since each item (and the line to the previous
+     * item) is drawn from the dataset values.
+     *
+     * @return {@code true}.
+     *
+     * @since 1.5.1
+     */
+    @Override
+    public boolean isColumnCullingSupported() {
+        return true;
+    }
+
     /**
      * Draw a single data item.
      *
@@ -66,7 +66,6 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.util.BooleanList;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PublicCloneable;
-import org.jfree.chart.util.ShapeUtils;
 import org.jfree.data.Range;
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.statistics.MultiValueCategoryDataset;
@@ -424,31 +423,34 @@ public class ScatterRenderer extends AbstractCategoryItemRenderer
                     plot.getRangeAxisEdge());
 
             Shape shape = getItemShape(row, column);
+            double shapeX = x1;
+            double shapeY = y1;
             if (orientation == PlotOrientation.HORIZONTAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, y1, x1);
-            }
-            else if (orientation == PlotOrientation.VERTICAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, x1, y1);
+                shapeX = y1;
+                shapeY = x1;
             }
+            Paint fillPaint = null;
             if (getItemShapeFilled(row, column)) {
                 if (this.useFillPaint) {
-                    g2.setPaint(getItemFillPaint(row, column));
+                    fillPaint = getItemFillPaint(row, column);
                 }
                 else {
-                    g2.setPaint(getItemPaint(row, column));
+                    fillPaint = getItemPaint(row, column);
                 }
-                g2.fill(shape);
             }
+            Paint outlinePaint = null;
+            Stroke outlineStroke = null;
             if (this.drawOutlines) {
                 if (this.useOutlinePaint) {
-                    g2.setPaint(getItemOutlinePaint(row, column));
+                    outlinePaint = getItemOutlinePaint(row, column);
                 }
                 else {
-                    g2.setPaint(getItemPaint(row, column));
+                    outlinePaint = getItemPaint(row, column);
                 }
-                g2.setStroke(getItemOutlineStroke(row, column));
-                g2.draw(shape);
+                outlineStroke = getItemOutlineStroke(row, column);
             }
+            drawItemShape(g2, shape, shapeX, shapeY, fillPaint, outlinePaint,
+                    outlineStroke);
         }
 
     }
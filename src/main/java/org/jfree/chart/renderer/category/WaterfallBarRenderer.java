@@ -294,6 +294,19 @@ public class WaterfallBarRenderer extends BarRenderer {
 
     }
 
+    /**
+     * Returns {@code false}, since each bar starts at the running total of
+     * the bars in the columns before it.
+     *
+     * @return {@code false}.
+     *
+     * @since 1.5.1
+     */
+    @Override
+    public boolean isColumnCullingSupported() {
+        return false;
+    }
+
     /**
      * Draws the bar for a single (series, category) data item.
      *
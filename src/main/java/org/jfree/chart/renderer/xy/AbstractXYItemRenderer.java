@@ -310,6 +310,7 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
     @Override
     public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
             XYPlot plot, XYDataset dataset, PlotRenderingInfo info) {
+        clearSeriesAttributeCache();
         return new XYItemRendererState(info);
     }
 
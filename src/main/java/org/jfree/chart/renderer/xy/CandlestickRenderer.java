@@ -204,6 +204,14 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
      */
     private boolean useOutlinePaint;
 
+    /**
+     * A flag that controls whether or not consecutive items that fall on the
+     * same pixel are drawn as a single (merged) candle.
+     *
+     * @since 1.5.1
+     */
+    private boolean decimate;
+
     /**
      * Creates a new renderer for candlestick charts.
      */
@@ -559,6 +567,43 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Returns the flag that controls whether or not consecutive items that
+     * fall on the same pixel are drawn as a single candle.  The default
+     * value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @since 1.5.1
+     *
+     * @see #setDecimate(boolean)
+     */
+    public boolean getDecimate() {
+        return this.decimate;
+    }
+
+    /**
+     * Sets the flag that controls whether or not consecutive items that fall
+     * on the same pixel are drawn as a single candle, and sends a
+     * {@link RendererChangeEvent} to all registered listeners.  When a long
+     * series is displayed at a small scale this draws one candle per pixel
+     * (with the open from the first item, the close from the last item and
+     * the extremes of the high and low values) instead of many overlapping
+     * candles.  Only one entity is added for each merged candle.
+     *
+     * @param decimate  the new flag value.
+     *
+     * @since 1.5.1
+     *
+     * @see #getDecimate()
+     */
+    public void setDecimate(boolean decimate) {
+        if (this.decimate != decimate) {
+            this.decimate = decimate;
+            fireChangeEvent();
+        }
+    }
+
     /**
      * Returns the range of values the renderer requires to display all the
      * items from the specified dataset.
@@ -579,6 +624,9 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
      * will be called before the first item is rendered, giving the renderer
      * an opportunity to initialise any state information it wants to maintain.
      * The renderer can do nothing if it chooses.
+     * <p>
+     * The candle widths for each series and the maximum volume are worked out
+     * here (once per chart drawing rather than once per item).
      *
      * @param g2  the graphics device.
      * @param dataArea  the area inside the axes.
@@ -604,24 +652,118 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
             // Absolute value, since the relative x
             // positions are reversed for horizontal orientation
 
+        State state = new State(info);
+        if (dataset == null) {
+            return state;
+        }
+
         // calculate the highest volume in the dataset...
         if (this.drawVolume) {
-            OHLCDataset highLowDataset = (OHLCDataset) dataset;
-            this.maxVolume = 0.0;
-            for (int series = 0; series < highLowDataset.getSeriesCount();
-                 series++) {
-                for (int item = 0; item < highLowDataset.getItemCount(series);
-                     item++) {
-                    double volume = highLowDataset.getVolumeValue(series, item);
-                    if (volume > this.maxVolume) {
-                        this.maxVolume = volume;
+            this.maxVolume = findMaximumVolume((OHLCDataset) dataset);
+        }
+
+        // calculate the candle widths that don't depend on the item...
+        boolean horiz = plot.getOrientation() == PlotOrientation.HORIZONTAL;
+        int seriesCount = dataset.getSeriesCount();
+        state.stickWidths = new double[seriesCount];
+        state.volumeWidths = new double[seriesCount];
+        int index = plot.indexOf(dataset);
+        ValueAxis domainAxis = index >= 0
+                ? plot.getDomainAxisForDataset(index) : axis;
+        for (int series = 0; series < seriesCount; series++) {
+            double xxWidth = Double.NaN;
+            if (this.candleWidth <= 0.0) {
+                if (this.autoWidthMethod == WIDTHMETHOD_AVERAGE) {
+                    int itemCount = dataset.getItemCount(series);
+                    if (horiz) {
+                        xxWidth = dataArea.getHeight() / itemCount;
                     }
+                    else {
+                        xxWidth = dataArea.getWidth() / itemCount;
+                    }
+                }
+                else if (this.autoWidthMethod == WIDTHMETHOD_SMALLEST) {
+                    xxWidth = Math.min(dataArea.getWidth(),
+                            findSmallestGap(dataset, series, domainAxis,
+                            dataArea, edge));
+                }
+            }
+            if (!Double.isNaN(xxWidth)) {
+                calculateWidths(xxWidth, state, series);
+            }
+            else {
+                state.stickWidths[series] = this.candleWidth;
+                state.volumeWidths[series] = this.candleWidth;
+            }
+        }
+        return state;
+    }
 
+    /**
+     * Returns the highest volume in the dataset (or zero).
+     *
+     * @param dataset  the dataset.
+     *
+     * @return The highest volume.
+     */
+    private static double findMaximumVolume(OHLCDataset dataset) {
+        double result = 0.0;
+        for (int series = 0; series < dataset.getSeriesCount(); series++) {
+            for (int item = 0; item < dataset.getItemCount(series); item++) {
+                double volume = dataset.getVolumeValue(series, item);
+                if (volume > result) {
+                    result = volume;
                 }
             }
         }
+        return result;
+    }
 
-        return new XYItemRendererState(info);
+    /**
+     * Returns the smallest gap between consecutive x-values for a series
+     * (in Java2D units), or {@code Double.POSITIVE_INFINITY} if there are
+     * fewer than two items.
+     *
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param axis  the domain axis.
+     * @param dataArea  the data area.
+     * @param edge  the domain axis edge.
+     *
+     * @return The smallest gap.
+     */
+    private static double findSmallestGap(XYDataset dataset, int series,
+            ValueAxis axis, Rectangle2D dataArea, RectangleEdge edge) {
+        double result = Double.POSITIVE_INFINITY;
+        double last = Double.NaN;
+        for (int i = 0; i < dataset.getItemCount(series); i++) {
+            double pos = axis.valueToJava2D(dataset.getXValue(series, i),
+                    dataArea, edge);
+            if (i > 0) {
+                result = Math.min(result, Math.abs(pos - last));
+            }
+            last = pos;
+        }
+        return result;
+    }
+
+    /**
+     * Applies the gap, factor and maximum width settings to the space
+     * available for a candle, and records the resulting widths in the
+     * renderer state.
+     *
+     * @param xxWidth  the space available for the candle (in Java2D units).
+     * @param state  the renderer state.
+     * @param series  the series index.
+     */
+    private void calculateWidths(double xxWidth, State state, int series) {
+        xxWidth -= 2 * this.autoWidthGap;
+        xxWidth *= this.autoWidthFactor;
+        xxWidth = Math.min(xxWidth, this.maxCandleWidth);
+        state.volumeWidths[series] = Math.max(Math.min(1,
+                this.maxCandleWidth), xxWidth);
+        state.stickWidths[series] = Math.max(Math.min(3,
+                this.maxCandleWidth), xxWidth);
     }
 
     /**
@@ -660,10 +802,12 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
             return;
         }
 
-        // setup for collecting optional entity info...
-        EntityCollection entities = null;
-        if (info != null) {
-            entities = info.getOwner().getEntityCollection();
+        // the state will be a plain XYItemRendererState if a subclass
+        // overrides initialise()
+        State candleState = null;
+        if (state instanceof State && ((State) state).stickWidths != null
+                && series < ((State) state).stickWidths.length) {
+            candleState = (State) state;
         }
 
         OHLCDataset highLowData = (OHLCDataset) dataset;
@@ -673,10 +817,35 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         double yLow = highLowData.getLowValue(series, item);
         double yOpen = highLowData.getOpenValue(series, item);
         double yClose = highLowData.getCloseValue(series, item);
+        double volume = 0.0;
+        if (this.drawVolume) {
+            volume = highLowData.getVolumeValue(series, item);
+        }
 
         RectangleEdge domainEdge = plot.getDomainAxisEdge();
         double xx = domainAxis.valueToJava2D(x, dataArea, domainEdge);
 
+        if (this.decimate && candleState != null) {
+            int pixel = (int) Math.floor(xx);
+            candleState.merge(yOpen, yHigh, yLow, yClose, volume);
+            if (item < candleState.getLastItemIndex()) {
+                double xxNext = domainAxis.valueToJava2D(
+                        highLowData.getXValue(series, item + 1), dataArea,
+                        domainEdge);
+                if ((int) Math.floor(xxNext) == pixel) {
+                    // the next item falls on the same pixel, so draw one
+                    // candle for both
+                    return;
+                }
+            }
+            yOpen = candleState.open;
+            yHigh = candleState.high;
+            yLow = candleState.low;
+            yClose = candleState.close;
+            volume = candleState.volume;
+            candleState.mergeCount = 0;
+        }
+
         RectangleEdge edge = plot.getRangeAxisEdge();
         double yyHigh = rangeAxis.valueToJava2D(yHigh, dataArea, edge);
         double yyLow = rangeAxis.valueToJava2D(yLow, dataArea, edge);
@@ -691,6 +860,11 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
             volumeWidth = this.candleWidth;
             stickWidth = this.candleWidth;
         }
+        else if (candleState != null
+                && this.autoWidthMethod != WIDTHMETHOD_INTERVALDATA) {
+            volumeWidth = candleState.volumeWidths[series];
+            stickWidth = candleState.stickWidths[series];
+        }
         else {
             double xxWidth = 0;
             int itemCount;
@@ -707,7 +881,6 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
                     break;
 
                 case WIDTHMETHOD_SMALLEST:
-                    // Note: It would be nice to pre-calculate this per series
                     itemCount = highLowData.getItemCount(series);
                     double lastPos = -1;
                     xxWidth = dataArea.getWidth();
@@ -743,6 +916,19 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
             stickWidth = Math.max(Math.min(3, this.maxCandleWidth), xxWidth);
         }
 
+        // reuse the shapes held by the state where possible, the hotspot
+        // is only created if it is needed for an entity
+        Line2D line;
+        Rectangle2D rect;
+        if (candleState != null) {
+            line = candleState.workingLine;
+            rect = candleState.workingRect;
+        }
+        else {
+            line = new Line2D.Double();
+            rect = new Rectangle2D.Double();
+        }
+
         Paint p = getItemPaint(series, item);
         Paint outlinePaint = null;
         if (this.useOutlinePaint) {
@@ -753,8 +939,8 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         g2.setStroke(s);
 
         if (this.drawVolume) {
-            int volume = (int) highLowData.getVolumeValue(series, item);
-            double volumeHeight = volume / this.maxVolume;
+            int volumeValue = (int) volume;
+            double volumeHeight = volumeValue / this.maxVolume;
 
             double min, max;
             if (horiz) {
@@ -774,13 +960,14 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
                     AlphaComposite.SRC_OVER, 0.3f));
 
             if (horiz) {
-                g2.fill(new Rectangle2D.Double(min, xx - volumeWidth / 2,
-                        zzVolume, volumeWidth));
+                rect.setRect(min, xx - volumeWidth / 2, zzVolume,
+                        volumeWidth);
             }
             else {
-                g2.fill(new Rectangle2D.Double(xx - volumeWidth / 2,
-                        max - zzVolume, volumeWidth, zzVolume));
+                rect.setRect(xx - volumeWidth / 2, max - zzVolume,
+                        volumeWidth, zzVolume);
             }
+            g2.fill(rect);
 
             g2.setComposite(originalComposite);
         }
@@ -800,39 +987,34 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         // draw the upper shadow
         if (yHigh > maxOpenClose) {
             if (horiz) {
-                g2.draw(new Line2D.Double(yyHigh, xx, yyMaxOpenClose, xx));
+                line.setLine(yyHigh, xx, yyMaxOpenClose, xx);
             }
             else {
-                g2.draw(new Line2D.Double(xx, yyHigh, xx, yyMaxOpenClose));
+                line.setLine(xx, yyHigh, xx, yyMaxOpenClose);
             }
+            g2.draw(line);
         }
 
         // draw the lower shadow
         if (yLow < minOpenClose) {
             if (horiz) {
-                g2.draw(new Line2D.Double(yyLow, xx, yyMinOpenClose, xx));
+                line.setLine(yyLow, xx, yyMinOpenClose, xx);
             }
             else {
-                g2.draw(new Line2D.Double(xx, yyLow, xx, yyMinOpenClose));
+                line.setLine(xx, yyLow, xx, yyMinOpenClose);
             }
+            g2.draw(line);
         }
 
         // draw the body
-        Rectangle2D body;
-        Rectangle2D hotspot;
-        double length = Math.abs(yyHigh - yyLow);
-        double base = Math.min(yyHigh, yyLow);
+        Rectangle2D body = rect;
         if (horiz) {
-            body = new Rectangle2D.Double(yyMinOpenClose, xx - stickWidth / 2,
+            body.setRect(yyMinOpenClose, xx - stickWidth / 2,
                     yyMaxOpenClose - yyMinOpenClose, stickWidth);
-            hotspot = new Rectangle2D.Double(base, xx - stickWidth / 2,
-                    length, stickWidth);
         }
         else {
-            body = new Rectangle2D.Double(xx - stickWidth / 2, yyMinOpenClose,
+            body.setRect(xx - stickWidth / 2, yyMinOpenClose,
                     stickWidth, yyMaxOpenClose - yyMinOpenClose);
-            hotspot = new Rectangle2D.Double(xx - stickWidth / 2,
-                    base, stickWidth, length);
         }
         if (yClose > yOpen) {
             if (this.upPaint != null) {
@@ -861,8 +1043,22 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         g2.draw(body);
 
         // add an entity for the item...
-        if (entities != null) {
-            addEntity(entities, hotspot, dataset, series, item, 0.0, 0.0);
+        if (info != null) {
+            EntityCollection entities = info.getOwner().getEntityCollection();
+            if (entities != null) {
+                double length = Math.abs(yyHigh - yyLow);
+                double base = Math.min(yyHigh, yyLow);
+                Rectangle2D hotspot;
+                if (horiz) {
+                    hotspot = new Rectangle2D.Double(base,
+                            xx - stickWidth / 2, length, stickWidth);
+                }
+                else {
+                    hotspot = new Rectangle2D.Double(xx - stickWidth / 2,
+                            base, stickWidth, length);
+                }
+                addEntity(entities, hotspot, dataset, series, item, 0.0, 0.0);
+            }
         }
 
     }
@@ -911,6 +1107,9 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         if (this.useOutlinePaint != that.useOutlinePaint) {
             return false;
         }
+        if (this.decimate != that.decimate) {
+            return false;
+        }
         if (!PaintUtils.equal(this.volumePaint, that.volumePaint)) {
             return false;
         }
@@ -959,4 +1158,107 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         this.volumePaint = SerialUtils.readPaint(stream);
     }
 
+    /**
+     * The state for a {@link CandlestickRenderer}, created in the
+     * {@link CandlestickRenderer#initialise(Graphics2D, Rectangle2D, XYPlot,
+     * XYDataset, PlotRenderingInfo)} method and used for the items drawn in
+     * one pass through a dataset.
+     *
+     * @since 1.5.1
+     */
+    public static class State extends XYItemRendererState {
+
+        /** A rectangle that the renderer can reuse. */
+        public Rectangle2D workingRect;
+
+        /** The body width for each series (in Java2D units). */
+        double[] stickWidths;
+
+        /** The volume bar width for each series (in Java2D units). */
+        double[] volumeWidths;
+
+        /** The number of items merged into the pending candle. */
+        int mergeCount;
+
+        /** The open value for the pending candle. */
+        double open;
+
+        /** The high value for the pending candle. */
+        double high;
+
+        /** The low value for the pending candle. */
+        double low;
+
+        /** The close value for the pending candle. */
+        double close;
+
+        /** The volume for the pending candle. */
+        double volume;
+
+        /**
+         * Creates a new state instance.
+         *
+         * @param info  the plot rendering info.
+         */
+        public State(PlotRenderingInfo info) {
+            super(info);
+            this.workingRect = new Rectangle2D.Double();
+        }
+
+        /**
+         * Called at the start of each series pass, discards any pending
+         * candle.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param firstItem  the index of the first item in the series.
+         * @param lastItem  the index of the last item in the series.
+         * @param pass  the pass index.
+         * @param passCount  the number of passes.
+         */
+        @Override
+        public void startSeriesPass(XYDataset dataset, int series,
+                int firstItem, int lastItem, int pass, int passCount) {
+            super.startSeriesPass(dataset, series, firstItem, lastItem, pass,
+                    passCount);
+            this.mergeCount = 0;
+        }
+
+        /**
+         * Merges an item into the pending candle.  The open value is taken
+         * from the first item and the close value from the last item, the
+         * high and low values are the extremes for all the items.  The
+         * volume is the largest for all the items, so that the volume bars
+         * keep the same scale.
+         *
+         * @param o  the open value.
+         * @param h  the high value.
+         * @param l  the low value.
+         * @param c  the close value.
+         * @param v  the volume.
+         */
+        void merge(double o, double h, double l, double c, double v) {
+            if (this.mergeCount == 0) {
+                this.open = o;
+                this.high = h;
+                this.low = l;
+                this.volume = v;
+            }
+            else {
+                if (Double.isNaN(this.high) || h > this.high) {
+                    this.high = h;
+                }
+                if (Double.isNaN(this.low) || l < this.low) {
+                    this.low = l;
+                }
+                if (Double.isNaN(this.volume) || v > this.volume) {
+                    this.volume = v;
+                }
+            }
+            this.close = c;
+            this.mergeCount++;
+        }
+
+    }
+
 }
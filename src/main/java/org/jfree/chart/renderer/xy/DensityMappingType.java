@@ -0,0 +1,56 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.renderer.xy;
+
+/**
+ * The mapping from the number of data items in a pixel to a color level,
+ * used by the {@link XYDensityRenderer} class.
+ *
+ * @since 1.5.1
+ */
+public enum DensityMappingType {
+
+    /** The level is proportional to the count. */
+    LINEAR,
+
+    /**
+     * The level is proportional to the logarithm of (1 + count), which keeps
+     * isolated items visible next to very dense regions.
+     */
+    LOG,
+
+    /**
+     * The level is the fraction of non-empty pixels with the same or a
+     * lower count (histogram equalization), so that the full range of
+     * colors is used whatever the distribution of the counts.
+     */
+    EQUALIZED
+
+}
@@ -48,11 +48,20 @@
 package org.jfree.chart.renderer.xy;
 
 import java.awt.BasicStroke;
+import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.Serializable;
 
+import org.jfree.chart.axis.DateAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.Timeline;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.event.RendererChangeEvent;
@@ -60,9 +69,12 @@ import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.CompiledPaintScale;
 import org.jfree.chart.renderer.LookupPaintScale;
 import org.jfree.chart.renderer.PaintScale;
+import org.jfree.chart.renderer.ShapeStampCache;
 import org.jfree.chart.ui.RectangleAnchor;
+import org.jfree.chart.ui.RectangleEdge;
 import org.jfree.chart.util.Args;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.data.Range;
@@ -85,6 +97,28 @@ import org.jfree.data.xy.XYZDataset;
 public class XYBlockRenderer extends AbstractXYItemRenderer
         implements XYItemRenderer, Cloneable, PublicCloneable, Serializable {
 
+    /** The stroke used to outline each block. */
+    private static final Stroke BLOCK_OUTLINE_STROKE = new BasicStroke(1.0f);
+
+    /**
+     * The smallest number of items in a series for which the renderer will
+     * try to draw the blocks as a single image.
+     */
+    private static final int MINIMUM_IMAGE_ITEM_COUNT = 64;
+
+    /**
+     * The tolerance (as a fraction of the block size) used when checking
+     * that the items are on a regular grid.
+     */
+    private static final double GRID_TOLERANCE = 1.0E-6;
+
+    /**
+     * The timeline of a {@code DateAxis} that has not been given another
+     * one (it maps each millisecond to itself).
+     */
+    private static final Timeline DEFAULT_TIMELINE
+            = new DateAxis().getTimeline();
+
     /**
      * The block width (defaults to 1.0).
      */
@@ -329,6 +363,27 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Initialises the renderer and returns a state object that should be
+     * passed to subsequent calls to the drawItem() method.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param info  an optional info collection object to return data back to
+     *              the caller.
+     *
+     * @return The renderer state.
+     */
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, XYDataset dataset, PlotRenderingInfo info) {
+        State state = new State(info);
+        state.datasetIndex = plot.indexOf(dataset);
+        return state;
+    }
+
     /**
      * Draws the block representing the specified item.
      *
@@ -351,14 +406,24 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
             ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
             int series, int item, CrosshairState crosshairState, int pass) {
 
+        State blockState = null;
+        if (state instanceof State) {
+            blockState = (State) state;
+            if (item == state.getFirstItemIndex()) {
+                // try to draw the whole series as a single image
+                blockState.imageSeries = -1;
+                if (drawSeriesImage(g2, dataArea, plot, domainAxis,
+                        rangeAxis, dataset, series)) {
+                    blockState.imageSeries = series;
+                }
+            }
+        }
+        boolean drawn = blockState != null
+                && blockState.imageSeries == series;
+
         double x = dataset.getXValue(series, item);
         double y = dataset.getYValue(series, item);
-        double z = 0.0;
-        if (dataset instanceof XYZDataset) {
-            z = ((XYZDataset) dataset).getZValue(series, item);
-        }
 
-        Paint p = this.paintScale.getPaint(z);
         double xx0 = domainAxis.valueToJava2D(x + this.xOffset, dataArea,
                 plot.getDomainAxisEdge());
         double yy0 = rangeAxis.valueToJava2D(y + this.yOffset, dataArea,
@@ -367,29 +432,43 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
                 + this.xOffset, dataArea, plot.getDomainAxisEdge());
         double yy1 = rangeAxis.valueToJava2D(y + this.blockHeight
                 + this.yOffset, dataArea, plot.getRangeAxisEdge());
+        EntityCollection entities = state.getEntityCollection();
         Rectangle2D block;
+        if (blockState != null && entities == null) {
+            block = blockState.workingBlock;
+        }
+        else {
+            // the entity keeps a reference to the block
+            block = new Rectangle2D.Double();
+        }
         PlotOrientation orientation = plot.getOrientation();
         if (orientation.equals(PlotOrientation.HORIZONTAL)) {
-            block = new Rectangle2D.Double(Math.min(yy0, yy1),
-                    Math.min(xx0, xx1), Math.abs(yy1 - yy0),
-                    Math.abs(xx0 - xx1));
+            block.setRect(Math.min(yy0, yy1), Math.min(xx0, xx1),
+                    Math.abs(yy1 - yy0), Math.abs(xx0 - xx1));
         }
         else {
-            block = new Rectangle2D.Double(Math.min(xx0, xx1),
-                    Math.min(yy0, yy1), Math.abs(xx1 - xx0),
-                    Math.abs(yy1 - yy0));
+            block.setRect(Math.min(xx0, xx1), Math.min(yy0, yy1),
+                    Math.abs(xx1 - xx0), Math.abs(yy1 - yy0));
+        }
+        if (!drawn) {
+            double z = 0.0;
+            if (dataset instanceof XYZDataset) {
+                z = ((XYZDataset) dataset).getZValue(series, item);
+            }
+            Paint p = this.paintScale.getPaint(z);
+            g2.setPaint(p);
+            g2.fill(block);
+            g2.setStroke(BLOCK_OUTLINE_STROKE);
+            g2.draw(block);
         }
-        g2.setPaint(p);
-        g2.fill(block);
-        g2.setStroke(new BasicStroke(1.0f));
-        g2.draw(block);
 
         if (isItemLabelVisible(series, item)) {
             drawItemLabel(g2, orientation, dataset, series, item, 
                     block.getCenterX(), block.getCenterY(), y < 0.0);
         }
 
-        int datasetIndex = plot.indexOf(dataset);
+        int datasetIndex = blockState != null ? blockState.datasetIndex
+                : plot.indexOf(dataset);
         double transX = domainAxis.valueToJava2D(x, dataArea,
                 plot.getDomainAxisEdge());
         double transY = rangeAxis.valueToJava2D(y, dataArea,
@@ -397,7 +476,6 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
         updateCrosshairValues(crosshairState, x, y, datasetIndex,
                 transX, transY, orientation);
 
-        EntityCollection entities = state.getEntityCollection();
         if (entities != null) {
             addEntity(entities, block, dataset, series, item, 
                     block.getCenterX(), block.getCenterY());
@@ -405,6 +483,217 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
 
     }
 
+    /**
+     * Returns {@code true} if an axis maps values to Java2D coordinates
+     * linearly, so that an image can be scaled to fit the axis.
+     *
+     * @param axis  the axis.
+     *
+     * @return A boolean.
+     */
+    static boolean isLinear(ValueAxis axis) {
+        if (axis.getClass() == NumberAxis.class) {
+            return true;
+        }
+        if (axis.getClass() == DateAxis.class) {
+            // the default timeline maps each millisecond to itself, other
+            // timelines (with gaps anywhere in the range) do not
+            Timeline timeline = ((DateAxis) axis).getTimeline();
+            return timeline.getClass() == DEFAULT_TIMELINE.getClass();
+        }
+        return false;
+    }
+
+    /**
+     * Draws all the blocks for a series as one image, if the blocks are
+     * arranged on a regular grid (each x-value is a whole number of block
+     * widths from the smallest x-value, and likewise for the y-values), the
+     * paint scale returns {@code Color} instances, the axes are linear and
+     * the target is a raster surface (vector targets such as SVG or PDF
+     * generators get the individual blocks).
+     * The colors (read from the lookup table of a {@link CompiledPaintScale}
+     * without creating any objects) are written directly into the image data
+     * and the image is scaled to the data area in a single operation, which
+     * is much faster than filling each block separately.  Grid cells with no
+     * data item are left transparent.  The blocks are then outlined in item
+     * order as in {@link #drawItem drawItem()} (drawing the thin outlines is
+     * much cheaper than filling the blocks).
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the data area.
+     * @param plot  the plot.
+     * @param domainAxis  the x-axis.
+     * @param rangeAxis  the y-axis.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     *
+     * @return {@code true} if the series was drawn, {@code false} if the
+     *     blocks must be drawn one by one.
+     */
+    private boolean drawSeriesImage(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis,
+            XYDataset dataset, int series) {
+        int itemCount = dataset.getItemCount(series);
+        if (itemCount < MINIMUM_IMAGE_ITEM_COUNT
+                || !(dataset instanceof XYZDataset)
+                || !isLinear(domainAxis) || !isLinear(rangeAxis)
+                || !ShapeStampCache.isRasterTarget(g2)) {
+            return false;
+        }
+        XYZDataset xyz = (XYZDataset) dataset;
+        double xMin = Double.POSITIVE_INFINITY;
+        double xMax = Double.NEGATIVE_INFINITY;
+        double yMin = Double.POSITIVE_INFINITY;
+        double yMax = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < itemCount; i++) {
+            double x = xyz.getXValue(series, i);
+            double y = xyz.getYValue(series, i);
+            if (Double.isNaN(x) || Double.isNaN(y)) {
+                return false;
+            }
+            xMin = Math.min(xMin, x);
+            xMax = Math.max(xMax, x);
+            yMin = Math.min(yMin, y);
+            yMax = Math.max(yMax, y);
+        }
+        long columns = Math.round((xMax - xMin) / this.blockWidth) + 1;
+        long rows = Math.round((yMax - yMin) / this.blockHeight) + 1;
+        // don't create an image that is much larger than the data
+        if (columns * rows > 4L * itemCount + 1024L
+                || columns * rows > Integer.MAX_VALUE) {
+            return false;
+        }
+        int w = (int) columns;
+        int h = (int) rows;
+        BufferedImage image = new BufferedImage(w, h,
+                BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        CompiledPaintScale compiled = null;
+        if (this.paintScale instanceof CompiledPaintScale) {
+            compiled = (CompiledPaintScale) this.paintScale;
+        }
+        Paint lastPaint = null;
+        int lastRGB = 0;
+        for (int i = 0; i < itemCount; i++) {
+            double c = (xyz.getXValue(series, i) - xMin) / this.blockWidth;
+            double r = (xyz.getYValue(series, i) - yMin) / this.blockHeight;
+            long column = Math.round(c);
+            long row = Math.round(r);
+            if (Math.abs(c - column) > GRID_TOLERANCE
+                    || Math.abs(r - row) > GRID_TOLERANCE) {
+                return false;
+            }
+            double z = xyz.getZValue(series, i);
+            if (compiled != null) {
+                lastRGB = compiled.getRGB(z);
+            }
+            else {
+                Paint p = this.paintScale.getPaint(z);
+                if (p != lastPaint) {
+                    if (!(p instanceof Color)) {
+                        return false;
+                    }
+                    lastPaint = p;
+                    lastRGB = ((Color) p).getRGB();
+                }
+            }
+            // the image has the highest y-values in the top row
+            pixels[(h - 1 - (int) row) * w + (int) column] = lastRGB;
+        }
+
+        // map the image to the data area
+        RectangleEdge domainEdge = plot.getDomainAxisEdge();
+        RectangleEdge rangeEdge = plot.getRangeAxisEdge();
+        double x0 = domainAxis.valueToJava2D(xMin + this.xOffset, dataArea,
+                domainEdge);
+        double x1 = domainAxis.valueToJava2D(xMin + this.xOffset
+                + w * this.blockWidth, dataArea, domainEdge);
+        double y0 = rangeAxis.valueToJava2D(yMin + this.yOffset
+                + h * this.blockHeight, dataArea, rangeEdge);
+        double y1 = rangeAxis.valueToJava2D(yMin + this.yOffset, dataArea,
+                rangeEdge);
+        AffineTransform transform;
+        if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
+            transform = new AffineTransform(0.0, (x1 - x0) / w,
+                    (y1 - y0) / h, 0.0, y0, x0);
+        }
+        else {
+            transform = new AffineTransform((x1 - x0) / w, 0.0, 0.0,
+                    (y1 - y0) / h, x0, y0);
+        }
+        RenderingHints saved = g2.getRenderingHints();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(image, transform, null);
+        g2.setRenderingHints(saved);
+        drawOutlines(g2, dataArea, plot, domainAxis, rangeAxis, xyz, series,
+                pixels, w, h, xMin, yMin);
+        return true;
+    }
+
+    /**
+     * Outlines the blocks drawn by {@code drawSeriesImage()}, in the block
+     * colors and in the order of the items, as {@link #drawItem drawItem()}
+     * does after filling each block.  The outline extends half a pixel
+     * beyond the block, so it decides the color of the pixels on the block
+     * edges.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the data area.
+     * @param plot  the plot.
+     * @param domainAxis  the x-axis.
+     * @param rangeAxis  the y-axis.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param pixels  the image pixels.
+     * @param w  the number of columns in the grid.
+     * @param h  the number of rows in the grid.
+     * @param xMin  the smallest x-value.
+     * @param yMin  the smallest y-value.
+     */
+    private void drawOutlines(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis,
+            XYZDataset dataset, int series, int[] pixels, int w, int h,
+            double xMin, double yMin) {
+        RectangleEdge domainEdge = plot.getDomainAxisEdge();
+        RectangleEdge rangeEdge = plot.getRangeAxisEdge();
+        boolean horizontal
+                = plot.getOrientation() == PlotOrientation.HORIZONTAL;
+        Rectangle2D block = new Rectangle2D.Double();
+        g2.setStroke(BLOCK_OUTLINE_STROKE);
+        Color color = null;
+        int itemCount = dataset.getItemCount(series);
+        for (int i = 0; i < itemCount; i++) {
+            double x = dataset.getXValue(series, i);
+            double y = dataset.getYValue(series, i);
+            int column = (int) Math.round((x - xMin) / this.blockWidth);
+            int row = (int) Math.round((y - yMin) / this.blockHeight);
+            int argb = pixels[(h - 1 - row) * w + column];
+            double xx0 = domainAxis.valueToJava2D(x + this.xOffset, dataArea,
+                    domainEdge);
+            double yy0 = rangeAxis.valueToJava2D(y + this.yOffset, dataArea,
+                    rangeEdge);
+            double xx1 = domainAxis.valueToJava2D(x + this.blockWidth
+                    + this.xOffset, dataArea, domainEdge);
+            double yy1 = rangeAxis.valueToJava2D(y + this.blockHeight
+                    + this.yOffset, dataArea, rangeEdge);
+            if (horizontal) {
+                block.setRect(Math.min(yy0, yy1), Math.min(xx0, xx1),
+                        Math.abs(yy1 - yy0), Math.abs(xx0 - xx1));
+            }
+            else {
+                block.setRect(Math.min(xx0, xx1), Math.min(yy0, yy1),
+                        Math.abs(xx1 - xx0), Math.abs(yy1 - yy0));
+            }
+            if (color == null || color.getRGB() != argb) {
+                color = new Color(argb, true);
+            }
+            g2.setPaint(color);
+            g2.draw(block);
+        }
+    }
+
     /**
      * Tests this {@code XYBlockRenderer} for equality with an arbitrary
      * object.  This method returns {@code true} if and only if:
@@ -461,4 +750,34 @@ public class XYBlockRenderer extends AbstractXYItemRenderer
         return clone;
     }
 
+    /**
+     * The state for an {@link XYBlockRenderer}.
+     *
+     * @since 1.5.1
+     */
+    public static class State extends XYItemRendererState {
+
+        /** The index of the dataset being drawn. */
+        int datasetIndex;
+
+        /**
+         * The index of the series that has been drawn as an image, or -1.
+         */
+        int imageSeries = -1;
+
+        /** A rectangle that the renderer can reuse. */
+        Rectangle2D workingBlock;
+
+        /**
+         * Creates a new state instance.
+         *
+         * @param info  the plot rendering info.
+         */
+        public State(PlotRenderingInfo info) {
+            super(info);
+            this.workingBlock = new Rectangle2D.Double();
+        }
+
+    }
+
 }
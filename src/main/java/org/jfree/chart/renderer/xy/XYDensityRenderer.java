@@ -0,0 +1,737 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.jfree.chart.axis.AxisTransform;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.PaintScale;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ObjectUtils;
+import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A renderer that draws very large numbers of data items as a density
+ * image.  The data area is divided into cells of one pixel, the number of
+ * items that fall in each cell is counted, and the counts are mapped to
+ * colors (see {@link DensityMappingType}), so that the result is drawn with
+ * a single {@code drawImage()} call instead of one shape per item, and
+ * dense regions are shown by their density rather than by overdrawing.
+ * <p>
+ * When no paint scale is set (the default), each series is drawn as a
+ * separate image in the series paint, with an alpha value that increases
+ * with the count.  When a paint scale is set, the counts for all the visible
+ * series in the dataset are added together and the colors are taken from
+ * the paint scale: the highest count gets the color for the upper bound of
+ * the scale, and lower counts get colors towards the lower bound (according
+ * to the mapping type).  Cells without items are transparent.
+ * <p>
+ * By default the items are counted in the thread that draws the chart.
+ * Large series can be counted in parallel (see
+ * {@link #setThreadCount(int)}), with each thread filling its own array of
+ * counts.  This is only safe when the dataset can be read from several
+ * threads at the same time and is not modified while the chart is being
+ * drawn: simple array-backed datasets are fine, but datasets that update
+ * caches as they are read (such as the views in
+ * {@code org.jfree.data.general}) are not.  This renderer does not create
+ * entities or item labels for individual items.
+ *
+ * @since 1.5.1
+ */
+public class XYDensityRenderer extends AbstractXYItemRenderer
+        implements XYItemRenderer, Cloneable, PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -4512237311489307153L;
+
+    /** The number of color levels (level 0 is used for empty cells). */
+    private static final int LEVELS = 256;
+
+    /** The smallest number of items that is worth counting in a thread. */
+    private static final int MINIMUM_ITEMS_PER_THREAD = 50000;
+
+    /** The mapping from counts to color levels. */
+    private DensityMappingType mappingType;
+
+    /** The paint scale ({@code null} to use the series paints). */
+    private PaintScale paintScale;
+
+    /** The number of threads used for counting (0 for automatic). */
+    private int threadCount;
+
+    /**
+     * Creates a new renderer with a logarithmic mapping and no paint scale.
+     */
+    public XYDensityRenderer() {
+        super();
+        this.mappingType = DensityMappingType.LOG;
+        this.paintScale = null;
+        this.threadCount = 1;
+    }
+
+    /**
+     * Returns the mapping from item counts to color levels.
+     *
+     * @return The mapping type (never {@code null}).
+     *
+     * @see #setMappingType(DensityMappingType)
+     */
+    public DensityMappingType getMappingType() {
+        return this.mappingType;
+    }
+
+    /**
+     * Sets the mapping from item counts to color levels and sends a
+     * {@link org.jfree.chart.event.RendererChangeEvent} to all registered
+     * listeners.
+     *
+     * @param type  the mapping type ({@code null} not permitted).
+     *
+     * @see #getMappingType()
+     */
+    public void setMappingType(DensityMappingType type) {
+        Args.nullNotPermitted(type, "type");
+        this.mappingType = type;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the paint scale used to color the combined counts for all
+     * series.
+     *
+     * @return The paint scale (possibly {@code null}).
+     *
+     * @see #setPaintScale(PaintScale)
+     */
+    public PaintScale getPaintScale() {
+        return this.paintScale;
+    }
+
+    /**
+     * Sets the paint scale used to color the combined counts for all series
+     * and sends a {@link org.jfree.chart.event.RendererChangeEvent} to all
+     * registered listeners.  If the scale is {@code null}, each series is
+     * drawn separately in its own paint.  Paints returned by the scale that
+     * are not {@code Color} instances are treated as transparent.
+     *
+     * @param scale  the paint scale ({@code null} permitted).
+     *
+     * @see #getPaintScale()
+     */
+    public void setPaintScale(PaintScale scale) {
+        this.paintScale = scale;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the number of threads used to count the items.  The default
+     * is 1 (the items are counted in the thread that draws the chart), and
+     * zero means that the number of available processors is used.
+     *
+     * @return The thread count.
+     *
+     * @see #setThreadCount(int)
+     */
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+
+    /**
+     * Sets the number of threads used to count the items and sends a
+     * {@link org.jfree.chart.event.RendererChangeEvent} to all registered
+     * listeners.  Small series are always counted in the calling thread.
+     * <p>
+     * Setting a count other than 1 makes the renderer read the dataset from
+     * several threads at once, so only do this for datasets that are safe
+     * to read concurrently (see the class description).
+     *
+     * @param count  the thread count (zero for automatic, negative values
+     *     not permitted).
+     *
+     * @see #getThreadCount()
+     */
+    public void setThreadCount(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Requires 'count' >= 0.");
+        }
+        this.threadCount = count;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the number of passes through the data required by the
+     * renderer.
+     *
+     * @return {@code 1}.
+     */
+    @Override
+    public int getPassCount() {
+        return 1;
+    }
+
+    /**
+     * Initialises the renderer and returns a state object that should be
+     * passed to subsequent calls to the drawItem() method.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param info  an optional info collection object to return data back to
+     *              the caller.
+     *
+     * @return The renderer state.
+     */
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, XYDataset dataset, PlotRenderingInfo info) {
+        return new State(info);
+    }
+
+    /**
+     * Draws the density image for the series (or for the whole dataset,
+     * if a paint scale is set) the first time the method is called for it.
+     * Subsequent calls do nothing.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot (can be used to obtain standard color
+     *              information etc).
+     * @param domainAxis  the domain (horizontal) axis.
+     * @param rangeAxis  the range (vertical) axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawItem(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int item, CrosshairState crosshairState, int pass) {
+
+        if (!(state instanceof State)) {
+            return;
+        }
+        State s = (State) state;
+        if (this.paintScale != null) {
+            if (s.datasetDrawn) {
+                return;
+            }
+            s.datasetDrawn = true;
+            int seriesCount = dataset.getSeriesCount();
+            int[] indices = new int[seriesCount];
+            int[] firstItems = new int[seriesCount];
+            int[] lastItems = new int[seriesCount];
+            int count = 0;
+            for (int i = 0; i < seriesCount; i++) {
+                if (isSeriesVisible(i)) {
+                    indices[count] = i;
+                    lastItems[count] = dataset.getItemCount(i) - 1;
+                    count++;
+                }
+            }
+            drawDensity(g2, dataArea, plot, domainAxis, rangeAxis, dataset,
+                    Arrays.copyOf(indices, count),
+                    Arrays.copyOf(firstItems, count),
+                    Arrays.copyOf(lastItems, count), createColors(null));
+        }
+        else {
+            if (s.drawnSeries == series) {
+                return;
+            }
+            s.drawnSeries = series;
+            drawDensity(g2, dataArea, plot, domainAxis, rangeAxis, dataset,
+                    new int[] {series}, new int[] {s.getFirstItemIndex()},
+                    new int[] {s.getLastItemIndex()},
+                    createColors(lookupSeriesPaint(series)));
+        }
+    }
+
+    /**
+     * Returns the ARGB values for the color levels.
+     *
+     * @param seriesPaint  the series paint, or {@code null} if the paint
+     *     scale is used.
+     *
+     * @return The colors (level 0 is transparent).
+     */
+    private int[] createColors(Paint seriesPaint) {
+        int[] colors = new int[LEVELS];
+        if (seriesPaint == null) {
+            double lower = this.paintScale.getLowerBound();
+            double upper = this.paintScale.getUpperBound();
+            for (int k = 1; k < LEVELS; k++) {
+                double value = lower + (upper - lower) * (k - 1)
+                        / (LEVELS - 2);
+                Paint p = this.paintScale.getPaint(value);
+                if (p instanceof Color) {
+                    colors[k] = ((Color) p).getRGB();
+                }
+            }
+        }
+        else {
+            Color c = Color.GRAY;
+            if (seriesPaint instanceof Color) {
+                c = (Color) seriesPaint;
+            }
+            int rgb = c.getRGB() & 0xFFFFFF;
+            for (int k = 1; k < LEVELS; k++) {
+                int alpha = (c.getAlpha() * k + (LEVELS - 1) / 2)
+                        / (LEVELS - 1);
+                colors[k] = (alpha << 24) | rgb;
+            }
+        }
+        return colors;
+    }
+
+    /**
+     * Counts the items of the specified series in each pixel of the data
+     * area and draws the result as an image.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the data area.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series indices.
+     * @param firstItems  the first item index for each series.
+     * @param lastItems  the last item index for each series.
+     * @param colors  the ARGB values for the color levels.
+     */
+    private void drawDensity(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis,
+            XYDataset dataset, int[] series, int[] firstItems,
+            int[] lastItems, int[] colors) {
+
+        int x0 = (int) Math.floor(dataArea.getMinX());
+        int y0 = (int) Math.floor(dataArea.getMinY());
+        int width = (int) Math.ceil(dataArea.getMaxX()) - x0;
+        int height = (int) Math.ceil(dataArea.getMaxY()) - y0;
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        long itemCount = 0;
+        for (int s = 0; s < series.length; s++) {
+            itemCount += Math.max(0, lastItems[s] - firstItems[s] + 1);
+        }
+        if (itemCount == 0) {
+            return;
+        }
+        int threads = this.threadCount;
+        if (threads == 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        threads = (int) Math.max(1, Math.min(threads,
+                itemCount / MINIMUM_ITEMS_PER_THREAD));
+
+        AxisTransform xMapping = domainAxis.createTransform(dataArea,
+                plot.getDomainAxisEdge());
+        AxisTransform yMapping = rangeAxis.createTransform(dataArea,
+                plot.getRangeAxisEdge());
+        boolean horizontal
+                = plot.getOrientation() == PlotOrientation.HORIZONTAL;
+        Counter[] counters = new Counter[threads];
+        for (int t = 0; t < threads; t++) {
+            counters[t] = new Counter(dataset, series, firstItems, lastItems,
+                    t, threads, xMapping, yMapping, horizontal, dataArea,
+                    x0, y0, width, height);
+        }
+        Thread[] workers = new Thread[threads];
+        for (int t = 1; t < threads; t++) {
+            workers[t] = new Thread(counters[t], "XYDensityRenderer-" + t);
+            workers[t].setDaemon(true);
+            workers[t].start();
+        }
+        counters[0].run();
+        boolean interrupted = false;
+        for (int t = 1; t < threads; t++) {
+            while (workers[t].isAlive()) {
+                try {
+                    workers[t].join();
+                }
+                catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        int[] counts = counters[0].counts;
+        for (int t = 0; t < threads; t++) {
+            Throwable error = counters[t].error;
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+            if (t > 0) {
+                int[] c = counters[t].counts;
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += c[i];
+                }
+            }
+        }
+
+        BufferedImage image = createImage(counts, width, height, colors);
+        if (image != null) {
+            g2.drawImage(image, x0, y0, null);
+        }
+    }
+
+    /**
+     * Creates an image from the item counts, or returns {@code null} if
+     * all the counts are zero.
+     *
+     * @param counts  the counts (in row order).
+     * @param width  the image width.
+     * @param height  the image height.
+     * @param colors  the ARGB values for the color levels.
+     *
+     * @return The image (possibly {@code null}).
+     */
+    private BufferedImage createImage(int[] counts, int width, int height,
+            int[] colors) {
+        int max = 0;
+        int nonZero = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                nonZero++;
+                max = Math.max(max, counts[i]);
+            }
+        }
+        if (max == 0) {
+            return null;
+        }
+        int[] sorted = null;
+        if (this.mappingType == DensityMappingType.EQUALIZED) {
+            sorted = new int[nonZero];
+            int j = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    sorted[j++] = counts[i];
+                }
+            }
+            Arrays.sort(sorted);
+        }
+        double logMax = Math.log1p(max);
+        BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        int lastCount = -1;
+        int lastRGB = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int c = counts[i];
+            if (c == 0) {
+                continue;
+            }
+            if (c != lastCount) {
+                double t;
+                if (this.mappingType == DensityMappingType.LINEAR) {
+                    t = (double) c / max;
+                }
+                else if (this.mappingType == DensityMappingType.EQUALIZED) {
+                    t = (double) countNotAbove(sorted, c) / sorted.length;
+                }
+                else {
+                    t = Math.log1p(c) / logMax;
+                }
+                int level = Math.max(1, (int) Math.round(t * (LEVELS - 1)));
+                lastRGB = colors[level];
+                lastCount = c;
+            }
+            pixels[i] = lastRGB;
+        }
+        return image;
+    }
+
+    /**
+     * Returns the number of values in a sorted array that are less than or
+     * equal to {@code value}.
+     *
+     * @param sorted  the values in ascending order.
+     * @param value  the value.
+     *
+     * @return The count.
+     */
+    private static int countNotAbove(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Tests this renderer for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof XYDensityRenderer)) {
+            return false;
+        }
+        XYDensityRenderer that = (XYDensityRenderer) obj;
+        if (this.mappingType != that.mappingType) {
+            return false;
+        }
+        if (!ObjectUtils.equal(this.paintScale, that.paintScale)) {
+            return false;
+        }
+        if (this.threadCount != that.threadCount) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Returns a clone of this renderer.
+     *
+     * @return A clone of this renderer.
+     *
+     * @throws CloneNotSupportedException if there is a problem creating the
+     *     clone.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        XYDensityRenderer clone = (XYDensityRenderer) super.clone();
+        if (this.paintScale instanceof PublicCloneable) {
+            PublicCloneable pc = (PublicCloneable) this.paintScale;
+            clone.paintScale = (PaintScale) pc.clone();
+        }
+        return clone;
+    }
+
+    /**
+     * The state for an {@link XYDensityRenderer}.
+     */
+    public static class State extends XYItemRendererState {
+
+        /** The index of the series that has been drawn, or -1. */
+        int drawnSeries = -1;
+
+        /** A flag that indicates that the whole dataset has been drawn. */
+        boolean datasetDrawn;
+
+        /**
+         * Creates a new state instance.
+         *
+         * @param info  the plot rendering info.
+         */
+        public State(PlotRenderingInfo info) {
+            super(info);
+        }
+
+    }
+
+    /**
+     * Counts the items in one share of the series.
+     */
+    private static final class Counter implements Runnable {
+
+        /** The dataset. */
+        private final XYDataset dataset;
+
+        /** The series indices. */
+        private final int[] series;
+
+        /** The first item index for each series. */
+        private final int[] firstItems;
+
+        /** The last item index for each series. */
+        private final int[] lastItems;
+
+        /** The index of the share of the items that is counted. */
+        private final int part;
+
+        /** The number of shares. */
+        private final int parts;
+
+        /** The x-axis mapping. */
+        private final AxisTransform xMapping;
+
+        /** The y-axis mapping. */
+        private final AxisTransform yMapping;
+
+        /** A flag for the horizontal plot orientation. */
+        private final boolean horizontal;
+
+        /** The data area. */
+        private final Rectangle2D dataArea;
+
+        /** The x-coordinate of the first column of cells. */
+        private final int x0;
+
+        /** The y-coordinate of the first row of cells. */
+        private final int y0;
+
+        /** The number of columns. */
+        private final int width;
+
+        /** The number of rows. */
+        private final int height;
+
+        /** The counts (in row order). */
+        final int[] counts;
+
+        /** The exception thrown while counting, if any. */
+        Throwable error;
+
+        /**
+         * Creates a new counter.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series indices.
+         * @param firstItems  the first item index for each series.
+         * @param lastItems  the last item index for each series.
+         * @param part  the index of the share to count.
+         * @param parts  the number of shares.
+         * @param xMapping  the x-axis mapping.
+         * @param yMapping  the y-axis mapping.
+         * @param horizontal  a flag for the horizontal plot orientation.
+         * @param dataArea  the data area.
+         * @param x0  the x-coordinate of the first column of cells.
+         * @param y0  the y-coordinate of the first row of cells.
+         * @param width  the number of columns.
+         * @param height  the number of rows.
+         */
+        Counter(XYDataset dataset, int[] series, int[] firstItems,
+                int[] lastItems, int part, int parts, AxisTransform xMapping,
+                AxisTransform yMapping, boolean horizontal,
+                Rectangle2D dataArea, int x0, int y0, int width,
+                int height) {
+            this.dataset = dataset;
+            this.series = series;
+            this.firstItems = firstItems;
+            this.lastItems = lastItems;
+            this.part = part;
+            this.parts = parts;
+            this.xMapping = xMapping;
+            this.yMapping = yMapping;
+            this.horizontal = horizontal;
+            this.dataArea = dataArea;
+            this.x0 = x0;
+            this.y0 = y0;
+            this.width = width;
+            this.height = height;
+            this.counts = new int[width * height];
+        }
+
+        /**
+         * Counts the items.
+         */
+        @Override
+        public void run() {
+            try {
+                count();
+            }
+            catch (Throwable t) {
+                this.error = t;
+            }
+        }
+
+        /**
+         * Counts the items.
+         */
+        private void count() {
+            double minX = this.dataArea.getMinX();
+            double maxX = this.dataArea.getMaxX();
+            double minY = this.dataArea.getMinY();
+            double maxY = this.dataArea.getMaxY();
+            for (int s = 0; s < this.series.length; s++) {
+                long n = this.lastItems[s] - this.firstItems[s] + 1;
+                if (n <= 0) {
+                    continue;
+                }
+                int start = this.firstItems[s]
+                        + (int) (n * this.part / this.parts);
+                int end = this.firstItems[s]
+                        + (int) (n * (this.part + 1) / this.parts);
+                for (int i = start; i < end; i++) {
+                    double tx = this.xMapping.transform(
+                            this.dataset.getXValue(this.series[s], i));
+                    double ty = this.yMapping.transform(
+                            this.dataset.getYValue(this.series[s], i));
+                    double px = tx;
+                    double py = ty;
+                    if (this.horizontal) {
+                        px = ty;
+                        py = tx;
+                    }
+                    if (!(px >= minX && px <= maxX && py >= minY
+                            && py <= maxY)) {
+                        continue;
+                    }
+                    int column = Math.min((int) (px - this.x0),
+                            this.width - 1);
+                    int row = Math.min((int) (py - this.y0),
+                            this.height - 1);
+                    this.counts[row * this.width + column]++;
+                }
+            }
+        }
+
+    }
+
+}
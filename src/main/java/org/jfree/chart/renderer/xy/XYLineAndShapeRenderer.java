@@ -112,6 +112,17 @@ import org.jfree.data.xy.XYDataset;
  * <br><br>
  * <img src="../../../../../images/XYLineAndShapeRendererSample.png"
  * alt="XYLineAndShapeRendererSample.png">
+ * <p>
+ * When this class is used as is (not subclassed), the lines for each series
+ * are drawn in a single operation at the first item of the series pass:
+ * the series paint and stroke are looked up once, the coordinates are
+ * converted into a reusable buffer in one loop, and the segments are drawn
+ * without any further per-item calls.  Subclasses keep the item-by-item
+ * drawing, so that overrides of methods such as
+ * {@link #getItemPaint(int, int)} and
+ * {@link #drawPrimaryLine(XYItemRendererState, Graphics2D, XYPlot,
+ * XYDataset, int, int, int, ValueAxis, ValueAxis, Rectangle2D)} continue
+ * to apply to every item.
  *
  */
 public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
@@ -636,6 +647,18 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
          */
         private boolean lastPointGood;
 
+        /** The index of the series in the current pass (or -1). */
+        private int passSeries;
+
+        /**
+         * A flag that indicates that the lines for the whole series have
+         * been drawn in the current pass.
+         */
+        private boolean seriesLinesDrawn;
+
+        /** A reusable buffer for the Java2D coordinates of a series. */
+        private double[] coords;
+
         /**
          * Creates a new state instance.
          *
@@ -644,6 +667,8 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         public State(PlotRenderingInfo info) {
             super(info);
             this.seriesPath = new GeneralPath();
+            this.passSeries = -1;
+            this.coords = new double[0];
         }
 
         /**
@@ -682,10 +707,46 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
                 int firstItem, int lastItem, int pass, int passCount) {
             this.seriesPath.reset();
             this.lastPointGood = false;
+            this.passSeries = series;
+            this.seriesLinesDrawn = false;
             super.startSeriesPass(dataset, series, firstItem, lastItem, pass,
                     passCount);
        }
 
+        /**
+         * This method is called by the {@link XYPlot} at the end of each
+         * series pass.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param firstItem  the first item index for this pass.
+         * @param lastItem  the last item index for this pass.
+         * @param pass  the current pass index.
+         * @param passCount  the number of passes.
+         */
+        @Override
+        public void endSeriesPass(XYDataset dataset, int series,
+                int firstItem, int lastItem, int pass, int passCount) {
+            this.passSeries = -1;
+            super.endSeriesPass(dataset, series, firstItem, lastItem, pass,
+                    passCount);
+        }
+
+        /**
+         * Returns the coordinate buffer, enlarged if necessary.
+         *
+         * @param length  the required length.
+         *
+         * @return The buffer.
+         */
+        double[] getCoords(int length) {
+            if (this.coords.length < length) {
+                this.coords = new double[Math.max(length,
+                        this.coords.length * 3 / 2)];
+            }
+            return this.coords;
+        }
+
     }
 
     /**
@@ -741,6 +802,21 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 
         // first pass draws the background (lines, for instance)
         if (isLinePass(pass)) {
+            if (state instanceof State) {
+                State s = (State) state;
+                if (s.seriesLinesDrawn && s.passSeries == series) {
+                    return;
+                }
+                if (getClass() == XYLineAndShapeRenderer.class
+                        && s.passSeries == series
+                        && item == s.getFirstItemIndex()
+                        && getItemLineVisible(series, item)) {
+                    drawSeriesLines(g2, s, plot, dataset, pass, series,
+                            domainAxis, rangeAxis, dataArea);
+                    s.seriesLinesDrawn = true;
+                    return;
+                }
+            }
             if (getItemLineVisible(series, item)) {
                 if (this.drawSeriesLineAsPath) {
                     drawPrimaryLineAsPath(state, g2, plot, dataset, pass,
@@ -766,6 +842,110 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Draws the lines for all the items in the current series pass in one
+     * call, looking up the series attributes only once.  This gives the
+     * same result as calling
+     * {@link #drawPrimaryLine(XYItemRendererState, Graphics2D, XYPlot,
+     * XYDataset, int, int, int, ValueAxis, ValueAxis, Rectangle2D)} (or
+     * {@link #drawPrimaryLineAsPath(XYItemRendererState, Graphics2D, XYPlot,
+     * XYDataset, int, int, int, ValueAxis, ValueAxis, Rectangle2D)}) for each
+     * item, provided that no item-level attributes are overridden.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param pass  the pass.
+     * @param series  the series index (zero-based).
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataArea  the area within which the data is being drawn.
+     */
+    private void drawSeriesLines(Graphics2D g2, State state, XYPlot plot,
+            XYDataset dataset, int pass, int series, ValueAxis domainAxis,
+            ValueAxis rangeAxis, Rectangle2D dataArea) {
+
+        int lastItem = state.getLastItemIndex();
+        int firstItem = state.getFirstItemIndex();
+        if (!this.drawSeriesLineAsPath && firstItem > 0) {
+            // the segment that ends at the first item is also drawn
+            firstItem--;
+        }
+        int count = lastItem - firstItem + 1;
+        if (count <= 0) {
+            return;
+        }
+        RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+        RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+        boolean horizontal
+                = plot.getOrientation() == PlotOrientation.HORIZONTAL;
+        double[] coords = state.getCoords(count * 2);
+        for (int i = 0; i < count; i++) {
+            double x = dataset.getXValue(series, firstItem + i);
+            double y = dataset.getYValue(series, firstItem + i);
+            double transX = domainAxis.valueToJava2D(x, dataArea,
+                    xAxisLocation);
+            double transY = rangeAxis.valueToJava2D(y, dataArea,
+                    yAxisLocation);
+            if (horizontal) {
+                coords[2 * i] = transY;
+                coords[2 * i + 1] = transX;
+            }
+            else {
+                coords[2 * i] = transX;
+                coords[2 * i + 1] = transY;
+            }
+        }
+
+        if (this.drawSeriesLineAsPath) {
+            GeneralPath path = state.seriesPath;
+            path.reset();
+            boolean lastPointGood = false;
+            for (int i = 0; i < count; i++) {
+                float x = (float) coords[2 * i];
+                float y = (float) coords[2 * i + 1];
+                if (Float.isNaN(x) || Float.isNaN(y)) {
+                    lastPointGood = false;
+                }
+                else {
+                    if (lastPointGood) {
+                        path.lineTo(x, y);
+                    }
+                    else {
+                        path.moveTo(x, y);
+                    }
+                    lastPointGood = true;
+                }
+            }
+            if (path.getCurrentPoint() != null) {
+                drawFirstPassShape(g2, pass, series, lastItem, path);
+            }
+        }
+        else {
+            // the segments are drawn as separate lines (Java2D rasterizes a
+            // line differently to a segment within a path), but the stroke
+            // and paint are only set once
+            g2.setStroke(getItemStroke(series, lastItem));
+            g2.setPaint(getItemPaint(series, lastItem));
+            Line2D line = state.workingLine;
+            for (int i = 1; i < count; i++) {
+                double x0 = coords[2 * i - 2];
+                double y0 = coords[2 * i - 1];
+                double x1 = coords[2 * i];
+                double y1 = coords[2 * i + 1];
+                if (Double.isNaN(x0) || Double.isNaN(y0) || Double.isNaN(x1)
+                        || Double.isNaN(y1)) {
+                    continue;
+                }
+                line.setLine(x0, y0, x1, y1);
+                if (LineUtils.clipLine(line, dataArea)) {
+                    g2.draw(line);
+                }
+            }
+        }
+    }
+
     /**
      * Returns {@code true} if the specified pass is the one for drawing
      * lines.
@@ -979,35 +1159,42 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 
         if (getItemShapeVisible(series, item)) {
             Shape shape = getItemShape(series, item);
+            double shapeX = transX1;
+            double shapeY = transY1;
             if (orientation == PlotOrientation.HORIZONTAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, transY1,
-                        transX1);
+                shapeX = transY1;
+                shapeY = transX1;
             }
-            else if (orientation == PlotOrientation.VERTICAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, transX1,
-                        transY1);
+            if (entities != null) {
+                entityArea = ShapeUtils.createTranslatedShape(shape, shapeX,
+                        shapeY);
             }
-            entityArea = shape;
-            if (shape.intersects(dataArea)) {
+            // test the untranslated shape against the translated data area
+            if (shape.intersects(dataArea.getX() - shapeX,
+                    dataArea.getY() - shapeY, dataArea.getWidth(),
+                    dataArea.getHeight())) {
+                Paint fillPaint = null;
                 if (getItemShapeFilled(series, item)) {
                     if (this.useFillPaint) {
-                        g2.setPaint(getItemFillPaint(series, item));
+                        fillPaint = getItemFillPaint(series, item);
                     }
                     else {
-                        g2.setPaint(getItemPaint(series, item));
+                        fillPaint = getItemPaint(series, item);
                     }
-                    g2.fill(shape);
                 }
+                Paint outlinePaint = null;
+                Stroke outlineStroke = null;
                 if (this.drawOutlines) {
                     if (getUseOutlinePaint()) {
-                        g2.setPaint(getItemOutlinePaint(series, item));
+                        outlinePaint = getItemOutlinePaint(series, item);
                     }
                     else {
-                        g2.setPaint(getItemPaint(series, item));
+                        outlinePaint = getItemPaint(series, item);
                     }
-                    g2.setStroke(getItemOutlineStroke(series, item));
-                    g2.draw(shape);
+                    outlineStroke = getItemOutlineStroke(series, item);
                 }
+                drawItemShape(g2, shape, shapeX, shapeY, fillPaint,
+                        outlinePaint, outlineStroke);
             }
         }
 
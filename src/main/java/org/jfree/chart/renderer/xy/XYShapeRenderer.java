@@ -429,7 +429,7 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
             ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
             int series, int item, CrosshairState crosshairState, int pass) {
 
-        Shape hotspot;
+        Shape hotspot = null;
         EntityCollection entities = null;
         if (info != null) {
             entities = info.getOwner().getEntityCollection();
@@ -466,28 +466,33 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
             }
         } else if (pass == 1) {
             Shape shape = getItemShape(series, item);
+            double shapeX = transX;
+            double shapeY = transY;
             if (orientation == PlotOrientation.HORIZONTAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, transY,
-                        transX);
-            } else if (orientation == PlotOrientation.VERTICAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, transX,
-                        transY);
+                shapeX = transY;
+                shapeY = transX;
             }
-            hotspot = shape;
-            if (shape.intersects(dataArea)) {
-                //if (getItemShapeFilled(series, item)) {
-                    g2.setPaint(getPaint(dataset, series, item));
-                    g2.fill(shape);
-               //}
+            if (entities != null) {
+                hotspot = ShapeUtils.createTranslatedShape(shape, shapeX,
+                        shapeY);
+            }
+            // test the untranslated shape against the translated data area
+            if (shape.intersects(dataArea.getX() - shapeX,
+                    dataArea.getY() - shapeY, dataArea.getWidth(),
+                    dataArea.getHeight())) {
+                Paint outlinePaint = null;
+                Stroke outlineStroke = null;
                 if (this.drawOutlines) {
                     if (getUseOutlinePaint()) {
-                        g2.setPaint(getItemOutlinePaint(series, item));
+                        outlinePaint = getItemOutlinePaint(series, item);
                     } else {
-                        g2.setPaint(getItemPaint(series, item));
+                        outlinePaint = getItemPaint(series, item);
                     }
-                    g2.setStroke(getItemOutlineStroke(series, item));
-                    g2.draw(shape);
+                    outlineStroke = getItemOutlineStroke(series, item);
                 }
+                drawItemShape(g2, shape, shapeX, shapeY,
+                        getPaint(dataset, series, item), outlinePaint,
+                        outlineStroke);
             }
             
             int datasetIndex = plot.indexOf(dataset);
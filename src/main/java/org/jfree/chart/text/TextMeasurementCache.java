@@ -0,0 +1,242 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.text;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.font.FontRenderContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of string measurements, keyed by the string, the font and
+ * the font render context.  The same strings (tick labels, category labels,
+ * legend items and so on) are measured each time a chart is drawn, and the
+ * cache lets {@link TextUtils} skip the repeated work.  Rotated text is
+ * measured unrotated and then transformed, so the rotation is not part of
+ * the key.
+ * <p>
+ * Only measurements made with the JDK's own {@code FontMetrics}
+ * implementation are cached, since for those the result depends on nothing
+ * but the font and the render context.  The cache is split into segments
+ * that are locked independently, each evicting its least recently used
+ * entries, so it can be shared by charts drawn on several threads.
+ *
+ * @since 1.5.1
+ */
+final class TextMeasurementCache {
+
+    /** The default maximum number of entries. */
+    static final int DEFAULT_MAXIMUM_SIZE = 8192;
+
+    /** Strings longer than this are not cached. */
+    static final int MAXIMUM_TEXT_LENGTH = 256;
+
+    /** The number of independently locked segments. */
+    private static final int SEGMENT_COUNT = 16;
+
+    /** The segments. */
+    private final Segment[] segments;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize  the maximum number of entries (approximate, since
+     *     the limit is applied to each segment).
+     */
+    TextMeasurementCache(int maximumSize) {
+        this.segments = new Segment[SEGMENT_COUNT];
+        int segmentSize = Math.max(1, maximumSize / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            this.segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    /**
+     * Returns {@code true} if measurements made with the specified font
+     * metrics and text can be cached.
+     *
+     * @param text  the text ({@code null} permitted).
+     * @param fm  the font metrics.
+     *
+     * @return A boolean.
+     */
+    static boolean isCacheable(String text, FontMetrics fm) {
+        return text != null && text.length() <= MAXIMUM_TEXT_LENGTH
+                && fm.getClass().getName().startsWith("sun.font.");
+    }
+
+    /**
+     * Returns a cached measurement, or {@code null}.
+     *
+     * @param key  the key.
+     *
+     * @return The measurement (possibly {@code null}).
+     */
+    Object get(Key key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    /**
+     * Adds a measurement to the cache.
+     *
+     * @param key  the key.
+     * @param value  the measurement (an {@code Integer} width or a
+     *     {@code Rectangle2D} that is not modified afterwards).
+     */
+    void put(Key key, Object value) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        for (Segment segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the segment for a key.
+     *
+     * @param key  the key.
+     *
+     * @return The segment.
+     */
+    private Segment segmentFor(Key key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return this.segments[h & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * A map that evicts its least recently used entry when full.
+     */
+    private static final class Segment extends LinkedHashMap<Key, Object> {
+
+        /** For serialization. */
+        private static final long serialVersionUID = 1L;
+
+        /** The maximum number of entries. */
+        private final int maximumSize;
+
+        /**
+         * Creates a new segment.
+         *
+         * @param maximumSize  the maximum number of entries.
+         */
+        Segment(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+            return size() > this.maximumSize;
+        }
+
+    }
+
+    /**
+     * A cache key.
+     */
+    static final class Key {
+
+        /** A key for the width of a string. */
+        static final int WIDTH = 0;
+
+        /** A key for the bounds of a string from {@code getStringBounds()}. */
+        static final int STRING_BOUNDS = 1;
+
+        /** The measurement kind. */
+        private final int kind;
+
+        /** The text. */
+        private final String text;
+
+        /** The font. */
+        private final Font font;
+
+        /** The font render context. */
+        private final FontRenderContext frc;
+
+        /** The hash code. */
+        private final int hash;
+
+        /**
+         * Creates a new key.
+         *
+         * @param kind  the measurement kind.
+         * @param text  the text.
+         * @param font  the font.
+         * @param frc  the font render context.
+         */
+        Key(int kind, String text, Font font, FontRenderContext frc) {
+            this.kind = kind;
+            this.text = text;
+            this.font = font;
+            this.frc = frc;
+            int h = text.hashCode();
+            h = 31 * h + font.hashCode();
+            h = 31 * h + frc.hashCode();
+            this.hash = 31 * h + kind;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return this.hash == that.hash && this.kind == that.kind
+                    && this.text.equals(that.text)
+                    && this.font.equals(that.font)
+                    && this.frc.equals(that.frc);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+    }
+
+}
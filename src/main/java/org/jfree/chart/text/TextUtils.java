@@ -69,6 +69,16 @@ public class TextUtils {
      */
     private static boolean useFontMetricsGetStringBounds = false;
 
+    /**
+     * A flag that controls whether string measurements are cached.
+     */
+    private static boolean useTextMeasurementCache = true;
+
+    /** The cache of string measurements. */
+    private static final TextMeasurementCache MEASUREMENTS
+            = new TextMeasurementCache(
+                    TextMeasurementCache.DEFAULT_MAXIMUM_SIZE);
+
     /**
      * Private constructor prevents object creation.
      */
@@ -267,6 +277,17 @@ public class TextUtils {
 
         Rectangle2D bounds;
         if (TextUtils.useFontMetricsGetStringBounds) {
+            TextMeasurementCache.Key key = null;
+            if (useTextMeasurementCache
+                    && TextMeasurementCache.isCacheable(text, fm)) {
+                key = new TextMeasurementCache.Key(
+                        TextMeasurementCache.Key.STRING_BOUNDS, text,
+                        fm.getFont(), g2.getFontRenderContext());
+                Rectangle2D cached = (Rectangle2D) MEASUREMENTS.get(key);
+                if (cached != null) {
+                    return (Rectangle2D) cached.clone();
+                }
+            }
             bounds = fm.getStringBounds(text, g2);
             // getStringBounds() can return incorrect height for some Unicode
             // characters...see bug parade 6183356, let's replace it with
@@ -275,9 +296,12 @@ public class TextUtils {
                     g2.getFontRenderContext());
             bounds.setRect(bounds.getX(), bounds.getY(), bounds.getWidth(),
                     lm.getHeight());
+            if (key != null) {
+                MEASUREMENTS.put(key, bounds.clone());
+            }
         }
         else {
-            double width = fm.stringWidth(text);
+            double width = stringWidth(text, fm);
             double height = fm.getHeight();
             bounds = new Rectangle2D.Double(0.0, -fm.getAscent(), width,
                     height);
@@ -285,6 +309,37 @@ public class TextUtils {
         return bounds;
     }
 
+    /**
+     * Returns the advance width of a string, the same as
+     * {@code fm.stringWidth(text)} but using the text measurement cache
+     * when it is enabled.
+     *
+     * @param text  the text ({@code null} not permitted).
+     * @param fm  the font metrics ({@code null} not permitted).
+     *
+     * @return The width.
+     *
+     * @see #setUseTextMeasurementCache(boolean)
+     *
+     * @since 1.5.1
+     */
+    public static int stringWidth(String text, FontMetrics fm) {
+        if (!useTextMeasurementCache
+                || !TextMeasurementCache.isCacheable(text, fm)) {
+            return fm.stringWidth(text);
+        }
+        TextMeasurementCache.Key key = new TextMeasurementCache.Key(
+                TextMeasurementCache.Key.WIDTH, text, fm.getFont(),
+                fm.getFontRenderContext());
+        Integer cached = (Integer) MEASUREMENTS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        int width = fm.stringWidth(text);
+        MEASUREMENTS.put(key, width);
+        return width;
+    }
+
 
     /**
      * Returns the bounds of an aligned string.
@@ -737,6 +792,49 @@ public class TextUtils {
         useFontMetricsGetStringBounds = use;
     }
 
+    /**
+     * Returns the flag that controls whether string measurements are
+     * cached.  The default value is {@code true}.
+     *
+     * @return A boolean.
+     *
+     * @since 1.5.1
+     */
+    public static boolean getUseTextMeasurementCache() {
+        return useTextMeasurementCache;
+    }
+
+    /**
+     * Sets the flag that controls whether string measurements are cached.
+     * When it is set, {@link #getTextBounds(String, Graphics2D, FontMetrics)}
+     * and {@link #stringWidth(String, FontMetrics)} keep the measurements
+     * of short strings (in a bounded cache keyed by the string, the font
+     * and the font render context) so that the labels of charts that are
+     * drawn repeatedly are not measured again.
+     *
+     * @param use  the flag.
+     *
+     * @since 1.5.1
+     */
+    public static void setUseTextMeasurementCache(boolean use) {
+        useTextMeasurementCache = use;
+        if (!use) {
+            MEASUREMENTS.clear();
+        }
+    }
+
+    /**
+     * Removes all the entries from the text measurement cache.  The cache
+     * assumes that a font always has the same metrics, so call this method
+     * if that is not the case (for example after registering a font that
+     * replaces one with the same name).
+     *
+     * @since 1.5.1
+     */
+    public static void clearTextMeasurementCache() {
+        MEASUREMENTS.clear();
+    }
+
     /**
      * Returns the flag that controls whether or not a workaround is used for
      * drawing rotated strings.
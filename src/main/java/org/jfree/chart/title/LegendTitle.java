@@ -66,11 +66,15 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Paint;
+import java.awt.font.FontRenderContext;
 import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.jfree.chart.LegendItem;
 import org.jfree.chart.LegendItemCollection;
@@ -99,6 +103,7 @@ import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.chart.ui.Size2D;
 import org.jfree.chart.util.PaintUtils;
 import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.SortOrder;
 
 
@@ -178,6 +183,50 @@ public class LegendTitle extends Title
      */
     private SortOrder sortOrder;
 
+    /**
+     * The maximum number of legend items to display.  When there are more
+     * items, the remainder are summarised in a single block.
+     *
+     * @since 1.5.1
+     */
+    private int maximumItemCount;
+
+    /**
+     * The pattern (for {@code MessageFormat}) for the label that summarises
+     * the items not displayed, where {@code {0}} is the number of items.
+     *
+     * @since 1.5.1
+     */
+    private String overflowLabelFormat;
+
+    /**
+     * The legend items that the blocks in the item container were created
+     * from (or {@code null}).  While the sources return the same items, the
+     * blocks (and their layout) are kept from one drawing to the next.
+     */
+    private transient List<LegendItem> retainedItems;
+
+    /** The blocks created for {@code retainedItems}. */
+    private transient List<Block> retainedBlocks;
+
+    /** The number of items summarised in the retained blocks. */
+    private transient int retainedOverflowCount;
+
+    /**
+     * A flag that is set when the last call to {@link #fetchLegendItems()}
+     * kept the existing blocks.
+     */
+    private transient boolean itemBlocksRetained;
+
+    /** The content constraint for the last arrangement of the items. */
+    private transient RectangleConstraint arrangedConstraint;
+
+    /** The font render context for the last arrangement of the items. */
+    private transient FontRenderContext arrangedFontRenderContext;
+
+    /** The size from the last arrangement of the items. */
+    private transient Size2D arrangedSize;
+
     /**
      * Constructs a new (empty) legend for the specified source.
      *
@@ -211,6 +260,8 @@ public class LegendTitle extends Title
         this.itemPaint = DEFAULT_ITEM_PAINT;
         this.itemLabelPadding = new RectangleInsets(2.0, 2.0, 2.0, 2.0);
         this.sortOrder = SortOrder.ASCENDING;
+        this.maximumItemCount = Integer.MAX_VALUE;
+        this.overflowLabelFormat = "+{0} more";
     }
 
     /**
@@ -416,26 +467,96 @@ public class LegendTitle extends Title
         notifyListeners(new TitleChangeEvent(this));
     }
 
+    /**
+     * Returns the maximum number of legend items that are displayed.  The
+     * default is {@code Integer.MAX_VALUE}.
+     *
+     * @return The maximum item count.
+     *
+     * @since 1.5.1
+     */
+    public int getMaximumItemCount() {
+        return this.maximumItemCount;
+    }
+
+    /**
+     * Sets the maximum number of legend items that are displayed and sends a
+     * {@link TitleChangeEvent} to all registered listeners.  When the
+     * sources have more items than this, the first {@code count} items are
+     * displayed followed by a label that gives the number of the remaining
+     * items (see {@link #setOverflowLabelFormat(String)}).  For a chart with
+     * thousands of series this avoids creating, measuring and drawing a
+     * block for every series.
+     *
+     * @param count  the maximum item count (must be positive).
+     *
+     * @since 1.5.1
+     */
+    public void setMaximumItemCount(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Requires 'count' > 0.");
+        }
+        this.maximumItemCount = count;
+        notifyListeners(new TitleChangeEvent(this));
+    }
+
+    /**
+     * Returns the pattern for the label that summarises the legend items
+     * that are not displayed.  The default is {@code "+{0} more"}.
+     *
+     * @return The pattern (never {@code null}).
+     *
+     * @since 1.5.1
+     */
+    public String getOverflowLabelFormat() {
+        return this.overflowLabelFormat;
+    }
+
+    /**
+     * Sets the pattern for the label that summarises the legend items that
+     * are not displayed and sends a {@link TitleChangeEvent} to all
+     * registered listeners.  The pattern is used with
+     * {@code MessageFormat}, where {@code {0}} is the number of items not
+     * displayed.
+     *
+     * @param format  the pattern ({@code null} not permitted).
+     *
+     * @since 1.5.1
+     */
+    public void setOverflowLabelFormat(String format) {
+        Args.nullNotPermitted(format, "format");
+        this.overflowLabelFormat = format;
+        notifyListeners(new TitleChangeEvent(this));
+    }
+
     /**
      * Fetches the latest legend items.
      */
     protected void fetchLegendItems() {
-        this.items.clear();
         RectangleEdge p = getPosition();
+        Arrangement arrangement;
         if (RectangleEdge.isTopOrBottom(p)) {
-            this.items.setArrangement(this.hLayout);
+            arrangement = this.hLayout;
         }
         else {
-            this.items.setArrangement(this.vLayout);
+            arrangement = this.vLayout;
         }
 
+        // items beyond the maximum count are only counted
+        List<LegendItem> latest = new ArrayList<LegendItem>();
+        int overflow = 0;
         if (this.sortOrder.equals(SortOrder.ASCENDING)) {
             for (int s = 0; s < this.sources.length; s++) {
                 LegendItemCollection legendItems =
                     this.sources[s].getLegendItems();
                 if (legendItems != null) {
                     for (int i = 0; i < legendItems.getItemCount(); i++) {
-                        addItemBlock(legendItems.get(i));
+                        if (latest.size() < this.maximumItemCount) {
+                            latest.add(legendItems.get(i));
+                        }
+                        else {
+                            overflow++;
+                        }
                     }
                 }
             }
@@ -446,16 +567,106 @@ public class LegendTitle extends Title
                     this.sources[s].getLegendItems();
                 if (legendItems != null) {
                     for (int i = legendItems.getItemCount()-1; i >= 0; i--) {
-                        addItemBlock(legendItems.get(i));
+                        if (latest.size() < this.maximumItemCount) {
+                            latest.add(legendItems.get(i));
+                        }
+                        else {
+                            overflow++;
+                        }
                     }
                 }
             }
         }
+
+        // rebuilding the blocks for a large legend (and measuring them
+        // again in arrange()) is costly, so the blocks are kept while the
+        // items are unchanged.  Subclasses may create blocks from other
+        // state, so this only applies to this class.
+        if (getClass() == LegendTitle.class
+                && this.items.getArrangement() == arrangement
+                && overflow == this.retainedOverflowCount
+                && canRetainItemBlocks(latest)) {
+            this.itemBlocksRetained = true;
+            return;
+        }
+        this.itemBlocksRetained = false;
+        this.arrangedSize = null;
+        this.items.clear();
+        this.items.setArrangement(arrangement);
+        List<Block> blocks = new ArrayList<Block>(latest.size());
+        for (LegendItem item : latest) {
+            Block block = createLegendItemBlock(item);
+            this.items.add(block);
+            blocks.add(block);
+        }
+        if (overflow > 0) {
+            Block block = createOverflowBlock(overflow);
+            this.items.add(block);
+            blocks.add(block);
+        }
+        this.retainedItems = latest;
+        this.retainedBlocks = blocks;
+        this.retainedOverflowCount = overflow;
+    }
+
+    /**
+     * Creates the block that summarises the legend items that are not
+     * displayed (see {@link #setMaximumItemCount(int)}).
+     *
+     * @param count  the number of items not displayed.
+     *
+     * @return The block.
+     *
+     * @since 1.5.1
+     */
+    protected Block createOverflowBlock(int count) {
+        String text = MessageFormat.format(this.overflowLabelFormat,
+                new Object[] {Integer.valueOf(count)});
+        LabelBlock labelBlock = new LabelBlock(text, this.itemFont,
+                this.itemPaint);
+        labelBlock.setPadding(this.itemLabelPadding);
+        BlockContainer result = new BlockContainer(new CenterArrangement());
+        result.add(labelBlock);
+        return result;
     }
 
-    private void addItemBlock(LegendItem item) {
-        Block block = createLegendItemBlock(item);
-        this.items.add(block);
+    /**
+     * Returns {@code true} if the blocks in the item container were created
+     * from legend items that match {@code latest}, and have not been changed
+     * since.
+     *
+     * @param latest  the latest legend items.
+     *
+     * @return A boolean.
+     */
+    private boolean canRetainItemBlocks(List<LegendItem> latest) {
+        if (this.retainedItems == null
+                || this.retainedItems.size() != latest.size()) {
+            return false;
+        }
+        List blocks = this.items.getBlocks();
+        if (blocks.size() != this.retainedBlocks.size()) {
+            return false;
+        }
+        for (int i = 0; i < blocks.size(); i++) {
+            if (blocks.get(i) != this.retainedBlocks.get(i)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < latest.size(); i++) {
+            LegendItem a = latest.get(i);
+            LegendItem b = this.retainedItems.get(i);
+            // LegendItem.equals() does not compare the fields that are
+            // used for entities
+            if (a != b && (!a.equals(b) || a.getDataset() != b.getDataset()
+                    || !ObjectUtils.equal(a.getSeriesKey(), b.getSeriesKey())
+                    || !ObjectUtils.equal(a.getToolTipText(),
+                            b.getToolTipText())
+                    || !ObjectUtils.equal(a.getURLText(), b.getURLText()))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -538,12 +749,65 @@ public class LegendTitle extends Title
             container = this.items;
         }
         RectangleConstraint c = toContentConstraint(constraint);
-        Size2D size = container.arrange(g2, c);
+        Size2D size;
+        FontRenderContext frc = g2.getFontRenderContext();
+        if (this.wrapper == null && this.itemBlocksRetained
+                && this.arrangedSize != null
+                && sameConstraint(c, this.arrangedConstraint)
+                && frc.equals(this.arrangedFontRenderContext)) {
+            // the blocks still have the bounds from the last arrangement
+            size = new Size2D(this.arrangedSize.width,
+                    this.arrangedSize.height);
+        }
+        else {
+            size = container.arrange(g2, c);
+            this.arrangedConstraint = c;
+            this.arrangedFontRenderContext = frc;
+            this.arrangedSize = new Size2D(size.width, size.height);
+        }
         result.height = calculateTotalHeight(size.height);
         result.width = calculateTotalWidth(size.width);
         return result;
     }
 
+    /**
+     * Returns {@code true} if two constraints are the same.
+     *
+     * @param c1  constraint 1 ({@code null} not permitted).
+     * @param c2  constraint 2 ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    private static boolean sameConstraint(RectangleConstraint c1,
+            RectangleConstraint c2) {
+        if (c2 == null) {
+            return false;
+        }
+        return c1.getWidth() == c2.getWidth()
+                && c1.getHeight() == c2.getHeight()
+                && c1.getWidthConstraintType() == c2.getWidthConstraintType()
+                && c1.getHeightConstraintType()
+                        == c2.getHeightConstraintType()
+                && ObjectUtils.equal(c1.getWidthRange(), c2.getWidthRange())
+                && ObjectUtils.equal(c1.getHeightRange(),
+                        c2.getHeightRange());
+    }
+
+    /**
+     * Discards the retained item blocks (so that they are created again
+     * with the new settings) and notifies the registered listeners.
+     *
+     * @param event  the event.
+     */
+    @Override
+    protected void notifyListeners(TitleChangeEvent event) {
+        this.retainedItems = null;
+        this.retainedBlocks = null;
+        this.itemBlocksRetained = false;
+        this.arrangedSize = null;
+        super.notifyListeners(event);
+    }
+
     /**
      * Draws the title on a Java 2D graphics device (such as the screen or a
      * printer).
@@ -666,9 +930,38 @@ public class LegendTitle extends Title
         if (!this.sortOrder.equals(that.sortOrder)) {
             return false;
         }
+        if (this.maximumItemCount != that.maximumItemCount) {
+            return false;
+        }
+        if (!this.overflowLabelFormat.equals(that.overflowLabelFormat)) {
+            return false;
+        }
         return true;
     }
 
+    /**
+     * Returns a clone of the title.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        LegendTitle clone = (LegendTitle) super.clone();
+        if (this.wrapper == null) {
+            // the item blocks are rebuilt when the clone is drawn, but it
+            // needs its own container for them (a wrapper set by the caller
+            // refers to the original container, so is left as it is)
+            clone.items = new BlockContainer(this.items.getArrangement());
+        }
+        clone.retainedItems = null;
+        clone.retainedBlocks = null;
+        clone.itemBlocksRetained = false;
+        clone.arrangedSize = null;
+        return clone;
+    }
+
     /**
      * Provides serialization support.
      *
@@ -695,6 +988,13 @@ public class LegendTitle extends Title
         stream.defaultReadObject();
         this.backgroundPaint = SerialUtils.readPaint(stream);
         this.itemPaint = SerialUtils.readPaint(stream);
+        // fields added in 1.5.1
+        if (this.maximumItemCount <= 0) {
+            this.maximumItemCount = Integer.MAX_VALUE;
+        }
+        if (this.overflowLabelFormat == null) {
+            this.overflowLabelFormat = "+{0} more";
+        }
     }
 
 }
@@ -105,12 +105,25 @@ public abstract class AbstractSeriesDataset extends AbstractDataset
     }
 
     /**
-     * Called when a series belonging to the dataset changes.
+     * Called when a series belonging to the dataset changes.  If the event
+     * describes a range of items (see {@link SeriesChangeEvent#getType()}),
+     * the listeners receive a {@link SeriesDatasetChangeEvent} with the same
+     * detail, otherwise they receive a plain {@link DatasetChangeEvent}.
      *
      * @param event  information about the change.
      */
     @Override
     public void seriesChanged(SeriesChangeEvent event) {
+        if (event.getType() != null && getNotify()
+                && event.getSource() instanceof Series) {
+            int series = indexOf(((Series) event.getSource()).getKey());
+            if (series >= 0) {
+                notifyListeners(new SeriesDatasetChangeEvent(this, this,
+                        event.getType(), series, event.getFirstItem(),
+                        event.getLastItem()));
+                return;
+            }
+        }
         fireDatasetChanged();
     }
 
@@ -0,0 +1,396 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A base class for lazy views that derive a new {@link XYDataset} from a
+ * source dataset.  A view holds no copy of the source data:  values are
+ * computed when they are requested and, where the computation is not
+ * trivial, kept in a bounded {@link DatasetBlockCache}.  Views can be
+ * chained (the source of a view can be another view) and any number of
+ * views can share one source.
+ * <p>
+ * A view listens for changes to its source.  A plain
+ * {@link DatasetChangeEvent} discards all derived state, while a
+ * {@link SeriesDatasetChangeEvent} is passed to
+ * {@link #itemsAppended(int, int)} or {@link #itemsUpdated(int, int, int)}
+ * so that subclasses can discard only the affected state and report the
+ * change to their own listeners with the same level of detail.  Datasets
+ * derived from {@link AbstractSeriesDataset}, such as
+ * {@link org.jfree.data.xy.XYSeriesCollection} and
+ * {@link org.jfree.data.time.TimeSeriesCollection}, send these events when
+ * items are added to one of their series.
+ *
+ * @since 1.5.1
+ */
+public abstract class AbstractXYDatasetView extends AbstractXYDataset
+        implements DatasetChangeListener, PublicCloneable {
+
+    /** The default number of items per cached block. */
+    public static final int DEFAULT_BLOCK_SIZE = 512;
+
+    /** The default maximum number of cached blocks. */
+    public static final int DEFAULT_MAXIMUM_BLOCK_COUNT = 128;
+
+    /** The source dataset. */
+    private XYDataset source;
+
+    /** The maximum number of cached blocks. */
+    private int maximumBlockCount;
+
+    /** The block cache (created on demand). */
+    private transient DatasetBlockCache blockCache;
+
+    /**
+     * Creates a new view and registers it as a listener with the source
+     * dataset.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     */
+    protected AbstractXYDatasetView(XYDataset source) {
+        Args.nullNotPermitted(source, "source");
+        this.source = source;
+        this.maximumBlockCount = DEFAULT_MAXIMUM_BLOCK_COUNT;
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source dataset.
+     *
+     * @return The source dataset (never {@code null}).
+     */
+    public XYDataset getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the maximum number of blocks of computed values that this
+     * view will cache.
+     *
+     * @return The maximum block count.
+     */
+    public int getMaximumBlockCount() {
+        return this.maximumBlockCount;
+    }
+
+    /**
+     * Sets the maximum number of blocks of computed values that this view
+     * will cache.  This bounds the memory used by the view.
+     *
+     * @param count  the maximum block count (must be positive).
+     */
+    public void setMaximumBlockCount(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Requires 'count' > 0.");
+        }
+        this.maximumBlockCount = count;
+        if (this.blockCache != null) {
+            this.blockCache.setMaximumBlockCount(count);
+        }
+    }
+
+    /**
+     * Returns the block cache for this view, creating it if necessary.
+     *
+     * @return The block cache (never {@code null}).
+     */
+    protected DatasetBlockCache getBlockCache() {
+        if (this.blockCache == null) {
+            this.blockCache = new DatasetBlockCache(DEFAULT_BLOCK_SIZE,
+                    this.maximumBlockCount);
+        }
+        return this.blockCache;
+    }
+
+    /**
+     * Stops listening for changes to the source dataset.  Call this method
+     * when the view is no longer required but the source will continue to
+     * be used.
+     */
+    public void dispose() {
+        this.source.removeChangeListener(this);
+    }
+
+    /**
+     * Returns the number of series, which is the same as for the source.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.source.getSeriesCount();
+    }
+
+    /**
+     * Returns the key for a series, which is the same as for the source.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The series key.
+     */
+    @Override
+    public Comparable getSeriesKey(int series) {
+        return this.source.getSeriesKey(series);
+    }
+
+    /**
+     * Returns the order of the domain values, which is the same as for the
+     * source by default.
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return this.source.getDomainOrder();
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return new Double(getXValue(series, item));
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code null} if the value is {@code NaN}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : new Double(y);
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public abstract double getXValue(int series, int item);
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code NaN} for a missing value).
+     */
+    @Override
+    public abstract double getYValue(int series, int item);
+
+    /**
+     * Receives notification of a change to the source dataset.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        if (event instanceof SeriesDatasetChangeEvent) {
+            SeriesDatasetChangeEvent e = (SeriesDatasetChangeEvent) event;
+            if (e.getType() == DatasetChangeType.ITEMS_APPENDED) {
+                itemsAppended(e.getSeries(), e.getFirstItem());
+            }
+            else {
+                itemsUpdated(e.getSeries(), e.getFirstItem(),
+                        e.getLastItem());
+            }
+        }
+        else {
+            if (this.blockCache != null) {
+                this.blockCache.clear();
+            }
+            sourceChanged();
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Called when anything in the source dataset may have changed.
+     * Subclasses should discard any state they derived from the source
+     * (the block cache is cleared by the caller).  The default
+     * implementation does nothing.
+     */
+    protected void sourceChanged() {
+        // nothing to do by default
+    }
+
+    /**
+     * Called when items have been appended to a series in the source.  The
+     * default implementation discards the cached blocks for the series
+     * from {@code firstItem} onwards and reports the same change to the
+     * listeners of this view, which is correct for views where item
+     * {@code i} depends only on source items {@code 0} to {@code i}.
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first source item affected.
+     */
+    protected void itemsAppended(int series, int firstItem) {
+        if (this.blockCache != null) {
+            this.blockCache.invalidate(series, firstItem);
+        }
+        fireItemsAppended(series, firstItem);
+    }
+
+    /**
+     * Called when the values of a range of items in a series of the source
+     * have changed.  The default implementation treats the change as if
+     * every item from {@code firstItem} onwards had been appended.
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first source item affected.
+     * @param lastItem  the index of the last source item affected.
+     */
+    protected void itemsUpdated(int series, int firstItem, int lastItem) {
+        itemsAppended(series, firstItem);
+    }
+
+    /**
+     * Sends a {@link SeriesDatasetChangeEvent} reporting that items have
+     * been appended to a series of this view (provided that the notify flag
+     * is set).
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first item affected.
+     */
+    protected void fireItemsAppended(int series, int firstItem) {
+        if (getNotify()) {
+            notifyListeners(new SeriesDatasetChangeEvent(this, this,
+                    DatasetChangeType.ITEMS_APPENDED, series,
+                    Math.max(firstItem, 0), getItemCount(series) - 1));
+        }
+    }
+
+    /**
+     * Sends a {@link SeriesDatasetChangeEvent} reporting that the values of
+     * a range of items in a series of this view have changed (provided that
+     * the notify flag is set).
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected.
+     */
+    protected void fireItemsUpdated(int series, int firstItem, int lastItem) {
+        if (getNotify()) {
+            notifyListeners(new SeriesDatasetChangeEvent(this, this,
+                    DatasetChangeType.ITEMS_UPDATED, series, firstItem,
+                    lastItem));
+        }
+    }
+
+    /**
+     * Tests this view for equality with an arbitrary object.  Subclasses
+     * should override this method to check their own attributes.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        AbstractXYDatasetView that = (AbstractXYDatasetView) obj;
+        return this.source.equals(that.source);
+    }
+
+    /**
+     * Returns a hash code for this view.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        return getClass().hashCode() * 31 + this.source.hashCode();
+    }
+
+    /**
+     * Returns an independent copy of the view.  The source dataset is only
+     * cloned if it implements the {@link PublicCloneable} interface, and
+     * the copy starts with an empty cache.
+     *
+     * @return A copy of the view.
+     *
+     * @throws CloneNotSupportedException if the view cannot be cloned.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        AbstractXYDatasetView clone = (AbstractXYDatasetView) super.clone();
+        if (this.source instanceof PublicCloneable) {
+            PublicCloneable pc = (PublicCloneable) this.source;
+            clone.source = (XYDataset) pc.clone();
+        }
+        clone.blockCache = null;
+        clone.sourceChanged();
+        clone.source.addChangeListener(clone);
+        return clone;
+    }
+
+    /**
+     * Restores a serialized object and registers it as a listener with its
+     * source.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException if there is an I/O problem.
+     * @throws ClassNotFoundException if there is a problem loading a class.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.source.addChangeListener(this);
+    }
+
+}
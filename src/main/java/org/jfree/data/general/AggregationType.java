@@ -0,0 +1,60 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+/**
+ * The function used to combine the values that fall within one bucket of
+ * a {@link ResampledXYDataset}.
+ *
+ * @since 1.5.1
+ */
+public enum AggregationType {
+
+    /** The mean of the values. */
+    MEAN,
+
+    /** The sum of the values. */
+    SUM,
+
+    /** The minimum value. */
+    MINIMUM,
+
+    /** The maximum value. */
+    MAXIMUM,
+
+    /** The first value (in item order). */
+    FIRST,
+
+    /** The last value (in item order). */
+    LAST,
+
+    /** The number of (non-missing) values. */
+    COUNT
+
+}
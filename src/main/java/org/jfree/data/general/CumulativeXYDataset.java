@@ -0,0 +1,241 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A view containing the cumulative sums of the y-values of each series in
+ * a source dataset.  Item {@code i} of the view has the x-value of source
+ * item {@code i} and a y-value equal to the sum of the y-values of source
+ * items {@code 0} to {@code i} (missing values count as zero).
+ * <p>
+ * The sums are computed one block at a time and cached.  The running total
+ * at the start of each block is also retained (one value per block, so a
+ * small fraction of the size of the source) so that any block can be
+ * recomputed without summing the items before it.  Appending items to the
+ * source only discards the blocks from the first appended item onwards.
+ *
+ * @since 1.5.1
+ */
+public class CumulativeXYDataset extends AbstractXYDatasetView {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -1872659214327563306L;
+
+    /**
+     * The running total at the start of each block, for each series
+     * (created on demand).
+     */
+    private transient double[][] checkpoints;
+
+    /** The number of valid checkpoints for each series. */
+    private transient int[] checkpointCounts;
+
+    /**
+     * Creates a new view.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     */
+    public CumulativeXYDataset(XYDataset source) {
+        super(source);
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return getSource().getItemCount(series);
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return getSource().getXValue(series, item);
+    }
+
+    /**
+     * Returns the cumulative sum for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        DatasetBlockCache cache = getBlockCache();
+        int blockIndex = cache.blockIndex(item);
+        double[] block = (double[]) cache.get(series, blockIndex);
+        if (block == null) {
+            block = createBlock(series, blockIndex,
+                    getCheckpoint(series, blockIndex));
+        }
+        return block[item % cache.getBlockSize()];
+    }
+
+    /**
+     * Discards all checkpoints.
+     */
+    @Override
+    protected void sourceChanged() {
+        this.checkpoints = null;
+        this.checkpointCounts = null;
+    }
+
+    /**
+     * Handles items appended to a source series.
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first source item affected.
+     */
+    @Override
+    protected void itemsAppended(int series, int firstItem) {
+        discardFrom(series, firstItem);
+        fireItemsAppended(series, firstItem);
+    }
+
+    /**
+     * Handles updates to source items.  All the sums from the first updated
+     * item onwards change.
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first source item affected.
+     * @param lastItem  the index of the last source item affected.
+     */
+    @Override
+    protected void itemsUpdated(int series, int firstItem, int lastItem) {
+        discardFrom(series, firstItem);
+        fireItemsUpdated(series, firstItem, getItemCount(series) - 1);
+    }
+
+    /**
+     * Discards the cached blocks and checkpoints that depend on a source
+     * item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     */
+    private void discardFrom(int series, int item) {
+        DatasetBlockCache cache = getBlockCache();
+        cache.invalidate(series, item);
+        if (this.checkpointCounts != null
+                && series < this.checkpointCounts.length) {
+            // checkpoint k depends on the items before k * blockSize
+            int valid = Math.max(item, 0) / cache.getBlockSize() + 1;
+            this.checkpointCounts[series] = Math.min(
+                    this.checkpointCounts[series], valid);
+        }
+    }
+
+    /**
+     * Returns the running total at the start of a block, computing (and
+     * caching) any earlier blocks that are required.
+     *
+     * @param series  the series index.
+     * @param blockIndex  the block index.
+     *
+     * @return The running total before the first item in the block.
+     */
+    private double getCheckpoint(int series, int blockIndex) {
+        int seriesCount = getSeriesCount();
+        if (this.checkpoints == null
+                || this.checkpoints.length != seriesCount) {
+            this.checkpoints = new double[seriesCount][];
+            this.checkpointCounts = new int[seriesCount];
+        }
+        double[] c = this.checkpoints[series];
+        if (c == null || c.length <= blockIndex) {
+            double[] grown = new double[Math.max(blockIndex + 1,
+                    c == null ? 16 : c.length * 2)];
+            if (c != null) {
+                System.arraycopy(c, 0, grown, 0, c.length);
+            }
+            c = grown;
+            this.checkpoints[series] = c;
+        }
+        if (this.checkpointCounts[series] == 0) {
+            c[0] = 0.0;
+            this.checkpointCounts[series] = 1;
+        }
+        DatasetBlockCache cache = getBlockCache();
+        for (int k = this.checkpointCounts[series]; k <= blockIndex; k++) {
+            double[] previous = (double[]) cache.get(series, k - 1);
+            if (previous == null) {
+                previous = createBlock(series, k - 1, c[k - 1]);
+            }
+            c[k] = previous.length > 0 ? previous[previous.length - 1]
+                    : c[k - 1];
+            this.checkpointCounts[series] = k + 1;
+        }
+        return c[blockIndex];
+    }
+
+    /**
+     * Computes the cumulative sums for one block and adds the block to the
+     * cache.
+     *
+     * @param series  the series index.
+     * @param blockIndex  the block index.
+     * @param total  the running total before the first item in the block.
+     *
+     * @return The block.
+     */
+    private double[] createBlock(int series, int blockIndex, double total) {
+        DatasetBlockCache cache = getBlockCache();
+        int blockSize = cache.getBlockSize();
+        int start = blockIndex * blockSize;
+        int size = Math.max(0, Math.min(blockSize,
+                getItemCount(series) - start));
+        XYDataset source = getSource();
+        double[] block = new double[size];
+        for (int i = 0; i < size; i++) {
+            double y = source.getYValue(series, start + i);
+            if (!Double.isNaN(y)) {
+                total += y;
+            }
+            block[i] = total;
+        }
+        cache.put(series, blockIndex, block);
+        return block;
+    }
+
+}
@@ -0,0 +1,197 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache for blocks of values computed from a dataset.  Each block
+ * covers {@code blockSize} consecutive items of one series.  When the
+ * number of cached blocks exceeds the maximum, the least recently used block
+ * is discarded, so the memory used by the cache is bounded regardless of
+ * the size of the dataset.
+ *
+ * @since 1.5.1
+ */
+public class DatasetBlockCache {
+
+    /** The number of items per block. */
+    private int blockSize;
+
+    /** The maximum number of blocks retained. */
+    private int maximumBlockCount;
+
+    /** The cached blocks, in access order. */
+    private LinkedHashMap<Long, Object> blocks;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param blockSize  the number of items per block (must be positive).
+     * @param maximumBlockCount  the maximum number of blocks to retain
+     *     (must be positive).
+     */
+    public DatasetBlockCache(int blockSize, int maximumBlockCount) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Requires 'blockSize' > 0.");
+        }
+        if (maximumBlockCount < 1) {
+            throw new IllegalArgumentException(
+                    "Requires 'maximumBlockCount' > 0.");
+        }
+        this.blockSize = blockSize;
+        this.maximumBlockCount = maximumBlockCount;
+        this.blocks = new LinkedHashMap<Long, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Object> e) {
+                return size() > DatasetBlockCache.this.maximumBlockCount;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of items per block.
+     *
+     * @return The block size.
+     */
+    public int getBlockSize() {
+        return this.blockSize;
+    }
+
+    /**
+     * Returns the maximum number of blocks retained by the cache.
+     *
+     * @return The maximum block count.
+     */
+    public int getMaximumBlockCount() {
+        return this.maximumBlockCount;
+    }
+
+    /**
+     * Sets the maximum number of blocks retained by the cache, discarding
+     * the least recently used blocks if necessary.
+     *
+     * @param count  the maximum block count (must be positive).
+     */
+    public synchronized void setMaximumBlockCount(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Requires 'count' > 0.");
+        }
+        this.maximumBlockCount = count;
+        Iterator<Long> iterator = this.blocks.keySet().iterator();
+        while (this.blocks.size() > count && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the number of blocks currently in the cache.
+     *
+     * @return The block count.
+     */
+    public synchronized int getBlockCount() {
+        return this.blocks.size();
+    }
+
+    /**
+     * Returns the index of the block containing an item.
+     *
+     * @param item  the item index.
+     *
+     * @return The block index.
+     */
+    public int blockIndex(int item) {
+        return item / this.blockSize;
+    }
+
+    /**
+     * Returns a cached block.
+     *
+     * @param series  the series index.
+     * @param block  the block index.
+     *
+     * @return The block, or {@code null} if it is not cached.
+     */
+    public synchronized Object get(int series, int block) {
+        return this.blocks.get(key(series, block));
+    }
+
+    /**
+     * Adds a block to the cache.
+     *
+     * @param series  the series index.
+     * @param block  the block index.
+     * @param data  the block data ({@code null} not permitted).
+     */
+    public synchronized void put(int series, int block, Object data) {
+        this.blocks.put(key(series, block), data);
+    }
+
+    /**
+     * Discards the cached blocks for a series that contain the specified
+     * item or any later item.
+     *
+     * @param series  the series index.
+     * @param item  the index of the first item to discard.
+     */
+    public synchronized void invalidate(int series, int item) {
+        long first = key(series, blockIndex(Math.max(item, 0)));
+        long last = key(series, Integer.MAX_VALUE);
+        Iterator<Long> iterator = this.blocks.keySet().iterator();
+        while (iterator.hasNext()) {
+            long k = iterator.next();
+            if (k >= first && k <= last) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Discards all cached blocks.
+     */
+    public synchronized void clear() {
+        this.blocks.clear();
+    }
+
+    /**
+     * Returns the key for a block.
+     *
+     * @param series  the series index.
+     * @param block  the block index.
+     *
+     * @return The key.
+     */
+    private static Long key(int series, int block) {
+        return Long.valueOf(((long) series << 32) | (block & 0xFFFFFFFFL));
+    }
+
+}
@@ -0,0 +1,52 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+/**
+ * The type of change described by a {@link SeriesDatasetChangeEvent}, a
+ * {@link SeriesChangeEvent} or a {@link PieDatasetChangeEvent}.
+ *
+ * @since 1.5.1
+ */
+public enum DatasetChangeType {
+
+    /**
+     * Zero or more items have been appended to a series.  The items before
+     * the first item reported by the event are unchanged, while the items
+     * from that index onwards may be new or may have new values.
+     */
+    ITEMS_APPENDED,
+
+    /**
+     * The values of a contiguous range of items in a series have changed.
+     * The number of items in the series is unchanged.
+     */
+    ITEMS_UPDATED
+
+}
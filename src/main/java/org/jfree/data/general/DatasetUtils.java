@@ -2375,4 +2375,35 @@ public final class DatasetUtils {
         }
     }
 
+    /**
+     * Returns the index of the first item in a series with an x-value that
+     * is greater than or equal to {@code x}, using a binary search.  The
+     * x-values in the series must be in ascending order.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param x  the x-value.
+     *
+     * @return The item index, or the item count if every x-value in the
+     *     series is less than {@code x}.
+     *
+     * @since 1.5.1
+     */
+    public static int findFirstItemAtOrAfterX(XYDataset dataset, int series,
+            double x) {
+        Args.nullNotPermitted(dataset, "dataset");
+        int low = 0;
+        int high = dataset.getItemCount(series);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dataset.getXValue(series, mid) < x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
 }
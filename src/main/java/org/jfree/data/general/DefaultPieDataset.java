@@ -186,7 +186,10 @@ public class DefaultPieDataset extends AbstractDataset
 
     /**
      * Sets the data value for a key and sends a {@link DatasetChangeEvent} to
-     * all registered listeners.
+     * all registered listeners.  The event is a
+     * {@link PieDatasetChangeEvent} that identifies the item that was
+     * updated or appended, so that listeners such as {@link TopNPieDataset}
+     * can update incrementally.
      *
      * @param key  the key ({@code null} not permitted).
      * @param value  the value.
@@ -195,8 +198,20 @@ public class DefaultPieDataset extends AbstractDataset
      *     {@code null}.
      */
     public void setValue(Comparable key, Number value) {
+        Args.nullNotPermitted(key, "key");
+        int index = this.data.getIndex(key);
         this.data.setValue(key, value);
-        fireDatasetChanged();
+        if (getNotify()) {
+            if (index >= 0) {
+                notifyListeners(new PieDatasetChangeEvent(this, this,
+                        DatasetChangeType.ITEMS_UPDATED, index, index));
+            }
+            else {
+                int last = this.data.getItemCount() - 1;
+                notifyListeners(new PieDatasetChangeEvent(this, this,
+                        DatasetChangeType.ITEMS_APPENDED, last, last));
+            }
+        }
     }
 
     /**
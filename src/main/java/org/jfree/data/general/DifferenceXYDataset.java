@@ -0,0 +1,126 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A view containing the first differences of each series in a source
+ * dataset.  Item {@code i} of the view has the x-value of source item
+ * {@code i + 1} and the y-value of source item {@code i + 1} minus the
+ * y-value of source item {@code i}, so each series in the view has one
+ * item less than the corresponding source series.  If either y-value is
+ * missing the difference is missing too.
+ *
+ * @since 1.5.1
+ */
+public class DifferenceXYDataset extends AbstractXYDatasetView {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 5268313426218463811L;
+
+    /**
+     * Creates a new view.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     */
+    public DifferenceXYDataset(XYDataset source) {
+        super(source);
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return Math.max(getSource().getItemCount(series) - 1, 0);
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return getSource().getXValue(series, item + 1);
+    }
+
+    /**
+     * Returns the difference between the y-value of source item
+     * {@code item + 1} and source item {@code item}.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code NaN} if either source value is missing).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        XYDataset source = getSource();
+        return source.getYValue(series, item + 1)
+                - source.getYValue(series, item);
+    }
+
+    /**
+     * Handles items appended to a source series.
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first source item affected.
+     */
+    @Override
+    protected void itemsAppended(int series, int firstItem) {
+        fireItemsAppended(series, firstItem - 1);
+    }
+
+    /**
+     * Handles updates to source items.  An update to source item {@code i}
+     * affects the differences at {@code i - 1} and {@code i}.
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first source item affected.
+     * @param lastItem  the index of the last source item affected.
+     */
+    @Override
+    protected void itemsUpdated(int series, int firstItem, int lastItem) {
+        int last = Math.min(lastItem, getItemCount(series) - 1);
+        int first = Math.max(firstItem - 1, 0);
+        if (first <= last) {
+            fireItemsUpdated(series, first, last);
+        }
+    }
+
+}
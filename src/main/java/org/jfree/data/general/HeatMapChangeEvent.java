@@ -0,0 +1,136 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.general;
+
+/**
+ * A {@link DatasetChangeEvent} that describes a change to a rectangular
+ * region of a {@link HeatMapDataset}.  If the y-shift is non-zero, the
+ * existing z-values have first moved towards lower y-indices by that number
+ * of rows (as when a row is appended to a scrolling waterfall display), and
+ * the region is then given in terms of the shifted data.  Listeners that
+ * keep a rendered copy of the dataset can shift their copy and redraw the
+ * region only, while other listeners can treat this like any other dataset
+ * change event.
+ *
+ * @since 1.5.1
+ */
+public class HeatMapChangeEvent extends DatasetChangeEvent {
+
+    /** The x-index of the first column in the changed region. */
+    private int xIndex;
+
+    /** The y-index of the first row in the changed region. */
+    private int yIndex;
+
+    /** The number of columns in the changed region. */
+    private int width;
+
+    /** The number of rows in the changed region. */
+    private int height;
+
+    /** The number of rows by which the existing data has moved. */
+    private int yShift;
+
+    /**
+     * Creates a new event.
+     *
+     * @param source  the event source.
+     * @param dataset  the dataset that changed.
+     * @param xIndex  the x-index of the first column in the changed region.
+     * @param yIndex  the y-index of the first row in the changed region.
+     * @param width  the number of columns in the changed region.
+     * @param height  the number of rows in the changed region.
+     * @param yShift  the number of rows by which the existing data has moved
+     *     towards lower y-indices (zero if the data has not moved).
+     */
+    public HeatMapChangeEvent(Object source, Dataset dataset, int xIndex,
+            int yIndex, int width, int height, int yShift) {
+        super(source, dataset);
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException(
+                    "Requires 'width' >= 0 and 'height' >= 0.");
+        }
+        if (yShift < 0) {
+            throw new IllegalArgumentException("Requires 'yShift' >= 0.");
+        }
+        this.xIndex = xIndex;
+        this.yIndex = yIndex;
+        this.width = width;
+        this.height = height;
+        this.yShift = yShift;
+    }
+
+    /**
+     * Returns the x-index of the first column in the changed region.
+     *
+     * @return The x-index.
+     */
+    public int getXIndex() {
+        return this.xIndex;
+    }
+
+    /**
+     * Returns the y-index of the first row in the changed region.
+     *
+     * @return The y-index.
+     */
+    public int getYIndex() {
+        return this.yIndex;
+    }
+
+    /**
+     * Returns the number of columns in the changed region.
+     *
+     * @return The width.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the number of rows in the changed region.
+     *
+     * @return The height.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the number of rows by which the existing data has moved towards
+     * lower y-indices before the region changed.
+     *
+     * @return The shift (zero or more).
+     */
+    public int getYShift() {
+        return this.yShift;
+    }
+
+}
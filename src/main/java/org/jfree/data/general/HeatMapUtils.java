@@ -41,9 +41,12 @@
 
 package org.jfree.data.general;
 
+import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import org.jfree.chart.renderer.CompiledPaintScale;
 import org.jfree.chart.renderer.PaintScale;
 import org.jfree.chart.util.Args;
 import org.jfree.data.xy.XYDataset;
@@ -101,6 +104,16 @@ public abstract class HeatMapUtils {
 
     /**
      * Creates an image that displays the values from the specified dataset.
+     * The image has one pixel per sample, with the first y-sample in the
+     * bottom row.
+     * <p>
+     * When the paint scale returns {@code Color} instances (as
+     * {@link org.jfree.chart.renderer.LookupPaintScale} and
+     * {@link org.jfree.chart.renderer.GrayPaintScale} do) the ARGB values
+     * are written directly into the image data, other paints are drawn
+     * one pixel at a time.  A
+     * {@link org.jfree.chart.renderer.CompiledPaintScale} is read directly
+     * from its lookup table.
      *
      * @param dataset  the dataset ({@code null} not permitted).
      * @param paintScale  the paint scale for the z-values ({@code null}
@@ -117,16 +130,142 @@ public abstract class HeatMapUtils {
         int yCount = dataset.getYSampleCount();
         BufferedImage image = new BufferedImage(xCount, yCount,
                 BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = image.createGraphics();
-        for (int xIndex = 0; xIndex < xCount; xIndex++) {
-            for (int yIndex = 0; yIndex < yCount; yIndex++) {
+        drawHeatMapRegion(dataset, paintScale, image, 0, 0, xCount, yCount);
+        return image;
+    }
+
+    /**
+     * Redraws a region of an image that was created by
+     * {@link #createHeatMapImage(HeatMapDataset, PaintScale)}, after the
+     * z-values in that region have changed (see {@link HeatMapChangeEvent}).
+     * Only the pixels for the region are recalculated.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param paintScale  the paint scale for the z-values ({@code null}
+     *         not permitted).
+     * @param image  the image ({@code null} not permitted, with type
+     *         {@code BufferedImage.TYPE_INT_ARGB} and one pixel per sample).
+     * @param xIndex  the x-index of the first column in the region.
+     * @param yIndex  the y-index of the first row in the region.
+     * @param width  the number of columns in the region.
+     * @param height  the number of rows in the region.
+     *
+     * @since 1.5.1
+     */
+    public static void updateHeatMapImage(HeatMapDataset dataset,
+            PaintScale paintScale, BufferedImage image, int xIndex,
+            int yIndex, int width, int height) {
+
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(paintScale, "paintScale");
+        Args.nullNotPermitted(image, "image");
+        int xCount = dataset.getXSampleCount();
+        int yCount = dataset.getYSampleCount();
+        if (image.getType() != BufferedImage.TYPE_INT_ARGB
+                || image.getWidth() != xCount
+                || image.getHeight() != yCount) {
+            throw new IllegalArgumentException("Requires an ARGB image with "
+                    + "one pixel per sample.");
+        }
+        int x0 = Math.max(xIndex, 0);
+        int y0 = Math.max(yIndex, 0);
+        int x1 = Math.min(xIndex + width, xCount);
+        int y1 = Math.min(yIndex + height, yCount);
+        if (x0 < x1 && y0 < y1) {
+            drawHeatMapRegion(dataset, paintScale, image, x0, y0, x1, y1);
+        }
+    }
+
+    /**
+     * Moves the contents of a heat map image towards lower y-indices (that
+     * is, down the image) by the specified number of rows, to match a
+     * {@link HeatMapChangeEvent} with a non-zero y-shift.  The rows that are
+     * uncovered at the top of the image are not changed, and should be
+     * redrawn with
+     * {@link #updateHeatMapImage(HeatMapDataset, PaintScale, BufferedImage,
+     * int, int, int, int)}.
+     *
+     * @param image  the image ({@code null} not permitted, with type
+     *         {@code BufferedImage.TYPE_INT_ARGB}).
+     * @param rows  the number of rows.
+     *
+     * @since 1.5.1
+     */
+    public static void scrollHeatMapImage(BufferedImage image, int rows) {
+        Args.nullNotPermitted(image, "image");
+        if (image.getType() != BufferedImage.TYPE_INT_ARGB) {
+            throw new IllegalArgumentException("Requires an ARGB image.");
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        if (rows <= 0 || rows >= h) {
+            return;
+        }
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        // the image has the highest y-index in the top row
+        System.arraycopy(pixels, 0, pixels, rows * w, (h - rows) * w);
+    }
+
+    /**
+     * Draws the pixels for a region of the dataset into an ARGB image.
+     * When the paint scale returns {@code Color} instances the ARGB values
+     * are written directly into the image data, other paints are drawn
+     * one pixel at a time.
+     *
+     * @param dataset  the dataset.
+     * @param paintScale  the paint scale.
+     * @param image  the image.
+     * @param x0  the first x-index.
+     * @param y0  the first y-index.
+     * @param x1  the x-index after the region.
+     * @param y1  the y-index after the region.
+     */
+    private static void drawHeatMapRegion(HeatMapDataset dataset,
+            PaintScale paintScale, BufferedImage image, int x0, int y0,
+            int x1, int y1) {
+        int xCount = dataset.getXSampleCount();
+        int yCount = dataset.getYSampleCount();
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        if (paintScale instanceof CompiledPaintScale) {
+            CompiledPaintScale compiled = (CompiledPaintScale) paintScale;
+            for (int yIndex = y0; yIndex < y1; yIndex++) {
+                int offset = (yCount - yIndex - 1) * xCount;
+                for (int xIndex = x0; xIndex < x1; xIndex++) {
+                    pixels[offset + xIndex] = compiled.getRGB(
+                            dataset.getZValue(xIndex, yIndex));
+                }
+            }
+            return;
+        }
+        Graphics2D g2 = null;
+        Paint lastPaint = null;
+        int lastRGB = 0;
+        for (int yIndex = y0; yIndex < y1; yIndex++) {
+            int offset = (yCount - yIndex - 1) * xCount;
+            for (int xIndex = x0; xIndex < x1; xIndex++) {
                 double z = dataset.getZValue(xIndex, yIndex);
                 Paint p = paintScale.getPaint(z);
-                g2.setPaint(p);
-                g2.fillRect(xIndex, yCount - yIndex - 1, 1, 1);
+                if (p != lastPaint) {
+                    if (!(p instanceof Color)) {
+                        if (g2 == null) {
+                            g2 = image.createGraphics();
+                        }
+                        pixels[offset + xIndex] = 0;
+                        g2.setPaint(p);
+                        g2.fillRect(xIndex, yCount - yIndex - 1, 1, 1);
+                        continue;
+                    }
+                    lastPaint = p;
+                    lastRGB = ((Color) p).getRGB();
+                }
+                pixels[offset + xIndex] = lastRGB;
             }
         }
-        return image;
+        if (g2 != null) {
+            g2.dispose();
+        }
     }
 
 }
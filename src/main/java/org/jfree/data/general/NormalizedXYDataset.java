@@ -0,0 +1,348 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+import org.jfree.chart.util.Args;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A view that normalizes the y-values of each series in a source dataset
+ * (see {@link NormalizationType}).  The x-values and item counts are the
+ * same as in the source.  The normalization parameters for each series are
+ * computed once and kept until the source changes;  when items are appended
+ * to a series they are only recomputed if the new items change them.
+ *
+ * @since 1.5.1
+ */
+public class NormalizedXYDataset extends AbstractXYDatasetView {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3329416383164617386L;
+
+    /** The normalization type. */
+    private NormalizationType type;
+
+    /** The normalization parameters for each series (created on demand). */
+    private transient Stats[] stats;
+
+    /**
+     * Creates a new view.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     * @param type  the normalization type ({@code null} not permitted).
+     */
+    public NormalizedXYDataset(XYDataset source, NormalizationType type) {
+        super(source);
+        Args.nullNotPermitted(type, "type");
+        this.type = type;
+    }
+
+    /**
+     * Returns the normalization type.
+     *
+     * @return The normalization type (never {@code null}).
+     */
+    public NormalizationType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return getSource().getItemCount(series);
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return getSource().getXValue(series, item);
+    }
+
+    /**
+     * Returns the normalized y-value for an item within a series.  For
+     * {@link NormalizationType#RANGE}, if all the values in the series are
+     * equal the result is 0.0;  for {@link NormalizationType#FIRST_VALUE},
+     * if the first value is zero the result is {@code NaN}.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        double y = getSource().getYValue(series, item);
+        Stats s = getStats(series);
+        return (y - s.offset) * s.factor;
+    }
+
+    /**
+     * Discards the normalization parameters for all series.
+     */
+    @Override
+    protected void sourceChanged() {
+        this.stats = null;
+    }
+
+    /**
+     * Handles items appended to a source series.
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first source item affected.
+     */
+    @Override
+    protected void itemsAppended(int series, int firstItem) {
+        Stats s = this.stats != null && series < this.stats.length
+                ? this.stats[series] : null;
+        boolean unchanged = false;
+        if (s != null && firstItem > s.referenceIndex) {
+            if (this.type == NormalizationType.FIRST_VALUE) {
+                unchanged = true;
+            }
+            else if (firstItem >= s.itemCount) {
+                // only new items, which can only widen the range
+                Stats updated = s.copy();
+                updated.include(getSource(), series, firstItem);
+                unchanged = updated.min == s.min && updated.max == s.max;
+                this.stats[series] = updated;
+            }
+            else {
+                // existing items may have new values, which can narrow the
+                // range, so the parameters are recomputed
+                discardStats(series);
+                Stats updated = getStats(series);
+                unchanged = updated.min == s.min && updated.max == s.max;
+            }
+        }
+        if (unchanged) {
+            fireItemsAppended(series, firstItem);
+        }
+        else {
+            discardStats(series);
+            fireItemsAppended(series, 0);
+        }
+    }
+
+    /**
+     * Handles updates to source items.
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first source item affected.
+     * @param lastItem  the index of the last source item affected.
+     */
+    @Override
+    protected void itemsUpdated(int series, int firstItem, int lastItem) {
+        Stats s = this.stats != null && series < this.stats.length
+                ? this.stats[series] : null;
+        discardStats(series);
+        boolean unchanged = false;
+        if (s != null) {
+            if (this.type == NormalizationType.FIRST_VALUE) {
+                unchanged = firstItem > s.referenceIndex;
+            }
+            else {
+                Stats updated = getStats(series);
+                unchanged = updated.min == s.min && updated.max == s.max;
+            }
+        }
+        if (unchanged) {
+            fireItemsUpdated(series, firstItem, lastItem);
+        }
+        else {
+            fireItemsUpdated(series, 0, getItemCount(series) - 1);
+        }
+    }
+
+    /**
+     * Discards the normalization parameters for one series.
+     *
+     * @param series  the series index.
+     */
+    private void discardStats(int series) {
+        if (this.stats != null && series < this.stats.length) {
+            this.stats[series] = null;
+        }
+    }
+
+    /**
+     * Returns the normalization parameters for a series, computing them if
+     * necessary.
+     *
+     * @param series  the series index.
+     *
+     * @return The parameters.
+     */
+    private Stats getStats(int series) {
+        int seriesCount = getSeriesCount();
+        if (this.stats == null || this.stats.length != seriesCount) {
+            this.stats = new Stats[seriesCount];
+        }
+        Stats s = this.stats[series];
+        if (s == null) {
+            s = new Stats(this.type);
+            s.include(getSource(), series, 0);
+            this.stats[series] = s;
+        }
+        return s;
+    }
+
+    /**
+     * Tests this view for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof NormalizedXYDataset)) {
+            return false;
+        }
+        NormalizedXYDataset that = (NormalizedXYDataset) obj;
+        if (this.type != that.type) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * The normalization parameters for one series.
+     */
+    private static class Stats {
+
+        /** The normalization type. */
+        NormalizationType type;
+
+        /**
+         * The index of the item that determines the parameters (for
+         * {@code FIRST_VALUE}) or the index of the last item included (for
+         * {@code RANGE}).
+         */
+        int referenceIndex = -1;
+
+        /** The number of items in the series when last included. */
+        int itemCount;
+
+        /** The minimum y-value. */
+        double min = Double.NaN;
+
+        /** The maximum y-value. */
+        double max = Double.NaN;
+
+        /** The value subtracted from each y-value. */
+        double offset = 0.0;
+
+        /** The factor applied after subtracting the offset. */
+        double factor = Double.NaN;
+
+        /**
+         * Creates new parameters.
+         *
+         * @param type  the normalization type.
+         */
+        Stats(NormalizationType type) {
+            this.type = type;
+        }
+
+        /**
+         * Returns a copy of these parameters.
+         *
+         * @return A copy.
+         */
+        Stats copy() {
+            Stats s = new Stats(this.type);
+            s.referenceIndex = this.referenceIndex;
+            s.itemCount = this.itemCount;
+            s.min = this.min;
+            s.max = this.max;
+            s.offset = this.offset;
+            s.factor = this.factor;
+            return s;
+        }
+
+        /**
+         * Updates the parameters to include the items in a series from
+         * {@code start} onwards.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param start  the index of the first item to include.
+         */
+        void include(XYDataset dataset, int series, int start) {
+            int itemCount = dataset.getItemCount(series);
+            this.itemCount = itemCount;
+            if (this.type == NormalizationType.FIRST_VALUE) {
+                for (int i = start; i < itemCount; i++) {
+                    double y = dataset.getYValue(series, i);
+                    if (!Double.isNaN(y)) {
+                        this.referenceIndex = i;
+                        this.offset = 0.0;
+                        this.factor = y != 0.0 ? 1.0 / y : Double.NaN;
+                        return;
+                    }
+                }
+                // no reference value yet, so any appended item may change
+                // the parameters
+                this.referenceIndex = Integer.MAX_VALUE;
+                return;
+            }
+            for (int i = start; i < itemCount; i++) {
+                double y = dataset.getYValue(series, i);
+                if (!Double.isNaN(y)) {
+                    this.min = Double.isNaN(this.min) ? y
+                            : Math.min(this.min, y);
+                    this.max = Double.isNaN(this.max) ? y
+                            : Math.max(this.max, y);
+                }
+            }
+            this.referenceIndex = -1;
+            this.offset = this.min;
+            double range = this.max - this.min;
+            this.factor = range > 0.0 ? 1.0 / range : 0.0;
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+import org.jfree.chart.util.Args;
+
+/**
+ * A {@link DatasetChangeEvent} that describes a change to a range of items
+ * in a {@link PieDataset}.  A plain {@code DatasetChangeEvent} means that
+ * anything in the dataset may have changed;  listeners that understand this
+ * event (such as {@link TopNPieDataset}) can use the extra detail to update
+ * incrementally, while other listeners can treat it like any other dataset
+ * change event.
+ *
+ * @since 1.5.1
+ */
+public class PieDatasetChangeEvent extends DatasetChangeEvent {
+
+    /** The change type. */
+    private DatasetChangeType type;
+
+    /** The index of the first item affected. */
+    private int firstItem;
+
+    /** The index of the last item affected. */
+    private int lastItem;
+
+    /**
+     * Creates a new event.
+     *
+     * @param source  the event source.
+     * @param dataset  the dataset that changed.
+     * @param type  the change type ({@code null} not permitted).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected (for
+     *     {@link DatasetChangeType#ITEMS_APPENDED} this is the index of the
+     *     last item in the dataset after the change).
+     */
+    public PieDatasetChangeEvent(Object source, PieDataset dataset,
+            DatasetChangeType type, int firstItem, int lastItem) {
+        super(source, dataset);
+        Args.nullNotPermitted(type, "type");
+        this.type = type;
+        this.firstItem = firstItem;
+        this.lastItem = lastItem;
+    }
+
+    /**
+     * Returns the change type.
+     *
+     * @return The change type (never {@code null}).
+     */
+    public DatasetChangeType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the index of the first item affected by the change.
+     *
+     * @return The item index.
+     */
+    public int getFirstItem() {
+        return this.firstItem;
+    }
+
+    /**
+     * Returns the index of the last item affected by the change.
+     *
+     * @return The item index.
+     */
+    public int getLastItem() {
+        return this.lastItem;
+    }
+
+}
@@ -0,0 +1,727 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.util.Arrays;
+import org.jfree.chart.util.Args;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.OHLCDataset;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * A view that resamples each series of a source dataset into buckets of a
+ * fixed width along the x-axis.  Bucket {@code k} covers the x-values in
+ * the interval {@code [origin + k * width, origin + (k + 1) * width)} and
+ * is reported at the middle of that interval.  Every bucket between the
+ * first and last source items is present in the view, buckets that contain
+ * no values have a {@code null} y-value (which renderers show as a gap).
+ * <p>
+ * The y-value of each bucket is computed with the {@link AggregationType}
+ * specified for the view.  The view also implements {@link OHLCDataset}:
+ * the open, high, low and close values are the first, maximum, minimum and
+ * last y-values in each bucket (or, if the source is itself an
+ * {@code OHLCDataset}, the first open, maximum high, minimum low and last
+ * close) and the volume is the number of values in each bucket (or the sum
+ * of the volumes from an {@code OHLCDataset} source).  This makes it easy
+ * to plot, for example, hourly candles from minute data.
+ * <p>
+ * Buckets are computed on demand, one block at a time, and cached.  When
+ * the source x-values are in ascending order the items for a block are
+ * located with a binary search, so the cost of a block is proportional to
+ * the number of source items it covers.
+ *
+ * @since 1.5.1
+ */
+public class ResampledXYDataset extends AbstractXYDatasetView
+        implements OHLCDataset {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 7712880364019254227L;
+
+    /** The bucket width. */
+    private double bucketWidth;
+
+    /** The x-value where bucket zero starts. */
+    private double origin;
+
+    /** The aggregation used for the y-values. */
+    private AggregationType aggregation;
+
+    /** The index of the first bucket in each series. */
+    private transient long[] firstBuckets;
+
+    /** The number of buckets in each series (-1 if not yet known). */
+    private transient int[] bucketCounts;
+
+    /**
+     * Creates a new view with bucket zero starting at x = 0.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     * @param bucketWidth  the bucket width (must be positive).
+     * @param aggregation  the aggregation for the y-values ({@code null}
+     *     not permitted).
+     */
+    public ResampledXYDataset(XYDataset source, double bucketWidth,
+            AggregationType aggregation) {
+        this(source, bucketWidth, 0.0, aggregation);
+    }
+
+    /**
+     * Creates a new view.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     * @param bucketWidth  the bucket width (must be positive).
+     * @param origin  the x-value where bucket zero starts (for example, a
+     *     time zone offset when resampling milliseconds into days).
+     * @param aggregation  the aggregation for the y-values ({@code null}
+     *     not permitted).
+     */
+    public ResampledXYDataset(XYDataset source, double bucketWidth,
+            double origin, AggregationType aggregation) {
+        super(source);
+        if (!(bucketWidth > 0.0)) {
+            throw new IllegalArgumentException(
+                    "Requires 'bucketWidth' > 0.0.");
+        }
+        Args.nullNotPermitted(aggregation, "aggregation");
+        this.bucketWidth = bucketWidth;
+        this.origin = origin;
+        this.aggregation = aggregation;
+    }
+
+    /**
+     * Returns the bucket width.
+     *
+     * @return The bucket width.
+     */
+    public double getBucketWidth() {
+        return this.bucketWidth;
+    }
+
+    /**
+     * Returns the x-value where bucket zero starts.
+     *
+     * @return The origin.
+     */
+    public double getOrigin() {
+        return this.origin;
+    }
+
+    /**
+     * Returns the aggregation used for the y-values.
+     *
+     * @return The aggregation (never {@code null}).
+     */
+    public AggregationType getAggregation() {
+        return this.aggregation;
+    }
+
+    /**
+     * Returns the order of the domain values, buckets are always in
+     * ascending order.
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of buckets in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        ensureBounds(series);
+        return this.bucketCounts[series];
+    }
+
+    /**
+     * Returns the x-value at the middle of a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        ensureBounds(series);
+        return this.origin + (this.firstBuckets[series] + item + 0.5)
+                * this.bucketWidth;
+    }
+
+    /**
+     * Returns the aggregated y-value for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The y-value ({@code NaN} if the bucket is empty).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        Block block = getBlock(series, item);
+        int i = item % getBlockCache().getBlockSize();
+        int count = block.count[i];
+        if (this.aggregation == AggregationType.COUNT) {
+            return count;
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        switch (this.aggregation) {
+            case MEAN:
+                return block.sum[i] / count;
+            case SUM:
+                return block.sum[i];
+            case MINIMUM:
+                return block.min[i];
+            case MAXIMUM:
+                return block.max[i];
+            case FIRST:
+                return block.first[i];
+            default:
+                return block.last[i];
+        }
+    }
+
+    /**
+     * Returns the open value for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The value ({@code NaN} if the bucket is empty).
+     */
+    @Override
+    public double getOpenValue(int series, int item) {
+        return getBlock(series, item).open[item
+                % getBlockCache().getBlockSize()];
+    }
+
+    /**
+     * Returns the open value for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The value (possibly {@code null}).
+     */
+    @Override
+    public Number getOpen(int series, int item) {
+        return toNumber(getOpenValue(series, item));
+    }
+
+    /**
+     * Returns the high value for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The value ({@code NaN} if the bucket is empty).
+     */
+    @Override
+    public double getHighValue(int series, int item) {
+        return getBlock(series, item).high[item
+                % getBlockCache().getBlockSize()];
+    }
+
+    /**
+     * Returns the high value for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The value (possibly {@code null}).
+     */
+    @Override
+    public Number getHigh(int series, int item) {
+        return toNumber(getHighValue(series, item));
+    }
+
+    /**
+     * Returns the low value for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The value ({@code NaN} if the bucket is empty).
+     */
+    @Override
+    public double getLowValue(int series, int item) {
+        return getBlock(series, item).low[item
+                % getBlockCache().getBlockSize()];
+    }
+
+    /**
+     * Returns the low value for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The value (possibly {@code null}).
+     */
+    @Override
+    public Number getLow(int series, int item) {
+        return toNumber(getLowValue(series, item));
+    }
+
+    /**
+     * Returns the close value for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The value ({@code NaN} if the bucket is empty).
+     */
+    @Override
+    public double getCloseValue(int series, int item) {
+        return getBlock(series, item).close[item
+                % getBlockCache().getBlockSize()];
+    }
+
+    /**
+     * Returns the close value for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The value (possibly {@code null}).
+     */
+    @Override
+    public Number getClose(int series, int item) {
+        return toNumber(getCloseValue(series, item));
+    }
+
+    /**
+     * Returns the volume for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The volume.
+     */
+    @Override
+    public double getVolumeValue(int series, int item) {
+        return getBlock(series, item).volume[item
+                % getBlockCache().getBlockSize()];
+    }
+
+    /**
+     * Returns the volume for a bucket.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item (bucket) index (zero-based).
+     *
+     * @return The volume.
+     */
+    @Override
+    public Number getVolume(int series, int item) {
+        return new Double(getVolumeValue(series, item));
+    }
+
+    /**
+     * Discards the bucket bounds for all series.
+     */
+    @Override
+    protected void sourceChanged() {
+        this.firstBuckets = null;
+        this.bucketCounts = null;
+    }
+
+    /**
+     * Handles items appended to a source series.  When the source x-values
+     * are ascending only the buckets from the one containing the first
+     * appended item onwards are recomputed.
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first source item affected.
+     */
+    @Override
+    protected void itemsAppended(int series, int firstItem) {
+        int first = 0;
+        if (firstItem > 0 && this.bucketCounts != null
+                && this.bucketCounts[series] > 0
+                && getSource().getDomainOrder() == DomainOrder.ASCENDING) {
+            double x = getSource().getXValue(series, firstItem);
+            first = (int) (bucketIndex(x) - this.firstBuckets[series]);
+            first = Math.max(first, 0);
+        }
+        if (this.bucketCounts != null) {
+            this.bucketCounts[series] = -1;
+        }
+        getBlockCache().invalidate(series, first);
+        fireItemsAppended(series, first);
+    }
+
+    /**
+     * Handles updates to source items.  Since the x-values may have changed,
+     * the whole series is recomputed.
+     *
+     * @param series  the series index.
+     * @param firstItem  the index of the first source item affected.
+     * @param lastItem  the index of the last source item affected.
+     */
+    @Override
+    protected void itemsUpdated(int series, int firstItem, int lastItem) {
+        itemsAppended(series, 0);
+    }
+
+    /**
+     * Returns the absolute index of the bucket containing an x-value.
+     *
+     * @param x  the x-value.
+     *
+     * @return The bucket index.
+     */
+    private long bucketIndex(double x) {
+        return (long) Math.floor((x - this.origin) / this.bucketWidth);
+    }
+
+    /**
+     * Computes the first bucket and bucket count for a series, if they are
+     * not already known.
+     *
+     * @param series  the series index.
+     */
+    private void ensureBounds(int series) {
+        int seriesCount = getSeriesCount();
+        if (this.bucketCounts == null
+                || this.bucketCounts.length != seriesCount) {
+            this.firstBuckets = new long[seriesCount];
+            this.bucketCounts = new int[seriesCount];
+            Arrays.fill(this.bucketCounts, -1);
+        }
+        if (this.bucketCounts[series] >= 0) {
+            return;
+        }
+        XYDataset source = getSource();
+        int itemCount = source.getItemCount(series);
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        if (source.getDomainOrder() == DomainOrder.ASCENDING) {
+            for (int i = 0; i < itemCount; i++) {
+                double x = source.getXValue(series, i);
+                if (!Double.isNaN(x)) {
+                    minX = x;
+                    break;
+                }
+            }
+            for (int i = itemCount - 1; i >= 0; i--) {
+                double x = source.getXValue(series, i);
+                if (!Double.isNaN(x)) {
+                    maxX = x;
+                    break;
+                }
+            }
+        }
+        else {
+            for (int i = 0; i < itemCount; i++) {
+                double x = source.getXValue(series, i);
+                if (!Double.isNaN(x)) {
+                    minX = Math.min(minX, x);
+                    maxX = Math.max(maxX, x);
+                }
+            }
+        }
+        if (minX > maxX) {
+            this.firstBuckets[series] = 0;
+            this.bucketCounts[series] = 0;
+            return;
+        }
+        long first = bucketIndex(minX);
+        long count = bucketIndex(maxX) - first + 1;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The bucket width is too small "
+                    + "for the range of x-values in series " + series + ".");
+        }
+        this.firstBuckets[series] = first;
+        this.bucketCounts[series] = (int) count;
+    }
+
+    /**
+     * Returns the block containing a bucket, computing it if it is not in
+     * the cache.
+     *
+     * @param series  the series index.
+     * @param item  the item (bucket) index.
+     *
+     * @return The block.
+     */
+    private Block getBlock(int series, int item) {
+        DatasetBlockCache cache = getBlockCache();
+        int blockIndex = cache.blockIndex(item);
+        Block block = (Block) cache.get(series, blockIndex);
+        if (block == null) {
+            block = createBlock(series, blockIndex);
+            cache.put(series, blockIndex, block);
+        }
+        return block;
+    }
+
+    /**
+     * Aggregates the source items for one block of buckets.
+     *
+     * @param series  the series index.
+     * @param blockIndex  the block index.
+     *
+     * @return The block.
+     */
+    private Block createBlock(int series, int blockIndex) {
+        ensureBounds(series);
+        int blockSize = getBlockCache().getBlockSize();
+        int start = blockIndex * blockSize;
+        int size = Math.max(0, Math.min(blockSize,
+                this.bucketCounts[series] - start));
+        long firstBucket = this.firstBuckets[series] + start;
+        XYDataset source = getSource();
+        OHLCDataset ohlc = source instanceof OHLCDataset
+                ? (OHLCDataset) source : null;
+        Block block = new Block(size, ohlc != null);
+        double startX = this.origin + firstBucket * this.bucketWidth;
+        double endX = this.origin + (firstBucket + size) * this.bucketWidth;
+        int itemCount = source.getItemCount(series);
+        int i = 0;
+        boolean ascending = source.getDomainOrder() == DomainOrder.ASCENDING;
+        if (ascending) {
+            i = DatasetUtils.findFirstItemAtOrAfterX(source, series, startX);
+        }
+        for (; i < itemCount; i++) {
+            double x = source.getXValue(series, i);
+            if (ascending && x >= endX) {
+                break;
+            }
+            if (Double.isNaN(x)) {
+                continue;
+            }
+            long k = bucketIndex(x) - firstBucket;
+            if (k < 0 || k >= size) {
+                continue;
+            }
+            block.add((int) k, source.getYValue(series, i));
+            if (ohlc != null) {
+                block.addOHLC((int) k, ohlc.getOpenValue(series, i),
+                        ohlc.getHighValue(series, i),
+                        ohlc.getLowValue(series, i),
+                        ohlc.getCloseValue(series, i),
+                        ohlc.getVolumeValue(series, i));
+            }
+        }
+        return block;
+    }
+
+    /**
+     * Returns a {@code Number} for a primitive value.
+     *
+     * @param value  the value.
+     *
+     * @return The number ({@code null} if the value is {@code NaN}).
+     */
+    private static Number toNumber(double value) {
+        return Double.isNaN(value) ? null : new Double(value);
+    }
+
+    /**
+     * Tests this view for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ResampledXYDataset)) {
+            return false;
+        }
+        ResampledXYDataset that = (ResampledXYDataset) obj;
+        if (this.bucketWidth != that.bucketWidth) {
+            return false;
+        }
+        if (this.origin != that.origin) {
+            return false;
+        }
+        if (this.aggregation != that.aggregation) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * The aggregated values for a block of buckets.
+     */
+    private static class Block {
+
+        /** The number of values in each bucket. */
+        int[] count;
+
+        /** The sum of the values in each bucket. */
+        double[] sum;
+
+        /** The minimum value in each bucket. */
+        double[] min;
+
+        /** The maximum value in each bucket. */
+        double[] max;
+
+        /** The first value in each bucket. */
+        double[] first;
+
+        /** The last value in each bucket. */
+        double[] last;
+
+        /** The open values. */
+        double[] open;
+
+        /** The high values. */
+        double[] high;
+
+        /** The low values. */
+        double[] low;
+
+        /** The close values. */
+        double[] close;
+
+        /** The volumes. */
+        double[] volume;
+
+        /** Are the OHLC values taken from an OHLC source? */
+        boolean ohlcSource;
+
+        /**
+         * Creates a new block.
+         *
+         * @param size  the number of buckets.
+         * @param ohlcSource  are the OHLC values taken from an OHLC source?
+         */
+        Block(int size, boolean ohlcSource) {
+            this.ohlcSource = ohlcSource;
+            this.count = new int[size];
+            this.sum = new double[size];
+            this.min = filled(size, Double.NaN);
+            this.max = filled(size, Double.NaN);
+            this.first = filled(size, Double.NaN);
+            this.last = filled(size, Double.NaN);
+            this.volume = new double[size];
+            if (ohlcSource) {
+                this.open = filled(size, Double.NaN);
+                this.high = filled(size, Double.NaN);
+                this.low = filled(size, Double.NaN);
+                this.close = filled(size, Double.NaN);
+            }
+            else {
+                this.open = this.first;
+                this.high = this.max;
+                this.low = this.min;
+                this.close = this.last;
+            }
+        }
+
+        /**
+         * Creates an array filled with one value.
+         *
+         * @param size  the array size.
+         * @param value  the value.
+         *
+         * @return The array.
+         */
+        private static double[] filled(int size, double value) {
+            double[] result = new double[size];
+            Arrays.fill(result, value);
+            return result;
+        }
+
+        /**
+         * Adds a y-value to a bucket.
+         *
+         * @param k  the bucket index within the block.
+         * @param y  the y-value ({@code NaN} values are ignored).
+         */
+        void add(int k, double y) {
+            if (Double.isNaN(y)) {
+                return;
+            }
+            if (this.count[k] == 0) {
+                this.first[k] = y;
+                this.min[k] = y;
+                this.max[k] = y;
+            }
+            else {
+                this.min[k] = Math.min(this.min[k], y);
+                this.max[k] = Math.max(this.max[k], y);
+            }
+            this.last[k] = y;
+            this.sum[k] += y;
+            this.count[k]++;
+            if (!this.ohlcSource) {
+                this.volume[k] = this.count[k];
+            }
+        }
+
+        /**
+         * Adds the values of an OHLC item to a bucket.
+         *
+         * @param k  the bucket index within the block.
+         * @param o  the open value.
+         * @param h  the high value.
+         * @param l  the low value.
+         * @param c  the close value.
+         * @param v  the volume.
+         */
+        void addOHLC(int k, double o, double h, double l, double c,
+                double v) {
+            if (Double.isNaN(this.open[k])) {
+                this.open[k] = o;
+            }
+            if (!Double.isNaN(h)) {
+                this.high[k] = Double.isNaN(this.high[k]) ? h
+                        : Math.max(this.high[k], h);
+            }
+            if (!Double.isNaN(l)) {
+                this.low[k] = Double.isNaN(this.low[k]) ? l
+                        : Math.min(this.low[k], l);
+            }
+            if (!Double.isNaN(c)) {
+                this.close[k] = c;
+            }
+            if (!Double.isNaN(v)) {
+                this.volume[k] += v;
+            }
+        }
+
+    }
+
+}
@@ -335,6 +335,24 @@ public abstract class Series implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Signals to registered listeners that a range of items in the series
+     * has changed (provided that the notify flag is set).
+     *
+     * @param type  the change type ({@code null} not permitted).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected.
+     *
+     * @since 1.5.1
+     */
+    protected void fireSeriesChanged(DatasetChangeType type, int firstItem,
+            int lastItem) {
+        if (this.notify) {
+            notifyListeners(new SeriesChangeEvent(this, type, firstItem,
+                    lastItem));
+        }
+    }
+
     /**
      * Sends a change event to all registered listeners.
      *
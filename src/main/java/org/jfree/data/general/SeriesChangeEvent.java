@@ -44,14 +44,30 @@ package org.jfree.data.general;
 import java.io.Serializable;
 import java.util.EventObject;
 
+import org.jfree.chart.util.Args;
+
 /**
- * An event with details of a change to a series.
+ * An event with details of a change to a series.  An event created with
+ * the one argument constructor means that anything in the series may have
+ * changed.  An event can also describe a change to a range of items, which
+ * a dataset can pass on to its own listeners via a
+ * {@link SeriesDatasetChangeEvent} (see
+ * {@link AbstractSeriesDataset#seriesChanged(SeriesChangeEvent)}).
  */
 public class SeriesChangeEvent extends EventObject implements Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = 1593866085210089052L;
 
+    /** The change type ({@code null} if not known). */
+    private DatasetChangeType type;
+
+    /** The index of the first item affected. */
+    private int firstItem;
+
+    /** The index of the last item affected. */
+    private int lastItem;
+
     /**
      * Constructs a new event.
      *
@@ -59,6 +75,65 @@ public class SeriesChangeEvent extends EventObject implements Serializable {
      */
     public SeriesChangeEvent(Object source) {
         super(source);
+        this.firstItem = -1;
+        this.lastItem = -1;
+    }
+
+    /**
+     * Constructs a new event that describes a change to a range of items.
+     *
+     * @param source  the series that changed.
+     * @param type  the change type ({@code null} not permitted).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected (for
+     *     {@link DatasetChangeType#ITEMS_APPENDED} this is the index of the
+     *     last item in the series after the change).
+     *
+     * @since 1.5.1
+     */
+    public SeriesChangeEvent(Object source, DatasetChangeType type,
+            int firstItem, int lastItem) {
+        super(source);
+        Args.nullNotPermitted(type, "type");
+        this.type = type;
+        this.firstItem = firstItem;
+        this.lastItem = lastItem;
+    }
+
+    /**
+     * Returns the change type.
+     *
+     * @return The change type ({@code null} if the event does not describe
+     *     a range of items).
+     *
+     * @since 1.5.1
+     */
+    public DatasetChangeType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the index of the first item affected by the change.
+     *
+     * @return The item index ({@code -1} if the event does not describe a
+     *     range of items).
+     *
+     * @since 1.5.1
+     */
+    public int getFirstItem() {
+        return this.firstItem;
+    }
+
+    /**
+     * Returns the index of the last item affected by the change.
+     *
+     * @return The item index ({@code -1} if the event does not describe a
+     *     range of items).
+     *
+     * @since 1.5.1
+     */
+    public int getLastItem() {
+        return this.lastItem;
     }
 
 }
@@ -0,0 +1,703 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.general;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.PublicCloneable;
+
+/**
+ * A mutable {@link HeatMapDataset} for large grids.  The z-values are held
+ * in square tiles of {@code float} or {@code double} values that are only
+ * allocated when a value in the tile is first set (z-values in untouched
+ * tiles are 0.0, as in {@link DefaultHeatMapDataset}).
+ * <p>
+ * Rows (all the z-values for one y-index) can be appended with
+ * {@link #appendRow(double[])}, which discards the row at y-index 0 and
+ * moves the other rows down by one without copying any data, so the
+ * dataset can back a scrolling waterfall or spectrogram display.
+ * <p>
+ * Every change is reported with a {@link HeatMapChangeEvent} that gives
+ * the region that changed.  Changes made without notification (or while
+ * the {@code notify} flag is {@code false}) are accumulated, and are
+ * included in the region of the next event that is sent.
+ *
+ * @since 1.5.1
+ */
+public class TiledHeatMapDataset extends AbstractDataset
+        implements HeatMapDataset, Cloneable, PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 5218530478016341307L;
+
+    /** The base 2 logarithm of the tile size. */
+    private static final int TILE_SHIFT = 6;
+
+    /** The tile width and height. */
+    private static final int TILE_SIZE = 1 << TILE_SHIFT;
+
+    /** The mask for the position within a tile. */
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    /** The number of samples in this dataset for the x-dimension. */
+    private int xSamples;
+
+    /** The number of samples in this dataset for the y-dimension. */
+    private int ySamples;
+
+    /** The minimum x-value in the dataset. */
+    private double minX;
+
+    /** The maximum x-value in the dataset. */
+    private double maxX;
+
+    /** The minimum y-value in the dataset. */
+    private double minY;
+
+    /** The maximum y-value in the dataset. */
+    private double maxY;
+
+    /** The number of tiles across the width of the dataset. */
+    private int tileColumns;
+
+    /** The tiles when z-values are stored as floats (otherwise null). */
+    private float[][] floatTiles;
+
+    /** The tiles when z-values are stored as doubles (otherwise null). */
+    private double[][] doubleTiles;
+
+    /** The storage row that holds the z-values for y-index 0. */
+    private int origin;
+
+    /** The first x-index of the changes not yet reported. */
+    private int dirtyX0;
+
+    /** The first y-index of the changes not yet reported. */
+    private int dirtyY0;
+
+    /** The x-index after the changes not yet reported. */
+    private int dirtyX1;
+
+    /** The y-index after the changes not yet reported. */
+    private int dirtyY1;
+
+    /** The number of rows appended since the last event. */
+    private int dirtyShift;
+
+    /**
+     * Creates a new dataset that stores z-values as doubles.
+     *
+     * @param xSamples  the number of x-values.
+     * @param ySamples  the number of y-values
+     * @param minX  the minimum x-value in the dataset.
+     * @param maxX  the maximum x-value in the dataset.
+     * @param minY  the minimum y-value in the dataset.
+     * @param maxY  the maximum y-value in the dataset.
+     */
+    public TiledHeatMapDataset(int xSamples, int ySamples, double minX,
+            double maxX, double minY, double maxY) {
+        this(xSamples, ySamples, minX, maxX, minY, maxY, false);
+    }
+
+    /**
+     * Creates a new dataset.
+     *
+     * @param xSamples  the number of x-values.
+     * @param ySamples  the number of y-values
+     * @param minX  the minimum x-value in the dataset.
+     * @param maxX  the maximum x-value in the dataset.
+     * @param minY  the minimum y-value in the dataset.
+     * @param maxY  the maximum y-value in the dataset.
+     * @param floatStorage  store z-values as floats (half the memory of
+     *     doubles, with less precision)?
+     */
+    public TiledHeatMapDataset(int xSamples, int ySamples, double minX,
+            double maxX, double minY, double maxY, boolean floatStorage) {
+        if (xSamples < 1) {
+            throw new IllegalArgumentException("Requires 'xSamples' > 0");
+        }
+        if (ySamples < 1) {
+            throw new IllegalArgumentException("Requires 'ySamples' > 0");
+        }
+        checkFinite(minX, "minX");
+        checkFinite(maxX, "maxX");
+        checkFinite(minY, "minY");
+        checkFinite(maxY, "maxY");
+        this.xSamples = xSamples;
+        this.ySamples = ySamples;
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.tileColumns = (xSamples + TILE_MASK) >> TILE_SHIFT;
+        int tileRows = (ySamples + TILE_MASK) >> TILE_SHIFT;
+        if (floatStorage) {
+            this.floatTiles = new float[this.tileColumns * tileRows][];
+        }
+        else {
+            this.doubleTiles = new double[this.tileColumns * tileRows][];
+        }
+        clearDirtyRegion();
+    }
+
+    /**
+     * Checks that a value is finite.
+     *
+     * @param value  the value.
+     * @param name  the parameter name.
+     */
+    private static void checkFinite(double value, String name) {
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+            throw new IllegalArgumentException("'" + name
+                    + "' cannot be INF or NaN.");
+        }
+    }
+
+    /**
+     * Returns {@code true} if the z-values are stored as floats, and
+     * {@code false} if they are stored as doubles.
+     *
+     * @return A boolean.
+     */
+    public boolean isFloatStorage() {
+        return this.floatTiles != null;
+    }
+
+    /**
+     * Returns the number of x values across the width of the dataset.  The
+     * values are evenly spaced between {@link #getMinimumXValue()} and
+     * {@link #getMaximumXValue()}.
+     *
+     * @return The number of x-values (always &gt; 0).
+     */
+    @Override
+    public int getXSampleCount() {
+        return this.xSamples;
+    }
+
+    /**
+     * Returns the number of y values (or samples) for the dataset.  The
+     * values are evenly spaced between {@link #getMinimumYValue()} and
+     * {@link #getMaximumYValue()}.
+     *
+     * @return The number of y-values (always &gt; 0).
+     */
+    @Override
+    public int getYSampleCount() {
+        return this.ySamples;
+    }
+
+    /**
+     * Returns the lowest x-value represented in this dataset.
+     *
+     * @return The lowest x-value represented in this dataset.
+     */
+    @Override
+    public double getMinimumXValue() {
+        return this.minX;
+    }
+
+    /**
+     * Returns the highest x-value represented in this dataset.
+     *
+     * @return The highest x-value represented in this dataset.
+     */
+    @Override
+    public double getMaximumXValue() {
+        return this.maxX;
+    }
+
+    /**
+     * Returns the lowest y-value represented in this dataset.
+     *
+     * @return The lowest y-value represented in this dataset.
+     */
+    @Override
+    public double getMinimumYValue() {
+        return this.minY;
+    }
+
+    /**
+     * Returns the highest y-value represented in this dataset.
+     *
+     * @return The highest y-value represented in this dataset.
+     */
+    @Override
+    public double getMaximumYValue() {
+        return this.maxY;
+    }
+
+    /**
+     * A convenience method that returns the x-value for the given index.
+     *
+     * @param xIndex  the xIndex.
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int xIndex) {
+        return this.minX
+                + (this.maxX - this.minX) * (xIndex / (double) this.xSamples);
+    }
+
+    /**
+     * A convenience method that returns the y-value for the given index.
+     *
+     * @param yIndex  the yIndex.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int yIndex) {
+        return this.minY
+                + (this.maxY - this.minY) * (yIndex / (double) this.ySamples);
+    }
+
+    /**
+     * Checks that a sample position lies within the dataset.
+     *
+     * @param xIndex  the x-index.
+     * @param yIndex  the y-index.
+     */
+    private void checkIndices(int xIndex, int yIndex) {
+        if (xIndex < 0 || xIndex >= this.xSamples) {
+            throw new IndexOutOfBoundsException("Invalid 'xIndex': "
+                    + xIndex);
+        }
+        if (yIndex < 0 || yIndex >= this.ySamples) {
+            throw new IndexOutOfBoundsException("Invalid 'yIndex': "
+                    + yIndex);
+        }
+    }
+
+    /**
+     * Returns the storage row for a y-index.
+     *
+     * @param yIndex  the y-index.
+     *
+     * @return The storage row.
+     */
+    private int storageRow(int yIndex) {
+        int row = this.origin + yIndex;
+        return row >= this.ySamples ? row - this.ySamples : row;
+    }
+
+    /**
+     * Returns the index of the tile that holds a sample.
+     *
+     * @param xIndex  the x-index.
+     * @param row  the storage row.
+     *
+     * @return The tile index.
+     */
+    private int tileIndex(int xIndex, int row) {
+        return (row >> TILE_SHIFT) * this.tileColumns + (xIndex >> TILE_SHIFT);
+    }
+
+    /**
+     * Returns the position of a sample within its tile.
+     *
+     * @param xIndex  the x-index.
+     * @param row  the storage row.
+     *
+     * @return The position.
+     */
+    private static int tileOffset(int xIndex, int row) {
+        return ((row & TILE_MASK) << TILE_SHIFT) + (xIndex & TILE_MASK);
+    }
+
+    /**
+     * Returns the z-value at the specified sample position in the dataset.
+     *
+     * @param xIndex  the position of the x sample in the dataset.
+     * @param yIndex  the position of the y sample in the dataset.
+     *
+     * @return The z-value.
+     */
+    @Override
+    public double getZValue(int xIndex, int yIndex) {
+        checkIndices(xIndex, yIndex);
+        int row = storageRow(yIndex);
+        int tile = tileIndex(xIndex, row);
+        if (this.floatTiles != null) {
+            float[] values = this.floatTiles[tile];
+            return values == null ? 0.0 : values[tileOffset(xIndex, row)];
+        }
+        double[] values = this.doubleTiles[tile];
+        return values == null ? 0.0 : values[tileOffset(xIndex, row)];
+    }
+
+    /**
+     * Returns the z-value at the specified sample position in the dataset.
+     * You should avoid using this method and use
+     * {@link #getZValue(int, int)} instead.
+     *
+     * @param xIndex  the position of the x sample in the dataset.
+     * @param yIndex  the position of the y sample in the dataset.
+     *
+     * @return The z-value.
+     */
+    @Override
+    public Number getZ(int xIndex, int yIndex) {
+        return new Double(getZValue(xIndex, yIndex));
+    }
+
+    /**
+     * Stores a z-value, allocating its tile if necessary.
+     *
+     * @param xIndex  the x-index.
+     * @param row  the storage row.
+     * @param z  the z-value.
+     */
+    private void store(int xIndex, int row, double z) {
+        int tile = tileIndex(xIndex, row);
+        int offset = tileOffset(xIndex, row);
+        if (this.floatTiles != null) {
+            float[] values = this.floatTiles[tile];
+            if (values == null) {
+                if (z == 0.0) {
+                    return;
+                }
+                values = new float[TILE_SIZE * TILE_SIZE];
+                this.floatTiles[tile] = values;
+            }
+            values[offset] = (float) z;
+        }
+        else {
+            double[] values = this.doubleTiles[tile];
+            if (values == null) {
+                if (z == 0.0) {
+                    return;
+                }
+                values = new double[TILE_SIZE * TILE_SIZE];
+                this.doubleTiles[tile] = values;
+            }
+            values[offset] = z;
+        }
+    }
+
+    /**
+     * Updates a z-value in the dataset and sends a
+     * {@link HeatMapChangeEvent} to all registered listeners.
+     *
+     * @param xIndex  the x-index.
+     * @param yIndex  the y-index.
+     * @param z  the new z-value.
+     */
+    public void setZValue(int xIndex, int yIndex, double z) {
+        setZValue(xIndex, yIndex, z, true);
+    }
+
+    /**
+     * Updates a z-value in the dataset and, if requested, sends a
+     * {@link HeatMapChangeEvent} to all registered listeners.
+     *
+     * @param xIndex  the x-index.
+     * @param yIndex  the y-index.
+     * @param z  the new z-value.
+     * @param notify  notify listeners?
+     */
+    public void setZValue(int xIndex, int yIndex, double z, boolean notify) {
+        checkIndices(xIndex, yIndex);
+        store(xIndex, storageRow(yIndex), z);
+        addDirtyRegion(xIndex, yIndex, xIndex + 1, yIndex + 1);
+        if (notify) {
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Replaces all the z-values for one y-index and, if requested, sends a
+     * {@link HeatMapChangeEvent} to all registered listeners.
+     *
+     * @param yIndex  the y-index.
+     * @param zValues  the z-values ({@code null} not permitted, the length
+     *     must equal the x-sample count).
+     * @param notify  notify listeners?
+     */
+    public void setRow(int yIndex, double[] zValues, boolean notify) {
+        checkRow(zValues);
+        checkIndices(0, yIndex);
+        storeRow(storageRow(yIndex), zValues);
+        addDirtyRegion(0, yIndex, this.xSamples, yIndex + 1);
+        if (notify) {
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Appends a row of z-values at the highest y-index and sends a
+     * {@link HeatMapChangeEvent} to all registered listeners.  The row at
+     * y-index 0 is discarded and the other rows move down by one y-index.
+     * The x- and y-ranges of the dataset are not changed.
+     *
+     * @param zValues  the z-values ({@code null} not permitted, the length
+     *     must equal the x-sample count).
+     */
+    public void appendRow(double[] zValues) {
+        appendRow(zValues, true);
+    }
+
+    /**
+     * Appends a row of z-values at the highest y-index and, if requested,
+     * sends a {@link HeatMapChangeEvent} to all registered listeners.  The
+     * row at y-index 0 is discarded and the other rows move down by one
+     * y-index.  The x- and y-ranges of the dataset are not changed.
+     *
+     * @param zValues  the z-values ({@code null} not permitted, the length
+     *     must equal the x-sample count).
+     * @param notify  notify listeners?
+     */
+    public void appendRow(double[] zValues, boolean notify) {
+        checkRow(zValues);
+        // the storage row of the oldest row is reused for the new row
+        int row = this.origin;
+        this.origin = (this.origin + 1) % this.ySamples;
+        storeRow(row, zValues);
+        if (this.dirtyShift < this.ySamples) {
+            this.dirtyShift++;
+        }
+        if (this.dirtyY1 > 0) {
+            this.dirtyY0 = Math.max(this.dirtyY0 - 1, 0);
+            this.dirtyY1--;
+            if (this.dirtyY1 == 0) {
+                this.dirtyX0 = Integer.MAX_VALUE;
+                this.dirtyY0 = Integer.MAX_VALUE;
+                this.dirtyX1 = 0;
+            }
+        }
+        addDirtyRegion(0, this.ySamples - 1, this.xSamples, this.ySamples);
+        if (notify) {
+            fireDatasetChanged();
+        }
+    }
+
+    /**
+     * Checks the length of a row of z-values.
+     *
+     * @param zValues  the z-values.
+     */
+    private void checkRow(double[] zValues) {
+        Args.nullNotPermitted(zValues, "zValues");
+        if (zValues.length != this.xSamples) {
+            throw new IllegalArgumentException("Requires 'zValues' with "
+                    + this.xSamples + " items.");
+        }
+    }
+
+    /**
+     * Stores a row of z-values.
+     *
+     * @param row  the storage row.
+     * @param zValues  the z-values.
+     */
+    private void storeRow(int row, double[] zValues) {
+        int base = (row & TILE_MASK) << TILE_SHIFT;
+        int tileRow = (row >> TILE_SHIFT) * this.tileColumns;
+        for (int t = 0; t < this.tileColumns; t++) {
+            int x0 = t << TILE_SHIFT;
+            int x1 = Math.min(x0 + TILE_SIZE, this.xSamples);
+            if (this.floatTiles != null) {
+                float[] values = this.floatTiles[tileRow + t];
+                if (values == null) {
+                    values = new float[TILE_SIZE * TILE_SIZE];
+                    this.floatTiles[tileRow + t] = values;
+                }
+                for (int x = x0; x < x1; x++) {
+                    values[base + x - x0] = (float) zValues[x];
+                }
+            }
+            else {
+                double[] values = this.doubleTiles[tileRow + t];
+                if (values == null) {
+                    values = new double[TILE_SIZE * TILE_SIZE];
+                    this.doubleTiles[tileRow + t] = values;
+                }
+                System.arraycopy(zValues, x0, values, base, x1 - x0);
+            }
+        }
+    }
+
+    /**
+     * Extends the region of changes that have not yet been reported.
+     *
+     * @param x0  the first x-index.
+     * @param y0  the first y-index.
+     * @param x1  the x-index after the region.
+     * @param y1  the y-index after the region.
+     */
+    private void addDirtyRegion(int x0, int y0, int x1, int y1) {
+        this.dirtyX0 = Math.min(this.dirtyX0, x0);
+        this.dirtyY0 = Math.min(this.dirtyY0, y0);
+        this.dirtyX1 = Math.max(this.dirtyX1, x1);
+        this.dirtyY1 = Math.max(this.dirtyY1, y1);
+    }
+
+    /**
+     * Resets the region of changes that have not yet been reported.
+     */
+    private void clearDirtyRegion() {
+        this.dirtyX0 = Integer.MAX_VALUE;
+        this.dirtyY0 = Integer.MAX_VALUE;
+        this.dirtyX1 = 0;
+        this.dirtyY1 = 0;
+        this.dirtyShift = 0;
+    }
+
+    /**
+     * Sends a {@link HeatMapChangeEvent} covering all the changes made since
+     * the last event (or the whole dataset, if there are none) to all
+     * registered listeners, provided that the {@code notify} flag has not
+     * been set to {@code false}.
+     */
+    @Override
+    protected void fireDatasetChanged() {
+        if (!getNotify()) {
+            return;
+        }
+        HeatMapChangeEvent event;
+        if (this.dirtyX1 == 0 && this.dirtyShift == 0) {
+            event = new HeatMapChangeEvent(this, this, 0, 0, this.xSamples,
+                    this.ySamples, 0);
+        }
+        else if (this.dirtyX1 == 0) {
+            event = new HeatMapChangeEvent(this, this, 0, 0, 0, 0,
+                    this.dirtyShift);
+        }
+        else {
+            event = new HeatMapChangeEvent(this, this, this.dirtyX0,
+                    this.dirtyY0, this.dirtyX1 - this.dirtyX0,
+                    this.dirtyY1 - this.dirtyY0, this.dirtyShift);
+        }
+        clearDirtyRegion();
+        notifyListeners(event);
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.  Two
+     * datasets are equal if they have the same dimensions, ranges, storage
+     * type and z-values.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof TiledHeatMapDataset)) {
+            return false;
+        }
+        TiledHeatMapDataset that = (TiledHeatMapDataset) obj;
+        if (this.xSamples != that.xSamples) {
+            return false;
+        }
+        if (this.ySamples != that.ySamples) {
+            return false;
+        }
+        if (this.minX != that.minX) {
+            return false;
+        }
+        if (this.maxX != that.maxX) {
+            return false;
+        }
+        if (this.minY != that.minY) {
+            return false;
+        }
+        if (this.maxY != that.maxY) {
+            return false;
+        }
+        if (isFloatStorage() != that.isFloatStorage()) {
+            return false;
+        }
+        for (int y = 0; y < this.ySamples; y++) {
+            for (int x = 0; x < this.xSamples; x++) {
+                if (Double.doubleToLongBits(getZValue(x, y))
+                        != Double.doubleToLongBits(that.getZValue(x, y))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this dataset.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + this.xSamples;
+        hash = 31 * hash + this.ySamples;
+        long bits = Double.doubleToLongBits(this.minX);
+        hash = 31 * hash + (int) (bits ^ (bits >>> 32));
+        bits = Double.doubleToLongBits(this.minY);
+        hash = 31 * hash + (int) (bits ^ (bits >>> 32));
+        return hash;
+    }
+
+    /**
+     * Returns an independent copy of this dataset.
+     *
+     * @return A clone.
+     *
+     * @throws java.lang.CloneNotSupportedException if there is a problem
+     *         cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        TiledHeatMapDataset clone = (TiledHeatMapDataset) super.clone();
+        if (this.floatTiles != null) {
+            clone.floatTiles = new float[this.floatTiles.length][];
+            for (int i = 0; i < this.floatTiles.length; i++) {
+                if (this.floatTiles[i] != null) {
+                    clone.floatTiles[i] = Arrays.copyOf(this.floatTiles[i],
+                            this.floatTiles[i].length);
+                }
+            }
+        }
+        else {
+            clone.doubleTiles = new double[this.doubleTiles.length][];
+            for (int i = 0; i < this.doubleTiles.length; i++) {
+                if (this.doubleTiles[i] != null) {
+                    clone.doubleTiles[i] = Arrays.copyOf(this.doubleTiles[i],
+                            this.doubleTiles[i].length);
+                }
+            }
+        }
+        return clone;
+    }
+
+}
@@ -0,0 +1,606 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.general;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.ObjectUtils;
+import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.UnknownKeyException;
+
+/**
+ * A live view of a {@link PieDataset} that contains the items with the
+ * largest values in the source followed (when the source has more items)
+ * by a single item that consolidates all the remaining values under an
+ * "Other" key.  The retained items appear in the same order as in the
+ * source.  Unlike
+ * {@link DatasetUtils#createConsolidatedPieDataset(PieDataset, Comparable,
+ * double)}, which copies the source each time it is called, the view keeps
+ * its state up to date as the source changes.
+ * <p>
+ * The view maintains the total of the source values and a ranking of the
+ * source items.  When the source reports a change to specific items with a
+ * {@link PieDatasetChangeEvent} (as {@link DefaultPieDataset#setValue(
+ * Comparable, Number)} does) only those items are re-ranked, at a cost of
+ * O(log n) per item, so the view is suitable for sources fed by counters
+ * that change many times per second.  Any other change event causes the
+ * state to be rebuilt from the source the next time it is needed.
+ * <p>
+ * Items with a {@code null} value in the source are not included in the
+ * view.  A source item with the same key as the consolidated item is never
+ * retained, its value is always added to the "Other" item (so the view
+ * never contains a duplicate key).  The value of the "Other" item is the sum of the positive values
+ * that are not retained (the same total used by
+ * {@link DatasetUtils#calculatePieDatasetTotal(PieDataset)}).
+ *
+ * @since 1.5.1
+ */
+public class TopNPieDataset extends AbstractDataset implements PieDataset,
+        DatasetChangeListener, PublicCloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3182904675530628418L;
+
+    /** The default key for the consolidated item. */
+    public static final String DEFAULT_OTHER_KEY = "Other";
+
+    /** Orders entries by descending value, then by source index. */
+    private static final Comparator<Entry> RANK_ORDER
+            = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry e1, Entry e2) {
+            int result = Double.compare(e2.value, e1.value);
+            if (result == 0) {
+                result = compareIndices(e1, e2);
+            }
+            return result;
+        }
+    };
+
+    /** Orders entries by source index. */
+    private static final Comparator<Entry> SOURCE_ORDER
+            = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry e1, Entry e2) {
+            return compareIndices(e1, e2);
+        }
+    };
+
+    /** The source dataset. */
+    private PieDataset source;
+
+    /** The maximum number of source items retained in the view. */
+    private int maximumItemCount;
+
+    /** The key for the consolidated item. */
+    private Comparable otherKey;
+
+    /** The entries for the source items with non-null values, by key. */
+    private transient Map<Comparable, Entry> entries;
+
+    /** The entries ranked by {@link #RANK_ORDER}. */
+    private transient TreeSet<Entry> ranking;
+
+    /** The sum of the positive values of the entries. */
+    private transient double total;
+
+    /** The number of updates since the total was last recomputed. */
+    private transient int updateCount;
+
+    /** The keys of the view ({@code null} if not yet derived). */
+    private transient List<Comparable> keys;
+
+    /** The values of the view ({@code null} if not yet derived). */
+    private transient List<Number> values;
+
+    /**
+     * Creates a new view that uses {@link #DEFAULT_OTHER_KEY} for the
+     * consolidated item, and registers it as a listener with the source.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     * @param maximumItemCount  the maximum number of source items to retain
+     *     (must be positive).
+     */
+    public TopNPieDataset(PieDataset source, int maximumItemCount) {
+        this(source, maximumItemCount, DEFAULT_OTHER_KEY);
+    }
+
+    /**
+     * Creates a new view and registers it as a listener with the source.
+     *
+     * @param source  the source dataset ({@code null} not permitted).
+     * @param maximumItemCount  the maximum number of source items to retain
+     *     (must be positive).
+     * @param otherKey  the key for the consolidated item ({@code null} not
+     *     permitted).
+     */
+    public TopNPieDataset(PieDataset source, int maximumItemCount,
+            Comparable otherKey) {
+        Args.nullNotPermitted(source, "source");
+        Args.nullNotPermitted(otherKey, "otherKey");
+        if (maximumItemCount < 1) {
+            throw new IllegalArgumentException(
+                    "Requires 'maximumItemCount' > 0.");
+        }
+        this.source = source;
+        this.maximumItemCount = maximumItemCount;
+        this.otherKey = otherKey;
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source dataset.
+     *
+     * @return The source dataset (never {@code null}).
+     */
+    public PieDataset getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the maximum number of source items retained in the view (the
+     * consolidated item is not included in this count).
+     *
+     * @return The maximum item count.
+     *
+     * @see #setMaximumItemCount(int)
+     */
+    public int getMaximumItemCount() {
+        return this.maximumItemCount;
+    }
+
+    /**
+     * Sets the maximum number of source items retained in the view and
+     * sends a {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param count  the maximum item count (must be positive).
+     *
+     * @see #getMaximumItemCount()
+     */
+    public void setMaximumItemCount(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Requires 'count' > 0.");
+        }
+        this.maximumItemCount = count;
+        this.keys = null;
+        this.values = null;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the key for the consolidated item.
+     *
+     * @return The key (never {@code null}).
+     *
+     * @see #setOtherKey(Comparable)
+     */
+    public Comparable getOtherKey() {
+        return this.otherKey;
+    }
+
+    /**
+     * Sets the key for the consolidated item and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param key  the key ({@code null} not permitted).
+     *
+     * @see #getOtherKey()
+     */
+    public void setOtherKey(Comparable key) {
+        Args.nullNotPermitted(key, "key");
+        this.otherKey = key;
+        this.keys = null;
+        this.values = null;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the number of source items that are consolidated into the
+     * "Other" item (zero if the view has no such item).
+     *
+     * @return The item count.
+     */
+    public int getOtherItemCount() {
+        ensureEntries();
+        int count = this.ranking.size();
+        int candidates = this.entries.containsKey(this.otherKey) ? count - 1
+                : count;
+        return count - Math.min(this.maximumItemCount, candidates);
+    }
+
+    /**
+     * Stops listening for changes to the source dataset.  Call this method
+     * when the view is no longer required but the source will continue to
+     * be used.
+     */
+    public void dispose() {
+        this.source.removeChangeListener(this);
+    }
+
+    /**
+     * Returns the number of items in the view.
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount() {
+        return getViewKeys().size();
+    }
+
+    /**
+     * Returns the keys for the items in the view.
+     *
+     * @return The keys (never {@code null}, not modifiable).
+     */
+    @Override
+    public List getKeys() {
+        return Collections.unmodifiableList(getViewKeys());
+    }
+
+    /**
+     * Returns the key for an item in the view.
+     *
+     * @param index  the item index (zero-based).
+     *
+     * @return The key.
+     */
+    @Override
+    public Comparable getKey(int index) {
+        return getViewKeys().get(index);
+    }
+
+    /**
+     * Returns the index of the item with the specified key.
+     *
+     * @param key  the key ({@code null} not permitted).
+     *
+     * @return The index, or {@code -1} if the key is not in the view.
+     */
+    @Override
+    public int getIndex(Comparable key) {
+        Args.nullNotPermitted(key, "key");
+        return getViewKeys().indexOf(key);
+    }
+
+    /**
+     * Returns the value for an item in the view.
+     *
+     * @param item  the item index (zero-based).
+     *
+     * @return The value.
+     */
+    @Override
+    public Number getValue(int item) {
+        getViewKeys();
+        return this.values.get(item);
+    }
+
+    /**
+     * Returns the value for the item with the specified key.
+     *
+     * @param key  the key ({@code null} not permitted).
+     *
+     * @return The value.
+     *
+     * @throws UnknownKeyException if the key is not in the view.
+     */
+    @Override
+    public Number getValue(Comparable key) {
+        int index = getIndex(key);
+        if (index < 0) {
+            throw new UnknownKeyException("The key (" + key
+                    + ") is not recognised.");
+        }
+        return getValue(index);
+    }
+
+    /**
+     * Receives notification of a change to the source dataset.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        if (this.entries != null) {
+            if (event instanceof PieDatasetChangeEvent) {
+                PieDatasetChangeEvent e = (PieDatasetChangeEvent) event;
+                int last = e.getLastItem();
+                if (e.getType() == DatasetChangeType.ITEMS_APPENDED) {
+                    last = this.source.getItemCount() - 1;
+                }
+                for (int i = e.getFirstItem(); i <= last; i++) {
+                    update(this.source.getKey(i), this.source.getValue(i), i);
+                }
+            }
+            else {
+                this.entries = null;
+                this.ranking = null;
+            }
+        }
+        this.keys = null;
+        this.values = null;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Updates the entry for a source item.
+     *
+     * @param key  the key.
+     * @param value  the value ({@code null} permitted).
+     * @param index  the index of the item in the source.
+     */
+    private void update(Comparable key, Number value, int index) {
+        Entry entry = this.entries.get(key);
+        if (entry != null) {
+            this.ranking.remove(entry);
+            this.total -= positive(entry.value);
+        }
+        if (value == null) {
+            if (entry != null) {
+                this.entries.remove(key);
+            }
+        }
+        else {
+            if (entry == null) {
+                entry = new Entry(key);
+                this.entries.put(key, entry);
+            }
+            entry.index = index;
+            entry.value = value.doubleValue();
+            this.ranking.add(entry);
+            this.total += positive(entry.value);
+        }
+        // recompute the total once per turn of the entries, to stop the
+        // rounding errors in the running total from accumulating
+        this.updateCount++;
+        if (this.updateCount > this.entries.size()) {
+            double t = 0.0;
+            for (Entry e : this.ranking) {
+                t += positive(e.value);
+            }
+            this.total = t;
+            this.updateCount = 0;
+        }
+    }
+
+    /**
+     * Builds the entries from the source, if necessary.
+     */
+    private void ensureEntries() {
+        if (this.entries != null) {
+            return;
+        }
+        this.entries = new HashMap<Comparable, Entry>();
+        this.ranking = new TreeSet<Entry>(RANK_ORDER);
+        this.total = 0.0;
+        this.updateCount = 0;
+        int count = this.source.getItemCount();
+        for (int i = 0; i < count; i++) {
+            Number value = this.source.getValue(i);
+            if (value != null) {
+                Entry entry = new Entry(this.source.getKey(i));
+                entry.index = i;
+                entry.value = value.doubleValue();
+                this.entries.put(entry.key, entry);
+                this.ranking.add(entry);
+                this.total += positive(entry.value);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys of the view, deriving the keys and values from the
+     * ranking if necessary.
+     *
+     * @return The keys (never {@code null}).
+     */
+    private List<Comparable> getViewKeys() {
+        if (this.keys != null) {
+            return this.keys;
+        }
+        ensureEntries();
+        Entry[] top = new Entry[Math.min(this.maximumItemCount,
+                this.ranking.size())];
+        int n = 0;
+        boolean other = false;
+        Iterator<Entry> iterator = this.ranking.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.key.equals(this.otherKey)) {
+                // the source's own "Other" item goes into the bucket
+                other = true;
+            }
+            else if (n < top.length) {
+                top[n++] = entry;
+            }
+            else {
+                other = true;
+                break;
+            }
+        }
+        Arrays.sort(top, 0, n, SOURCE_ORDER);
+        List<Comparable> k = new ArrayList<Comparable>(n + 1);
+        List<Number> v = new ArrayList<Number>(n + 1);
+        double retained = 0.0;
+        for (int i = 0; i < n; i++) {
+            k.add(top[i].key);
+            v.add(new Double(top[i].value));
+            retained += positive(top[i].value);
+        }
+        if (other) {
+            k.add(this.otherKey);
+            v.add(new Double(Math.max(0.0, this.total - retained)));
+        }
+        this.values = v;
+        this.keys = k;
+        return k;
+    }
+
+    /**
+     * Returns the value if it is positive, and zero otherwise.
+     *
+     * @param value  the value.
+     *
+     * @return The positive part of the value.
+     */
+    private static double positive(double value) {
+        return value > 0.0 ? value : 0.0;
+    }
+
+    /**
+     * Compares the source indices of two entries.
+     *
+     * @param e1  the first entry.
+     * @param e2  the second entry.
+     *
+     * @return A negative, zero or positive integer.
+     */
+    private static int compareIndices(Entry e1, Entry e2) {
+        if (e1.index < e2.index) {
+            return -1;
+        }
+        else if (e1.index > e2.index) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Tests this view for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof TopNPieDataset)) {
+            return false;
+        }
+        TopNPieDataset that = (TopNPieDataset) obj;
+        if (this.maximumItemCount != that.maximumItemCount) {
+            return false;
+        }
+        if (!this.otherKey.equals(that.otherKey)) {
+            return false;
+        }
+        return ObjectUtils.equal(this.source, that.source);
+    }
+
+    /**
+     * Returns a hash code for this view.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = this.source.hashCode();
+        result = 31 * result + this.maximumItemCount;
+        result = 31 * result + this.otherKey.hashCode();
+        return result;
+    }
+
+    /**
+     * Returns an independent copy of the view.  The source dataset is only
+     * cloned if it implements the {@link PublicCloneable} interface.
+     *
+     * @return A copy of the view.
+     *
+     * @throws CloneNotSupportedException if the view cannot be cloned.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        TopNPieDataset clone = (TopNPieDataset) super.clone();
+        if (this.source instanceof PublicCloneable) {
+            PublicCloneable pc = (PublicCloneable) this.source;
+            clone.source = (PieDataset) pc.clone();
+        }
+        clone.entries = null;
+        clone.ranking = null;
+        clone.keys = null;
+        clone.values = null;
+        clone.source.addChangeListener(clone);
+        return clone;
+    }
+
+    /**
+     * Restores a serialized object and registers it as a listener with its
+     * source.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException if there is an I/O problem.
+     * @throws ClassNotFoundException if there is a problem loading a class.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * The ranking state for one source item.
+     */
+    private static class Entry {
+
+        /** The key. */
+        private final Comparable key;
+
+        /** The index of the item in the source. */
+        private int index;
+
+        /** The value. */
+        private double value;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param key  the key.
+         */
+        Entry(Comparable key) {
+            this.key = key;
+        }
+
+    }
+
+}
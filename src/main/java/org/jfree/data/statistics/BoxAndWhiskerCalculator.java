@@ -48,6 +48,7 @@
 package org.jfree.data.statistics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -56,7 +57,10 @@ import org.jfree.chart.util.Args;
 /**
  * A utility class that calculates the mean, median, quartiles Q1 and Q3, plus
  * a list of outlier values...all from an arbitrary list of
- * {@code Number} objects.
+ * {@code Number} objects.  There are also methods that work on an array of
+ * {@code double} primitives (using selection rather than a full sort) and
+ * on a {@link QuantileSketch} (for approximate statistics over very large
+ * numbers of values).
  */
 public abstract class BoxAndWhiskerCalculator {
 
@@ -166,6 +170,297 @@ public abstract class BoxAndWhiskerCalculator {
 
     }
 
+    /**
+     * Calculates the statistics required for a {@link BoxAndWhiskerItem}
+     * from an array of values, with the same results as
+     * {@link #calculateBoxAndWhiskerStatistics(List)} (the outliers are
+     * returned as {@code Double} objects in ascending order).  {@code NaN}
+     * values are ignored.  The median and quartiles are found by selection
+     * in a working copy of the values, which takes linear time on average,
+     * instead of by sorting the values, and no objects are created for the
+     * values that are not outliers.  The array is not modified.
+     *
+     * @param values  the values ({@code null} not permitted).
+     * @param count  the number of values to use, starting from index 0.
+     *
+     * @return A box-and-whisker item.
+     *
+     * @since 1.5.1
+     */
+    public static BoxAndWhiskerItem calculateBoxAndWhiskerStatistics(
+            double[] values, int count) {
+
+        Args.nullNotPermitted(values, "values");
+        if (count < 0 || count > values.length) {
+            throw new IllegalArgumentException("Requires 'count' in the "
+                    + "range 0 to " + values.length + ".");
+        }
+        double[] a = new double[count];
+        int n = 0;
+        double sum = 0.0;
+        for (int i = 0; i < count; i++) {
+            double v = values[i];
+            if (!Double.isNaN(v)) {
+                a[n++] = v;
+                sum += v;
+            }
+        }
+        double mean = sum / n;
+        double median = Double.NaN;
+        double q1 = Double.NaN;
+        double q3 = Double.NaN;
+        if (n > 0) {
+            // after this, a[0..m] holds the lowest m + 1 values, a[m] is
+            // the largest of them and a[m + 1..n - 1] holds the rest
+            int m = (n - 1) / 2;
+            median = median(a, 0, n - 1);
+            if (n % 2 == 1) {
+                q1 = median(a, 0, m);
+                // move the largest of the lower values (the median) back to
+                // index m, since it is shared with the upper values
+                int maxIndex = 0;
+                for (int i = 1; i <= m; i++) {
+                    if (a[i] > a[maxIndex]) {
+                        maxIndex = i;
+                    }
+                }
+                swap(a, maxIndex, m);
+                q3 = median(a, m, n - 1);
+            }
+            else {
+                q1 = median(a, 0, m);
+                q3 = median(a, m + 1, n - 1);
+            }
+        }
+
+        double interQuartileRange = q3 - q1;
+        double upperOutlierThreshold = q3 + (interQuartileRange * 1.5);
+        double lowerOutlierThreshold = q1 - (interQuartileRange * 1.5);
+        double upperFaroutThreshold = q3 + (interQuartileRange * 2.0);
+        double lowerFaroutThreshold = q1 - (interQuartileRange * 2.0);
+
+        double minRegularValue = Double.POSITIVE_INFINITY;
+        double maxRegularValue = Double.NEGATIVE_INFINITY;
+        double minOutlier = Double.POSITIVE_INFINITY;
+        double maxOutlier = Double.NEGATIVE_INFINITY;
+        double[] outlierValues = new double[8];
+        int outlierCount = 0;
+        for (int i = 0; i < n; i++) {
+            double value = a[i];
+            if (value > upperOutlierThreshold
+                    || value < lowerOutlierThreshold) {
+                if (outlierCount == outlierValues.length) {
+                    outlierValues = Arrays.copyOf(outlierValues,
+                            outlierCount * 2);
+                }
+                outlierValues[outlierCount++] = value;
+                if (value > upperOutlierThreshold) {
+                    if (value > maxOutlier && value <= upperFaroutThreshold) {
+                        maxOutlier = value;
+                    }
+                }
+                else if (value < minOutlier
+                        && value >= lowerFaroutThreshold) {
+                    minOutlier = value;
+                }
+            }
+            else {
+                minRegularValue = Math.min(minRegularValue, value);
+                maxRegularValue = Math.max(maxRegularValue, value);
+            }
+        }
+        if (n > 0) {
+            minOutlier = Math.min(minOutlier, minRegularValue);
+            maxOutlier = Math.max(maxOutlier, maxRegularValue);
+        }
+        Arrays.sort(outlierValues, 0, outlierCount);
+        List outliers = new ArrayList(outlierCount);
+        for (int i = 0; i < outlierCount; i++) {
+            outliers.add(new Double(outlierValues[i]));
+        }
+
+        return new BoxAndWhiskerItem(new Double(mean), new Double(median),
+                new Double(q1), new Double(q3), new Double(minRegularValue),
+                new Double(maxRegularValue), new Double(minOutlier),
+                new Double(maxOutlier), outliers);
+
+    }
+
+    /**
+     * Calculates approximate statistics for a {@link BoxAndWhiskerItem} from
+     * a quantile sketch.  The mean, the count and the extreme values are
+     * exact, the median and quartiles have the rank error of the sketch.
+     * The outliers are the values retained by the sketch that lie beyond
+     * the outlier thresholds (plus the minimum and maximum values if they
+     * are outliers), so they are a sample of the outliers in the data.
+     *
+     * @param sketch  the sketch ({@code null} not permitted).
+     *
+     * @return A box-and-whisker item.
+     *
+     * @since 1.5.1
+     */
+    public static BoxAndWhiskerItem estimateBoxAndWhiskerStatistics(
+            QuantileSketch sketch) {
+
+        Args.nullNotPermitted(sketch, "sketch");
+        double mean = sketch.getMean();
+        double median = sketch.getQuantile(0.5);
+        double q1 = sketch.getQuantile(0.25);
+        double q3 = sketch.getQuantile(0.75);
+
+        double interQuartileRange = q3 - q1;
+        double upperOutlierThreshold = q3 + (interQuartileRange * 1.5);
+        double lowerOutlierThreshold = q1 - (interQuartileRange * 1.5);
+        double upperFaroutThreshold = q3 + (interQuartileRange * 2.0);
+        double lowerFaroutThreshold = q1 - (interQuartileRange * 2.0);
+
+        // the retained values, plus the exact extremes, in ascending order
+        double[] retained = sketch.getRetainedValues();
+        double[] a = new double[retained.length + 2];
+        System.arraycopy(retained, 0, a, 1, retained.length);
+        int n = 0;
+        if (sketch.getCount() > 0) {
+            a[0] = sketch.getMinimum();
+            a[a.length - 1] = sketch.getMaximum();
+            n = a.length;
+        }
+        double minRegularValue = Double.POSITIVE_INFINITY;
+        double maxRegularValue = Double.NEGATIVE_INFINITY;
+        double minOutlier = Double.POSITIVE_INFINITY;
+        double maxOutlier = Double.NEGATIVE_INFINITY;
+        List outliers = new ArrayList();
+        double last = Double.NaN;
+        for (int i = 0; i < n; i++) {
+            double value = a[i];
+            if (value > upperOutlierThreshold) {
+                if (value != last) {
+                    outliers.add(new Double(value));
+                }
+                if (value > maxOutlier && value <= upperFaroutThreshold) {
+                    maxOutlier = value;
+                }
+            }
+            else if (value < lowerOutlierThreshold) {
+                if (value != last) {
+                    outliers.add(new Double(value));
+                }
+                if (value < minOutlier && value >= lowerFaroutThreshold) {
+                    minOutlier = value;
+                }
+            }
+            else {
+                minRegularValue = Math.min(minRegularValue, value);
+                maxRegularValue = Math.max(maxRegularValue, value);
+            }
+            last = value;
+        }
+        if (n > 0) {
+            minOutlier = Math.min(minOutlier, minRegularValue);
+            maxOutlier = Math.max(maxOutlier, maxRegularValue);
+        }
+        return new BoxAndWhiskerItem(new Double(mean), new Double(median),
+                new Double(q1), new Double(q3), new Double(minRegularValue),
+                new Double(maxRegularValue), new Double(minOutlier),
+                new Double(maxOutlier), outliers);
+
+    }
+
+    /**
+     * Returns the median of the values in {@code a[start..end]}, using
+     * selection.  The values within the range are reordered so that the
+     * lower median is at its sorted position, with no larger value before
+     * it and no smaller value after it.
+     *
+     * @param a  the values.
+     * @param start  the index of the first value.
+     * @param end  the index of the last value.
+     *
+     * @return The median.
+     */
+    private static double median(double[] a, int start, int end) {
+        int count = end - start + 1;
+        int k = start + (count - 1) / 2;
+        double lower = select(a, start, end, k);
+        if (count % 2 == 1) {
+            return lower;
+        }
+        double upper = a[k + 1];
+        for (int i = k + 2; i <= end; i++) {
+            upper = Math.min(upper, a[i]);
+        }
+        return (lower + upper) / 2.0;
+    }
+
+    /**
+     * Reorders {@code a[start..end]} so that {@code a[k]} holds the value
+     * that would be at index {@code k} if the range were sorted, with no
+     * larger value before it and no smaller value after it (Hoare's
+     * selection algorithm, with a median-of-three pivot).
+     *
+     * @param a  the values.
+     * @param start  the index of the first value.
+     * @param end  the index of the last value.
+     * @param k  the index to select.
+     *
+     * @return The value at index {@code k}.
+     */
+    private static double select(double[] a, int start, int end, int k) {
+        int lo = start;
+        int hi = end;
+        while (hi > lo) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < a[lo]) {
+                swap(a, mid, lo);
+            }
+            if (a[hi] < a[lo]) {
+                swap(a, hi, lo);
+            }
+            if (a[hi] < a[mid]) {
+                swap(a, hi, mid);
+            }
+            double pivot = a[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) {
+                    i++;
+                }
+                while (a[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(a, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            }
+            else if (k >= i) {
+                lo = i;
+            }
+            else {
+                break;
+            }
+        }
+        return a[k];
+    }
+
+    /**
+     * Swaps two values in an array.
+     *
+     * @param a  the array.
+     * @param i  the index of the first value.
+     * @param j  the index of the second value.
+     */
+    private static void swap(double[] a, int i, int j) {
+        double t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
     /**
      * Calculates the first quartile for a list of numbers in ascending order.
      * If the items in the list are not in ascending order, the result is
@@ -186,14 +481,16 @@ public abstract class BoxAndWhiskerCalculator {
         if (count > 0) {
             if (count % 2 == 1) {
                 if (count > 1) {
-                    result = Statistics.calculateMedian(values, 0, count / 2);
+                    result = Statistics.calculateMedian(values, 0, count / 2,
+                            false);
                 }
                 else {
-                    result = Statistics.calculateMedian(values, 0, 0);
+                    result = Statistics.calculateMedian(values, 0, 0, false);
                 }
             }
             else {
-                result = Statistics.calculateMedian(values, 0, count / 2 - 1);
+                result = Statistics.calculateMedian(values, 0, count / 2 - 1,
+                        false);
             }
 
         }
@@ -219,15 +516,15 @@ public abstract class BoxAndWhiskerCalculator {
             if (count % 2 == 1) {
                 if (count > 1) {
                     result = Statistics.calculateMedian(values, count / 2,
-                            count - 1);
+                            count - 1, false);
                 }
                 else {
-                    result = Statistics.calculateMedian(values, 0, 0);
+                    result = Statistics.calculateMedian(values, 0, 0, false);
                 }
             }
             else {
                 result = Statistics.calculateMedian(values, count / 2,
-                        count - 1);
+                        count - 1, false);
             }
         }
         return result;
@@ -57,6 +57,7 @@
 package org.jfree.data.statistics;
 
 import java.util.List;
+import org.jfree.chart.util.Args;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PublicCloneable;
 
@@ -128,6 +129,45 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
         add(item, rowKey, columnKey);
     }
 
+    /**
+     * Adds an array of values relating to one box-and-whisker entity to the
+     * table.  The statistics are calculated by
+     * {@link BoxAndWhiskerCalculator#calculateBoxAndWhiskerStatistics(
+     * double[], int)}, without creating an object for each value.
+     *
+     * @param values  the values ({@code null} not permitted).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     *
+     * @since 1.5.1
+     */
+    public void add(double[] values, Comparable rowKey,
+            Comparable columnKey) {
+        Args.nullNotPermitted(values, "values");
+        BoxAndWhiskerItem item = BoxAndWhiskerCalculator
+                .calculateBoxAndWhiskerStatistics(values, values.length);
+        add(item, rowKey, columnKey);
+    }
+
+    /**
+     * Adds the approximate statistics from a quantile sketch as one
+     * box-and-whisker entity in the table (see
+     * {@link BoxAndWhiskerCalculator#estimateBoxAndWhiskerStatistics(
+     * QuantileSketch)}).
+     *
+     * @param sketch  the sketch ({@code null} not permitted).
+     * @param rowKey  the row key ({@code null} not permitted).
+     * @param columnKey  the column key ({@code null} not permitted).
+     *
+     * @since 1.5.1
+     */
+    public void add(QuantileSketch sketch, Comparable rowKey,
+            Comparable columnKey) {
+        BoxAndWhiskerItem item = BoxAndWhiskerCalculator
+                .estimateBoxAndWhiskerStatistics(sketch);
+        add(item, rowKey, columnKey);
+    }
+
     /**
      * Adds a list of values relating to one Box and Whisker entity to the
      * table.  The various median values are calculated.
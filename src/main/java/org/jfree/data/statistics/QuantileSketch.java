@@ -0,0 +1,560 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.PublicCloneable;
+
+/**
+ * A fixed-memory summary of a stream of values that can estimate any
+ * quantile (such as the median or quartiles) of all the values added so
+ * far.  The sketch keeps a small number of the values in levels (a KLL
+ * sketch):  when a level is full its values are sorted and every second
+ * one is promoted to the next level with twice the weight, so that the
+ * memory used grows only with the logarithm of the number of values.  The
+ * rank error of a quantile estimate is inversely proportional to the
+ * accuracy parameter {@code k} (with the default of 200 it is typically
+ * below 1% of the count).  The count, mean, minimum and maximum are exact.
+ * <p>
+ * Sketches can be merged, so (for example) one sketch per time interval
+ * or per thread can be combined into a sketch for the whole data set.  Use
+ * {@link BoxAndWhiskerCalculator#estimateBoxAndWhiskerStatistics(
+ * QuantileSketch)} to build a {@link BoxAndWhiskerItem} from a sketch.
+ *
+ * @since 1.5.1
+ */
+public class QuantileSketch implements Cloneable, PublicCloneable,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -2637151406215869427L;
+
+    /** The default accuracy parameter. */
+    public static final int DEFAULT_K = 200;
+
+    /** The accuracy parameter (the capacity of the top level). */
+    private int k;
+
+    /** The values retained at each level. */
+    private double[][] levels;
+
+    /** The number of values retained at each level. */
+    private int[] sizes;
+
+    /** The number of levels in use. */
+    private int levelCount;
+
+    /** The number of values retained in all the levels. */
+    private int retained;
+
+    /** The total capacity of the levels (kept to avoid recalculation). */
+    private int capacityLimit;
+
+    /** The number of values added to the sketch. */
+    private long count;
+
+    /** The sum of the values added to the sketch. */
+    private double sum;
+
+    /** The smallest value added to the sketch. */
+    private double minimum;
+
+    /** The largest value added to the sketch. */
+    private double maximum;
+
+    /**
+     * The state of the pseudo-random sequence that selects which half of a
+     * sorted level is promoted (a fixed seed keeps results repeatable).
+     */
+    private long seed;
+
+    /** The retained values in ascending order (created lazily). */
+    private transient double[] sortedValues;
+
+    /** The cumulative weights of {@code sortedValues}. */
+    private transient long[] cumulativeWeights;
+
+    /**
+     * Creates a new sketch with the default accuracy.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Creates a new sketch.  The sketch retains roughly {@code 3 * k}
+     * values.
+     *
+     * @param k  the accuracy parameter (at least 8).
+     */
+    public QuantileSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("Requires 'k' >= 8.");
+        }
+        this.k = k;
+        this.levels = new double[4][];
+        this.sizes = new int[4];
+        this.levels[0] = new double[k];
+        this.levelCount = 1;
+        this.capacityLimit = k;
+        this.minimum = Double.NaN;
+        this.maximum = Double.NaN;
+        this.seed = 0x2545F4914F6CDD1DL;
+    }
+
+    /**
+     * Returns the accuracy parameter.
+     *
+     * @return The accuracy parameter.
+     */
+    public int getK() {
+        return this.k;
+    }
+
+    /**
+     * Returns the number of values that have been added to the sketch.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the mean of the values that have been added to the sketch.
+     *
+     * @return The mean ({@code NaN} if the sketch is empty).
+     */
+    public double getMean() {
+        return this.count == 0 ? Double.NaN : this.sum / this.count;
+    }
+
+    /**
+     * Returns the smallest value that has been added to the sketch.
+     *
+     * @return The minimum ({@code NaN} if the sketch is empty).
+     */
+    public double getMinimum() {
+        return this.minimum;
+    }
+
+    /**
+     * Returns the largest value that has been added to the sketch.
+     *
+     * @return The maximum ({@code NaN} if the sketch is empty).
+     */
+    public double getMaximum() {
+        return this.maximum;
+    }
+
+    /**
+     * Adds a value to the sketch.  {@code NaN} values are ignored.
+     *
+     * @param value  the value.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (this.count == 0) {
+            this.minimum = value;
+            this.maximum = value;
+        }
+        else {
+            this.minimum = Math.min(this.minimum, value);
+            this.maximum = Math.max(this.maximum, value);
+        }
+        this.count++;
+        this.sum += value;
+        append(0, value);
+        if (this.retained >= this.capacityLimit) {
+            compress();
+            this.capacityLimit = totalCapacity();
+        }
+        this.sortedValues = null;
+    }
+
+    /**
+     * Adds values to the sketch.  {@code NaN} values are ignored.
+     *
+     * @param values  the values ({@code null} not permitted).
+     * @param count  the number of values to add, starting from index 0.
+     */
+    public void add(double[] values, int count) {
+        Args.nullNotPermitted(values, "values");
+        for (int i = 0; i < count; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Adds all the values summarised by another sketch to this sketch.  The
+     * other sketch is not changed.
+     *
+     * @param other  the other sketch ({@code null} not permitted).
+     */
+    public void merge(QuantileSketch other) {
+        Args.nullNotPermitted(other, "other");
+        if (other.count == 0) {
+            return;
+        }
+        if (this.count == 0) {
+            this.minimum = other.minimum;
+            this.maximum = other.maximum;
+        }
+        else {
+            this.minimum = Math.min(this.minimum, other.minimum);
+            this.maximum = Math.max(this.maximum, other.maximum);
+        }
+        this.count += other.count;
+        this.sum += other.sum;
+        // copy first, in case other == this
+        int otherLevels = other.levelCount;
+        double[][] values = new double[otherLevels][];
+        for (int h = 0; h < otherLevels; h++) {
+            values[h] = Arrays.copyOf(other.levels[h], other.sizes[h]);
+        }
+        for (int h = 0; h < otherLevels; h++) {
+            for (int i = 0; i < values[h].length; i++) {
+                append(h, values[h][i]);
+            }
+        }
+        compress();
+        this.capacityLimit = totalCapacity();
+        this.sortedValues = null;
+    }
+
+    /**
+     * Clears all values from the sketch.
+     */
+    public void clear() {
+        for (int h = 0; h < this.levelCount; h++) {
+            this.sizes[h] = 0;
+        }
+        this.retained = 0;
+        this.count = 0;
+        this.sum = 0.0;
+        this.minimum = Double.NaN;
+        this.maximum = Double.NaN;
+        this.sortedValues = null;
+    }
+
+    /**
+     * Returns the capacity of a level.  Lower levels have smaller
+     * capacities, decreasing by a factor of 2/3 per level.
+     *
+     * @param h  the level.
+     *
+     * @return The capacity.
+     */
+    private int capacity(int h) {
+        int depth = this.levelCount - 1 - h;
+        return Math.max(8, (int) Math.ceil(this.k * Math.pow(2.0 / 3.0,
+                depth)));
+    }
+
+    /**
+     * Returns the total capacity of all the levels.
+     *
+     * @return The total capacity.
+     */
+    private int totalCapacity() {
+        int total = 0;
+        for (int h = 0; h < this.levelCount; h++) {
+            total += capacity(h);
+        }
+        return total;
+    }
+
+    /**
+     * Compacts levels until the number of retained values is less than the
+     * total capacity.  Each time, the lowest level that is at or over its
+     * capacity is compacted, so the levels are only compacted when the
+     * sketch as a whole is full.
+     */
+    private void compress() {
+        int limit = totalCapacity();
+        while (this.retained >= limit) {
+            for (int h = 0; h < this.levelCount; h++) {
+                if (this.sizes[h] >= capacity(h)) {
+                    compact(h);
+                    break;
+                }
+            }
+            limit = totalCapacity();
+        }
+    }
+
+    /**
+     * Appends a value to a level.
+     *
+     * @param h  the level.
+     * @param value  the value.
+     */
+    private void append(int h, double value) {
+        while (h >= this.levelCount) {
+            addLevel();
+        }
+        double[] level = this.levels[h];
+        if (level == null) {
+            level = new double[capacity(h)];
+            this.levels[h] = level;
+        }
+        else if (this.sizes[h] == level.length) {
+            level = Arrays.copyOf(level, level.length * 2);
+            this.levels[h] = level;
+        }
+        level[this.sizes[h]++] = value;
+        this.retained++;
+    }
+
+    /**
+     * Adds a level at the top of the sketch.
+     */
+    private void addLevel() {
+        if (this.levelCount == this.levels.length) {
+            this.levels = Arrays.copyOf(this.levels, this.levelCount * 2);
+            this.sizes = Arrays.copyOf(this.sizes, this.levelCount * 2);
+        }
+        this.levelCount++;
+    }
+
+    /**
+     * Sorts a level and promotes half of its values to the next level.  If
+     * the level holds an odd number of values, the smallest one stays.
+     *
+     * @param h  the level.
+     */
+    private void compact(int h) {
+        double[] level = this.levels[h];
+        int size = this.sizes[h];
+        Arrays.sort(level, 0, size);
+        int start = size % 2;
+        // xorshift step
+        this.seed ^= this.seed << 13;
+        this.seed ^= this.seed >>> 7;
+        this.seed ^= this.seed << 17;
+        int offset = (int) (this.seed >>> 63);
+        this.sizes[h] = start;
+        this.retained -= size - start;
+        for (int i = start + offset; i < size; i += 2) {
+            append(h + 1, level[i]);
+        }
+    }
+
+    /**
+     * Builds the sorted values and cumulative weights for queries.
+     */
+    private void prepare() {
+        if (this.sortedValues != null) {
+            return;
+        }
+        // merge the sorted levels one at a time, carrying the weights along
+        double[] values = new double[0];
+        long[] weights = new long[0];
+        for (int h = 0; h < this.levelCount; h++) {
+            int size = this.sizes[h];
+            if (size == 0) {
+                continue;
+            }
+            double[] level = Arrays.copyOf(this.levels[h], size);
+            Arrays.sort(level);
+            long w = 1L << h;
+            double[] mergedValues = new double[values.length + size];
+            long[] mergedWeights = new long[values.length + size];
+            int i = 0;
+            int j = 0;
+            for (int m = 0; m < mergedValues.length; m++) {
+                if (j == size
+                        || (i < values.length && values[i] <= level[j])) {
+                    mergedValues[m] = values[i];
+                    mergedWeights[m] = weights[i];
+                    i++;
+                }
+                else {
+                    mergedValues[m] = level[j];
+                    mergedWeights[m] = w;
+                    j++;
+                }
+            }
+            values = mergedValues;
+            weights = mergedWeights;
+        }
+        long total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            weights[i] = total;
+        }
+        this.sortedValues = values;
+        this.cumulativeWeights = weights;
+    }
+
+    /**
+     * Returns the retained value with the specified (zero-based) rank.
+     *
+     * @param rank  the rank.
+     *
+     * @return The value.
+     */
+    private double valueAtRank(long rank) {
+        int i = Arrays.binarySearch(this.cumulativeWeights, rank + 1);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return this.sortedValues[Math.min(i, this.sortedValues.length - 1)];
+    }
+
+    /**
+     * Returns an estimate of the specified quantile.  The quantile is
+     * interpolated between the values with the two nearest ranks (as for
+     * the median of an even number of values), so while no values have been
+     * promoted the result is exact.
+     *
+     * @param q  the quantile (in the range 0.0 to 1.0).
+     *
+     * @return The estimate ({@code NaN} if the sketch is empty).
+     */
+    public double getQuantile(double q) {
+        if (!(q >= 0.0 && q <= 1.0)) {
+            throw new IllegalArgumentException(
+                    "Requires 'q' in the range 0.0 to 1.0.");
+        }
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        if (q == 0.0) {
+            return this.minimum;
+        }
+        if (q == 1.0) {
+            return this.maximum;
+        }
+        prepare();
+        double position = q * (this.count - 1);
+        long lower = (long) Math.floor(position);
+        double v0 = valueAtRank(lower);
+        double fraction = position - lower;
+        if (fraction == 0.0) {
+            return v0;
+        }
+        double v1 = valueAtRank(lower + 1);
+        return v0 + fraction * (v1 - v0);
+    }
+
+    /**
+     * Returns the values currently retained by the sketch, in ascending
+     * order.  Each stands for a number of the values that have been added.
+     *
+     * @return The values (a new array).
+     */
+    public double[] getRetainedValues() {
+        prepare();
+        return (double[]) this.sortedValues.clone();
+    }
+
+    /**
+     * Tests this sketch for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof QuantileSketch)) {
+            return false;
+        }
+        QuantileSketch that = (QuantileSketch) obj;
+        if (this.k != that.k) {
+            return false;
+        }
+        if (this.count != that.count) {
+            return false;
+        }
+        if (Double.doubleToLongBits(this.sum)
+                != Double.doubleToLongBits(that.sum)) {
+            return false;
+        }
+        if (this.levelCount != that.levelCount) {
+            return false;
+        }
+        for (int h = 0; h < this.levelCount; h++) {
+            if (this.sizes[h] != that.sizes[h]) {
+                return false;
+            }
+            for (int i = 0; i < this.sizes[h]; i++) {
+                if (Double.doubleToLongBits(this.levels[h][i])
+                        != Double.doubleToLongBits(that.levels[h][i])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this sketch.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + this.k;
+        hash = 31 * hash + (int) (this.count ^ (this.count >>> 32));
+        return hash;
+    }
+
+    /**
+     * Returns an independent copy of this sketch.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        QuantileSketch clone = (QuantileSketch) super.clone();
+        clone.levels = new double[this.levels.length][];
+        for (int h = 0; h < this.levels.length; h++) {
+            if (this.levels[h] != null) {
+                clone.levels[h] = (double[]) this.levels[h].clone();
+            }
+        }
+        clone.sizes = (int[]) this.sizes.clone();
+        clone.sortedValues = null;
+        return clone;
+    }
+
+}
@@ -208,23 +208,51 @@ public class SimpleHistogramDataset extends AbstractIntervalXYDataset
      * @param notify  send {@link DatasetChangeEvent} to listeners?
      */
     public void addObservation(double value, boolean notify) {
-        boolean placed = false;
-        Iterator iterator = this.bins.iterator();
-        while (iterator.hasNext() && !placed) {
-            SimpleHistogramBin bin = (SimpleHistogramBin) iterator.next();
-            if (bin.accepts(value)) {
-                bin.setItemCount(bin.getItemCount() + 1);
-                placed = true;
-            }
-        }
-        if (!placed) {
+        SimpleHistogramBin bin = findBin(value);
+        if (bin == null) {
             throw new RuntimeException("No bin.");
         }
+        bin.setItemCount(bin.getItemCount() + 1);
         if (notify) {
             notifyListeners(new DatasetChangeEvent(this, this));
         }
     }
 
+    /**
+     * Returns the bin that accepts a value, or {@code null}.  The bins are
+     * sorted and do not overlap, so a binary search finds the last bin with
+     * a lower bound that is not greater than the value, and then only the
+     * bins that end at or after the value need to be checked.
+     *
+     * @param value  the value.
+     *
+     * @return The bin (possibly {@code null}).
+     */
+    private SimpleHistogramBin findBin(double value) {
+        int low = 0;
+        int high = this.bins.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            SimpleHistogramBin bin = (SimpleHistogramBin) this.bins.get(mid);
+            if (bin.getLowerBound() <= value) {
+                low = mid + 1;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        for (int i = high; i >= 0; i--) {
+            SimpleHistogramBin bin = (SimpleHistogramBin) this.bins.get(i);
+            if (bin.getUpperBound() < value) {
+                break;
+            }
+            if (bin.accepts(value)) {
+                return bin;
+            }
+        }
+        return null;
+    }
+
     /**
      * Adds a set of values to the dataset and sends a
      * {@link DatasetChangeEvent} to all registered listeners.
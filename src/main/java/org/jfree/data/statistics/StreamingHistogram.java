@@ -0,0 +1,417 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.PublicCloneable;
+
+/**
+ * Accumulates observations into a fixed set of bins without storing the
+ * observations themselves.  The bins are either of equal width (in which
+ * case the bin for a value is calculated directly) or defined by an array
+ * of boundaries (in which case the bin is found by a binary search).  As
+ * for {@link HistogramDataset}, values less than the lower bound are
+ * assigned to the first bin, values greater than the upper bound are
+ * assigned to the last bin and values falling on the boundary of adjacent
+ * bins are assigned to the higher indexed bin.
+ * <p>
+ * The counts are stored as {@code double} values so that they can be
+ * scaled (see {@link #scale(double)}) to give older observations less
+ * weight.
+ * <p>
+ * The methods in this class are synchronized, so that a single instance
+ * can be shared by the threads that record observations.  Where the
+ * contention matters, give each thread its own instance and periodically
+ * move the counts into a {@link StreamingHistogramDataset} with
+ * {@link StreamingHistogramDataset#merge(int, StreamingHistogram)} (the
+ * {@link #drain()} method takes the counts and resets them in one step).
+ *
+ * @since 1.5.1
+ */
+public class StreamingHistogram implements Cloneable, PublicCloneable,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -4326781736219082345L;
+
+    /** The bin boundaries (one more than the number of bins). */
+    private double[] boundaries;
+
+    /** A flag that indicates that the bins all have the same width. */
+    private boolean uniform;
+
+    /** The number of bins per unit (for uniform bins only). */
+    private double scale;
+
+    /** The counts for each bin. */
+    private double[] counts;
+
+    /** The total count. */
+    private double total;
+
+    /**
+     * Creates a new histogram with bins of equal width.
+     *
+     * @param minimum  the lower bound of the first bin.
+     * @param maximum  the upper bound of the last bin (must be greater than
+     *     {@code minimum}).
+     * @param binCount  the number of bins (must be at least 1).
+     */
+    public StreamingHistogram(double minimum, double maximum, int binCount) {
+        if (binCount < 1) {
+            throw new IllegalArgumentException(
+                    "The 'binCount' value must be at least 1.");
+        }
+        if (!(maximum > minimum)) {
+            throw new IllegalArgumentException(
+                    "Requires 'maximum' > 'minimum'.");
+        }
+        double binWidth = (maximum - minimum) / binCount;
+        this.boundaries = new double[binCount + 1];
+        for (int i = 0; i < binCount; i++) {
+            this.boundaries[i] = minimum + i * binWidth;
+        }
+        // make sure the last boundary is exactly the maximum
+        this.boundaries[binCount] = maximum;
+        this.uniform = true;
+        this.scale = binCount / (maximum - minimum);
+        this.counts = new double[binCount];
+    }
+
+    /**
+     * Creates a new histogram with bins defined by the given boundaries.
+     *
+     * @param boundaries  the bin boundaries, in ascending order ({@code null}
+     *     not permitted, at least two values required).  The array is
+     *     copied.
+     */
+    public StreamingHistogram(double[] boundaries) {
+        Args.nullNotPermitted(boundaries, "boundaries");
+        if (boundaries.length < 2) {
+            throw new IllegalArgumentException(
+                    "Requires at least two boundaries.");
+        }
+        for (int i = 1; i < boundaries.length; i++) {
+            if (!(boundaries[i] > boundaries[i - 1])) {
+                throw new IllegalArgumentException(
+                        "The boundaries must be in ascending order.");
+            }
+        }
+        this.boundaries = (double[]) boundaries.clone();
+        this.uniform = false;
+        this.counts = new double[boundaries.length - 1];
+    }
+
+    /**
+     * Returns the number of bins.
+     *
+     * @return The number of bins.
+     */
+    public int getBinCount() {
+        return this.counts.length;
+    }
+
+    /**
+     * Returns the lower bound of a bin.
+     *
+     * @param bin  the bin index.
+     *
+     * @return The lower bound.
+     */
+    public double getBinStart(int bin) {
+        return this.boundaries[bin];
+    }
+
+    /**
+     * Returns the upper bound of a bin.
+     *
+     * @param bin  the bin index.
+     *
+     * @return The upper bound.
+     */
+    public double getBinEnd(int bin) {
+        return this.boundaries[bin + 1];
+    }
+
+    /**
+     * Returns the index of the bin that a value is assigned to, or
+     * {@code -1} if the value is {@code NaN}.
+     *
+     * @param value  the value.
+     *
+     * @return The bin index.
+     */
+    public int getBinIndex(double value) {
+        if (Double.isNaN(value)) {
+            return -1;
+        }
+        int last = this.counts.length - 1;
+        if (this.uniform) {
+            if (value >= this.boundaries[last + 1]) {
+                return last;
+            }
+            double offset = value - this.boundaries[0];
+            if (offset < 0.0) {
+                return 0;
+            }
+            // rounding can give an index one past the end
+            int index = (int) (offset * this.scale);
+            return Math.min(index, last);
+        }
+        int index = Arrays.binarySearch(this.boundaries, value);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return Math.max(0, Math.min(index, last));
+    }
+
+    /**
+     * Returns the count for a bin.
+     *
+     * @param bin  the bin index.
+     *
+     * @return The count.
+     */
+    public synchronized double getCount(int bin) {
+        return this.counts[bin];
+    }
+
+    /**
+     * Returns the total count for all bins.
+     *
+     * @return The total count.
+     */
+    public synchronized double getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Adds an observation.  {@code NaN} values are ignored.
+     *
+     * @param value  the value.
+     */
+    public void add(double value) {
+        add(value, 1.0);
+    }
+
+    /**
+     * Adds an observation with the given weight.  {@code NaN} values are
+     * ignored.
+     *
+     * @param value  the value.
+     * @param weight  the weight.
+     */
+    public synchronized void add(double value, double weight) {
+        int bin = getBinIndex(value);
+        if (bin >= 0) {
+            this.counts[bin] += weight;
+            this.total += weight;
+        }
+    }
+
+    /**
+     * Adds the first {@code count} values from an array.
+     *
+     * @param values  the values ({@code null} not permitted).
+     * @param count  the number of values to add.
+     */
+    public synchronized void add(double[] values, int count) {
+        Args.nullNotPermitted(values, "values");
+        for (int i = 0; i < count; i++) {
+            int bin = getBinIndex(values[i]);
+            if (bin >= 0) {
+                this.counts[bin] += 1.0;
+                this.total += 1.0;
+            }
+        }
+    }
+
+    /**
+     * Adds the counts from another histogram with the same bins.
+     *
+     * @param histogram  the histogram ({@code null} not permitted).
+     */
+    public void add(StreamingHistogram histogram) {
+        Args.nullNotPermitted(histogram, "histogram");
+        add(histogram, 1.0);
+    }
+
+    /**
+     * Adds the counts from another histogram with the same bins, multiplied
+     * by a factor (use -1.0 to subtract the counts).
+     *
+     * @param histogram  the histogram ({@code null} not permitted).
+     * @param factor  the factor.
+     */
+    void add(StreamingHistogram histogram, double factor) {
+        if (!hasSameBins(histogram)) {
+            throw new IllegalArgumentException(
+                    "The histograms do not have the same bins.");
+        }
+        double[] c;
+        synchronized (histogram) {
+            c = (double[]) histogram.counts.clone();
+        }
+        synchronized (this) {
+            double sum = 0.0;
+            for (int i = 0; i < c.length; i++) {
+                // rounding could leave a small negative count when
+                // subtracting
+                this.counts[i] = Math.max(0.0, this.counts[i] + factor * c[i]);
+                sum += this.counts[i];
+            }
+            this.total = sum;
+        }
+    }
+
+    /**
+     * Returns {@code true} if this histogram has the same bins as another
+     * histogram, and {@code false} otherwise.
+     *
+     * @param histogram  the histogram ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean hasSameBins(StreamingHistogram histogram) {
+        return Arrays.equals(this.boundaries, histogram.boundaries);
+    }
+
+    /**
+     * Multiplies all the counts by a factor.  This can be used to apply an
+     * exponential decay, so that the histogram is weighted towards recent
+     * observations.
+     *
+     * @param factor  the factor (must be in the range 0.0 to 1.0).
+     */
+    public synchronized void scale(double factor) {
+        if (!(factor >= 0.0 && factor <= 1.0)) {
+            throw new IllegalArgumentException(
+                    "Requires 'factor' in the range 0.0 to 1.0.");
+        }
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] *= factor;
+        }
+        this.total *= factor;
+    }
+
+    /**
+     * Resets all the counts to zero.
+     */
+    public synchronized void clear() {
+        Arrays.fill(this.counts, 0.0);
+        this.total = 0.0;
+    }
+
+    /**
+     * Returns a copy of this histogram and resets the counts in this
+     * histogram to zero, in a single step.
+     *
+     * @return A copy of the histogram (never {@code null}).
+     */
+    public synchronized StreamingHistogram drain() {
+        StreamingHistogram result = copy();
+        clear();
+        return result;
+    }
+
+    /**
+     * Returns a copy of this histogram.
+     *
+     * @return A copy.
+     */
+    private synchronized StreamingHistogram copy() {
+        try {
+            return (StreamingHistogram) clone();
+        }
+        catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);  // can't happen
+        }
+    }
+
+    /**
+     * Tests this histogram for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof StreamingHistogram)) {
+            return false;
+        }
+        StreamingHistogram that = (StreamingHistogram) obj;
+        if (this.uniform != that.uniform) {
+            return false;
+        }
+        if (!Arrays.equals(this.boundaries, that.boundaries)) {
+            return false;
+        }
+        double[] c = that.copy().counts;
+        synchronized (this) {
+            return Arrays.equals(this.counts, c);
+        }
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = 193;
+        result = 37 * result + Arrays.hashCode(this.boundaries);
+        synchronized (this) {
+            result = 37 * result + Arrays.hashCode(this.counts);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a clone of the histogram.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public synchronized Object clone() throws CloneNotSupportedException {
+        StreamingHistogram clone = (StreamingHistogram) super.clone();
+        clone.counts = (double[]) this.counts.clone();
+        return clone;
+    }
+
+}
@@ -0,0 +1,779 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import org.jfree.chart.util.ObjectUtils;
+import org.jfree.chart.util.Args;
+import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeType;
+import org.jfree.data.general.SeriesDatasetChangeEvent;
+import org.jfree.data.xy.AbstractIntervalXYDataset;
+import org.jfree.data.xy.IntervalXYDataset;
+
+/**
+ * A histogram dataset that accepts observations one at a time (or in
+ * batches) rather than as a complete array, so that the distribution of a
+ * stream of values can be charted without storing the values.  Each series
+ * is backed by a {@link StreamingHistogram}, so the cost of adding an
+ * observation does not depend on the number of bins (for bins of equal
+ * width) or grows with the logarithm of the number of bins (for custom
+ * bins).
+ * <p>
+ * Older observations can be discarded in two ways:
+ * <ul>
+ * <li>{@link #decay(double)} multiplies all counts by a factor, giving an
+ * exponentially weighted histogram;</li>
+ * <li>with a window size greater than zero (see
+ * {@link #setWindowSize(int)}) the observations are grouped into slices,
+ * each call to {@link #advanceWindow()} starts a new slice and only the
+ * most recent slices are counted.</li>
+ * </ul>
+ *
+ * @see HistogramDataset
+ *
+ * @since 1.5.1
+ */
+public class StreamingHistogramDataset extends AbstractIntervalXYDataset
+        implements IntervalXYDataset, Cloneable, PublicCloneable,
+                   Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2706712347628813912L;
+
+    /** The series (instances of {@link HistogramSeries}). */
+    private List series;
+
+    /** The histogram type. */
+    private HistogramType type;
+
+    /** The number of slices in the window (zero for no window). */
+    private int windowSize;
+
+    /**
+     * Creates a new (empty) dataset with a default type of
+     * {@link HistogramType}.FREQUENCY.
+     */
+    public StreamingHistogramDataset() {
+        this.series = new ArrayList();
+        this.type = HistogramType.FREQUENCY;
+        this.windowSize = 0;
+    }
+
+    /**
+     * Returns the histogram type.
+     *
+     * @return The type (never {@code null}).
+     */
+    public HistogramType getType() {
+        return this.type;
+    }
+
+    /**
+     * Sets the histogram type and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.
+     *
+     * @param type  the type ({@code null} not permitted).
+     */
+    public void setType(HistogramType type) {
+        Args.nullNotPermitted(type, "type");
+        this.type = type;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the number of slices that are counted, or zero if all
+     * observations are counted.
+     *
+     * @return The window size.
+     *
+     * @see #advanceWindow()
+     */
+    public int getWindowSize() {
+        return this.windowSize;
+    }
+
+    /**
+     * Sets the number of slices that are counted (zero to count all
+     * observations) and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.  Changing the window size discards the slices
+     * recorded so far (the current counts are kept as the first slice).
+     *
+     * @param size  the window size (zero or more).
+     *
+     * @see #advanceWindow()
+     */
+    public void setWindowSize(int size) {
+        Args.requireNonNegative(size, "size");
+        this.windowSize = size;
+        for (int s = 0; s < this.series.size(); s++) {
+            getHistogramSeries(s).resetSlices();
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Adds a series with bins of equal width and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param minimum  the lower bound of the first bin.
+     * @param maximum  the upper bound of the last bin.
+     * @param binCount  the number of bins (must be at least 1).
+     */
+    public void addSeries(Comparable key, double minimum, double maximum,
+            int binCount) {
+        addSeries(key, new StreamingHistogram(minimum, maximum, binCount));
+    }
+
+    /**
+     * Adds a series with custom bins and sends a {@link DatasetChangeEvent}
+     * to all registered listeners.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param boundaries  the bin boundaries in ascending order ({@code null}
+     *     not permitted).
+     */
+    public void addSeries(Comparable key, double[] boundaries) {
+        addSeries(key, new StreamingHistogram(boundaries));
+    }
+
+    /**
+     * Adds a series with the bins (and counts) from a histogram and sends
+     * a {@link DatasetChangeEvent} to all registered listeners.  The
+     * histogram is copied.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param histogram  the histogram ({@code null} not permitted).
+     */
+    public void addSeries(Comparable key, StreamingHistogram histogram) {
+        Args.nullNotPermitted(key, "key");
+        Args.nullNotPermitted(histogram, "histogram");
+        if (indexOf(key) >= 0) {
+            throw new IllegalArgumentException(
+                    "This dataset already contains a series with the key "
+                    + key);
+        }
+        this.series.add(new HistogramSeries(key,
+                HistogramSeries.copy(histogram)));
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns a copy of the histogram for a series (with the counts for
+     * the current window).  This can be used to create histograms with the
+     * same bins for worker threads, see
+     * {@link #merge(int, StreamingHistogram)}.
+     *
+     * @param series  the series index.
+     *
+     * @return A copy of the histogram.
+     */
+    public StreamingHistogram getHistogram(int series) {
+        return HistogramSeries.copy(getHistogramSeries(series).total);
+    }
+
+    /**
+     * Adds an observation to a series and sends a
+     * {@link SeriesDatasetChangeEvent} to all registered listeners.
+     *
+     * @param series  the series index.
+     * @param value  the value.
+     */
+    public void addObservation(int series, double value) {
+        addObservation(series, value, true);
+    }
+
+    /**
+     * Adds an observation to a series and, if requested, sends a
+     * {@link SeriesDatasetChangeEvent} to all registered listeners.
+     *
+     * @param series  the series index.
+     * @param value  the value.
+     * @param notify  notify listeners?
+     */
+    public void addObservation(int series, double value, boolean notify) {
+        HistogramSeries hs = getHistogramSeries(series);
+        int bin = hs.total.getBinIndex(value);
+        if (bin < 0) {
+            return;
+        }
+        hs.add(value);
+        if (notify) {
+            if (this.type == HistogramType.FREQUENCY) {
+                fireBinsChanged(series, bin, bin);
+            }
+            else {
+                fireBinsChanged(series, 0, hs.total.getBinCount() - 1);
+            }
+        }
+    }
+
+    /**
+     * Adds the first {@code count} values from an array to a series and
+     * sends a single {@link SeriesDatasetChangeEvent} to all registered
+     * listeners.
+     *
+     * @param series  the series index.
+     * @param values  the values ({@code null} not permitted).
+     * @param count  the number of values.
+     */
+    public void addObservations(int series, double[] values, int count) {
+        HistogramSeries hs = getHistogramSeries(series);
+        hs.add(values, count);
+        fireBinsChanged(series, 0, hs.total.getBinCount() - 1);
+    }
+
+    /**
+     * Adds the counts from a histogram (for example, one filled by a worker
+     * thread) to a series and sends a {@link SeriesDatasetChangeEvent} to
+     * all registered listeners.
+     *
+     * @param series  the series index.
+     * @param histogram  the histogram ({@code null} not permitted, must have
+     *     the same bins as the series).
+     *
+     * @see StreamingHistogram#drain()
+     */
+    public void merge(int series, StreamingHistogram histogram) {
+        Args.nullNotPermitted(histogram, "histogram");
+        HistogramSeries hs = getHistogramSeries(series);
+        hs.merge(histogram);
+        fireBinsChanged(series, 0, hs.total.getBinCount() - 1);
+    }
+
+    /**
+     * Multiplies the counts for all series by a factor and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param factor  the factor (in the range 0.0 to 1.0).
+     */
+    public void decay(double factor) {
+        for (int s = 0; s < this.series.size(); s++) {
+            getHistogramSeries(s).scale(factor);
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Starts a new slice for all series, discarding the oldest slice if the
+     * window is full, and sends a {@link DatasetChangeEvent} to all
+     * registered listeners.  This method does nothing if the window size is
+     * zero.
+     */
+    public void advanceWindow() {
+        if (this.windowSize == 0) {
+            return;
+        }
+        for (int s = 0; s < this.series.size(); s++) {
+            getHistogramSeries(s).advance(this.windowSize);
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Resets the counts for all series to zero and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     */
+    public void clear() {
+        for (int s = 0; s < this.series.size(); s++) {
+            HistogramSeries hs = getHistogramSeries(s);
+            hs.total.clear();
+            hs.resetSlices();
+        }
+        fireDatasetChanged();
+    }
+
+    /**
+     * Sends a {@link SeriesDatasetChangeEvent} for a range of bins (if the
+     * notify flag is set).
+     *
+     * @param series  the series index.
+     * @param first  the first bin.
+     * @param last  the last bin.
+     */
+    private void fireBinsChanged(int series, int first, int last) {
+        if (getNotify()) {
+            notifyListeners(new SeriesDatasetChangeEvent(this, this,
+                    DatasetChangeType.ITEMS_UPDATED, series, first, last));
+        }
+    }
+
+    /**
+     * Returns the series data for a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The series data.
+     */
+    private HistogramSeries getHistogramSeries(int series) {
+        return (HistogramSeries) this.series.get(series);
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.series.size();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The series key.
+     */
+    @Override
+    public Comparable getSeriesKey(int series) {
+        return getHistogramSeries(series).key;
+    }
+
+    /**
+     * Returns the order of the domain (or X) values returned by the dataset.
+     *
+     * @return The order (never {@code null}).
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of items (bins) in a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return getHistogramSeries(series).total.getBinCount();
+    }
+
+    /**
+     * Returns the x-value (the middle of the bin) for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        StreamingHistogram h = getHistogramSeries(series).total;
+        return (h.getBinStart(item) + h.getBinEnd(item)) / 2.0;
+    }
+
+    /**
+     * Returns the x-value (the middle of the bin) for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return new Double(getXValue(series, item));
+    }
+
+    /**
+     * Returns the y-value for an item (calculated to take into account the
+     * histogram type).
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        StreamingHistogram h = getHistogramSeries(series).total;
+        double count = h.getCount(item);
+        if (this.type == HistogramType.FREQUENCY) {
+            return count;
+        }
+        double total = h.getTotal();
+        if (this.type == HistogramType.RELATIVE_FREQUENCY) {
+            return count / total;
+        }
+        else if (this.type == HistogramType.SCALE_AREA_TO_1) {
+            double binWidth = h.getBinEnd(item) - h.getBinStart(item);
+            return count / (binWidth * total);
+        }
+        else { // pretty sure this shouldn't ever happen
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Returns the y-value for an item (calculated to take into account the
+     * histogram type).
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public Number getY(int series, int item) {
+        return new Double(getYValue(series, item));
+    }
+
+    /**
+     * Returns the start value for a bin.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The start value.
+     */
+    @Override
+    public double getStartXValue(int series, int item) {
+        return getHistogramSeries(series).total.getBinStart(item);
+    }
+
+    /**
+     * Returns the start value for a bin.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The start value.
+     */
+    @Override
+    public Number getStartX(int series, int item) {
+        return new Double(getStartXValue(series, item));
+    }
+
+    /**
+     * Returns the end value for a bin.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The end value.
+     */
+    @Override
+    public double getEndXValue(int series, int item) {
+        return getHistogramSeries(series).total.getBinEnd(item);
+    }
+
+    /**
+     * Returns the end value for a bin.
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The end value.
+     */
+    @Override
+    public Number getEndX(int series, int item) {
+        return new Double(getEndXValue(series, item));
+    }
+
+    /**
+     * Returns the start y-value for a bin (which is the same as the
+     * y-value).
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public Number getStartY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the end y-value for a bin (which is the same as the y-value).
+     *
+     * @param series  the series index.
+     * @param item  the item (bin) index.
+     *
+     * @return The y-value.
+     */
+    @Override
+    public Number getEndY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.
+     *
+     * @param obj  the object to test against ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof StreamingHistogramDataset)) {
+            return false;
+        }
+        StreamingHistogramDataset that = (StreamingHistogramDataset) obj;
+        if (!ObjectUtils.equal(this.type, that.type)) {
+            return false;
+        }
+        if (this.windowSize != that.windowSize) {
+            return false;
+        }
+        if (!ObjectUtils.equal(this.series, that.series)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a clone of the dataset.
+     *
+     * @return A clone of the dataset.
+     *
+     * @throws CloneNotSupportedException if the object cannot be cloned.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        StreamingHistogramDataset clone
+                = (StreamingHistogramDataset) super.clone();
+        clone.series = new ArrayList(this.series.size());
+        for (int s = 0; s < this.series.size(); s++) {
+            clone.series.add(getHistogramSeries(s).clone());
+        }
+        return clone;
+    }
+
+    /**
+     * The data for one series: the histogram for the whole window plus (if
+     * a window is in use) a histogram for each slice.
+     */
+    private static class HistogramSeries implements Cloneable, Serializable {
+
+        /** The series key. */
+        Comparable key;
+
+        /** The counts for all slices in the window. */
+        StreamingHistogram total;
+
+        /**
+         * The slices, oldest first (empty if no window is in use, otherwise
+         * the last slice is the current slice).
+         */
+        LinkedList slices;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param key  the series key.
+         * @param histogram  the histogram.
+         */
+        HistogramSeries(Comparable key, StreamingHistogram histogram) {
+            this.key = key;
+            this.total = histogram;
+            this.slices = new LinkedList();
+        }
+
+        /**
+         * Returns the current slice, or {@code null} if no window is in
+         * use.
+         *
+         * @return The current slice.
+         */
+        private StreamingHistogram currentSlice() {
+            return this.slices.isEmpty() ? null
+                    : (StreamingHistogram) this.slices.getLast();
+        }
+
+        /**
+         * Adds an observation.
+         *
+         * @param value  the value.
+         */
+        void add(double value) {
+            this.total.add(value);
+            StreamingHistogram slice = currentSlice();
+            if (slice != null) {
+                slice.add(value);
+            }
+        }
+
+        /**
+         * Adds the first {@code count} values from an array.
+         *
+         * @param values  the values.
+         * @param count  the number of values.
+         */
+        void add(double[] values, int count) {
+            this.total.add(values, count);
+            StreamingHistogram slice = currentSlice();
+            if (slice != null) {
+                slice.add(values, count);
+            }
+        }
+
+        /**
+         * Adds the counts from a histogram.
+         *
+         * @param histogram  the histogram.
+         */
+        void merge(StreamingHistogram histogram) {
+            this.total.add(histogram);
+            StreamingHistogram slice = currentSlice();
+            if (slice != null) {
+                slice.add(histogram);
+            }
+        }
+
+        /**
+         * Multiplies all counts by a factor.
+         *
+         * @param factor  the factor.
+         */
+        void scale(double factor) {
+            this.total.scale(factor);
+            for (int i = 0; i < this.slices.size(); i++) {
+                ((StreamingHistogram) this.slices.get(i)).scale(factor);
+            }
+        }
+
+        /**
+         * Discards the slices.  The next call to {@link #advance(int)} will
+         * treat the current counts as the first slice.
+         */
+        void resetSlices() {
+            this.slices.clear();
+        }
+
+        /**
+         * Starts a new slice, discarding the oldest slice(s) if there are
+         * more than {@code windowSize}.
+         *
+         * @param windowSize  the window size.
+         */
+        void advance(int windowSize) {
+            if (this.slices.isEmpty()) {
+                // the counts so far make up the first slice
+                this.slices.add(copy(this.total));
+            }
+            StreamingHistogram next = copy(this.total);
+            next.clear();
+            this.slices.addLast(next);
+            while (this.slices.size() > windowSize) {
+                StreamingHistogram oldest
+                        = (StreamingHistogram) this.slices.removeFirst();
+                this.total.add(oldest, -1.0);
+            }
+        }
+
+        /**
+         * Returns a copy of a histogram.
+         *
+         * @param histogram  the histogram.
+         *
+         * @return The copy.
+         */
+        static StreamingHistogram copy(StreamingHistogram histogram) {
+            try {
+                return (StreamingHistogram) histogram.clone();
+            }
+            catch (CloneNotSupportedException e) {
+                throw new RuntimeException(e);  // can't happen
+            }
+        }
+
+        /**
+         * Tests this instance for equality with an arbitrary object.
+         *
+         * @param obj  the object ({@code null} permitted).
+         *
+         * @return A boolean.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof HistogramSeries)) {
+                return false;
+            }
+            HistogramSeries that = (HistogramSeries) obj;
+            if (!this.key.equals(that.key)) {
+                return false;
+            }
+            if (!this.total.equals(that.total)) {
+                return false;
+            }
+            return this.slices.equals(that.slices);
+        }
+
+        /**
+         * Returns a hash code.
+         *
+         * @return A hash code.
+         */
+        @Override
+        public int hashCode() {
+            return 37 * this.key.hashCode() + this.total.hashCode();
+        }
+
+        /**
+         * Returns a clone (the histograms are copied).
+         *
+         * @return A clone.
+         *
+         * @throws CloneNotSupportedException if there is a problem cloning.
+         */
+        @Override
+        public Object clone() throws CloneNotSupportedException {
+            HistogramSeries clone = (HistogramSeries) super.clone();
+            clone.total = (StreamingHistogram) this.total.clone();
+            clone.slices = new LinkedList();
+            for (int i = 0; i < this.slices.size(); i++) {
+                clone.slices.add(((StreamingHistogram) this.slices.get(i))
+                        .clone());
+            }
+            return clone;
+        }
+
+    }
+
+}
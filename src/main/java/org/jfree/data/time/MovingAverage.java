@@ -57,6 +57,10 @@ import org.jfree.data.xy.XYSeriesCollection;
 
 /**
  * A utility class for calculating moving averages of time series data.
+ * The methods in this class create a new series from a snapshot of the
+ * source data.  To maintain a moving average that is updated as the source
+ * series changes, see {@link TimeSeriesMovingAverage} and
+ * {@link XYSeriesMovingAverage}.
  */
 public class MovingAverage {
 
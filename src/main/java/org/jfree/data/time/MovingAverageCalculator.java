@@ -0,0 +1,363 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.io.Serializable;
+import org.jfree.chart.util.Args;
+
+/**
+ * A running moving average calculator.  Values are supplied in increasing
+ * order of their position (a serial index, an item ordinal or an x-value)
+ * and the average over the trailing window is available after each step in
+ * constant time.  The window contains the values with a position {@code p}
+ * such that {@code p > current - windowLength}, which matches the window
+ * used by the methods in {@link MovingAverage}.
+ * <p>
+ * The calculator keeps running sums (rather than re-summing the window for
+ * each value), so the cost per value is O(1) regardless of the window
+ * length.  To limit rounding drift the sums are recomputed from the
+ * retained values once for every full turn of the window.
+ *
+ * @since 1.5.1
+ */
+public class MovingAverageCalculator implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2468379431296711345L;
+
+    /** The initial capacity of the window buffer. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The average type. */
+    private MovingAverageType type;
+
+    /** The window length (in position units). */
+    private double windowLength;
+
+    /** The smoothing factor (used for the exponential average only). */
+    private double alpha;
+
+    /** Positions of the values in the window (circular buffer). */
+    private double[] positions;
+
+    /** The values in the window (circular buffer). */
+    private double[] values;
+
+    /** The index of the oldest value in the circular buffer. */
+    private int head;
+
+    /** The number of values in the window. */
+    private int count;
+
+    /** The position of the most recent step. */
+    private double current;
+
+    /** A flag that indicates whether or not any step has been taken. */
+    private boolean started;
+
+    /** The running sum of the values in the window. */
+    private double sum;
+
+    /**
+     * The running sum of {@code (p - current) * v} over the window, used
+     * for the weighted average.
+     */
+    private double offsetProductSum;
+
+    /** The running sum of {@code (p - current)} over the window. */
+    private double offsetSum;
+
+    /** The number of values evicted since the sums were last recomputed. */
+    private int evictions;
+
+    /** The exponential average ({@code NaN} before the first value). */
+    private double ema;
+
+    /** The exponential average before the most recent step. */
+    private double previousEma;
+
+    /** The position before the most recent step. */
+    private double previousPosition;
+
+    /**
+     * Creates a new calculator.
+     *
+     * @param type  the average type ({@code null} not permitted).
+     * @param windowLength  the window length in position units (must be
+     *     positive).
+     */
+    public MovingAverageCalculator(MovingAverageType type,
+            double windowLength) {
+        Args.nullNotPermitted(type, "type");
+        if (!(windowLength > 0.0)) {
+            throw new IllegalArgumentException(
+                    "Requires 'windowLength' > 0.0.");
+        }
+        this.type = type;
+        this.windowLength = windowLength;
+        this.alpha = 2.0 / (windowLength + 1.0);
+        this.positions = new double[INITIAL_CAPACITY];
+        this.values = new double[INITIAL_CAPACITY];
+        reset();
+    }
+
+    /**
+     * Returns the average type.
+     *
+     * @return The average type (never {@code null}).
+     */
+    public MovingAverageType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the window length.
+     *
+     * @return The window length.
+     */
+    public double getWindowLength() {
+        return this.windowLength;
+    }
+
+    /**
+     * Returns the number of (non-missing) values currently in the window.
+     * For the exponential average this is always zero, since no window
+     * needs to be retained.
+     *
+     * @return The value count.
+     */
+    public int getValueCount() {
+        return this.count;
+    }
+
+    /**
+     * Clears all state so that the calculator can be reused.
+     */
+    public void reset() {
+        this.head = 0;
+        this.count = 0;
+        this.current = Double.NaN;
+        this.started = false;
+        this.sum = 0.0;
+        this.offsetProductSum = 0.0;
+        this.offsetSum = 0.0;
+        this.evictions = 0;
+        this.ema = Double.NaN;
+        this.previousEma = Double.NaN;
+        this.previousPosition = Double.NaN;
+    }
+
+    /**
+     * Advances the calculator to {@code position} and adds {@code value}.
+     * A {@code NaN} value is treated as missing: the window still advances
+     * but nothing is added to it.
+     *
+     * @param position  the position (must be greater than the position of
+     *     the previous step).
+     * @param value  the value ({@code NaN} for a missing value).
+     */
+    public void add(double position, double value) {
+        if (this.started && !(position > this.current)) {
+            throw new IllegalArgumentException("Requires 'position' ("
+                    + position + ") > the current position (" + this.current
+                    + ").");
+        }
+        this.previousPosition = this.current;
+        this.previousEma = this.ema;
+        if (this.type == MovingAverageType.EXPONENTIAL) {
+            if (!Double.isNaN(value)) {
+                if (Double.isNaN(this.ema)) {
+                    this.ema = value;
+                }
+                else {
+                    double decay = Math.pow(1.0 - this.alpha,
+                            position - this.current);
+                    this.ema = decay * this.ema + (1.0 - decay) * value;
+                }
+            }
+            this.current = position;
+            this.started = true;
+            return;
+        }
+        if (this.started) {
+            double delta = position - this.current;
+            this.offsetProductSum -= delta * this.sum;
+            this.offsetSum -= delta * this.count;
+        }
+        this.current = position;
+        this.started = true;
+        double limit = position - this.windowLength;
+        while (this.count > 0 && this.positions[this.head] <= limit) {
+            evictOldest();
+        }
+        if (!Double.isNaN(value)) {
+            append(position, value);
+        }
+        if (this.evictions > this.positions.length) {
+            recomputeSums();
+        }
+    }
+
+    /**
+     * Replaces the value supplied at the most recent step (this is used
+     * when the last data item in a source series is updated in place).
+     *
+     * @param value  the new value ({@code NaN} for a missing value).
+     */
+    public void replaceLast(double value) {
+        if (!this.started) {
+            throw new IllegalStateException("No value has been added.");
+        }
+        if (this.type == MovingAverageType.EXPONENTIAL) {
+            double position = this.current;
+            this.ema = this.previousEma;
+            this.current = this.previousPosition;
+            this.started = !Double.isNaN(this.previousPosition);
+            add(position, value);
+            return;
+        }
+        if (this.count > 0) {
+            int tail = (this.head + this.count - 1) % this.positions.length;
+            if (this.positions[tail] == this.current) {
+                // the offset of the last value is zero, so it makes no
+                // contribution to the offset sums
+                this.sum -= this.values[tail];
+                this.count--;
+            }
+        }
+        if (!Double.isNaN(value)) {
+            append(this.current, value);
+        }
+    }
+
+    /**
+     * Returns the current average, or {@code NaN} if there are no values
+     * in the window.
+     *
+     * @return The average.
+     */
+    public double getAverage() {
+        switch (this.type) {
+            case EXPONENTIAL:
+                return this.ema;
+            case WEIGHTED:
+                if (this.count == 0) {
+                    return Double.NaN;
+                }
+                // each value has weight (windowLength + offset), where the
+                // offset is (p - current) <= 0
+                double numerator = this.windowLength * this.sum
+                        + this.offsetProductSum;
+                double denominator = this.windowLength * this.count
+                        + this.offsetSum;
+                return numerator / denominator;
+            default:
+                if (this.count == 0) {
+                    return Double.NaN;
+                }
+                return this.sum / this.count;
+        }
+    }
+
+    /**
+     * Appends a value at the current position (where the offset is zero).
+     *
+     * @param position  the position.
+     * @param value  the value.
+     */
+    private void append(double position, double value) {
+        if (this.count == this.positions.length) {
+            grow();
+        }
+        int tail = (this.head + this.count) % this.positions.length;
+        this.positions[tail] = position;
+        this.values[tail] = value;
+        this.count++;
+        this.sum += value;
+    }
+
+    /**
+     * Removes the oldest value from the window.
+     */
+    private void evictOldest() {
+        double p = this.positions[this.head];
+        double v = this.values[this.head];
+        double offset = p - this.current;
+        this.sum -= v;
+        this.offsetProductSum -= offset * v;
+        this.offsetSum -= offset;
+        this.head = (this.head + 1) % this.positions.length;
+        this.count--;
+        this.evictions++;
+        if (this.count == 0) {
+            this.sum = 0.0;
+            this.offsetProductSum = 0.0;
+            this.offsetSum = 0.0;
+        }
+    }
+
+    /**
+     * Recomputes the running sums from the values in the window.
+     */
+    private void recomputeSums() {
+        double s = 0.0;
+        double ops = 0.0;
+        double os = 0.0;
+        int capacity = this.positions.length;
+        for (int i = 0; i < this.count; i++) {
+            int index = (this.head + i) % capacity;
+            double offset = this.positions[index] - this.current;
+            s += this.values[index];
+            ops += offset * this.values[index];
+            os += offset;
+        }
+        this.sum = s;
+        this.offsetProductSum = ops;
+        this.offsetSum = os;
+        this.evictions = 0;
+    }
+
+    /**
+     * Doubles the capacity of the window buffer.
+     */
+    private void grow() {
+        int capacity = this.positions.length;
+        double[] p = new double[capacity * 2];
+        double[] v = new double[capacity * 2];
+        for (int i = 0; i < this.count; i++) {
+            int index = (this.head + i) % capacity;
+            p[i] = this.positions[index];
+            v[i] = this.values[index];
+        }
+        this.positions = p;
+        this.values = v;
+        this.head = 0;
+    }
+
+}
@@ -0,0 +1,52 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.time;
+
+/**
+ * The unit used to measure the length of a moving average window.
+ *
+ * @since 1.5.1
+ */
+public enum MovingAverageWindowType {
+
+    /**
+     * The window spans a number of periods along the domain axis (time
+     * periods for a {@link TimeSeries}, an x-value distance for an
+     * {@link org.jfree.data.xy.XYSeries}), irrespective of how many data
+     * items fall within it.
+     */
+    PERIODS,
+
+    /**
+     * The window spans a number of data items, irrespective of their 
+     * domain values.
+     */
+    POINTS
+
+}
@@ -106,6 +106,7 @@ import org.jfree.chart.util.ObjectUtils;
 
 import org.jfree.chart.util.Args;
 import org.jfree.data.Range;
+import org.jfree.data.general.DatasetChangeType;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
@@ -648,7 +649,10 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 
     /**
      * Adds a data item to the series and sends a {@link SeriesChangeEvent} to
-     * all registered listeners.
+     * all registered listeners.  Unless the maximum item count or age forces
+     * older items out of the series, the event reports the items from the
+     * new item onwards as appended (see
+     * {@link DatasetChangeType#ITEMS_APPENDED}).
      *
      * @param item  the (timeperiod, value) pair ({@code null} not permitted).
      * @param notify  notify listeners?
@@ -674,6 +678,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         // make the change (if it's not a duplicate time period)...
         boolean added = false;
         int count = getItemCount();
+        int index = count;
         if (count == 0) {
             this.data.add(item);
             added = true;
@@ -685,9 +690,10 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
                 added = true;
             }
             else {
-                int index = Collections.binarySearch(this.data, item);
+                index = Collections.binarySearch(this.data, item);
                 if (index < 0) {
-                    this.data.add(-index - 1, item);
+                    index = -index - 1;
+                    this.data.add(index, item);
                     added = true;
                 }
                 else {
@@ -714,7 +720,13 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
                                      // don't notify anyone, because that
                                      // happens next anyway...
             if (notify) {
-                fireSeriesChanged();
+                if (getItemCount() == count + 1) {
+                    fireSeriesChanged(DatasetChangeType.ITEMS_APPENDED, index,
+                            count);
+                }
+                else {
+                    fireSeriesChanged();
+                }
             }
         }
 
@@ -0,0 +1,320 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.util.List;
+import org.jfree.chart.util.Args;
+import org.jfree.data.general.SeriesChangeEvent;
+import org.jfree.data.general.SeriesChangeListener;
+
+/**
+ * A moving average of a {@link TimeSeries} that is kept up to date as the
+ * source series changes.  The average is published as a regular
+ * {@code TimeSeries} (see {@link #getSeries()}) that can be added to a
+ * {@link TimeSeriesCollection} alongside the source.
+ * <p>
+ * Unlike the methods in {@link MovingAverage}, which re-sum the full window
+ * for every item, this class listens for {@link SeriesChangeEvent}s from the
+ * source and updates the average incrementally:  appending an item to the
+ * source (including when the source discards its oldest items because of
+ * its maximum item count or age) and updating the value of the most recent
+ * item both cost O(1) per item.  Any other change that can be detected
+ * (for example, the insertion of an item before the most recent one or the
+ * removal of the most recent item) triggers a full recalculation.  Changes
+ * to the values of earlier items cannot be detected from the event alone,
+ * so after such edits you should call {@link #recalculate()}.
+ * <p>
+ * The result series copies the maximum item count and maximum item age of
+ * the source series at the time this object is created.
+ *
+ * @since 1.5.1
+ */
+public class TimeSeriesMovingAverage implements SeriesChangeListener {
+
+    /** The source series. */
+    private TimeSeries source;
+
+    /** The series containing the moving average. */
+    private TimeSeries series;
+
+    /** The window type. */
+    private MovingAverageWindowType windowType;
+
+    /** The window size (in periods or points, depending on the type). */
+    private int windowSize;
+
+    /** The calculator. */
+    private MovingAverageCalculator calculator;
+
+    /** The most recent source item processed ({@code null} if none). */
+    private TimeSeriesDataItem lastItem;
+
+    /** The index of {@code lastItem} in the source at the last update. */
+    private int lastIndex;
+
+    /** The value of {@code lastItem} when it was processed. */
+    private double lastValue;
+
+    /** The number of source items processed since the last reset. */
+    private long pointCount;
+
+    /**
+     * Creates a new moving average for the specified source series and
+     * registers it as a listener with the source.
+     *
+     * @param source  the source series ({@code null} not permitted).
+     * @param key  the key for the moving average series ({@code null} not
+     *     permitted).
+     * @param type  the average type ({@code null} not permitted).
+     * @param windowType  the window type ({@code null} not permitted).
+     * @param windowSize  the number of periods or points in the window
+     *     (must be at least 1).
+     */
+    public TimeSeriesMovingAverage(TimeSeries source, Comparable key,
+            MovingAverageType type, MovingAverageWindowType windowType,
+            int windowSize) {
+        Args.nullNotPermitted(source, "source");
+        Args.nullNotPermitted(key, "key");
+        Args.nullNotPermitted(windowType, "windowType");
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Requires 'windowSize' >= 1.");
+        }
+        this.source = source;
+        this.windowType = windowType;
+        this.windowSize = windowSize;
+        this.calculator = new MovingAverageCalculator(type, windowSize);
+        this.series = new TimeSeries(key, source.getDomainDescription(),
+                source.getRangeDescription());
+        this.series.setMaximumItemCount(source.getMaximumItemCount());
+        this.series.setMaximumItemAge(source.getMaximumItemAge());
+        recalculate();
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source series.
+     *
+     * @return The source series (never {@code null}).
+     */
+    public TimeSeries getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the series containing the moving average.  This series is
+     * updated by this object, you should not modify it directly.
+     *
+     * @return The moving average series (never {@code null}).
+     */
+    public TimeSeries getSeries() {
+        return this.series;
+    }
+
+    /**
+     * Returns the average type.
+     *
+     * @return The average type (never {@code null}).
+     */
+    public MovingAverageType getType() {
+        return this.calculator.getType();
+    }
+
+    /**
+     * Returns the window type.
+     *
+     * @return The window type (never {@code null}).
+     */
+    public MovingAverageWindowType getWindowType() {
+        return this.windowType;
+    }
+
+    /**
+     * Returns the window size.
+     *
+     * @return The window size.
+     */
+    public int getWindowSize() {
+        return this.windowSize;
+    }
+
+    /**
+     * Stops listening to the source series.  After this call the moving
+     * average series is no longer updated.
+     */
+    public void dispose() {
+        this.source.removeChangeListener(this);
+    }
+
+    /**
+     * Recalculates the moving average series from all the items in the
+     * source series and sends a single {@link SeriesChangeEvent} to the
+     * listeners of the moving average series.
+     */
+    public void recalculate() {
+        this.calculator.reset();
+        this.lastItem = null;
+        this.lastIndex = -1;
+        this.pointCount = 0;
+        this.series.setNotify(false);
+        try {
+            this.series.clear();
+            List items = this.source.getItems();
+            for (int i = 0; i < items.size(); i++) {
+                append((TimeSeriesDataItem) items.get(i), i);
+            }
+        }
+        finally {
+            this.series.setNotify(true);
+        }
+    }
+
+    /**
+     * Receives notification of a change to the source series and updates
+     * the moving average.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void seriesChanged(SeriesChangeEvent event) {
+        List items = this.source.getItems();
+        int count = items.size();
+        if (this.lastItem == null) {
+            if (count > 0 || !this.series.isEmpty()) {
+                recalculate();
+            }
+            return;
+        }
+        int index = locateLastItem(items);
+        if (index < 0) {
+            recalculate();
+            return;
+        }
+        double value = valueOf(this.lastItem);
+        if (Double.compare(value, this.lastValue) != 0) {
+            this.calculator.replaceLast(value);
+            this.lastValue = value;
+            if (isPublished()) {
+                this.series.addOrUpdate(this.lastItem.getPeriod(),
+                        currentAverage());
+            }
+        }
+        boolean added = false;
+        for (int i = index + 1; i < count; i++) {
+            added = append((TimeSeriesDataItem) items.get(i), i) || added;
+        }
+        this.lastIndex = count - 1;
+        if (added) {
+            this.series.fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Returns the current index of the last processed item in the source,
+     * or -1 if it can no longer be found at or before its previous index.
+     * Items only move towards the start of the list when the source
+     * discards its oldest items, so the search is short in the common case.
+     *
+     * @param items  the source items.
+     *
+     * @return The index.
+     */
+    private int locateLastItem(List items) {
+        int i = Math.min(this.lastIndex, items.size() - 1);
+        while (i >= 0 && items.get(i) != this.lastItem) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Feeds a source item to the calculator and adds the resulting average
+     * to the moving average series (without sending a change event).
+     *
+     * @param item  the source item.
+     * @param index  the index of the item in the source.
+     *
+     * @return A boolean indicating whether an item was added to the moving
+     *     average series.
+     */
+    private boolean append(TimeSeriesDataItem item, int index) {
+        double value = valueOf(item);
+        this.pointCount++;
+        if (this.windowType == MovingAverageWindowType.PERIODS) {
+            this.calculator.add(item.getPeriod().getSerialIndex(), value);
+        }
+        else {
+            this.calculator.add(this.pointCount, value);
+        }
+        this.lastItem = item;
+        this.lastIndex = index;
+        this.lastValue = value;
+        if (isPublished()) {
+            this.series.add(item.getPeriod(), currentAverage(), false);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if an average is published for the most recent
+     * source item.  For windows measured in points, no average is published
+     * until the window has been filled (this matches
+     * {@link MovingAverage#createPointMovingAverage(TimeSeries, String, int)}).
+     *
+     * @return A boolean.
+     */
+    private boolean isPublished() {
+        return this.windowType == MovingAverageWindowType.PERIODS
+                || this.pointCount >= this.windowSize;
+    }
+
+    /**
+     * Returns the current average as a {@code Number}.
+     *
+     * @return The average ({@code null} if there are no values in the
+     *     window).
+     */
+    private Number currentAverage() {
+        double average = this.calculator.getAverage();
+        return Double.isNaN(average) ? null : new Double(average);
+    }
+
+    /**
+     * Returns the value of a data item as a primitive.
+     *
+     * @param item  the item.
+     *
+     * @return The value ({@code NaN} if the value is {@code null}).
+     */
+    private static double valueOf(TimeSeriesDataItem item) {
+        Number n = item.getValue();
+        return n != null ? n.doubleValue() : Double.NaN;
+    }
+
+}
@@ -0,0 +1,285 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.util.List;
+import org.jfree.chart.util.Args;
+import org.jfree.data.general.SeriesChangeEvent;
+import org.jfree.data.general.SeriesChangeListener;
+import org.jfree.data.xy.XYDataItem;
+import org.jfree.data.xy.XYSeries;
+
+/**
+ * A moving average of an {@link XYSeries} that is kept up to date as the
+ * source series changes.  This is the {@code XYSeries} counterpart of
+ * {@link TimeSeriesMovingAverage}, and the same notes about incremental
+ * updates apply.  For windows of type {@link MovingAverageWindowType#PERIODS}
+ * the window length is measured along the x-axis, so the source series must
+ * be sorted and must not allow duplicate x-values.
+ *
+ * @since 1.5.1
+ */
+public class XYSeriesMovingAverage implements SeriesChangeListener {
+
+    /** The source series. */
+    private XYSeries source;
+
+    /** The series containing the moving average. */
+    private XYSeries series;
+
+    /** The window type. */
+    private MovingAverageWindowType windowType;
+
+    /** The window length (an x-distance or a number of points). */
+    private double windowLength;
+
+    /** The calculator. */
+    private MovingAverageCalculator calculator;
+
+    /** The most recent source item processed ({@code null} if none). */
+    private XYDataItem lastItem;
+
+    /** The index of {@code lastItem} in the source at the last update. */
+    private int lastIndex;
+
+    /** The y-value of {@code lastItem} when it was processed. */
+    private double lastValue;
+
+    /** The number of source items processed since the last reset. */
+    private long pointCount;
+
+    /**
+     * Creates a new moving average for the specified source series and
+     * registers it as a listener with the source.
+     *
+     * @param source  the source series ({@code null} not permitted).
+     * @param key  the key for the moving average series ({@code null} not
+     *     permitted).
+     * @param type  the average type ({@code null} not permitted).
+     * @param windowType  the window type ({@code null} not permitted).
+     * @param windowLength  the length of the window, as a distance along
+     *     the x-axis or a number of points depending on the window type
+     *     (must be positive).
+     */
+    public XYSeriesMovingAverage(XYSeries source, Comparable key,
+            MovingAverageType type, MovingAverageWindowType windowType,
+            double windowLength) {
+        Args.nullNotPermitted(source, "source");
+        Args.nullNotPermitted(key, "key");
+        Args.nullNotPermitted(windowType, "windowType");
+        if (windowType == MovingAverageWindowType.PERIODS
+                && (!source.getAutoSort()
+                || source.getAllowDuplicateXValues())) {
+            throw new IllegalArgumentException("The 'source' series must be "
+                    + "sorted with no duplicate x-values.");
+        }
+        this.source = source;
+        this.windowType = windowType;
+        this.windowLength = windowLength;
+        this.calculator = new MovingAverageCalculator(type, windowLength);
+        this.series = new XYSeries(key, source.getAutoSort(),
+                source.getAllowDuplicateXValues());
+        this.series.setMaximumItemCount(source.getMaximumItemCount());
+        recalculate();
+        this.source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source series.
+     *
+     * @return The source series (never {@code null}).
+     */
+    public XYSeries getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the series containing the moving average.  This series is
+     * updated by this object, you should not modify it directly.
+     *
+     * @return The moving average series (never {@code null}).
+     */
+    public XYSeries getSeries() {
+        return this.series;
+    }
+
+    /**
+     * Returns the average type.
+     *
+     * @return The average type (never {@code null}).
+     */
+    public MovingAverageType getType() {
+        return this.calculator.getType();
+    }
+
+    /**
+     * Returns the window type.
+     *
+     * @return The window type (never {@code null}).
+     */
+    public MovingAverageWindowType getWindowType() {
+        return this.windowType;
+    }
+
+    /**
+     * Returns the window length.
+     *
+     * @return The window length.
+     */
+    public double getWindowLength() {
+        return this.windowLength;
+    }
+
+    /**
+     * Stops listening to the source series.  After this call the moving
+     * average series is no longer updated.
+     */
+    public void dispose() {
+        this.source.removeChangeListener(this);
+    }
+
+    /**
+     * Recalculates the moving average series from all the items in the
+     * source series and sends a single {@link SeriesChangeEvent} to the
+     * listeners of the moving average series.
+     */
+    public void recalculate() {
+        this.calculator.reset();
+        this.lastItem = null;
+        this.lastIndex = -1;
+        this.pointCount = 0;
+        this.series.setNotify(false);
+        try {
+            this.series.clear();
+            List items = this.source.getItems();
+            for (int i = 0; i < items.size(); i++) {
+                append((XYDataItem) items.get(i), i);
+            }
+        }
+        finally {
+            this.series.setNotify(true);
+        }
+    }
+
+    /**
+     * Receives notification of a change to the source series and updates
+     * the moving average.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void seriesChanged(SeriesChangeEvent event) {
+        List items = this.source.getItems();
+        int count = items.size();
+        if (this.lastItem == null) {
+            if (count > 0 || !this.series.isEmpty()) {
+                recalculate();
+            }
+            return;
+        }
+        int index = Math.min(this.lastIndex, count - 1);
+        while (index >= 0 && items.get(index) != this.lastItem) {
+            index--;
+        }
+        if (index < 0) {
+            recalculate();
+            return;
+        }
+        double value = this.lastItem.getYValue();
+        if (Double.compare(value, this.lastValue) != 0) {
+            this.calculator.replaceLast(value);
+            this.lastValue = value;
+            if (isPublished() && !this.series.isEmpty()) {
+                this.series.updateByIndex(this.series.getItemCount() - 1,
+                        currentAverage());
+            }
+        }
+        boolean added = false;
+        for (int i = index + 1; i < count; i++) {
+            added = append((XYDataItem) items.get(i), i) || added;
+        }
+        this.lastIndex = count - 1;
+        if (added) {
+            this.series.fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Feeds a source item to the calculator and adds the resulting average
+     * to the moving average series (without sending a change event).
+     *
+     * @param item  the source item.
+     * @param index  the index of the item in the source.
+     *
+     * @return A boolean indicating whether an item was added to the moving
+     *     average series.
+     */
+    private boolean append(XYDataItem item, int index) {
+        double value = item.getYValue();
+        this.pointCount++;
+        if (this.windowType == MovingAverageWindowType.PERIODS) {
+            this.calculator.add(item.getXValue(), value);
+        }
+        else {
+            this.calculator.add(this.pointCount, value);
+        }
+        this.lastItem = item;
+        this.lastIndex = index;
+        this.lastValue = value;
+        if (isPublished()) {
+            this.series.add(item.getXValue(), currentAverage(), false);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if an average is published for the most recent
+     * source item.  For windows measured in points, no average is published
+     * until the window has been filled.
+     *
+     * @return A boolean.
+     */
+    private boolean isPublished() {
+        return this.windowType == MovingAverageWindowType.PERIODS
+                || this.pointCount >= this.windowLength;
+    }
+
+    /**
+     * Returns the current average as a {@code Number}.
+     *
+     * @return The average ({@code null} if there are no values in the
+     *     window).
+     */
+    private Number currentAverage() {
+        double average = this.calculator.getAverage();
+        return Double.isNaN(average) ? null : new Double(average);
+    }
+
+}
@@ -41,6 +41,8 @@
 
 package org.jfree.data.time.ohlc;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import org.jfree.chart.HashUtils;
 
@@ -52,6 +54,13 @@ import org.jfree.chart.HashUtils;
  */
 public class OHLC implements Serializable {
 
+    /**
+     * For serialization.  This is the value computed for the class before the
+     * volume was added, so that instances serialized by earlier versions can
+     * still be read.
+     */
+    private static final long serialVersionUID = 601747095563683939L;
+
     /** The open value. */
     private double open;
 
@@ -64,6 +73,9 @@ public class OHLC implements Serializable {
     /** The low value. */
     private double low;
 
+    /** The volume ({@code Double.NaN} if not specified). */
+    private double volume;
+
     /**
      * Creates a new instance of {@code OHLC}.
      *
@@ -73,10 +85,27 @@ public class OHLC implements Serializable {
      * @param low  the low value.
      */
     public OHLC(double open, double high, double low, double close) {
+        this(open, high, low, close, Double.NaN);
+    }
+
+    /**
+     * Creates a new instance of {@code OHLC}.
+     *
+     * @param open  the open value.
+     * @param high  the high value.
+     * @param low  the low value.
+     * @param close  the close value.
+     * @param volume  the volume ({@code Double.NaN} if not specified).
+     *
+     * @since 1.5.1
+     */
+    public OHLC(double open, double high, double low, double close,
+            double volume) {
         this.open = open;
         this.close = close;
         this.high = high;
         this.low = low;
+        this.volume = volume;
     }
 
     /**
@@ -115,6 +144,17 @@ public class OHLC implements Serializable {
         return this.low;
     }
 
+    /**
+     * Returns the volume.
+     *
+     * @return The volume ({@code Double.NaN} if not specified).
+     *
+     * @since 1.5.1
+     */
+    public double getVolume() {
+        return this.volume;
+    }
+
     /**
      * Tests this instance for equality with an arbitrary object.
      *
@@ -143,6 +183,10 @@ public class OHLC implements Serializable {
         if (this.low != that.low) {
             return false;
         }
+        if (Double.doubleToLongBits(this.volume)
+                != Double.doubleToLongBits(that.volume)) {
+            return false;
+        }
         return true;
     }
 
@@ -158,7 +202,28 @@ public class OHLC implements Serializable {
         result = HashUtils.hashCode(result, this.high);
         result = HashUtils.hashCode(result, this.low);
         result = HashUtils.hashCode(result, this.close);
+        result = HashUtils.hashCode(result, this.volume);
         return result;
     }
 
+    /**
+     * Provides serialization support.  Instances written before the volume
+     * was added have no volume field, so the volume is restored as
+     * {@code Double.NaN} (not specified) rather than zero.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = stream.readFields();
+        this.open = fields.get("open", 0.0);
+        this.close = fields.get("close", 0.0);
+        this.high = fields.get("high", 0.0);
+        this.low = fields.get("low", 0.0);
+        this.volume = fields.get("volume", Double.NaN);
+    }
+
 }
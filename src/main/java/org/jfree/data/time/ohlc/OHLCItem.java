@@ -65,6 +65,23 @@ public class OHLCItem extends ComparableObjectItem {
         super(period, new OHLC(open, high, low, close));
     }
 
+    /**
+     * Creates a new instance of {@code OHLCItem}.
+     *
+     * @param period  the time period.
+     * @param open  the open-value.
+     * @param high  the high-value.
+     * @param low  the low-value.
+     * @param close  the close-value.
+     * @param volume  the volume ({@code Double.NaN} if not specified).
+     *
+     * @since 1.5.1
+     */
+    public OHLCItem(RegularTimePeriod period, double open, double high,
+            double low, double close, double volume) {
+        super(period, new OHLC(open, high, low, close, volume));
+    }
+
     /**
      * Returns the period.
      *
@@ -143,4 +160,43 @@ public class OHLCItem extends ComparableObjectItem {
         }
     }
 
+    /**
+     * Returns the volume.
+     *
+     * @return The volume ({@code Double.NaN} if not specified).
+     *
+     * @since 1.5.1
+     */
+    public double getVolumeValue() {
+        OHLC ohlc = (OHLC) getObject();
+        if (ohlc != null) {
+            return ohlc.getVolume();
+        }
+        else {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Returns the open, high, low, close and volume values for the item.
+     *
+     * @return The values (possibly {@code null}).
+     *
+     * @since 1.5.1
+     */
+    public OHLC getOHLC() {
+        return (OHLC) getObject();
+    }
+
+    /**
+     * Replaces the open, high, low, close and volume values for the item.
+     * This is used by {@link TickOHLCSeries} to update the current bar in
+     * place, it is the caller's responsibility to notify listeners.
+     *
+     * @param ohlc  the new values ({@code null} not permitted).
+     */
+    void setOHLC(OHLC ohlc) {
+        setObject(ohlc);
+    }
+
 }
@@ -102,6 +102,35 @@ public class OHLCSeries extends ComparableObjectSeries {
      */
     public void add(RegularTimePeriod period, double open, double high,
             double low, double close) {
+        checkPeriodClass(period);
+        super.add(new OHLCItem(period, open, high, low, close), true);
+    }
+
+    /**
+     * Adds a data item (including a volume) to the series.
+     *
+     * @param period  the period.
+     * @param open  the open-value.
+     * @param high  the high-value.
+     * @param low  the low-value.
+     * @param close  the close-value.
+     * @param volume  the volume.
+     *
+     * @since 1.5.1
+     */
+    public void add(RegularTimePeriod period, double open, double high,
+            double low, double close, double volume) {
+        checkPeriodClass(period);
+        super.add(new OHLCItem(period, open, high, low, close, volume), true);
+    }
+
+    /**
+     * Checks that {@code period} has the same class as the periods already
+     * in the series.
+     *
+     * @param period  the period.
+     */
+    void checkPeriodClass(RegularTimePeriod period) {
         if (getItemCount() > 0) {
             OHLCItem item0 = (OHLCItem) this.getDataItem(0);
             if (!period.getClass().equals(item0.getPeriod().getClass())) {
@@ -109,7 +138,6 @@ public class OHLCSeries extends ComparableObjectSeries {
                         "Can't mix RegularTimePeriod class types.");
             }
         }
-        super.add(new OHLCItem(period, open, high, low, close), true);
     }
     
     /**
@@ -123,7 +151,8 @@ public class OHLCSeries extends ComparableObjectSeries {
     public void add(OHLCItem item) {
         Args.nullNotPermitted(item, "item");
         add(item.getPeriod(), item.getOpenValue(), item.getHighValue(),
-                item.getLowValue(), item.getCloseValue());
+                item.getLowValue(), item.getCloseValue(),
+                item.getVolumeValue());
     }
 
     /**
@@ -357,31 +357,37 @@ public class OHLCSeriesCollection extends AbstractXYDataset
     }
 
     /**
-     * Returns {@code null} always, because this dataset doesn't record
-     * any volume data.
+     * Returns the volume for an item, or {@code null} if the item has no
+     * volume recorded.
      *
-     * @param series  the series index (ignored).
-     * @param item  the item index (ignored).
+     * @param series  the series index.
+     * @param item  the item index.
      *
-     * @return {@code null}.
+     * @return The volume (possibly {@code null}).
      */
     @Override
     public Number getVolume(int series, int item) {
-        return null;
+        double volume = getVolumeValue(series, item);
+        if (Double.isNaN(volume)) {
+            return null;
+        }
+        return new Double(volume);
     }
 
     /**
-     * Returns {@code Double.NaN} always, because this dataset doesn't
-     * record any volume data.
+     * Returns the volume for an item, or {@code Double.NaN} if the item has
+     * no volume recorded.
      *
-     * @param series  the series index (ignored).
-     * @param item  the item index (ignored).
+     * @param series  the series index.
+     * @param item  the item index.
      *
-     * @return {@code Double.NaN}.
+     * @return The volume.
      */
     @Override
     public double getVolumeValue(int series, int item) {
-        return Double.NaN;
+        OHLCSeries s = (OHLCSeries) this.data.get(series);
+        OHLCItem di = (OHLCItem) s.getDataItem(item);
+        return di.getVolumeValue();
     }
 
     /**
@@ -0,0 +1,361 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.time.ohlc;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import org.jfree.chart.util.Args;
+import org.jfree.data.general.DatasetChangeType;
+import org.jfree.data.general.SeriesChangeEvent;
+import org.jfree.data.time.RegularTimePeriod;
+
+/**
+ * An {@link OHLCSeries} that builds its bars from a stream of ticks (time,
+ * price, volume).  Each tick is folded into the bar for the time period
+ * that contains it, so the cost per tick is constant and the raw ticks are
+ * never stored.
+ * <p>
+ * Ticks normally arrive in time order, in which case they either update
+ * the last bar in place or start a new bar.  The listeners receive a
+ * {@link SeriesChangeEvent} that identifies the bar that changed, so
+ * a dataset such as {@link OHLCSeriesCollection} can pass on a
+ * {@link org.jfree.data.general.SeriesDatasetChangeEvent} and its own
+ * listeners can avoid recomputing the whole series.  A tick that arrives
+ * late updates the high, low and volume for its bar (the open and close
+ * are left unchanged, since the order of the ticks within the bar is
+ * unknown) or, if there is no bar for its period, creates one.
+ * <p>
+ * Use {@link #addTicks(long[], double[], double[], int)} to add a batch of
+ * ticks with a single change event.
+ *
+ * @since 1.5.1
+ */
+public class TickOHLCSeries extends OHLCSeries {
+
+    /** The time period class for the bars. */
+    private Class periodClass;
+
+    /** The time zone used to assign ticks to periods. */
+    private TimeZone timeZone;
+
+    /** The locale used to assign ticks to periods. */
+    private Locale locale;
+
+    /** The last bar in the series (cached to avoid period lookups). */
+    private transient OHLCItem lastBar;
+
+    /** The first millisecond of the last bar. */
+    private transient long lastBarStart;
+
+    /** The last millisecond of the last bar. */
+    private transient long lastBarEnd;
+
+    /**
+     * Creates a new empty series that uses the default time zone and
+     * locale.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param periodClass  the time period class for the bars (for example,
+     *     {@code Minute.class}).
+     */
+    public TickOHLCSeries(Comparable key, Class periodClass) {
+        this(key, periodClass, TimeZone.getDefault(), Locale.getDefault());
+    }
+
+    /**
+     * Creates a new empty series.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param periodClass  the time period class for the bars (for example,
+     *     {@code Minute.class}).
+     * @param zone  the time zone ({@code null} not permitted).
+     * @param locale  the locale ({@code null} not permitted).
+     */
+    public TickOHLCSeries(Comparable key, Class periodClass, TimeZone zone,
+            Locale locale) {
+        super(key);
+        Args.nullNotPermitted(periodClass, "periodClass");
+        Args.nullNotPermitted(zone, "zone");
+        Args.nullNotPermitted(locale, "locale");
+        if (RegularTimePeriod.createInstance(periodClass, new Date(0L), zone,
+                locale) == null) {
+            throw new IllegalArgumentException(
+                    "Unsupported 'periodClass': " + periodClass.getName());
+        }
+        this.periodClass = periodClass;
+        this.timeZone = zone;
+        this.locale = locale;
+    }
+
+    /**
+     * Returns the time period class for the bars.
+     *
+     * @return The time period class (never {@code null}).
+     */
+    public Class getPeriodClass() {
+        return this.periodClass;
+    }
+
+    /**
+     * Returns the time zone used to assign ticks to periods.
+     *
+     * @return The time zone (never {@code null}).
+     */
+    public TimeZone getTimeZone() {
+        return this.timeZone;
+    }
+
+    /**
+     * Returns the locale used to assign ticks to periods.
+     *
+     * @return The locale (never {@code null}).
+     */
+    public Locale getLocale() {
+        return this.locale;
+    }
+
+    /**
+     * Adds a tick to the series and sends a change event to all registered
+     * listeners.
+     *
+     * @param millis  the time of the tick (in milliseconds since 1-Jan-1970).
+     * @param price  the price.
+     * @param volume  the volume ({@code Double.NaN} if not known).
+     */
+    public void addTick(long millis, double price, double volume) {
+        int count = getItemCount();
+        int index = applyTick(millis, price, volume);
+        fireTicksChanged(count, index, index);
+    }
+
+    /**
+     * Adds a batch of ticks to the series and sends a single change event
+     * to all registered listeners.
+     *
+     * @param millis  the tick times ({@code null} not permitted).
+     * @param prices  the prices ({@code null} not permitted).
+     * @param volumes  the volumes ({@code null} permitted).
+     * @param count  the number of ticks to add from the arrays.
+     */
+    public void addTicks(long[] millis, double[] prices, double[] volumes,
+            int count) {
+        Args.nullNotPermitted(millis, "millis");
+        Args.nullNotPermitted(prices, "prices");
+        if (count < 0 || count > millis.length || count > prices.length
+                || (volumes != null && count > volumes.length)) {
+            throw new IllegalArgumentException("Invalid 'count': " + count);
+        }
+        if (count == 0) {
+            return;
+        }
+        int itemCount = getItemCount();
+        int first = Integer.MAX_VALUE;
+        int last = -1;
+        for (int i = 0; i < count; i++) {
+            double volume = volumes != null ? volumes[i] : Double.NaN;
+            int index = applyTick(millis[i], prices[i], volume);
+            if (index < 0 || first < 0) {
+                first = -1;
+            }
+            else {
+                first = Math.min(first, index);
+                last = Math.max(last, index);
+            }
+        }
+        fireTicksChanged(itemCount, first, last);
+    }
+
+    /**
+     * Folds a tick into the series without sending a change event.
+     *
+     * @param millis  the time of the tick.
+     * @param price  the price.
+     * @param volume  the volume ({@code Double.NaN} if not known).
+     *
+     * @return The index of the bar that was updated or appended, or
+     *     {@code -1} if the change moved other bars (a bar was inserted or
+     *     the oldest bar was removed).
+     */
+    private int applyTick(long millis, double price, double volume) {
+        int count = getItemCount();
+        if (count > 0) {
+            OHLCItem last = (OHLCItem) getDataItem(count - 1);
+            if (last != this.lastBar) {
+                this.lastBar = last;
+                this.lastBarStart = last.getPeriod().getFirstMillisecond();
+                this.lastBarEnd = last.getPeriod().getLastMillisecond();
+            }
+            if (millis >= this.lastBarStart && millis <= this.lastBarEnd) {
+                last.setOHLC(merge(last.getOHLC(), price, volume, true));
+                return count - 1;
+            }
+        }
+        RegularTimePeriod period = RegularTimePeriod.createInstance(
+                this.periodClass, new Date(millis), this.timeZone,
+                this.locale);
+        if (count > 0 && millis < this.lastBarStart) {
+            int index = indexOf(period);
+            if (index >= 0) {
+                OHLCItem bar = (OHLCItem) getDataItem(index);
+                bar.setOHLC(merge(bar.getOHLC(), price, volume, false));
+                return index;
+            }
+        }
+        checkPeriodClass(period);
+        super.add(new OHLCItem(period, price, price, price, price, volume),
+                false);
+        if (getItemCount() > count
+                && ((OHLCItem) getDataItem(count)).getPeriod() == period) {
+            return count;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns new bar values that include a tick.
+     *
+     * @param ohlc  the current values ({@code null} permitted).
+     * @param price  the tick price.
+     * @param volume  the tick volume ({@code Double.NaN} if not known).
+     * @param close  update the close value?
+     *
+     * @return The new values.
+     */
+    private static OHLC merge(OHLC ohlc, double price, double volume,
+            boolean close) {
+        if (ohlc == null) {
+            return new OHLC(price, price, price, price, volume);
+        }
+        double v = ohlc.getVolume();
+        if (Double.isNaN(v)) {
+            v = volume;
+        }
+        else if (!Double.isNaN(volume)) {
+            v = v + volume;
+        }
+        return new OHLC(ohlc.getOpen(), Math.max(ohlc.getHigh(), price),
+                Math.min(ohlc.getLow(), price),
+                close ? price : ohlc.getClose(), v);
+    }
+
+    /**
+     * Sends a change event describing the bars changed by one or more
+     * ticks.
+     *
+     * @param previousCount  the item count before the ticks were added.
+     * @param first  the index of the first bar changed, or {@code -1} if
+     *     the change can't be described as a range of bars.
+     * @param last  the index of the last bar changed.
+     */
+    private void fireTicksChanged(int previousCount, int first, int last) {
+        if (!getNotify()) {
+            return;
+        }
+        if (first < 0) {
+            fireSeriesChanged();
+        }
+        else if (getItemCount() > previousCount) {
+            notifyListeners(new SeriesChangeEvent(this,
+                    DatasetChangeType.ITEMS_APPENDED, first,
+                    getItemCount() - 1));
+        }
+        else {
+            notifyListeners(new SeriesChangeEvent(this,
+                    DatasetChangeType.ITEMS_UPDATED, first, last));
+        }
+    }
+
+    /**
+     * Tests this series for equality with an arbitrary object.
+     *
+     * @param obj  the object to test against for equality
+     *     ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof TickOHLCSeries)) {
+            return false;
+        }
+        TickOHLCSeries that = (TickOHLCSeries) obj;
+        if (!this.periodClass.equals(that.periodClass)) {
+            return false;
+        }
+        if (!this.timeZone.equals(that.timeZone)) {
+            return false;
+        }
+        if (!this.locale.equals(that.locale)) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Returns a hash code.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 29 * result + this.periodClass.hashCode();
+        return result;
+    }
+
+    /**
+     * Returns a clone of the series.  The bars are copied, so ticks added
+     * to the clone do not affect this series (and vice versa).
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        TickOHLCSeries clone = (TickOHLCSeries) super.clone();
+        List copy = new ArrayList(this.data.size());
+        Iterator iterator = this.data.iterator();
+        while (iterator.hasNext()) {
+            copy.add(((OHLCItem) iterator.next()).clone());
+        }
+        clone.data = copy;
+        clone.lastBar = null;
+        return clone;
+    }
+
+}
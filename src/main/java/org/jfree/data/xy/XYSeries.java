@@ -87,6 +87,7 @@ import java.util.List;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.Args;
 
+import org.jfree.data.general.DatasetChangeType;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
@@ -496,7 +497,10 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 
     /**
      * Adds a data item to the series and, if requested, sends a
-     * {@link SeriesChangeEvent} to all registered listeners.
+     * {@link SeriesChangeEvent} to all registered listeners.  Unless the
+     * maximum item count forces the first item out of the series, the event
+     * reports the items from the new item onwards as appended (see
+     * {@link DatasetChangeType#ITEMS_APPENDED}).
      *
      * @param item  the (x, y) item ({@code null} not permitted).
      * @param notify  a flag that controls whether or not a
@@ -506,10 +510,12 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     public void add(XYDataItem item, boolean notify) {
         Args.nullNotPermitted(item, "item");
         item = (XYDataItem) item.clone();
+        int index;
         if (this.autoSort) {
-            int index = Collections.binarySearch(this.data, item);
+            index = Collections.binarySearch(this.data, item);
             if (index < 0) {
-                this.data.add(-index - 1, item);
+                index = -index - 1;
+                this.data.add(index, item);
             }
             else {
                 if (this.allowDuplicateXValues) {
@@ -535,20 +541,27 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             if (!this.allowDuplicateXValues) {
                 // can't allow duplicate values, so we need to check whether
                 // there is an item with the given x-value already
-                int index = indexOf(item.getX());
-                if (index >= 0) {
+                if (indexOf(item.getX()) >= 0) {
                     throw new SeriesException("X-value already exists.");
                 }
             }
+            index = this.data.size();
             this.data.add(item);
         }
         updateBoundsForAddedItem(item);
         if (getItemCount() > this.maximumItemCount) {
             XYDataItem removed = (XYDataItem) this.data.remove(0);
             updateBoundsForRemovedItem(removed);
+            index = -1;
         }
         if (notify) {
-            fireSeriesChanged();
+            if (index < 0) {
+                fireSeriesChanged();
+            }
+            else {
+                fireSeriesChanged(DatasetChangeType.ITEMS_APPENDED, index,
+                        getItemCount() - 1);
+            }
         }
     }
 
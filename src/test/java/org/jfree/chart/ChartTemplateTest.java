@@ -0,0 +1,326 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.general.DefaultPieDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ChartTemplate} class.
+ */
+public class ChartTemplateTest {
+
+    /**
+     * A dataset that counts its change listeners.
+     */
+    static class ListenerCountingDataset extends XYSeriesCollection {
+
+        int listenerCount;
+
+        int maxListenerCount;
+
+        ListenerCountingDataset(XYSeries series) {
+            super(series);
+        }
+
+        @Override
+        public void addChangeListener(DatasetChangeListener listener) {
+            super.addChangeListener(listener);
+            this.listenerCount++;
+            this.maxListenerCount = Math.max(this.maxListenerCount,
+                    this.listenerCount);
+        }
+
+        @Override
+        public void removeChangeListener(DatasetChangeListener listener) {
+            super.removeChangeListener(listener);
+            this.listenerCount--;
+        }
+
+    }
+
+    /**
+     * Creates a dataset with one series.
+     *
+     * @param key  the series key.
+     * @param scale  the scale for the y-values.
+     *
+     * @return The dataset.
+     */
+    private static XYSeriesCollection createDataset(String key,
+            double scale) {
+        XYSeries s = new XYSeries(key);
+        for (int i = 0; i < 20; i++) {
+            s.add(i, scale * Math.sin(i / 3.0));
+        }
+        return new XYSeriesCollection(s);
+    }
+
+    /**
+     * Creates a line chart.
+     *
+     * @param dataset  the dataset ({@code null} permitted).
+     *
+     * @return The chart.
+     */
+    private static JFreeChart createChart(XYSeriesCollection dataset) {
+        return ChartFactory.createXYLineChart("Title", "X", "Y", dataset,
+                PlotOrientation.VERTICAL, true, false, false);
+    }
+
+    /**
+     * Returns the pixels of an image.
+     *
+     * @param image  the image.
+     *
+     * @return The pixels.
+     */
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null,
+                0, image.getWidth());
+    }
+
+    /**
+     * A chart drawn from the template matches the same chart created
+     * directly with the dataset, and the template does not stay registered
+     * with the dataset.
+     */
+    @Test
+    public void testDrawMatchesChart() throws CloneNotSupportedException {
+        ChartTemplate template = new ChartTemplate(createChart(null));
+        for (int i = 1; i <= 3; i++) {
+            XYSeriesCollection dataset = createDataset("S" + i, i);
+            BufferedImage expected = createChart(dataset)
+                    .createBufferedImage(300, 200);
+            ListenerCountingDataset dataset2 = new ListenerCountingDataset(
+                    createDataset("S" + i, i).getSeries(0));
+            int before = dataset2.listenerCount;
+            BufferedImage actual = template.createBufferedImage(dataset2,
+                    300, 200);
+            assertArrayEquals(pixels(expected), pixels(actual));
+            assertTrue(dataset2.maxListenerCount > before);
+            assertEquals(before, dataset2.listenerCount);
+        }
+    }
+
+    /**
+     * Changes to the original chart do not affect the template.
+     */
+    @Test
+    public void testChartCopied() throws CloneNotSupportedException {
+        JFreeChart chart = createChart(null);
+        ChartTemplate template = new ChartTemplate(chart);
+        XYSeriesCollection dataset = createDataset("S", 1.0);
+        BufferedImage expected = template.createBufferedImage(dataset, 300,
+                200);
+        chart.setTitle("Changed");
+        chart.removeLegend();
+        BufferedImage actual = template.createBufferedImage(dataset, 300,
+                200);
+        assertArrayEquals(pixels(expected), pixels(actual));
+    }
+
+    /**
+     * After the thread's copy is released, the next drawing creates a new
+     * copy that draws the same chart.
+     */
+    @Test
+    public void testDispose() throws CloneNotSupportedException {
+        ChartTemplate template = new ChartTemplate(createChart(null));
+        XYSeriesCollection dataset = createDataset("S", 1.0);
+        BufferedImage expected = template.createBufferedImage(dataset, 300,
+                200);
+        template.dispose();
+        template.dispose();  // nothing to release
+        BufferedImage actual = template.createBufferedImage(dataset, 300,
+                200);
+        assertArrayEquals(pixels(expected), pixels(actual));
+    }
+
+    /**
+     * Charts drawn concurrently on several threads match the charts drawn
+     * on a single thread.
+     */
+    @Test
+    public void testConcurrentDrawing() throws Exception {
+        final ChartTemplate template = new ChartTemplate(createChart(null));
+        final int count = 24;
+        final List<int[]> expected = new ArrayList<int[]>();
+        for (int i = 0; i < count; i++) {
+            expected.add(pixels(createChart(createDataset("S" + i, i + 1))
+                    .createBufferedImage(240, 160)));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> results = new ArrayList<Future<int[]>>();
+            for (int i = 0; i < count; i++) {
+                final int index = i;
+                results.add(executor.submit(new Callable<int[]>() {
+                    @Override
+                    public int[] call() {
+                        return pixels(template.createBufferedImage(
+                                createDataset("S" + index, index + 1), 240,
+                                160));
+                    }
+                }));
+            }
+            for (int i = 0; i < count; i++) {
+                assertArrayEquals(expected.get(i), results.get(i).get());
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Creates a line chart with a second dataset at index 1.
+     *
+     * @param dataset  the primary dataset ({@code null} permitted).
+     * @param secondary  the secondary dataset.
+     *
+     * @return The chart.
+     */
+    private static JFreeChart createChart(XYSeriesCollection dataset,
+            XYSeriesCollection secondary) {
+        JFreeChart chart = createChart(dataset);
+        XYPlot plot = (XYPlot) chart.getPlot();
+        plot.setDataset(1, secondary);
+        plot.setRenderer(1, new XYLineAndShapeRenderer(false, true));
+        return chart;
+    }
+
+    /**
+     * The copies of the chart made for each thread do not stay registered
+     * with a secondary dataset, and changes to that dataset show up in the
+     * next drawing.
+     */
+    @Test
+    public void testSecondaryDataset() throws Exception {
+        XYSeries reference = new XYSeries("Reference");
+        reference.add(5.0, 0.5);
+        reference.add(10.0, -0.5);
+        final ListenerCountingDataset secondary = new ListenerCountingDataset(
+                reference);
+        int before = secondary.listenerCount;
+        final ChartTemplate template = new ChartTemplate(
+                createChart(null, secondary));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<int[]>> results = new ArrayList<Future<int[]>>();
+            for (int i = 0; i < 6; i++) {
+                results.add(executor.submit(new Callable<int[]>() {
+                    @Override
+                    public int[] call() {
+                        return pixels(template.createBufferedImage(
+                                createDataset("S", 1.0), 240, 160));
+                    }
+                }));
+            }
+            for (Future<int[]> result : results) {
+                result.get();
+            }
+        }
+        finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        // only the plot of the original chart is registered
+        assertEquals(before + 1, secondary.listenerCount);
+
+        reference.add(15.0, 3.0);
+        BufferedImage expected = createChart(createDataset("S", 1.0),
+                secondary).createBufferedImage(240, 160);
+        assertArrayEquals(pixels(expected), pixels(
+                template.createBufferedImage(createDataset("S", 1.0), 240,
+                160)));
+    }
+
+    /**
+     * Category and pie charts are supported, and a dataset of the wrong
+     * type is rejected.
+     */
+    @Test
+    public void testOtherPlots() throws CloneNotSupportedException {
+        ChartTemplate bar = new ChartTemplate(ChartFactory.createBarChart(
+                "Bar", "C", "V", null));
+        DefaultCategoryDataset categories = new DefaultCategoryDataset();
+        categories.addValue(1.0, "R", "C1");
+        categories.addValue(2.0, "R", "C2");
+        assertEquals(100, bar.createBufferedImage(categories, 100, 80)
+                .getWidth());
+
+        ChartTemplate pie = new ChartTemplate(ChartFactory.createPieChart(
+                "Pie", null));
+        DefaultPieDataset sections = new DefaultPieDataset();
+        sections.setValue("A", 1.0);
+        sections.setValue("B", 2.0);
+        assertEquals(80, pie.createBufferedImage(sections, 100, 80)
+                .getHeight());
+
+        // section paints assigned for one drawing do not carry over
+        DefaultPieDataset sections2 = new DefaultPieDataset();
+        sections2.setValue("C", 3.0);
+        sections2.setValue("D", 1.0);
+        BufferedImage expected = ChartFactory.createPieChart("Pie",
+                sections2).createBufferedImage(200, 150);
+        assertArrayEquals(pixels(expected), pixels(pie.createBufferedImage(
+                sections2, 200, 150)));
+
+        try {
+            pie.createBufferedImage(categories, 100, 80);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
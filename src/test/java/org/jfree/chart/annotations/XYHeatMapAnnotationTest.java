@@ -0,0 +1,283 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.annotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.CompiledPaintScale;
+import org.jfree.chart.renderer.GrayPaintScale;
+import org.jfree.chart.renderer.LookupPaintScale;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.general.TiledHeatMapDataset;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link XYHeatMapAnnotation} class.
+ */
+public class XYHeatMapAnnotationTest {
+
+    /**
+     * Draws a chart containing the annotation and returns the image.
+     */
+    private BufferedImage drawChart(XYHeatMapAnnotation a) {
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 40.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 30.0);
+        XYPlot plot = new XYPlot(new XYSeriesCollection(), xAxis, yAxis,
+                new XYLineAndShapeRenderer());
+        plot.addAnnotation(a);
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(200, 150,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new java.awt.Rectangle(200, 150), null, null);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * An annotation that is updated from change events draws the same as
+     * an annotation that is created after the changes.
+     */
+    @Test
+    public void testIncrementalUpdate() {
+        TiledHeatMapDataset d = new TiledHeatMapDataset(40, 30, 0.0, 40.0,
+                0.0, 30.0);
+        CompiledPaintScale scale = new CompiledPaintScale(
+                new GrayPaintScale(0.0, 10.0));
+        XYHeatMapAnnotation a1 = new XYHeatMapAnnotation(d, scale);
+        drawChart(a1);
+        double[] row = new double[40];
+        for (int i = 0; i < 20; i++) {
+            for (int x = 0; x < 40; x++) {
+                row[x] = (x * i) % 11;
+            }
+            d.appendRow(row, i % 3 == 0);
+            d.setZValue(i, i, 10.0 - i % 10, i % 2 == 0);
+            if (i % 5 == 0) {
+                drawChart(a1);
+            }
+        }
+        d.setNotify(true);  // reports any changes made without notification
+        BufferedImage image1 = drawChart(a1);
+        BufferedImage image2 = drawChart(new XYHeatMapAnnotation(d, scale));
+        for (int y = 0; y < 150; y++) {
+            for (int x = 0; x < 200; x++) {
+                assertEquals(image2.getRGB(x, y), image1.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * Drawing the annotation must leave the interpolation hint as it was,
+     * even when it had not been set.
+     */
+    @Test
+    public void testInterpolationHintRestored() {
+        TiledHeatMapDataset d = new TiledHeatMapDataset(40, 30, 0.0, 40.0,
+                0.0, 30.0);
+        XYHeatMapAnnotation a = new XYHeatMapAnnotation(d,
+                new CompiledPaintScale(new GrayPaintScale(0.0, 10.0)));
+        XYPlot plot = new XYPlot(new XYSeriesCollection(),
+                new NumberAxis("X"), new NumberAxis("Y"),
+                new XYLineAndShapeRenderer());
+        plot.addAnnotation(a);
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(200, 150,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        assertNull(g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        chart.draw(g2, new Rectangle(200, 150));
+        assertNull(g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        g2.dispose();
+    }
+
+    /**
+     * On a scaled target (which is not treated as a raster target) the cells
+     * are filled as shapes, so anti-aliasing blends the colors of
+     * neighbouring cells, which a scaled image would not do.
+     */
+    @Test
+    public void testScaledTarget() {
+        TiledHeatMapDataset d = new TiledHeatMapDataset(40, 30, 0.0, 40.0,
+                0.0, 30.0);
+        for (int y = 0; y < 30; y++) {
+            for (int x = 0; x < 40; x++) {
+                d.setZValue(x, y, (x + y) % 2);
+            }
+        }
+        LookupPaintScale scale = new LookupPaintScale(0.0, 2.0, Color.RED);
+        scale.add(1.0, Color.BLUE);
+        XYHeatMapAnnotation a = new XYHeatMapAnnotation(d, scale);
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 40.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 30.0);
+        XYPlot plot = new XYPlot(new XYSeriesCollection(), xAxis, yAxis,
+                new XYLineAndShapeRenderer());
+        plot.setBackgroundPaint(Color.BLACK);
+        plot.addAnnotation(a);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.setAntiAlias(true);
+        BufferedImage image = new BufferedImage(300, 225,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.scale(1.5, 1.5);
+        chart.draw(g2, new Rectangle(200, 150));
+        g2.dispose();
+        boolean blended = false;
+        for (int y = 0; y < 225 && !blended; y++) {
+            for (int x = 0; x < 300 && !blended; x++) {
+                Color c = new Color(image.getRGB(x, y));
+                blended = c.getRed() > 64 && c.getBlue() > 64
+                        && c.getGreen() < 32;
+            }
+        }
+        assertTrue(blended);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        TiledHeatMapDataset d = new TiledHeatMapDataset(4, 3, 0.0, 4.0,
+                0.0, 3.0);
+        XYHeatMapAnnotation a1 = new XYHeatMapAnnotation(d,
+                new GrayPaintScale());
+        XYHeatMapAnnotation a2 = new XYHeatMapAnnotation(d,
+                new GrayPaintScale());
+        assertTrue(a1.equals(a2));
+        assertEquals(a1.hashCode(), a2.hashCode());
+        a1.setPaintScale(new GrayPaintScale(0.0, 2.0));
+        assertFalse(a1.equals(a2));
+        a2.setPaintScale(new GrayPaintScale(0.0, 2.0));
+        assertTrue(a1.equals(a2));
+        a1 = new XYHeatMapAnnotation(d, new GrayPaintScale(0.0, 2.0), true);
+        assertFalse(a1.equals(a2));
+        a2 = new XYHeatMapAnnotation(d, new GrayPaintScale(0.0, 2.0), true);
+        assertTrue(a1.equals(a2));
+        assertEquals(a1.hashCode(), a2.hashCode());
+    }
+
+    /**
+     * Equal annotations on different datasets, or with a different flag,
+     * usually have different hash codes.
+     */
+    @Test
+    public void testHashCode() {
+        TiledHeatMapDataset d1 = new TiledHeatMapDataset(4, 3, 0.0, 4.0,
+                0.0, 3.0);
+        TiledHeatMapDataset d2 = new TiledHeatMapDataset(5, 3, 0.0, 4.0,
+                0.0, 3.0);
+        GrayPaintScale scale = new GrayPaintScale();
+        XYHeatMapAnnotation a1 = new XYHeatMapAnnotation(d1, scale);
+        assertFalse(a1.hashCode() == new XYHeatMapAnnotation(d2,
+                scale).hashCode());
+        assertFalse(a1.hashCode() == new XYHeatMapAnnotation(d1, scale,
+                true).hashCode());
+    }
+
+    /**
+     * A disposed annotation no longer listens to the dataset, but still
+     * draws the current data.
+     */
+    @Test
+    public void testDispose() throws CloneNotSupportedException {
+        TiledHeatMapDataset d = new TiledHeatMapDataset(40, 30, 0.0, 40.0,
+                0.0, 30.0);
+        CompiledPaintScale scale = new CompiledPaintScale(
+                new GrayPaintScale(0.0, 10.0));
+        XYHeatMapAnnotation a1 = new XYHeatMapAnnotation(d, scale);
+        drawChart(a1);
+        a1.dispose();
+        assertFalse(d.hasListener(a1));
+        XYHeatMapAnnotation a2 = (XYHeatMapAnnotation) a1.clone();
+        assertFalse(d.hasListener(a2));
+        for (int x = 0; x < 40; x++) {
+            d.setZValue(x, x % 30, 10.0);
+        }
+        BufferedImage image1 = drawChart(a1);
+        BufferedImage image2 = drawChart(new XYHeatMapAnnotation(d, scale));
+        for (int y = 0; y < 150; y++) {
+            for (int x = 0; x < 200; x++) {
+                assertEquals(image2.getRGB(x, y), image1.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * Confirm that cloning works, and that the clone listens to the
+     * dataset.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        TiledHeatMapDataset d = new TiledHeatMapDataset(4, 3, 0.0, 4.0,
+                0.0, 3.0);
+        XYHeatMapAnnotation a1 = new XYHeatMapAnnotation(d,
+                new GrayPaintScale());
+        XYHeatMapAnnotation a2 = (XYHeatMapAnnotation) a1.clone();
+        assertNotSame(a1, a2);
+        assertEquals(a1, a2);
+        assertTrue(d.hasListener(a2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        TiledHeatMapDataset d = new TiledHeatMapDataset(4, 3, 0.0, 4.0,
+                0.0, 3.0);
+        XYHeatMapAnnotation a1 = new XYHeatMapAnnotation(d,
+                new GrayPaintScale());
+        XYHeatMapAnnotation a2 = (XYHeatMapAnnotation) TestUtils.serialised(
+                a1);
+        assertEquals(a1, a2);
+        assertTrue(((TiledHeatMapDataset) a2.getDataset()).hasListener(a2));
+    }
+
+}
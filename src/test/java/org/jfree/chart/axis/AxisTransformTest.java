@@ -0,0 +1,157 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.axis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.util.TimeZone;
+
+import org.jfree.chart.ui.RectangleEdge;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link AxisTransform} class.
+ */
+public class AxisTransformTest {
+
+    /** The edges. */
+    private static final RectangleEdge[] EDGES = {RectangleEdge.TOP,
+        RectangleEdge.BOTTOM, RectangleEdge.LEFT, RectangleEdge.RIGHT};
+
+    /**
+     * Checks that the transforms for an axis give exactly the same results
+     * as {@code valueToJava2D()}, for each edge with and without inversion.
+     *
+     * @param axis  the axis.
+     * @param values  the values to check.
+     */
+    private static void check(ValueAxis axis, double[] values) {
+        Rectangle2D area = new Rectangle2D.Double(13.3, 21.7, 517.1, 311.9);
+        float[] dst = new float[values.length];
+        for (int inverted = 0; inverted < 2; inverted++) {
+            axis.setInverted(inverted == 1);
+            for (int e = 0; e < EDGES.length; e++) {
+                AxisTransform t = axis.createTransform(area, EDGES[e]);
+                t.transform(values, dst, values.length);
+                for (int i = 0; i < values.length; i++) {
+                    double expected = axis.valueToJava2D(values[i], area,
+                            EDGES[e]);
+                    assertEquals(expected, t.transform(values[i]), 0.0);
+                    assertEquals((float) expected, dst[i], 0.0f);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the transform for a {@link NumberAxis}.
+     */
+    @Test
+    public void testNumberAxis() {
+        NumberAxis axis = new NumberAxis("X");
+        axis.setRange(-3.7, 123.4);
+        assertTrue(axis.createTransform(new Rectangle2D.Double(0, 0, 10, 10),
+                RectangleEdge.BOTTOM) instanceof AxisTransform.Linear);
+        check(axis, new double[] {-10.0, -3.7, 0.0, 0.1, 42.42, 123.4,
+                1000.0});
+    }
+
+    /**
+     * Checks the transform for a {@link LogAxis}.
+     */
+    @Test
+    public void testLogAxis() {
+        LogAxis axis = new LogAxis("X");
+        axis.setRange(0.5, 12345.0);
+        check(axis, new double[] {0.1, 0.5, 1.0, 3.3, 999.0, 12345.0});
+        axis.setBase(2.0);
+        check(axis, new double[] {0.5, 1.0, 7.0, 12345.0});
+    }
+
+    /**
+     * Checks the transform for a {@link DateAxis}, with the default timeline
+     * and with a session timeline.
+     */
+    @Test
+    public void testDateAxis() {
+        DateAxis axis = new DateAxis("X");
+        long start = 1483228800000L;
+        axis.setRange(start, start + 30L * 86400000L);
+        double[] values = new double[40];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = start + i * 86400000.0 * 0.77 + 0.5;
+        }
+        check(axis, values);
+        SessionTimeline timeline = new SessionTimeline(
+                TimeZone.getTimeZone("UTC"), start, start + 365L * 86400000L);
+        timeline.addSession(9L * 3600000L, 17L * 3600000L);
+        axis.setTimeline(timeline);
+        check(axis, values);
+    }
+
+    /**
+     * Checks the transform for a {@link CyclicNumberAxis}.
+     */
+    @Test
+    public void testCyclicNumberAxis() {
+        CyclicNumberAxis axis = new CyclicNumberAxis(10.0, 3.0);
+        axis.setRange(7.0, 17.0);
+        double[] values = {5.0, 7.0, 9.5, 13.0, 16.99, 17.0, 20.0};
+        check(axis, values);
+        axis.setBoundMappedToLastCycle(true);
+        check(axis, values);
+    }
+
+    /**
+     * A subclass that may override {@code valueToJava2D()} gets a transform
+     * that calls the axis.
+     */
+    @Test
+    public void testSubclass() {
+        LogarithmicAxis axis = new LogarithmicAxis("X");
+        axis.setRange(1.0, 1000.0);
+        assertTrue(axis.createTransform(new Rectangle2D.Double(0, 0, 10, 10),
+                RectangleEdge.BOTTOM) instanceof AxisTransform.Generic);
+        check(axis, new double[] {1.0, 5.0, 50.0, 999.0});
+    }
+
+    /**
+     * The bulk transform checks its arguments.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBulkTransformLength() {
+        NumberAxis axis = new NumberAxis("X");
+        AxisTransform t = axis.createTransform(
+                new Rectangle2D.Double(0, 0, 10, 10), RectangleEdge.BOTTOM);
+        t.transform(new double[3], new float[2], 3);
+    }
+
+}
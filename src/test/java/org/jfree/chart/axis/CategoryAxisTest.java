@@ -49,8 +49,16 @@ import static org.junit.Assert.assertTrue;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
 
 import org.jfree.chart.TestUtils;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.renderer.category.BarRenderer;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.category.DefaultCategoryDataset;
 import org.junit.Test;
 
 /**
@@ -208,4 +216,44 @@ public class CategoryAxisTest {
         assertEquals(a1, a2);
     }
 
+    /**
+     * Repeated calls to refreshTicks() return the same ticks and maximum
+     * label size, and follow changes to the dataset.
+     */
+    @Test
+    public void testRefreshTicksRepeated() {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        dataset.addValue(1.0, "R1", "C1");
+        dataset.addValue(2.0, "R1", "C2");
+        CategoryAxis axis = new CategoryAxis("Category");
+        new CategoryPlot(dataset, axis, new NumberAxis("Value"),
+                new BarRenderer());
+        BufferedImage image = new BufferedImage(200, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 400, 200);
+        AxisState state1 = new AxisState();
+        List ticks1 = axis.refreshTicks(g2, state1, area,
+                RectangleEdge.BOTTOM);
+        AxisState state2 = new AxisState();
+        List ticks2 = axis.refreshTicks(g2, state2, area,
+                RectangleEdge.BOTTOM);
+        assertEquals(2, ticks2.size());
+        assertEquals(ticks1.size(), ticks2.size());
+        assertEquals(state1.getMax(), state2.getMax(), 0.0);
+        assertTrue(state2.getMax() > 0.0);
+
+        dataset.addValue(3.0, "R1", "C3");
+        List ticks3 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertEquals(3, ticks3.size());
+        assertEquals("C3", ((CategoryTick) ticks3.get(2)).getCategory());
+
+        axis.setTickLabelFont(new Font("Dialog", Font.PLAIN, 30));
+        AxisState state4 = new AxisState();
+        axis.refreshTicks(g2, state4, area, RectangleEdge.BOTTOM);
+        assertTrue(state4.getMax() > state2.getMax());
+        g2.dispose();
+    }
+
 }
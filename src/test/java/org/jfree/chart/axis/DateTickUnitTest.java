@@ -44,6 +44,12 @@ package org.jfree.chart.axis;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
 import org.jfree.chart.TestUtils;
 import org.junit.Test;
 
@@ -85,4 +91,71 @@ public class DateTickUnitTest {
         assertEquals(a1, a2);
     }
 
+    /**
+     * The date arithmetic with a reused calendar matches the arithmetic
+     * with a new calendar for each date, including across a daylight
+     * saving change.
+     */
+    @Test
+    public void testAddToDateWithCalendar() {
+        TimeZone zone = TimeZone.getTimeZone("Europe/Paris");
+        DateTickUnit unit = new DateTickUnit(DateTickUnitType.HOUR, 6,
+                DateTickUnitType.HOUR, 1, DateFormat.getDateInstance());
+        Calendar calendar = Calendar.getInstance(zone);
+        Calendar c = Calendar.getInstance(zone);
+        c.clear();
+        c.set(2017, Calendar.MARCH, 25);
+        Date d = c.getTime();
+        for (int i = 0; i < 12; i++) {
+            Date expected = unit.addToDate(d, zone);
+            assertEquals(expected, unit.addToDate(d, calendar));
+            assertEquals(unit.rollDate(d, zone), unit.rollDate(d, calendar));
+            d = expected;
+        }
+    }
+
+    /**
+     * A tick unit can format dates from several threads at once.
+     *
+     * @throws InterruptedException if interrupted.
+     */
+    @Test
+    public void testConcurrentFormatting() throws InterruptedException {
+        final DateTickUnit unit = new DateTickUnit(DateTickUnitType.DAY, 1,
+                new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
+        final DateFormat reference = new SimpleDateFormat(
+                "yyyy-MM-dd HH:mm:ss");
+        final Date[] dates = new Date[500];
+        final String[] expected = new String[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = new Date(i * 7919L * 60000L);
+            expected[i] = reference.format(dates[i]);
+        }
+        final boolean[] ok = new boolean[4];
+        Thread[] threads = new Thread[ok.length];
+        for (int t = 0; t < threads.length; t++) {
+            final int index = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    boolean result = true;
+                    for (int repeat = 0; repeat < 20; repeat++) {
+                        for (int i = 0; i < dates.length; i++) {
+                            if (!expected[i].equals(unit.dateToString(
+                                    dates[i]))) {
+                                result = false;
+                            }
+                        }
+                    }
+                    ok[index] = result;
+                }
+            });
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+            assertTrue(ok[t]);
+        }
+    }
+
 }
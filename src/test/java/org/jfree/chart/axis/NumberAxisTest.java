@@ -51,8 +51,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.text.DecimalFormat;
+import java.util.List;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
@@ -397,4 +400,44 @@ public class NumberAxisTest {
         //assertEquals(0.0, axis.getLowerBound(), EPSILON);
     }
 
+    /**
+     * Repeated calls to refreshTicks() with the same inputs return the same
+     * ticks (and tick unit), and a change to the axis is picked up.
+     */
+    @Test
+    public void testRefreshTicksRepeated() {
+        BufferedImage image = new BufferedImage(200, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 400, 200);
+        NumberAxis axis = new NumberAxis("X");
+        axis.setRange(0.0, 100.0);
+        AxisState state = new AxisState();
+        List ticks1 = axis.refreshTicks(g2, state, area, RectangleEdge.BOTTOM);
+        NumberTickUnit unit1 = axis.getTickUnit();
+        List ticks2 = axis.refreshTicks(g2, state, area, RectangleEdge.BOTTOM);
+        assertEquals(ticks1, ticks2);
+        assertEquals(unit1, axis.getTickUnit());
+
+        // a silent change to the tick unit is part of the key
+        axis.setTickUnit(new NumberTickUnit(50.0), false, false);
+        List ticks3 = axis.refreshTicks(g2, state, area, RectangleEdge.BOTTOM);
+        assertEquals(unit1, axis.getTickUnit());
+        assertEquals(ticks1, ticks3);
+
+        // a new range gives new ticks
+        axis.setRange(0.0, 1000.0);
+        List ticks4 = axis.refreshTicks(g2, state, area, RectangleEdge.BOTTOM);
+        assertFalse(ticks1.equals(ticks4));
+        assertEquals(1000.0, ((NumberTick) ticks4.get(ticks4.size() - 1))
+                .getValue(), EPSILON);
+
+        // a new formatter gives new labels
+        axis.setRange(0.0, 100.0);
+        axis.setNumberFormatOverride(new DecimalFormat("0.00"));
+        List ticks5 = axis.refreshTicks(g2, state, area, RectangleEdge.BOTTOM);
+        assertEquals("0.00", ((NumberTick) ticks5.get(0)).getText());
+        g2.dispose();
+    }
+
 }
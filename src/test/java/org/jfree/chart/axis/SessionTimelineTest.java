@@ -0,0 +1,234 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.chart.axis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.data.time.Day;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link SessionTimeline} class.
+ */
+public class SessionTimelineTest {
+
+    /** The time zone used by the tests. */
+    private static final TimeZone ZONE
+            = TimeZone.getTimeZone("America/New_York");
+
+    /** 09:30 as an offset from the start of the day. */
+    private static final long OPEN = (9L * 60L + 30L) * 60000L;
+
+    /** 16:00 as an offset from the start of the day. */
+    private static final long CLOSE = 16L * 3600000L;
+
+    /**
+     * Returns the millisecond for a time in the test time zone.
+     *
+     * @param year  the year.
+     * @param month  the month (1-12).
+     * @param day  the day of the month.
+     * @param hour  the hour.
+     * @param minute  the minute.
+     *
+     * @return The millisecond.
+     */
+    private static long ms(int year, int month, int day, int hour,
+            int minute) {
+        Calendar c = Calendar.getInstance(ZONE);
+        c.clear();
+        c.set(year, month - 1, day, hour, minute);
+        return c.getTimeInMillis();
+    }
+
+    /**
+     * Creates a timeline with one session per weekday during 2017.
+     *
+     * @return The timeline.
+     */
+    private static SessionTimeline createTimeline() {
+        SessionTimeline t = new SessionTimeline(ZONE, ms(2017, 1, 1, 0, 0),
+                ms(2018, 1, 1, 0, 0));
+        t.addSession(OPEN, CLOSE);
+        return t;
+    }
+
+    /**
+     * Sessions are joined end to end, with weekends removed.
+     */
+    @Test
+    public void testToTimelineValue() {
+        SessionTimeline t = createTimeline();
+        // Friday 6 January 2017 to Monday 9 January 2017
+        long fridayClose = t.toTimelineValue(ms(2017, 1, 6, 16, 0));
+        long mondayOpen = t.toTimelineValue(ms(2017, 1, 9, 9, 30));
+        assertEquals(fridayClose, mondayOpen);
+        assertEquals(mondayOpen, t.toTimelineValue(ms(2017, 1, 8, 12, 0)));
+        assertEquals(mondayOpen + 60000L,
+                t.toTimelineValue(ms(2017, 1, 9, 9, 31)));
+        assertEquals(CLOSE - OPEN, t.toTimelineValue(ms(2017, 1, 10, 9, 30))
+                - t.toTimelineValue(ms(2017, 1, 9, 9, 30)));
+
+        // before the span, values are unchanged
+        long before = ms(2016, 12, 30, 12, 0);
+        assertEquals(before, t.toTimelineValue(before));
+        assertEquals(before, t.toMillisecond(before));
+
+        // 2017 has 260 weekdays
+        assertEquals(260, t.getSegmentCount());
+    }
+
+    /**
+     * The session times are wall clock times, so they do not move at a
+     * daylight saving change (12 March 2017 in New York).
+     */
+    @Test
+    public void testDaylightSaving() {
+        SessionTimeline t = createTimeline();
+        long friday = t.toTimelineValue(ms(2017, 3, 10, 9, 30));
+        long monday = t.toTimelineValue(ms(2017, 3, 13, 9, 30));
+        assertEquals(CLOSE - OPEN, monday - friday);
+        assertTrue(t.containsDomainValue(ms(2017, 3, 13, 9, 30)));
+        assertFalse(t.containsDomainValue(ms(2017, 3, 13, 9, 29)));
+    }
+
+    /**
+     * Checks that toMillisecond() reverses toTimelineValue() for included
+     * values.
+     */
+    @Test
+    public void testToMillisecond() {
+        SessionTimeline t = createTimeline();
+        t.addExcludedDay(new Day(16, 1, 2017));
+        t.addExcludedRange(ms(2017, 11, 24, 13, 0), ms(2017, 11, 24, 16, 0));
+        long[] values = {ms(2017, 1, 3, 9, 30), ms(2017, 1, 3, 15, 59),
+            ms(2017, 1, 17, 10, 0), ms(2017, 11, 24, 12, 59),
+            ms(2017, 12, 29, 15, 0), ms(2018, 1, 2, 0, 0)};
+        for (int i = 0; i < values.length; i++) {
+            assertTrue(t.containsDomainValue(values[i]));
+            assertEquals(values[i], t.toMillisecond(t.toTimelineValue(
+                    values[i])));
+        }
+        // excluded values map to the start of the next session
+        assertEquals(ms(2017, 1, 17, 9, 30), t.toMillisecond(
+                t.toTimelineValue(ms(2017, 1, 16, 11, 0))));
+        assertEquals(ms(2017, 11, 27, 9, 30), t.toMillisecond(
+                t.toTimelineValue(ms(2017, 11, 24, 14, 0))));
+    }
+
+    /**
+     * Some checks for the containsDomainValue() and containsDomainRange()
+     * methods.
+     */
+    @Test
+    public void testContains() {
+        SessionTimeline t = createTimeline();
+        t.addExcludedDay(new Day(16, 1, 2017));
+        assertTrue(t.containsDomainValue(ms(2017, 1, 13, 12, 0)));
+        assertFalse(t.containsDomainValue(ms(2017, 1, 14, 12, 0)));
+        assertFalse(t.containsDomainValue(ms(2017, 1, 16, 12, 0)));
+        assertFalse(t.containsDomainValue(ms(2017, 1, 13, 16, 0)));
+        assertTrue(t.containsDomainValue(ms(2018, 1, 6, 12, 0)));
+        assertTrue(t.containsDomainRange(ms(2017, 1, 13, 10, 0),
+                ms(2017, 1, 13, 15, 0)));
+        assertFalse(t.containsDomainRange(ms(2017, 1, 13, 10, 0),
+                ms(2017, 1, 17, 10, 0)));
+    }
+
+    /**
+     * Overlapping sessions are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOverlappingSessions() {
+        SessionTimeline t = createTimeline();
+        t.addSession(CLOSE - 60000L, CLOSE + 60000L);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        SessionTimeline t1 = createTimeline();
+        SessionTimeline t2 = createTimeline();
+        assertEquals(t1, t2);
+        t1.addSession(0L, 3600000L);
+        assertFalse(t1.equals(t2));
+        t2.addSession(0L, 3600000L);
+        assertEquals(t1, t2);
+        t1.setDayOfWeekIncluded(Calendar.SATURDAY, true);
+        assertFalse(t1.equals(t2));
+        t2.setDayOfWeekIncluded(Calendar.SATURDAY, true);
+        assertEquals(t1, t2);
+        t1.addExcludedDay(new Day(2, 1, 2017));
+        assertFalse(t1.equals(t2));
+        t2.addExcludedDay(new Day(2, 1, 2017));
+        assertEquals(t1, t2);
+        t1.addExcludedRange(1L, 2L);
+        assertFalse(t1.equals(t2));
+        t2.addExcludedRange(1L, 2L);
+        assertEquals(t1, t2);
+        assertEquals(t1.hashCode(), t2.hashCode());
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        SessionTimeline t1 = createTimeline();
+        SessionTimeline t2 = (SessionTimeline) t1.clone();
+        assertTrue(t1 != t2);
+        assertEquals(t1, t2);
+        t1.addExcludedDay(new Day(2, 1, 2017));
+        assertFalse(t1.equals(t2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        SessionTimeline t1 = createTimeline();
+        t1.addExcludedDay(new Day(16, 1, 2017));
+        SessionTimeline t2 = (SessionTimeline) TestUtils.serialised(t1);
+        assertEquals(t1, t2);
+        long v = ms(2017, 6, 1, 12, 0);
+        assertEquals(t1.toTimelineValue(v), t2.toTimelineValue(v));
+    }
+
+}
@@ -71,6 +71,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.LegendItem;
 import org.jfree.chart.LegendItemCollection;
@@ -82,12 +83,15 @@ import org.jfree.chart.axis.AxisSpace;
 import org.jfree.chart.axis.CategoryAnchor;
 import org.jfree.chart.axis.CategoryAxis;
 import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.event.MarkerChangeListener;
 import org.jfree.chart.renderer.category.AreaRenderer;
 import org.jfree.chart.renderer.category.BarRenderer;
 import org.jfree.chart.renderer.category.CategoryItemRenderer;
+import org.jfree.chart.renderer.category.CategoryItemRendererState;
 import org.jfree.chart.renderer.category.DefaultCategoryItemRenderer;
 import org.jfree.chart.renderer.category.LineAndShapeRenderer;
+import org.jfree.chart.renderer.category.WaterfallBarRenderer;
 import org.jfree.chart.ui.Layer;
 import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.chart.util.DefaultShadowGenerator;
@@ -1262,4 +1266,127 @@ public class CategoryPlotTest {
                 yMarker1));
     }
 
+    /**
+     * The categories for an axis are the unique column keys from all the
+     * datasets mapped to it, in order.
+     */
+    @Test
+    public void testGetCategoriesForAxis() {
+        DefaultCategoryDataset d1 = new DefaultCategoryDataset();
+        d1.addValue(1.0, "R1", "C1");
+        d1.addValue(2.0, "R1", "C2");
+        DefaultCategoryDataset d2 = new DefaultCategoryDataset();
+        d2.addValue(3.0, "R1", "C2");
+        d2.addValue(4.0, "R1", "C3");
+        CategoryPlot plot = new CategoryPlot(d1, new CategoryAxis("X"),
+                new NumberAxis("Y"), new BarRenderer());
+        plot.setDataset(1, d2);
+        assertEquals(Arrays.asList("C1", "C2", "C3"),
+                plot.getCategoriesForAxis(plot.getDomainAxis()));
+    }
+
+    /**
+     * When the clip covers only part of the data area and no entities are
+     * collected, only the columns near the clip are drawn.
+     */
+    @Test
+    public void testRenderCullsColumnsOutsideClip() {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        for (int c = 0; c < 1000; c++) {
+            dataset.addValue(c, "R1", "C" + c);
+        }
+        final List<Integer> drawn = new java.util.ArrayList<Integer>();
+        BarRenderer renderer = new BarRenderer() {
+            @Override
+            public void drawItem(Graphics2D g2,
+                    CategoryItemRendererState state, Rectangle2D dataArea,
+                    CategoryPlot plot, CategoryAxis domainAxis,
+                    ValueAxis rangeAxis, CategoryDataset dataset, int row,
+                    int column, int pass) {
+                drawn.add(column);
+            }
+        };
+        CategoryAxis xAxis = new CategoryAxis("X");
+        xAxis.setLowerMargin(0.0);
+        xAxis.setUpperMargin(0.0);
+        xAxis.setCategoryMargin(0.0);
+        CategoryPlot plot = new CategoryPlot(dataset, xAxis,
+                new NumberAxis("Y"), renderer);
+        BufferedImage image = new BufferedImage(1000, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, 1000.0, 100.0);
+        g2.clipRect(500, 0, 10, 100);
+
+        plot.render(g2, area, 0, null, null);
+        assertTrue(drawn.contains(500));
+        assertTrue(drawn.contains(509));
+        assertFalse(drawn.contains(0));
+        assertFalse(drawn.contains(999));
+        for (int i = 1; i < drawn.size(); i++) {
+            assertEquals(drawn.get(i - 1) + 1, (int) drawn.get(i));
+        }
+
+        drawn.clear();
+        plot.setColumnRenderingOrder(SortOrder.DESCENDING);
+        plot.render(g2, area, 0, null, null);
+        assertTrue(drawn.contains(500));
+        for (int i = 1; i < drawn.size(); i++) {
+            assertEquals(drawn.get(i - 1) - 1, (int) drawn.get(i));
+        }
+
+        // all the items are drawn when entities are collected
+        drawn.clear();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        plot.render(g2, area, 0, info.getPlotInfo(), null);
+        assertEquals(1000, drawn.size());
+        g2.dispose();
+    }
+
+    /**
+     * A waterfall chart draws each bar from the running total of the bars
+     * before it, so drawing through a narrow clip must give the same pixels
+     * as drawing the whole chart.
+     */
+    @Test
+    public void testRenderWaterfallWithNarrowClip() {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        for (int c = 0; c < 200; c++) {
+            dataset.addValue(1.0, "R1", "C" + c);
+        }
+        CategoryAxis xAxis = new CategoryAxis("X");
+        xAxis.setLowerMargin(0.0);
+        xAxis.setUpperMargin(0.0);
+        xAxis.setCategoryMargin(0.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 200.0);
+        CategoryPlot plot = new CategoryPlot(dataset, xAxis, yAxis,
+                new WaterfallBarRenderer());
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, 1000.0, 200.0);
+
+        BufferedImage full = new BufferedImage(1000, 200,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = full.createGraphics();
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, 1000, 200);
+        plot.render(g2, area, 0, null, null);
+        g2.dispose();
+
+        BufferedImage clipped = new BufferedImage(1000, 200,
+                BufferedImage.TYPE_INT_RGB);
+        g2 = clipped.createGraphics();
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, 1000, 200);
+        g2.clipRect(500, 0, 20, 200);
+        plot.render(g2, area, 0, null, null);
+        g2.dispose();
+
+        for (int x = 500; x < 520; x++) {
+            for (int y = 0; y < 200; y++) {
+                assertEquals("Pixel " + x + ", " + y, full.getRGB(x, y),
+                        clipped.getRGB(x, y));
+            }
+        }
+    }
+
 }
@@ -50,12 +50,18 @@ import static org.junit.Assert.fail;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
 import java.awt.Stroke;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
 
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.Range;
 import org.junit.Test;
 
 /**
@@ -127,6 +133,11 @@ public class FastScatterPlotTest {
         plot2.setRangePannable(true);
         assertTrue(plot1.equals(plot2));
 
+        plot1.setThreadCount(3);
+        assertFalse(plot1.equals(plot2));
+        plot2.setThreadCount(3);
+        assertTrue(plot1.equals(plot2));
+
     }
 
     /**
@@ -219,6 +230,134 @@ public class FastScatterPlotTest {
         }
     }
 
+    /**
+     * The data ranges are recalculated when the data is replaced.
+     */
+    @Test
+    public void testSetDataUpdatesRanges() {
+        FastScatterPlot plot = new FastScatterPlot(createData(),
+                new NumberAxis("X"), new NumberAxis("Y"));
+        assertEquals(new Range(100.0, 1099.0),
+                plot.getDataRange(plot.getDomainAxis()));
+        plot.setData(new float[][] {{-5.0f, 5.0f}, {1.0f, 2.0f}});
+        assertEquals(new Range(-5.0, 5.0),
+                plot.getDataRange(plot.getDomainAxis()));
+        assertEquals(new Range(1.0, 2.0),
+                plot.getDataRange(plot.getRangeAxis()));
+    }
+
+    /**
+     * The points are drawn on the pixels {@code (int) valueToJava2D(...)},
+     * both for the full data range and when zoomed in (which uses the
+     * x-value index), with several threads.
+     */
+    @Test
+    public void testRenderPixels() {
+        Random random = new Random(1234L);
+        float[][] data = new float[2][250000];
+        for (int i = 0; i < data[0].length; i++) {
+            data[0][i] = (float) (random.nextGaussian() * 100.0);
+            data[1][i] = (float) (random.nextGaussian() * 50.0);
+        }
+        data[0][17] = Float.NaN;
+        NumberAxis xAxis = new NumberAxis("X");
+        NumberAxis yAxis = new NumberAxis("Y");
+        FastScatterPlot plot = new FastScatterPlot(data, xAxis, yAxis);
+        assertEquals(1, plot.getThreadCount());
+        plot.setThreadCount(2);
+        yAxis.setRange(-150.0, 150.0);
+        xAxis.setRange(-400.0, 400.0);
+        checkRenderedPixels(plot, data);
+        xAxis.setRange(10.0, 30.0);
+        checkRenderedPixels(plot, data);
+        xAxis.setRange(1000.0, 2000.0);
+        checkRenderedPixels(plot, data);
+    }
+
+    /**
+     * When the target is not a raster target (here, because of a fractional
+     * translation) the points are filled one by one, so a point drawn twice
+     * with a translucent color is painted twice.
+     */
+    @Test
+    public void testRenderNonRasterTarget() {
+        float[][] data = new float[][] {{1.0f, 1.0f, 2.0f}, {1.0f, 1.0f, 2.0f}};
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 3.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 3.0);
+        FastScatterPlot plot = new FastScatterPlot(data, xAxis, yAxis);
+        Color paint = new Color(0, 0, 0, 128);
+        plot.setPaint(paint);
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, 30.0, 30.0);
+
+        BufferedImage image = new BufferedImage(40, 40,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, 40, 40);
+        g2.translate(0.5, 0.5);
+        plot.render(g2, area, null, null);
+        g2.dispose();
+
+        BufferedImage expected = new BufferedImage(40, 40,
+                BufferedImage.TYPE_INT_RGB);
+        g2 = expected.createGraphics();
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, 40, 40);
+        g2.translate(0.5, 0.5);
+        g2.setPaint(paint);
+        for (int i = 0; i < data[0].length; i++) {
+            int x = (int) xAxis.valueToJava2D(data[0][i], area,
+                    RectangleEdge.BOTTOM);
+            int y = (int) yAxis.valueToJava2D(data[1][i], area,
+                    RectangleEdge.LEFT);
+            g2.fillRect(x, y, 1, 1);
+        }
+        g2.dispose();
+        for (int x = 0; x < 40; x++) {
+            for (int y = 0; y < 40; y++) {
+                assertEquals("Pixel " + x + ", " + y, expected.getRGB(x, y),
+                        image.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * Renders the plot and checks each pixel of the data area.
+     *
+     * @param plot  the plot.
+     * @param data  the plot data.
+     */
+    private void checkRenderedPixels(FastScatterPlot plot, float[][] data) {
+        Rectangle2D area = new Rectangle2D.Double(10.0, 20.0, 300.0, 200.0);
+        BufferedImage image = new BufferedImage(320, 240,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, 320, 240);
+        g2.clip(area);
+        plot.setPaint(Color.BLACK);
+        plot.render(g2, area, null, null);
+        g2.dispose();
+        boolean[][] expected = new boolean[320][240];
+        for (int i = 0; i < data[0].length; i++) {
+            int x = (int) plot.getDomainAxis().valueToJava2D(data[0][i],
+                    area, RectangleEdge.BOTTOM);
+            int y = (int) plot.getRangeAxis().valueToJava2D(data[1][i],
+                    area, RectangleEdge.LEFT);
+            if (x >= 10 && x < 310 && y >= 20 && y < 220) {
+                expected[x][y] = true;
+            }
+        }
+        for (int x = 10; x < 310; x++) {
+            for (int y = 20; y < 220; y++) {
+                boolean black = (image.getRGB(x, y) & 0xFFFFFF) == 0;
+                assertEquals("Pixel " + x + ", " + y, expected[x][y], black);
+            }
+        }
+    }
+
     /**
      * Populates the data array with random values.
      *
@@ -614,6 +614,34 @@ public class PiePlotTest {
         }
         assertTrue(success);
     }
+
+    /**
+     * Draws a pie with several hundred labelled sections using the sweep
+     * label distributor, twice (so that the cached label blocks are used).
+     */
+    @Test
+    public void testDrawManyLabels() {
+        DefaultPieDataset dataset = new DefaultPieDataset();
+        for (int i = 0; i < 400; i++) {
+            dataset.setValue("S" + i, 1.0 + i % 7);
+        }
+        PiePlot plot = new PiePlot(dataset);
+        plot.setLabelDistributor(new SweepPieLabelDistributor());
+        JFreeChart chart = new JFreeChart(null, null, plot, false);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), null, null);
+        dataset.setValue("S0", 50.0);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), null, null);
+        g2.dispose();
+        AbstractPieLabelDistributor d = plot.getLabelDistributor();
+        assertTrue(d.getItemCount() > 0);
+        for (int i = 1; i < d.getItemCount(); i++) {
+            assertTrue(d.getPieLabelRecord(i).getAllocatedY()
+                    > d.getPieLabelRecord(i - 1).getAllocatedY());
+        }
+    }
     
     @Test
     public void testBug1126() throws CloneNotSupportedException {
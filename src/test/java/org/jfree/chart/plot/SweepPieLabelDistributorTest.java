@@ -0,0 +1,149 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.plot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.text.TextBox;
+
+import org.junit.Test;
+
+/**
+ * Some tests for the {@link SweepPieLabelDistributor} class.
+ */
+public class SweepPieLabelDistributorTest {
+
+    /**
+     * Adds a label record with the specified base y-coordinate and height.
+     *
+     * @param d  the distributor.
+     * @param baseY  the base y-coordinate.
+     * @param height  the label height.
+     */
+    private static void add(AbstractPieLabelDistributor d, double baseY,
+            double height) {
+        d.addPieLabelRecord(new PieLabelRecord("K" + d.getItemCount(), 0.0,
+                baseY, new TextBox("L"), height, 0.0, 0.0));
+    }
+
+    /**
+     * Labels that do not overlap stay at their base positions.
+     */
+    @Test
+    public void testNoOverlap() {
+        SweepPieLabelDistributor d = new SweepPieLabelDistributor();
+        add(d, 50.0, 10.0);
+        add(d, 10.0, 10.0);
+        add(d, 30.0, 10.0);
+        d.distributeLabels(0.0, 100.0);
+        assertEquals(10.0, d.getPieLabelRecord(0).getAllocatedY(), 0.0);
+        assertEquals(30.0, d.getPieLabelRecord(1).getAllocatedY(), 0.0);
+        assertEquals(50.0, d.getPieLabelRecord(2).getAllocatedY(), 0.0);
+    }
+
+    /**
+     * Two colliding labels move apart symmetrically about their mean.
+     */
+    @Test
+    public void testPair() {
+        SweepPieLabelDistributor d = new SweepPieLabelDistributor(4.0);
+        add(d, 50.0, 10.0);
+        add(d, 52.0, 10.0);
+        d.distributeLabels(0.0, 100.0);
+        assertEquals(44.0, d.getPieLabelRecord(0).getAllocatedY(), 1e-9);
+        assertEquals(58.0, d.getPieLabelRecord(1).getAllocatedY(), 1e-9);
+    }
+
+    /**
+     * Labels that collide at the edge of the area are pushed inside it.
+     */
+    @Test
+    public void testClampedToArea() {
+        SweepPieLabelDistributor d = new SweepPieLabelDistributor(0.0);
+        add(d, 0.0, 10.0);
+        add(d, 1.0, 10.0);
+        add(d, 99.0, 10.0);
+        d.distributeLabels(0.0, 100.0);
+        assertEquals(5.0, d.getPieLabelRecord(0).getAllocatedY(), 1e-9);
+        assertEquals(15.0, d.getPieLabelRecord(1).getAllocatedY(), 1e-9);
+        assertEquals(95.0, d.getPieLabelRecord(2).getAllocatedY(), 1e-9);
+    }
+
+    /**
+     * Many labels are separated by the minimum gap, keep their order and
+     * stay within the available height.
+     */
+    @Test
+    public void testManyLabels() {
+        SweepPieLabelDistributor d = new SweepPieLabelDistributor(2.0);
+        for (int i = 0; i < 300; i++) {
+            add(d, 400.0 + 300.0 * Math.sin(i * 0.37), 8.0 + i % 3);
+        }
+        d.distributeLabels(20.0, 3500.0);
+        double previousUpper = 20.0 - 2.0;
+        double previousBase = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < d.getItemCount(); i++) {
+            PieLabelRecord r = d.getPieLabelRecord(i);
+            assertTrue(r.getBaseY() >= previousBase);
+            assertTrue(r.getLowerY() >= previousUpper + 2.0 - 1e-9);
+            previousUpper = r.getUpperY();
+            previousBase = r.getBaseY();
+        }
+        assertTrue(previousUpper <= 3520.0 + 1e-9);
+    }
+
+    /**
+     * When the labels do not fit they are spread evenly over the area.
+     */
+    @Test
+    public void testInsufficientHeight() {
+        SweepPieLabelDistributor d = new SweepPieLabelDistributor();
+        for (int i = 0; i < 20; i++) {
+            add(d, 50.0, 10.0);
+        }
+        d.distributeLabels(0.0, 100.0);
+        assertEquals(5.0, d.getPieLabelRecord(0).getAllocatedY(), 1e-9);
+        assertEquals(95.0, d.getPieLabelRecord(19).getAllocatedY(), 1e-9);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check the gap.
+     */
+    @Test
+    public void testSerialization() {
+        SweepPieLabelDistributor d1 = new SweepPieLabelDistributor(3.0);
+        SweepPieLabelDistributor d2 = (SweepPieLabelDistributor)
+                TestUtils.serialised(d1);
+        assertEquals(3.0, d2.getMinGap(), 0.0);
+    }
+
+}
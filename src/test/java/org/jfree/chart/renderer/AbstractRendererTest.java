@@ -336,6 +336,12 @@ public class AbstractRendererTest {
         r2.setDefaultLegendTextPaint(new GradientPaint(1.0f, 2.0f, Color.BLUE,
                 3.0f, 4.0f, Color.RED));
         assertTrue(r1.equals(r2));
+
+        // useShapeStamps
+        r1.setUseShapeStamps(true);
+        assertFalse(r1.equals(r2));
+        r2.setUseShapeStamps(true);
+        assertTrue(r1.equals(r2));
     }
 
     @Test
@@ -785,4 +791,43 @@ public class AbstractRendererTest {
         assertNotNull(r.getSeriesOutlinePaint(0));
     }
 
+    /**
+     * The lookup methods keep the resolved attributes, so check that they
+     * still follow changes made without a change event.
+     */
+    @Test
+    public void testLookupsFollowSilentChanges() {
+        BarRenderer r = new BarRenderer();
+        r.setAutoPopulateSeriesStroke(false);
+        assertEquals(Color.BLUE, r.lookupSeriesPaint(0));
+        assertEquals(AbstractRenderer.DEFAULT_STROKE, r.lookupSeriesStroke(3));
+        assertTrue(r.isSeriesVisible(1));
+        assertEquals(Color.BLACK, r.getItemLabelPaint(2, 0));
+
+        r.setSeriesPaint(0, Color.RED, false);
+        r.setDefaultStroke(new BasicStroke(2.0f), false);
+        r.setSeriesVisible(1, Boolean.FALSE, false);
+        r.setDefaultItemLabelPaint(Color.GREEN, false);
+        Font font = new Font("Dialog", Font.BOLD, 14);
+        r.setSeriesItemLabelFont(2, font, false);
+        assertEquals(Color.RED, r.lookupSeriesPaint(0));
+        assertEquals(new BasicStroke(2.0f), r.lookupSeriesStroke(3));
+        assertFalse(r.isSeriesVisible(1));
+        assertEquals(Color.GREEN, r.getItemLabelPaint(2, 0));
+        assertEquals(font, r.getItemLabelFont(2, 0));
+
+        // a paint looked up before the renderer has a plot is not kept, so
+        // that the series can be auto-populated later
+        BarRenderer r2 = new BarRenderer();
+        assertEquals(Color.BLUE, r2.lookupSeriesPaint(0));
+        new CategoryPlot(null, new CategoryAxis("Category"),
+                new NumberAxis("Value"), r2);
+        assertEquals(DefaultDrawingSupplier.DEFAULT_PAINT_SEQUENCE[0],
+                r2.lookupSeriesPaint(0));
+
+        // series beyond the cached range still resolve correctly
+        r.setSeriesPaint(100000, Color.YELLOW, false);
+        assertEquals(Color.YELLOW, r.lookupSeriesPaint(100000));
+    }
+
 }
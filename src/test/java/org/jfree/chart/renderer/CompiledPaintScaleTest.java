@@ -0,0 +1,195 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.renderer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+
+import org.jfree.chart.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link CompiledPaintScale} class.
+ */
+public class CompiledPaintScaleTest {
+
+    /**
+     * The table matches the source scale at the sample points, and values
+     * outside the range follow the source scale.
+     */
+    @Test
+    public void testCompileLookupPaintScale() {
+        LookupPaintScale source = new LookupPaintScale(0.0, 10.0, Color.GRAY);
+        source.add(0.0, Color.RED);
+        source.add(5.0, Color.GREEN);
+        CompiledPaintScale s = new CompiledPaintScale(source, 11, false);
+        assertEquals(11, s.getSize());
+        assertEquals(0.0, s.getLowerBound(), 0.0);
+        assertEquals(10.0, s.getUpperBound(), 0.0);
+        for (int i = 0; i <= 10; i++) {
+            assertEquals(source.getPaint(i), s.getPaint(i));
+        }
+        assertEquals(Color.RED.getRGB(), s.getRGB(4.4));
+        assertEquals(Color.GREEN.getRGB(), s.getRGB(4.6));
+        assertEquals(Color.GRAY.getRGB(), s.getRGB(-0.1));
+        assertEquals(Color.GRAY.getRGB(), s.getRGB(10.1));
+        assertEquals(source.getPaint(Double.NaN), s.getPaint(Double.NaN));
+    }
+
+    /**
+     * Without interpolation the same color instance is returned.
+     */
+    @Test
+    public void testSharedColors() {
+        CompiledPaintScale s = new CompiledPaintScale(new GrayPaintScale());
+        assertSame(s.getPaint(0.5), s.getPaint(0.5));
+        assertSame(s.getPaint(-1.0), s.getPaint(-2.0));
+        assertEquals(Color.BLACK, s.getPaint(-1.0));
+        assertEquals(Color.WHITE, s.getPaint(2.0));
+    }
+
+    /**
+     * Interpolation blends neighbouring table entries.
+     */
+    @Test
+    public void testInterpolate() {
+        CompiledPaintScale s = new CompiledPaintScale(0.0, 1.0,
+                new Color[] {Color.BLACK, Color.WHITE}, 2);
+        assertEquals(Color.BLACK.getRGB(), s.getRGB(0.4));
+        assertEquals(Color.WHITE.getRGB(), s.getRGB(0.6));
+        s = new CompiledPaintScale(s, 2, true);
+        assertTrue(s.getInterpolate());
+        assertEquals(new Color(128, 128, 128).getRGB(), s.getRGB(0.5));
+        assertEquals(Color.WHITE.getRGB(), s.getRGB(1.0));
+        assertEquals(new Color(128, 128, 128), s.getPaint(0.5));
+    }
+
+    /**
+     * A gradient through three colors.
+     */
+    @Test
+    public void testGradient() {
+        CompiledPaintScale s = new CompiledPaintScale(0.0, 100.0,
+                new Color[] {Color.BLUE, Color.GREEN, Color.RED}, 101);
+        assertEquals(Color.BLUE.getRGB(), s.getRGB(0.0));
+        assertEquals(Color.GREEN.getRGB(), s.getRGB(50.0));
+        assertEquals(Color.RED.getRGB(), s.getRGB(100.0));
+        assertEquals(Color.BLUE.getRGB(), s.getRGB(-5.0));
+        assertEquals(Color.RED.getRGB(), s.getRGB(105.0));
+        assertEquals(0, s.getRGB(Double.NaN));
+        s.setNaNColor(Color.YELLOW);
+        assertEquals(Color.YELLOW, s.getPaint(Double.NaN));
+        s.setBelowRangeColor(Color.CYAN);
+        assertEquals(Color.CYAN, s.getPaint(-5.0));
+        s.setAboveRangeColor(Color.MAGENTA);
+        assertEquals(Color.MAGENTA, s.getPaint(105.0));
+    }
+
+    /**
+     * A source scale must return colors.
+     */
+    @Test
+    public void testNonColorSource() {
+        PaintScale source = new PaintScale() {
+            @Override
+            public double getLowerBound() {
+                return 0.0;
+            }
+            @Override
+            public double getUpperBound() {
+                return 1.0;
+            }
+            @Override
+            public java.awt.Paint getPaint(double value) {
+                return new GradientPaint(0f, 0f, Color.RED, 1f, 1f,
+                        Color.BLUE);
+            }
+        };
+        try {
+            new CompiledPaintScale(source);
+            fail("Expected an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        CompiledPaintScale s1 = new CompiledPaintScale(new GrayPaintScale());
+        CompiledPaintScale s2 = new CompiledPaintScale(new GrayPaintScale());
+        assertTrue(s1.equals(s2));
+        assertEquals(s1.hashCode(), s2.hashCode());
+        s1.setNaNColor(Color.RED);
+        assertFalse(s1.equals(s2));
+        s2.setNaNColor(Color.RED);
+        assertTrue(s1.equals(s2));
+        s1 = new CompiledPaintScale(new GrayPaintScale(), 256, true);
+        assertFalse(s1.equals(s2));
+        s2 = new CompiledPaintScale(new GrayPaintScale(), 256, true);
+        assertTrue(s1.equals(s2));
+        s1 = new CompiledPaintScale(new GrayPaintScale(0.0, 2.0), 256, true);
+        assertFalse(s1.equals(s2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        CompiledPaintScale s1 = new CompiledPaintScale(new GrayPaintScale());
+        CompiledPaintScale s2 = (CompiledPaintScale) s1.clone();
+        assertNotSame(s1, s2);
+        assertEquals(s1, s2);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        CompiledPaintScale s1 = new CompiledPaintScale(new GrayPaintScale(),
+                64, true);
+        CompiledPaintScale s2 = (CompiledPaintScale) TestUtils.serialised(s1);
+        assertEquals(s1, s2);
+        assertEquals(s1.getRGB(0.37), s2.getRGB(0.37));
+    }
+
+}
@@ -0,0 +1,205 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.renderer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.jfree.chart.util.ShapeUtils;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ShapeStampCache} class.
+ */
+public class ShapeStampCacheTest {
+
+    /**
+     * Creates a graphics target for an image.
+     *
+     * @param image  the image.
+     * @param antialias  antialiasing on or off.
+     *
+     * @return The graphics target.
+     */
+    private static Graphics2D createGraphics(BufferedImage image,
+            boolean antialias) {
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialias
+                ? RenderingHints.VALUE_ANTIALIAS_ON
+                : RenderingHints.VALUE_ANTIALIAS_OFF);
+        return g2;
+    }
+
+    /**
+     * Images and untransformed targets are raster targets, scaled targets
+     * are not.
+     */
+    @Test
+    public void testIsRasterTarget() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        assertTrue(ShapeStampCache.isRasterTarget(g2));
+        g2.translate(3.0, 4.0);
+        assertTrue(ShapeStampCache.isRasterTarget(g2));
+        g2.translate(0.5, 0.0);
+        assertFalse(ShapeStampCache.isRasterTarget(g2));
+        g2.dispose();
+        g2 = image.createGraphics();
+        g2.scale(2.0, 2.0);
+        assertFalse(ShapeStampCache.isRasterTarget(g2));
+        g2.dispose();
+    }
+
+    /**
+     * At whole pixel positions the stamps give exactly the same pixels as
+     * drawing the shape.
+     */
+    @Test
+    public void testMatchesVectorDrawing() {
+        Shape shape = new Ellipse2D.Double(-4.0, -4.0, 8.0, 8.0);
+        BasicStroke stroke = new BasicStroke(1.5f);
+        for (boolean antialias : new boolean[] {false, true}) {
+            BufferedImage i1 = new BufferedImage(60, 40,
+                    BufferedImage.TYPE_INT_ARGB);
+            BufferedImage i2 = new BufferedImage(60, 40,
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g1 = createGraphics(i1, antialias);
+            Graphics2D g2 = createGraphics(i2, antialias);
+            ShapeStampCache cache = new ShapeStampCache();
+            for (int i = 0; i < 5; i++) {
+                double x = 6 + i * 11;
+                double y = 8 + i * 6;
+                assertTrue(cache.draw(g1, shape, x, y, Color.RED, Color.BLUE,
+                        stroke));
+                Shape s = ShapeUtils.createTranslatedShape(shape, x, y);
+                g2.setPaint(Color.RED);
+                g2.fill(s);
+                g2.setPaint(Color.BLUE);
+                g2.setStroke(stroke);
+                g2.draw(s);
+            }
+            g1.dispose();
+            g2.dispose();
+            assertEquals(1, cache.getStyleCount());
+            assertArrayEquals(i2.getRGB(0, 0, 60, 40, null, 0, 60),
+                    i1.getRGB(0, 0, 60, 40, null, 0, 60));
+        }
+    }
+
+    /**
+     * Targets, paints and shapes that cannot be stamped are left to the
+     * caller.
+     */
+    @Test
+    public void testFallback() {
+        Shape shape = new Rectangle2D.Double(-2.0, -2.0, 4.0, 4.0);
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ShapeStampCache cache = new ShapeStampCache();
+        assertFalse(cache.draw(g2, shape, 5.0, 5.0, new GradientPaint(0.0f,
+                0.0f, Color.RED, 1.0f, 1.0f, Color.BLUE), null, null));
+        assertFalse(cache.draw(g2, new Rectangle2D.Double(-50.0, -50.0,
+                100.0, 100.0), 5.0, 5.0, Color.RED, null, null));
+        g2.setComposite(AlphaComposite.Src);
+        assertFalse(cache.draw(g2, shape, 5.0, 5.0, Color.RED, null, null));
+        g2.setComposite(AlphaComposite.SrcOver);
+        g2.scale(2.0, 2.0);
+        assertFalse(cache.draw(g2, shape, 5.0, 5.0, Color.RED, null, null));
+        g2.dispose();
+    }
+
+    /**
+     * The least recently used style is discarded when the cache is full.
+     */
+    @Test
+    public void testMaximumStyleCount() {
+        Shape shape = new Rectangle2D.Double(-2.0, -2.0, 4.0, 4.0);
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ShapeStampCache cache = new ShapeStampCache(2);
+        assertEquals(2, cache.getMaximumStyleCount());
+        cache.draw(g2, shape, 5.0, 5.0, Color.RED, null, null);
+        cache.draw(g2, shape, 5.0, 5.0, Color.GREEN, null, null);
+        cache.draw(g2, shape, 5.0, 5.0, new Color(255, 0, 0), null, null);
+        assertEquals(2, cache.getStyleCount());
+        cache.draw(g2, shape, 5.0, 5.0, Color.BLUE, null, null);
+        assertEquals(2, cache.getStyleCount());
+        cache.clear();
+        assertEquals(0, cache.getStyleCount());
+        g2.dispose();
+    }
+
+    /**
+     * When most shapes need a new style, no more styles are created and the
+     * shapes are left to the caller, until the styles are reused again.
+     */
+    @Test
+    public void testHighMissRate() {
+        Shape shape = new Rectangle2D.Double(-2.0, -2.0, 4.0, 4.0);
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ShapeStampCache cache = new ShapeStampCache();
+        boolean drawn = true;
+        for (int i = 0; i < 1000; i++) {
+            drawn = cache.draw(g2, shape, 5.0, 5.0, new Color(i), null, null);
+        }
+        assertFalse(drawn);
+        assertTrue(cache.getStyleCount() < 100);
+
+        // a style that is already cached is still used
+        assertTrue(cache.draw(g2, shape, 5.0, 5.0, new Color(0), null, null));
+
+        // after a window of hits, new styles are created again
+        for (int i = 0; i < 512; i++) {
+            cache.draw(g2, shape, 5.0, 5.0, new Color(0), null, null);
+        }
+        assertTrue(cache.draw(g2, shape, 5.0, 5.0, new Color(5000), null,
+                null));
+        g2.dispose();
+    }
+
+}
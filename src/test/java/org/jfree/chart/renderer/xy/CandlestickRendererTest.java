@@ -53,12 +53,25 @@ import static org.junit.Assert.assertNull;
 
 import java.awt.Color;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.Date;
+import java.util.Iterator;
 
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.entity.XYItemEntity;
+import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.util.PublicCloneable;
 
 import org.jfree.data.Range;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.time.Millisecond;
+import org.jfree.data.time.ohlc.OHLCSeries;
+import org.jfree.data.time.ohlc.OHLCSeriesCollection;
 import org.jfree.data.xy.DefaultOHLCDataset;
 import org.jfree.data.xy.OHLCDataItem;
 import org.jfree.data.xy.OHLCDataset;
@@ -157,6 +170,11 @@ public class CandlestickRendererTest {
         assertFalse(r1.equals(r2));
         r2.setVolumePaint(Color.BLUE);
         assertTrue(r1.equals(r2));
+
+        r1.setDecimate(true);
+        assertFalse(r1.equals(r2));
+        r2.setDecimate(true);
+        assertTrue(r1.equals(r2));
     }
 
     /**
@@ -235,4 +253,125 @@ public class CandlestickRendererTest {
         assertNull(range);
     }
 
+    /**
+     * The smallest gap is worked out for each drawing, check that it follows
+     * items being added to and removed from the dataset.
+     */
+    @Test
+    public void testSmallestWidth() {
+        CandlestickRenderer renderer = new CandlestickRenderer();
+        renderer.setAutoWidthMethod(CandlestickRenderer.WIDTHMETHOD_SMALLEST);
+        renderer.setAutoWidthFactor(1.0);
+        renderer.setMaxCandleWidthInMilliseconds(100.0);
+        OHLCSeries series = new OHLCSeries("S1");
+        series.add(new Millisecond(new Date(0L)), 1.0, 2.0, 0.5, 1.5, 10.0);
+        series.add(new Millisecond(new Date(10L)), 1.0, 2.0, 0.5, 1.5, 30.0);
+        OHLCSeriesCollection dataset = new OHLCSeriesCollection();
+        dataset.addSeries(series);
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 100.0);
+        XYPlot plot = new XYPlot(dataset, xAxis, new NumberAxis("Y"),
+                renderer);
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, 100.0, 50.0);
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        CandlestickRenderer.State state = (CandlestickRenderer.State)
+                renderer.initialise(g2, area, plot, dataset, null);
+        assertEquals(10.0, state.stickWidths[0], EPSILON);
+
+        series.add(new Millisecond(new Date(14L)), 1.0, 2.0, 0.5, 1.5, 5.0);
+        state = (CandlestickRenderer.State) renderer.initialise(g2, area,
+                plot, dataset, null);
+        assertEquals(4.0, state.stickWidths[0], EPSILON);
+
+        series.remove(2);
+        state = (CandlestickRenderer.State) renderer.initialise(g2, area,
+                plot, dataset, null);
+        assertEquals(10.0, state.stickWidths[0], EPSILON);
+        g2.dispose();
+    }
+
+    /**
+     * A dataset that counts the change listeners registered with it.
+     */
+    static class ListenerCountingDataset extends OHLCSeriesCollection {
+
+        /** The number of listeners currently registered. */
+        int listenerCount;
+
+        @Override
+        public void addChangeListener(DatasetChangeListener listener) {
+            super.addChangeListener(listener);
+            this.listenerCount++;
+        }
+
+        @Override
+        public void removeChangeListener(DatasetChangeListener listener) {
+            super.removeChangeListener(listener);
+            this.listenerCount--;
+        }
+
+    }
+
+    /**
+     * Drawing must not leave the renderer registered with the dataset, or
+     * the dataset would keep the renderer, plot and chart reachable.
+     */
+    @Test
+    public void testNoDatasetListener() {
+        CandlestickRenderer renderer = new CandlestickRenderer();
+        renderer.setAutoWidthMethod(CandlestickRenderer.WIDTHMETHOD_SMALLEST);
+        OHLCSeries series = new OHLCSeries("S1");
+        series.add(new Millisecond(new Date(0L)), 1.0, 2.0, 0.5, 1.5, 10.0);
+        series.add(new Millisecond(new Date(10L)), 1.0, 2.0, 0.5, 1.5, 30.0);
+        ListenerCountingDataset dataset = new ListenerCountingDataset();
+        dataset.addSeries(series);
+        XYPlot plot = new XYPlot(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.createBufferedImage(200, 100);
+        plot.setDataset(null);
+        assertEquals(0, dataset.listenerCount);
+    }
+
+    /**
+     * Items that fall on the same pixel are drawn as one candle when the
+     * decimate flag is set.
+     */
+    @Test
+    public void testDecimate() {
+        OHLCSeries series = new OHLCSeries("S1");
+        for (int i = 0; i < 1000; i++) {
+            series.add(new Millisecond(new Date(i)), 1.0, 2.0, 0.5, 1.5);
+        }
+        OHLCSeriesCollection dataset = new OHLCSeriesCollection();
+        dataset.addSeries(series);
+        CandlestickRenderer renderer = new CandlestickRenderer();
+        XYPlot plot = new XYPlot(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        chart.createBufferedImage(200, 100, info);
+        assertEquals(1000, countItemEntities(info));
+
+        renderer.setDecimate(true);
+        info = new ChartRenderingInfo();
+        chart.createBufferedImage(200, 100, info);
+        int count = countItemEntities(info);
+        assertTrue(count > 0);
+        assertTrue(count <= 200);
+    }
+
+    private static int countItemEntities(ChartRenderingInfo info) {
+        int count = 0;
+        Iterator iterator = info.getEntityCollection().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof XYItemEntity) {
+                count++;
+            }
+        }
+        return count;
+    }
+
 }
@@ -49,11 +49,20 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 
 import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 
+import org.jfree.chart.JFreeChart;
 import org.jfree.chart.TestUtils;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
 
 import org.jfree.chart.renderer.GrayPaintScale;
 import org.jfree.chart.renderer.LookupPaintScale;
+import org.jfree.chart.ui.RectangleInsets;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.data.Range;
 import org.jfree.data.xy.DefaultXYZDataset;
@@ -215,5 +224,144 @@ public class XYBlockRendererTest {
         r = renderer.findDomainBounds(dataset);
         assertNull(r);
     }    
+
+    /**
+     * Draws a 10 x 10 grid of blocks (which the renderer draws as a single
+     * image) and checks the colors in the image.
+     */
+    @Test
+    public void testDrawGrid() {
+        double[][] data = new double[3][100];
+        for (int i = 0; i < 100; i++) {
+            data[0][i] = i % 10;
+            data[1][i] = i / 10;
+            data[2][i] = (i % 10 < 5) ? 1.0 : 2.0;
+        }
+        // make the last cell green
+        data[2][99] = 3.0;
+        DefaultXYZDataset dataset = new DefaultXYZDataset();
+        dataset.addSeries("S1", data);
+        LookupPaintScale scale = new LookupPaintScale(0.0, 3.0, Color.WHITE);
+        scale.add(1.0, Color.RED);
+        scale.add(2.0, Color.BLUE);
+        scale.add(3.0, Color.GREEN);
+        XYBlockRenderer renderer = new XYBlockRenderer();
+        renderer.setPaintScale(scale);
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(-0.5, 9.5);
+        xAxis.setVisible(false);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(-0.5, 9.5);
+        yAxis.setVisible(false);
+        XYPlot plot = new XYPlot(dataset, xAxis, yAxis, renderer);
+        plot.setInsets(RectangleInsets.ZERO_INSETS);
+        plot.setAxisOffset(RectangleInsets.ZERO_INSETS);
+        plot.setOutlineVisible(false);
+        JFreeChart chart = new JFreeChart(null, null, plot, false);
+        BufferedImage image = chart.createBufferedImage(100, 100);
+        assertEquals(Color.RED.getRGB(), image.getRGB(5, 95));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(95, 95));
+        assertEquals(Color.RED.getRGB(), image.getRGB(45, 5));
+        assertEquals(Color.GREEN.getRGB(), image.getRGB(95, 5));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(85, 5));
+
+        // the same again with a horizontal orientation
+        plot.setOrientation(PlotOrientation.HORIZONTAL);
+        image = chart.createBufferedImage(100, 100);
+        assertEquals(Color.RED.getRGB(), image.getRGB(5, 95));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(5, 5));
+        assertEquals(Color.GREEN.getRGB(), image.getRGB(95, 5));
+    }
+
+    /**
+     * Creates a chart with a 12 x 10 grid of blocks, with a hole in it.
+     *
+     * @param xAxis  the x-axis.
+     * @param yAxis  the y-axis.
+     *
+     * @return The chart.
+     */
+    private JFreeChart createGridChart(NumberAxis xAxis, NumberAxis yAxis) {
+        DefaultXYZDataset dataset = new DefaultXYZDataset();
+        double[][] data = new double[3][116];
+        int i = 0;
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 12; x++) {
+                if (y >= 4 && y < 6 && x >= 5 && x < 7) {
+                    continue;
+                }
+                data[0][i] = x;
+                data[1][i] = y;
+                data[2][i] = (x * 7 + y * 3) % 10;
+                i++;
+            }
+        }
+        dataset.addSeries("S1", data);
+        XYBlockRenderer renderer = new XYBlockRenderer();
+        renderer.setPaintScale(new GrayPaintScale(0.0, 10.0));
+        xAxis.setRange(-2.0, 14.0);
+        xAxis.setVisible(false);
+        yAxis.setRange(-2.0, 12.0);
+        yAxis.setVisible(false);
+        XYPlot plot = new XYPlot(dataset, xAxis, yAxis, renderer);
+        plot.setInsets(RectangleInsets.ZERO_INSETS);
+        plot.setAxisOffset(RectangleInsets.ZERO_INSETS);
+        plot.setOutlineVisible(false);
+        JFreeChart chart = new JFreeChart(null, null, plot, false);
+        chart.setAntiAlias(false);
+        return chart;
+    }
+
+    /**
+     * Drawing the grid as an image gives the same pixels as drawing (filling
+     * and outlining) the blocks one by one.
+     */
+    @Test
+    public void testDrawGridMatchesBlocks() {
+        BufferedImage image = createGridChart(new NumberAxis("X"),
+                new NumberAxis("Y")).createBufferedImage(163, 141);
+        // an axis subclass is not known to be linear, so the blocks are
+        // drawn one by one
+        BufferedImage expected = createGridChart(new NumberAxis("X") {},
+                new NumberAxis("Y") {}).createBufferedImage(163, 141);
+        for (int x = 0; x < 163; x++) {
+            for (int y = 0; y < 141; y++) {
+                assertEquals("Pixel " + x + ", " + y, expected.getRGB(x, y),
+                        image.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * Drawing the blocks as an image must leave the interpolation hint as
+     * it was, even when it had not been set.
+     */
+    @Test
+    public void testInterpolationHintRestored() {
+        double[][] data = new double[3][100];
+        for (int i = 0; i < 100; i++) {
+            data[0][i] = i % 10;
+            data[1][i] = i / 10;
+            data[2][i] = i / 100.0;
+        }
+        DefaultXYZDataset dataset = new DefaultXYZDataset();
+        dataset.addSeries("S1", data);
+        XYPlot plot = new XYPlot(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), new XYBlockRenderer());
+        JFreeChart chart = new JFreeChart(null, null, plot, false);
+        BufferedImage image = new BufferedImage(100, 100,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        assertNull(g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        chart.draw(g2, new Rectangle(100, 100));
+        assertNull(g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        chart.draw(g2, new Rectangle(100, 100));
+        assertEquals(RenderingHints.VALUE_INTERPOLATION_BILINEAR,
+                g2.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        g2.dispose();
+    }
            
 }
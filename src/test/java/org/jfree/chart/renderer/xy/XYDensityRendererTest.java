@@ -0,0 +1,212 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.renderer.xy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.GrayPaintScale;
+import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.xy.DefaultXYDataset;
+import org.jfree.data.xy.XYDataset;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link XYDensityRenderer} class.
+ */
+public class XYDensityRendererTest {
+
+    /**
+     * Test that the equals() method distinguishes all fields.
+     */
+    @Test
+    public void testEquals() {
+        XYDensityRenderer r1 = new XYDensityRenderer();
+        XYDensityRenderer r2 = new XYDensityRenderer();
+        assertTrue(r1.equals(r2));
+        assertTrue(r2.equals(r1));
+
+        r1.setMappingType(DensityMappingType.EQUALIZED);
+        assertFalse(r1.equals(r2));
+        r2.setMappingType(DensityMappingType.EQUALIZED);
+        assertTrue(r1.equals(r2));
+
+        r1.setPaintScale(new GrayPaintScale(0.0, 1.0));
+        assertFalse(r1.equals(r2));
+        r2.setPaintScale(new GrayPaintScale(0.0, 1.0));
+        assertTrue(r1.equals(r2));
+
+        r1.setThreadCount(3);
+        assertFalse(r1.equals(r2));
+        r2.setThreadCount(3);
+        assertTrue(r1.equals(r2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        XYDensityRenderer r1 = new XYDensityRenderer();
+        r1.setPaintScale(new GrayPaintScale(0.0, 1.0));
+        XYDensityRenderer r2 = (XYDensityRenderer) r1.clone();
+        assertNotSame(r1, r2);
+        assertEquals(r1, r2);
+        assertTrue(r1 instanceof PublicCloneable);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        XYDensityRenderer r1 = new XYDensityRenderer();
+        r1.setPaintScale(new GrayPaintScale(0.0, 1.0));
+        XYDensityRenderer r2 = (XYDensityRenderer) TestUtils.serialised(r1);
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * Draws one series of a dataset into a 100 x 100 image, with both axes
+     * showing the range 0.0 to 100.0.
+     *
+     * @param r  the renderer.
+     * @param dataset  the dataset.
+     *
+     * @return The image.
+     */
+    private static BufferedImage draw(XYDensityRenderer r,
+            XYDataset dataset) {
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(0.0, 100.0);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(0.0, 100.0);
+        XYPlot plot = new XYPlot(dataset, xAxis, yAxis, r);
+        Rectangle2D dataArea = new Rectangle2D.Double(0.0, 0.0, 100.0,
+                100.0);
+        BufferedImage image = new BufferedImage(100, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        XYItemRendererState state = r.initialise(g2, dataArea, plot, dataset,
+                null);
+        int last = dataset.getItemCount(0) - 1;
+        state.startSeriesPass(dataset, 0, 0, last, 0, 1);
+        for (int item = 0; item <= last; item++) {
+            r.drawItem(g2, state, dataArea, null, plot, xAxis, yAxis,
+                    dataset, 0, item, null, 0);
+        }
+        state.endSeriesPass(dataset, 0, 0, last, 0, 1);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Each pixel gets the series color with an alpha value that reflects
+     * the number of items in it.
+     */
+    @Test
+    public void testCounts() {
+        DefaultXYDataset dataset = new DefaultXYDataset();
+        dataset.addSeries("S1", new double[][] {
+                {10.5, 10.6, 10.7, 50.0, 200.0},
+                {20.5, 20.4, 20.3, 50.0, 50.0}});
+        XYDensityRenderer r = new XYDensityRenderer();
+        r.setSeriesPaint(0, Color.BLUE);
+        r.setMappingType(DensityMappingType.LINEAR);
+        BufferedImage image = draw(r, dataset);
+        // y = 20.5 is 79.5 pixels from the top
+        assertEquals(0xFF0000FF, image.getRGB(10, 79));
+        assertEquals(0x550000FF, image.getRGB(50, 50));
+        assertEquals(0, image.getRGB(51, 50));
+
+        r.setMappingType(DensityMappingType.EQUALIZED);
+        image = draw(r, dataset);
+        assertEquals(0xFF0000FF, image.getRGB(10, 79));
+        assertEquals(0x800000FF, image.getRGB(50, 50));
+    }
+
+    /**
+     * With a paint scale, the highest count gets the color for the upper
+     * bound of the scale.
+     */
+    @Test
+    public void testPaintScale() {
+        DefaultXYDataset dataset = new DefaultXYDataset();
+        dataset.addSeries("S1", new double[][] {{10.5, 10.5, 30.5},
+                {20.5, 20.5, 40.5}});
+        XYDensityRenderer r = new XYDensityRenderer();
+        GrayPaintScale scale = new GrayPaintScale(0.0, 1.0);
+        r.setPaintScale(scale);
+        r.setMappingType(DensityMappingType.LINEAR);
+        BufferedImage image = draw(r, dataset);
+        assertEquals(0xFFFFFFFF, image.getRGB(10, 79));
+        // level 128 of 255 is 127/254 of the way along the scale
+        Color c = (Color) scale.getPaint(127.0 / 254.0);
+        assertEquals(c.getRGB(), image.getRGB(30, 59));
+    }
+
+    /**
+     * Counting in several threads gives the same image as counting in one.
+     */
+    @Test
+    public void testThreads() {
+        Random random = new Random(42);
+        int n = 300000;
+        double[][] data = new double[2][n];
+        for (int i = 0; i < n; i++) {
+            data[0][i] = 50.0 + random.nextGaussian() * 15.0;
+            data[1][i] = 50.0 + random.nextGaussian() * 15.0;
+        }
+        DefaultXYDataset dataset = new DefaultXYDataset();
+        dataset.addSeries("S1", data);
+        XYDensityRenderer r = new XYDensityRenderer();
+        assertEquals(1, r.getThreadCount());
+        BufferedImage i1 = draw(r, dataset);
+        r.setThreadCount(4);
+        BufferedImage i2 = draw(r, dataset);
+        assertArrayEquals(i1.getRGB(0, 0, 100, 100, null, 0, 100),
+                i2.getRGB(0, 0, 100, 100, null, 0, 100));
+    }
+
+}
@@ -48,8 +48,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
@@ -298,4 +303,70 @@ public class XYLineAndShapeRendererTest {
         assertEquals(2, li.getSeriesIndex());
     }
 
+    /**
+     * Draws a chart using the given renderer and returns the pixels.
+     *
+     * @param r  the renderer.
+     * @param orientation  the plot orientation.
+     *
+     * @return The pixels.
+     */
+    private int[] render(XYLineAndShapeRenderer r,
+            PlotOrientation orientation) {
+        XYSeries s1 = new XYSeries("S1");
+        XYSeries s2 = new XYSeries("S2");
+        for (int i = 0; i < 200; i++) {
+            s1.add(i, Math.sin(i / 7.0) * 50.0);
+            s2.add(i, i % 17 == 0 ? Double.NaN : Math.cos(i / 5.0) * 80.0);
+        }
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        dataset.addSeries(s1);
+        dataset.addSeries(s2);
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(20.5, 150.5);
+        NumberAxis yAxis = new NumberAxis("Y");
+        yAxis.setRange(-60.0, 60.0);
+        XYPlot plot = new XYPlot(dataset, xAxis, yAxis, r);
+        plot.setOrientation(orientation);
+        JFreeChart chart = new JFreeChart(plot);
+        chart.setAntiAlias(false);
+        chart.setTextAntiAlias(false);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_OFF);
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300));
+        g2.dispose();
+        return image.getRGB(0, 0, 400, 300, null, 0, 400);
+    }
+
+    /**
+     * The lines drawn in a single operation (by the base class) should be
+     * identical to the lines drawn item by item (by a subclass).
+     */
+    @Test
+    public void testBatchedLinesMatchItemLines() {
+        boolean[] flags = new boolean[] {false, true};
+        PlotOrientation[] orientations = new PlotOrientation[] {
+                PlotOrientation.VERTICAL, PlotOrientation.HORIZONTAL};
+        for (boolean asPath : flags) {
+            for (PlotOrientation orientation : orientations) {
+                XYLineAndShapeRenderer r1 = new XYLineAndShapeRenderer(true,
+                        false);
+                r1.setDrawSeriesLineAsPath(asPath);
+                r1.setSeriesPaint(0, Color.RED);
+                r1.setSeriesPaint(1, Color.BLUE);
+                XYLineAndShapeRenderer r2 = new XYLineAndShapeRenderer(true,
+                        false) {};
+                r2.setDrawSeriesLineAsPath(asPath);
+                r2.setSeriesPaint(0, Color.RED);
+                r2.setSeriesPaint(1, Color.BLUE);
+                int[] p1 = render(r1, orientation);
+                int[] p2 = render(r2, orientation);
+                assertTrue(Arrays.equals(p1, p2));
+            }
+        }
+    }
+
 }
@@ -0,0 +1,121 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.chart.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TextMeasurementCache} class and its use in
+ * {@link TextUtils}.
+ */
+public class TextMeasurementCacheTest {
+
+    /**
+     * Cached measurements match the font metrics, for repeated calls and
+     * with either bounds calculation.
+     */
+    @Test
+    public void testCachedBoundsMatchFontMetrics() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Font font = new Font("Dialog", Font.PLAIN, 13);
+        FontMetrics fm = g2.getFontMetrics(font);
+        String text = "Category 12";
+        boolean saved = TextUtils.getUseFontMetricsGetStringBounds();
+        try {
+            for (int i = 0; i < 2; i++) {
+                TextUtils.setUseFontMetricsGetStringBounds(false);
+                Rectangle2D b = TextUtils.getTextBounds(text, g2, fm);
+                assertEquals(fm.stringWidth(text), b.getWidth(), 0.0);
+                assertEquals(fm.getHeight(), b.getHeight(), 0.0);
+                assertEquals(-fm.getAscent(), b.getY(), 0.0);
+                assertEquals(fm.stringWidth(text),
+                        TextUtils.stringWidth(text, fm));
+
+                TextUtils.setUseFontMetricsGetStringBounds(true);
+                Rectangle2D expected = fm.getStringBounds(text, g2);
+                b = TextUtils.getTextBounds(text, g2, fm);
+                assertEquals(expected.getWidth(), b.getWidth(), 0.0);
+                assertEquals(expected.getY(), b.getY(), 0.0);
+                // modifying the result must not affect the cache
+                b.setRect(1.0, 2.0, 3.0, 4.0);
+            }
+        }
+        finally {
+            TextUtils.setUseFontMetricsGetStringBounds(saved);
+        }
+
+        // a different render context is a different key
+        g2.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS,
+                RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        FontMetrics fm2 = g2.getFontMetrics(font);
+        assertEquals(fm2.stringWidth(text), TextUtils.stringWidth(text, fm2));
+        g2.dispose();
+    }
+
+    /**
+     * Each segment evicts its least recently used entries.
+     */
+    @Test
+    public void testEviction() {
+        TextMeasurementCache cache = new TextMeasurementCache(16);
+        Font font = new Font("Dialog", Font.PLAIN, 10);
+        FontRenderContext frc = new FontRenderContext(null, false, false);
+        TextMeasurementCache.Key first = new TextMeasurementCache.Key(
+                TextMeasurementCache.Key.WIDTH, "0", font, frc);
+        cache.put(first, 1);
+        assertNotNull(cache.get(first));
+        for (int i = 1; i < 2000; i++) {
+            cache.put(new TextMeasurementCache.Key(
+                    TextMeasurementCache.Key.WIDTH, String.valueOf(i), font,
+                    frc), i);
+        }
+        assertNull(cache.get(first));
+        TextMeasurementCache.Key last = new TextMeasurementCache.Key(
+                TextMeasurementCache.Key.WIDTH, "1999", font, frc);
+        assertEquals(1999, cache.get(last));
+        cache.clear();
+        assertNull(cache.get(last));
+    }
+
+}
@@ -48,14 +48,26 @@ import static org.junit.Assert.assertTrue;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.jfree.chart.TestUtils;
 
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.block.BlockContainer;
+import org.jfree.chart.block.LabelBlock;
+import org.jfree.chart.block.RectangleConstraint;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.chart.ui.RectangleAnchor;
 import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.chart.ui.Size2D;
 import org.jfree.chart.util.SortOrder;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 import org.junit.Test;
 
 /**
@@ -106,6 +118,16 @@ public class LegendTitleTest {
         assertFalse(t1.equals(t2));
         t2.setSortOrder(SortOrder.DESCENDING);
         assertTrue(t1.equals(t2));
+
+        t1.setMaximumItemCount(10);
+        assertFalse(t1.equals(t2));
+        t2.setMaximumItemCount(10);
+        assertTrue(t1.equals(t2));
+
+        t1.setOverflowLabelFormat("and {0} others");
+        assertFalse(t1.equals(t2));
+        t2.setOverflowLabelFormat("and {0} others");
+        assertTrue(t1.equals(t2));
     }
 
     /**
@@ -156,4 +178,91 @@ public class LegendTitleTest {
         assertTrue(t1.equals(t2));
         assertTrue(t2.getSources()[0].equals(plot));
     }
+
+    /**
+     * The item blocks are kept while the legend items are unchanged, and
+     * created again when the items or the title settings change.
+     */
+    @Test
+    public void testItemBlocksRetained() {
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        for (int s = 0; s < 20; s++) {
+            XYSeries series = new XYSeries("S" + s);
+            series.add(1.0, s);
+            dataset.addSeries(series);
+        }
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer();
+        XYPlot plot = new XYPlot(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), renderer);
+        LegendTitle t = new LegendTitle(plot);
+        BufferedImage image = new BufferedImage(100, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        RectangleConstraint c = new RectangleConstraint(400.0, 300.0);
+
+        Size2D s1 = t.arrange(g2, c);
+        List blocks1 = new ArrayList(t.getItemContainer().getBlocks());
+        assertEquals(20, blocks1.size());
+        Size2D s2 = t.arrange(g2, c);
+        List blocks2 = new ArrayList(t.getItemContainer().getBlocks());
+        assertEquals(s1, s2);
+        for (int i = 0; i < blocks1.size(); i++) {
+            assertTrue(blocks1.get(i) == blocks2.get(i));
+        }
+
+        // a change to the legend items
+        renderer.setSeriesPaint(3, Color.MAGENTA);
+        t.arrange(g2, c);
+        List blocks3 = new ArrayList(t.getItemContainer().getBlocks());
+        assertFalse(blocks2.get(0) == blocks3.get(0));
+
+        // a change to the title
+        t.setItemFont(new Font("Dialog", Font.BOLD, 30));
+        Size2D s4 = t.arrange(g2, c);
+        assertFalse(blocks3.get(0) == t.getItemContainer().getBlocks().get(0));
+        assertTrue(s4.getHeight() > s1.getHeight());
+
+        // a new series
+        dataset.addSeries(new XYSeries("S20"));
+        t.arrange(g2, c);
+        assertEquals(21, t.getItemContainer().getBlocks().size());
+        g2.dispose();
+    }
+
+    /**
+     * Items beyond the maximum item count are summarised in one block.
+     */
+    @Test
+    public void testMaximumItemCount() {
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        for (int s = 0; s < 500; s++) {
+            dataset.addSeries(new XYSeries("S" + s));
+        }
+        XYPlot plot = new XYPlot(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), new XYLineAndShapeRenderer());
+        LegendTitle t = new LegendTitle(plot);
+        t.setMaximumItemCount(25);
+        BufferedImage image = new BufferedImage(100, 100,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        t.arrange(g2, new RectangleConstraint(400.0, 300.0));
+        List blocks = t.getItemContainer().getBlocks();
+        assertEquals(26, blocks.size());
+        BlockContainer last = (BlockContainer) blocks.get(25);
+        LabelBlock label = (LabelBlock) last.getBlocks().get(0);
+        LabelBlock expected = new LabelBlock("+475 more", t.getItemFont(),
+                t.getItemPaint());
+        expected.setPadding(t.getItemLabelPadding());
+        expected.setBounds(label.getBounds());
+        assertEquals(expected, label);
+
+        t.setSortOrder(SortOrder.DESCENDING);
+        t.arrange(g2, new RectangleConstraint(400.0, 300.0));
+        BlockContainer first = (BlockContainer) t.getItemContainer()
+                .getBlocks().get(0);
+        LegendItemBlockContainer item
+                = (LegendItemBlockContainer) first.getBlocks().get(0);
+        assertEquals("S499", item.getSeriesKey());
+        g2.dispose();
+    }
 }
@@ -0,0 +1,310 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import org.jfree.data.time.Minute;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.time.Year;
+import org.jfree.data.time.ohlc.OHLCSeriesCollection;
+import org.jfree.data.time.ohlc.TickOHLCSeries;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link CumulativeXYDataset} class, including some checks
+ * for chains of views.
+ */
+public class CumulativeXYDatasetTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * A simple source that reports appended items with a
+     * {@link SeriesDatasetChangeEvent}.
+     */
+    static class AppendingDataset extends AbstractXYDataset {
+
+        private List<double[]> items = new ArrayList<double[]>();
+
+        void append(double x, double y) {
+            this.items.add(new double[] {x, y});
+            notifyListeners(new SeriesDatasetChangeEvent(this, this,
+                    DatasetChangeType.ITEMS_APPENDED, 0,
+                    this.items.size() - 1, this.items.size() - 1));
+        }
+
+        @Override
+        public int getSeriesCount() {
+            return 1;
+        }
+
+        @Override
+        public Comparable getSeriesKey(int series) {
+            return "S";
+        }
+
+        @Override
+        public int getItemCount(int series) {
+            return this.items.size();
+        }
+
+        @Override
+        public Number getX(int series, int item) {
+            return this.items.get(item)[0];
+        }
+
+        @Override
+        public Number getY(int series, int item) {
+            return this.items.get(item)[1];
+        }
+    }
+
+    /**
+     * Records the events received.
+     */
+    static class Recorder implements DatasetChangeListener {
+
+        List<DatasetChangeEvent> events = new ArrayList<DatasetChangeEvent>();
+
+        @Override
+        public void datasetChanged(DatasetChangeEvent event) {
+            this.events.add(event);
+        }
+    }
+
+    /**
+     * Some checks for the sums, across several blocks.
+     */
+    @Test
+    public void testSums() {
+        XYSeries s = new XYSeries("S");
+        for (int i = 0; i < 2000; i++) {
+            s.add(i, i % 3 == 0 ? null : Double.valueOf(1.0));
+        }
+        CumulativeXYDataset d = new CumulativeXYDataset(
+                new XYSeriesCollection(s));
+        d.setMaximumBlockCount(1);
+        assertEquals(2000, d.getItemCount(0));
+        assertEquals(1333.0, d.getYValue(0, 1999), EPSILON);
+        assertEquals(0.0, d.getYValue(0, 0), EPSILON);
+        assertEquals(2.0, d.getYValue(0, 3), EPSILON);
+        assertEquals(667.0, d.getYValue(0, 1000), EPSILON);
+        s.update(1999.0, 5.0);
+        assertEquals(1337.0, d.getYValue(0, 1999), EPSILON);
+    }
+
+    /**
+     * Typed events from the source are passed on with the item index.
+     */
+    @Test
+    public void testAppendEvents() {
+        AppendingDataset source = new AppendingDataset();
+        for (int i = 0; i < 1000; i++) {
+            source.append(i, 2.0);
+        }
+        CumulativeXYDataset d = new CumulativeXYDataset(source);
+        assertEquals(2000.0, d.getYValue(0, 999), EPSILON);
+        Recorder r = new Recorder();
+        d.addChangeListener(r);
+        source.append(1000.0, 3.0);
+        assertEquals(1, r.events.size());
+        SeriesDatasetChangeEvent e
+                = (SeriesDatasetChangeEvent) r.events.get(0);
+        assertEquals(DatasetChangeType.ITEMS_APPENDED, e.getType());
+        assertEquals(1000, e.getFirstItem());
+        assertEquals(2003.0, d.getYValue(0, 1000), EPSILON);
+        assertEquals(2000.0, d.getYValue(0, 999), EPSILON);
+    }
+
+    /**
+     * Items added to an {@link XYSeries} reach the view as typed events,
+     * unless the maximum item count drops the first item.
+     */
+    @Test
+    public void testXYSeriesCollectionEvents() {
+        XYSeries s = new XYSeries("S");
+        s.add(1.0, 1.0);
+        s.add(3.0, 2.0);
+        CumulativeXYDataset d = new CumulativeXYDataset(
+                new XYSeriesCollection(s));
+        assertEquals(3.0, d.getYValue(0, 1), EPSILON);
+        Recorder r = new Recorder();
+        d.addChangeListener(r);
+        s.add(4.0, 4.0);
+        SeriesDatasetChangeEvent e
+                = (SeriesDatasetChangeEvent) r.events.get(0);
+        assertEquals(DatasetChangeType.ITEMS_APPENDED, e.getType());
+        assertEquals(2, e.getFirstItem());
+        assertEquals(7.0, d.getYValue(0, 2), EPSILON);
+
+        // an item inserted in x-order changes the later sums
+        s.add(2.0, 8.0);
+        e = (SeriesDatasetChangeEvent) r.events.get(1);
+        assertEquals(1, e.getFirstItem());
+        assertEquals(3, e.getLastItem());
+        assertEquals(9.0, d.getYValue(0, 1), EPSILON);
+        assertEquals(15.0, d.getYValue(0, 3), EPSILON);
+
+        s.setMaximumItemCount(4);
+        r.events.clear();
+        s.add(5.0, 1.0);
+        assertFalse(r.events.get(0) instanceof SeriesDatasetChangeEvent);
+        assertEquals(15.0, d.getYValue(0, 3), EPSILON);
+    }
+
+    /**
+     * Items added to a {@link TimeSeries} reach the view as typed events.
+     */
+    @Test
+    public void testTimeSeriesCollectionEvents() {
+        TimeSeries s = new TimeSeries("S");
+        s.add(new Year(2001), 1.0);
+        s.add(new Year(2003), 2.0);
+        CumulativeXYDataset d = new CumulativeXYDataset(
+                new TimeSeriesCollection(s));
+        Recorder r = new Recorder();
+        d.addChangeListener(r);
+        s.add(new Year(2002), 4.0);
+        SeriesDatasetChangeEvent e
+                = (SeriesDatasetChangeEvent) r.events.get(0);
+        assertEquals(DatasetChangeType.ITEMS_APPENDED, e.getType());
+        assertEquals(1, e.getFirstItem());
+        assertEquals(2, e.getLastItem());
+        assertEquals(7.0, d.getYValue(0, 2), EPSILON);
+
+        s.setMaximumItemAge(2);
+        r.events.clear();
+        s.add(new Year(2004), 1.0);
+        assertFalse(r.events.get(0) instanceof SeriesDatasetChangeEvent);
+        assertEquals(7.0, d.getYValue(0, 2), EPSILON);
+    }
+
+    /**
+     * The differences of the cumulative sums are the original values, and
+     * changes pass through the chain of views.
+     */
+    @Test
+    public void testChain() {
+        AppendingDataset source = new AppendingDataset();
+        source.append(1.0, 5.0);
+        source.append(2.0, 3.0);
+        DifferenceXYDataset d = new DifferenceXYDataset(
+                new CumulativeXYDataset(source));
+        Recorder r = new Recorder();
+        d.addChangeListener(r);
+        assertEquals(1, d.getItemCount(0));
+        assertEquals(3.0, d.getYValue(0, 0), EPSILON);
+        source.append(3.0, 4.0);
+        assertEquals(2, d.getItemCount(0));
+        assertEquals(4.0, d.getYValue(0, 1), EPSILON);
+        assertEquals(1, r.events.size());
+        assertEquals(1, ((SeriesDatasetChangeEvent) r.events.get(0))
+                .getFirstItem());
+    }
+
+    /**
+     * Some checks for the normalized view.
+     */
+    @Test
+    public void testNormalized() {
+        AppendingDataset source = new AppendingDataset();
+        source.append(1.0, 2.0);
+        source.append(2.0, 4.0);
+        NormalizedXYDataset first = new NormalizedXYDataset(source,
+                NormalizationType.FIRST_VALUE);
+        NormalizedXYDataset range = new NormalizedXYDataset(source,
+                NormalizationType.RANGE);
+        assertEquals(2.0, first.getYValue(0, 1), EPSILON);
+        assertEquals(1.0, range.getYValue(0, 1), EPSILON);
+        Recorder r = new Recorder();
+        range.addChangeListener(r);
+
+        // a value within the current range doesn't affect earlier items
+        source.append(3.0, 3.0);
+        assertEquals(0.5, range.getYValue(0, 2), EPSILON);
+        assertEquals(2, ((SeriesDatasetChangeEvent) r.events.get(0))
+                .getFirstItem());
+
+        // a value outside the current range changes every item
+        source.append(4.0, 6.0);
+        assertEquals(0.5, range.getYValue(0, 1), EPSILON);
+        assertEquals(0, ((SeriesDatasetChangeEvent) r.events.get(1))
+                .getFirstItem());
+        assertEquals(3.0, first.getYValue(0, 3), EPSILON);
+    }
+
+    /**
+     * A tick batch that rewrites the bar holding the maximum and appends a
+     * new bar narrows the range of the normalized view.
+     */
+    @Test
+    public void testNormalizedRangeNarrowedByTick() {
+        TickOHLCSeries ticks = new TickOHLCSeries("S", Minute.class,
+                TimeZone.getTimeZone("UTC"), Locale.UK);
+        ticks.addTick(0L, 10.0, Double.NaN);
+        ticks.addTick(60000L, 20.0, Double.NaN);
+        OHLCSeriesCollection source = new OHLCSeriesCollection();
+        source.addSeries(ticks);
+        NormalizedXYDataset range = new NormalizedXYDataset(source,
+                NormalizationType.RANGE);
+        assertEquals(1.0, range.getYValue(0, 1), EPSILON);
+
+        // the close of bar 1 falls to 12.0 and bar 2 closes at 15.0, so the
+        // range is now 10.0 to 15.0
+        ticks.addTicks(new long[] {61000L, 120000L},
+                new double[] {12.0, 15.0}, null, 2);
+        assertEquals(3, range.getItemCount(0));
+        assertEquals(0.4, range.getYValue(0, 1), EPSILON);
+        assertEquals(1.0, range.getYValue(0, 2), EPSILON);
+    }
+
+    /**
+     * A disposed view no longer listens to its source.
+     */
+    @Test
+    public void testDispose() {
+        XYSeriesCollection source = new XYSeriesCollection();
+        CumulativeXYDataset d = new CumulativeXYDataset(source);
+        assertTrue(source.hasListener(d));
+        d.dispose();
+        assertTrue(!source.hasListener(d));
+    }
+
+}
@@ -84,6 +84,25 @@ public class DefaultPieDatasetTest implements DatasetChangeListener {
         assertEquals(0, d.getItemCount());
     }
 
+    /**
+     * The setValue() method reports the item that changed.
+     */
+    @Test
+    public void testSetValueEvent() {
+        DefaultPieDataset d = new DefaultPieDataset();
+        d.setValue("A", 1.0);
+        d.addChangeListener(this);
+        d.setValue("B", 2.0);
+        PieDatasetChangeEvent e = (PieDatasetChangeEvent) this.lastEvent;
+        assertEquals(DatasetChangeType.ITEMS_APPENDED, e.getType());
+        assertEquals(1, e.getFirstItem());
+        d.setValue("A", 3.0);
+        e = (PieDatasetChangeEvent) this.lastEvent;
+        assertEquals(DatasetChangeType.ITEMS_UPDATED, e.getType());
+        assertEquals(0, e.getFirstItem());
+        assertEquals(0, e.getLastItem());
+    }
+
     /**
      * Some checks for the getKey(int) method.
      */
@@ -0,0 +1,216 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.general;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.data.xy.DefaultOHLCDataset;
+import org.jfree.data.xy.OHLCDataItem;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import java.util.Date;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ResampledXYDataset} class.
+ */
+public class ResampledXYDatasetTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * Creates a source dataset.
+     *
+     * @return The dataset.
+     */
+    private XYSeriesCollection createSource() {
+        XYSeries s = new XYSeries("S", true, false);
+        s.add(1.0, 4.0);
+        s.add(2.0, 2.0);
+        s.add(9.0, 7.0);
+        s.add(25.0, 1.0);
+        s.add(29.0, 3.0);
+        return new XYSeriesCollection(s);
+    }
+
+    /**
+     * Some checks for the bucket values.
+     */
+    @Test
+    public void testBuckets() {
+        XYSeriesCollection source = createSource();
+        ResampledXYDataset d = new ResampledXYDataset(source, 10.0,
+                AggregationType.MEAN);
+        assertEquals(3, d.getItemCount(0));
+        assertEquals(5.0, d.getXValue(0, 0), EPSILON);
+        assertEquals(25.0, d.getXValue(0, 2), EPSILON);
+        assertEquals(13.0 / 3.0, d.getYValue(0, 0), EPSILON);
+        assertNull(d.getY(0, 1));
+        assertEquals(2.0, d.getYValue(0, 2), EPSILON);
+
+        // OHLC values for a non-OHLC source
+        assertEquals(4.0, d.getOpenValue(0, 0), EPSILON);
+        assertEquals(7.0, d.getHighValue(0, 0), EPSILON);
+        assertEquals(2.0, d.getLowValue(0, 0), EPSILON);
+        assertEquals(7.0, d.getCloseValue(0, 0), EPSILON);
+        assertEquals(3.0, d.getVolumeValue(0, 0), EPSILON);
+        assertEquals(0.0, d.getVolumeValue(0, 1), EPSILON);
+    }
+
+    /**
+     * Check each aggregation type.
+     */
+    @Test
+    public void testAggregationTypes() {
+        XYSeriesCollection source = createSource();
+        double[] expected = {13.0 / 3.0, 13.0, 2.0, 7.0, 4.0, 7.0, 3.0};
+        AggregationType[] types = AggregationType.values();
+        for (int i = 0; i < types.length; i++) {
+            ResampledXYDataset d = new ResampledXYDataset(source, 10.0,
+                    types[i]);
+            assertEquals(types[i].toString(), expected[i],
+                    d.getYValue(0, 0), EPSILON);
+        }
+    }
+
+    /**
+     * The buckets are recomputed when the source changes.
+     */
+    @Test
+    public void testSourceChange() {
+        XYSeriesCollection source = createSource();
+        ResampledXYDataset d = new ResampledXYDataset(source, 10.0,
+                AggregationType.SUM);
+        assertEquals(4.0, d.getYValue(0, 2), EPSILON);
+        source.getSeries(0).add(35.0, 5.0);
+        source.getSeries(0).add(26.0, 5.0);
+        assertEquals(4, d.getItemCount(0));
+        assertEquals(9.0, d.getYValue(0, 2), EPSILON);
+        assertEquals(5.0, d.getYValue(0, 3), EPSILON);
+    }
+
+    /**
+     * Aggregating an OHLC source.
+     */
+    @Test
+    public void testOHLCSource() {
+        OHLCDataItem[] items = new OHLCDataItem[] {
+            new OHLCDataItem(new Date(0L), 10.0, 12.0, 9.0, 11.0, 100.0),
+            new OHLCDataItem(new Date(60000L), 11.0, 15.0, 10.0, 14.0, 50.0),
+            new OHLCDataItem(new Date(120000L), 14.0, 14.5, 8.0, 9.0, 20.0)
+        };
+        DefaultOHLCDataset source = new DefaultOHLCDataset("S", items);
+        ResampledXYDataset d = new ResampledXYDataset(source, 120000.0,
+                AggregationType.LAST);
+        assertEquals(2, d.getItemCount(0));
+        assertEquals(10.0, d.getOpenValue(0, 0), EPSILON);
+        assertEquals(15.0, d.getHighValue(0, 0), EPSILON);
+        assertEquals(9.0, d.getLowValue(0, 0), EPSILON);
+        assertEquals(14.0, d.getCloseValue(0, 0), EPSILON);
+        assertEquals(150.0, d.getVolumeValue(0, 0), EPSILON);
+        assertEquals(9.0, d.getCloseValue(0, 1), EPSILON);
+    }
+
+    /**
+     * A large series that needs several blocks, with a small cache.
+     */
+    @Test
+    public void testManyBlocks() {
+        XYSeries s = new XYSeries("S", true, false);
+        for (int i = 0; i < 20000; i++) {
+            s.add(i, i % 10);
+        }
+        ResampledXYDataset d = new ResampledXYDataset(
+                new XYSeriesCollection(s), 10.0, AggregationType.SUM);
+        d.setMaximumBlockCount(2);
+        assertEquals(2000, d.getItemCount(0));
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(45.0, d.getYValue(0, i), EPSILON);
+        }
+        assertTrue(d.getBlockCache().getBlockCount() <= 2);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required
+     * fields.
+     */
+    @Test
+    public void testEquals() {
+        XYSeriesCollection source = createSource();
+        ResampledXYDataset d1 = new ResampledXYDataset(source, 10.0,
+                AggregationType.SUM);
+        ResampledXYDataset d2 = new ResampledXYDataset(source, 10.0,
+                AggregationType.SUM);
+        assertEquals(d1, d2);
+        d1 = new ResampledXYDataset(source, 10.0, 1.0, AggregationType.SUM);
+        assertFalse(d1.equals(d2));
+        d2 = new ResampledXYDataset(source, 10.0, 1.0, AggregationType.SUM);
+        assertEquals(d1, d2);
+        d1 = new ResampledXYDataset(source, 10.0, 1.0, AggregationType.MEAN);
+        assertFalse(d1.equals(d2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        XYSeriesCollection source = createSource();
+        ResampledXYDataset d1 = new ResampledXYDataset(source, 10.0,
+                AggregationType.SUM);
+        assertEquals(4.0, d1.getYValue(0, 2), EPSILON);
+        ResampledXYDataset d2 = (ResampledXYDataset) d1.clone();
+        assertTrue(d1 != d2);
+        assertEquals(d1, d2);
+
+        // the clone has its own source
+        source.getSeries(0).add(26.0, 5.0);
+        assertEquals(9.0, d1.getYValue(0, 2), EPSILON);
+        assertEquals(4.0, d2.getYValue(0, 2), EPSILON);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        ResampledXYDataset d1 = new ResampledXYDataset(createSource(), 10.0,
+                AggregationType.SUM);
+        ResampledXYDataset d2 = (ResampledXYDataset) TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+        assertEquals(4.0, d2.getYValue(0, 2), EPSILON);
+    }
+
+}
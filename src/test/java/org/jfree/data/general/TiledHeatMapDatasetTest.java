@@ -0,0 +1,226 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.general;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.renderer.CompiledPaintScale;
+import org.jfree.chart.renderer.GrayPaintScale;
+import org.jfree.chart.renderer.PaintScale;
+import org.junit.Test;
+
+/**
+ * Some tests for the {@link TiledHeatMapDataset} class.
+ */
+public class TiledHeatMapDatasetTest implements DatasetChangeListener {
+
+    /** The last event received. */
+    private DatasetChangeEvent lastEvent;
+
+    /**
+     * Records the last event.
+     *
+     * @param event  the last event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.lastEvent = event;
+    }
+
+    /**
+     * Checks the region in the last event.
+     */
+    private void checkEvent(int x, int y, int w, int h, int shift) {
+        HeatMapChangeEvent e = (HeatMapChangeEvent) this.lastEvent;
+        assertEquals(x, e.getXIndex());
+        assertEquals(y, e.getYIndex());
+        assertEquals(w, e.getWidth());
+        assertEquals(h, e.getHeight());
+        assertEquals(shift, e.getYShift());
+        this.lastEvent = null;
+    }
+
+    /**
+     * Values are stored across several tiles, with change events for the
+     * cells that change.
+     */
+    @Test
+    public void testSetZValue() {
+        TiledHeatMapDataset d = new TiledHeatMapDataset(200, 100, 0.0, 200.0,
+                0.0, 100.0);
+        d.addChangeListener(this);
+        assertEquals(0.0, d.getZValue(150, 70), 0.0);
+        d.setZValue(150, 70, 1.5);
+        checkEvent(150, 70, 1, 1, 0);
+        assertEquals(1.5, d.getZValue(150, 70), 0.0);
+        assertEquals(0.0, d.getZValue(149, 70), 0.0);
+
+        // changes without notification are reported with the next event
+        d.setZValue(3, 4, 2.0, false);
+        d.setZValue(130, 2, 3.0, false);
+        assertNull(this.lastEvent);
+        d.setZValue(10, 90, 4.0);
+        checkEvent(3, 2, 128, 89, 0);
+        d.setNotify(false);
+        d.setZValue(5, 5, 5.0);
+        assertNull(this.lastEvent);
+        d.setNotify(true);
+        checkEvent(5, 5, 1, 1, 0);
+        assertEquals(5.0, d.getZValue(5, 5), 0.0);
+    }
+
+    /**
+     * Appending rows moves the existing rows down.
+     */
+    @Test
+    public void testAppendRow() {
+        TiledHeatMapDataset d = new TiledHeatMapDataset(70, 3, 0.0, 70.0,
+                0.0, 3.0, true);
+        d.addChangeListener(this);
+        double[] row = new double[70];
+        for (int i = 0; i < 5; i++) {
+            row[69] = i;
+            row[0] = -i;
+            d.appendRow(row);
+            checkEvent(0, 2, 70, 1, 1);
+        }
+        assertEquals(4.0, d.getZValue(69, 2), 0.0);
+        assertEquals(3.0, d.getZValue(69, 1), 0.0);
+        assertEquals(2.0, d.getZValue(69, 0), 0.0);
+        assertEquals(-2.0, d.getZValue(0, 0), 0.0);
+
+        // a change followed by appended rows moves with the data
+        d.setZValue(6, 2, 9.0, false);
+        d.appendRow(row, false);
+        d.appendRow(row);
+        checkEvent(0, 0, 70, 3, 2);
+        assertEquals(9.0, d.getZValue(6, 0), 0.0);
+        d.setZValue(6, 0, 8.0, false);
+        d.appendRow(row);
+        checkEvent(0, 2, 70, 1, 1);
+
+        d.setRow(1, new double[70], true);
+        checkEvent(0, 1, 70, 1, 0);
+        assertEquals(0.0, d.getZValue(69, 1), 0.0);
+    }
+
+    /**
+     * An image kept up to date from the change events matches a new image.
+     */
+    @Test
+    public void testUpdateHeatMapImage() {
+        final TiledHeatMapDataset d = new TiledHeatMapDataset(80, 70, 0.0,
+                1.0, 0.0, 1.0);
+        final PaintScale scale = new CompiledPaintScale(
+                new GrayPaintScale(0.0, 10.0));
+        final BufferedImage image = HeatMapUtils.createHeatMapImage(d, scale);
+        d.addChangeListener(new DatasetChangeListener() {
+            @Override
+            public void datasetChanged(DatasetChangeEvent event) {
+                HeatMapChangeEvent e = (HeatMapChangeEvent) event;
+                HeatMapUtils.scrollHeatMapImage(image, e.getYShift());
+                HeatMapUtils.updateHeatMapImage(d, scale, image,
+                        e.getXIndex(), e.getYIndex(), e.getWidth(),
+                        e.getHeight());
+            }
+        });
+        double[] row = new double[80];
+        for (int i = 0; i < 100; i++) {
+            for (int x = 0; x < 80; x++) {
+                row[x] = (x + i) % 11;
+            }
+            d.appendRow(row);
+            d.setZValue(i % 80, (3 * i) % 70, i % 7);
+        }
+        BufferedImage expected = HeatMapUtils.createHeatMapImage(d, scale);
+        for (int y = 0; y < 70; y++) {
+            for (int x = 0; x < 80; x++) {
+                assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        TiledHeatMapDataset d1 = new TiledHeatMapDataset(5, 10, 1.0, 2.0,
+                3.0, 4.0);
+        TiledHeatMapDataset d2 = new TiledHeatMapDataset(5, 10, 1.0, 2.0,
+                3.0, 4.0);
+        assertTrue(d1.equals(d2));
+        d1.setZValue(1, 2, 3.0);
+        assertFalse(d1.equals(d2));
+        d2.setZValue(1, 2, 3.0);
+        assertTrue(d1.equals(d2));
+        assertEquals(d1.hashCode(), d2.hashCode());
+        d2 = new TiledHeatMapDataset(5, 10, 1.0, 2.0, 3.0, 4.0, true);
+        d2.setZValue(1, 2, 3.0);
+        assertFalse(d1.equals(d2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        TiledHeatMapDataset d1 = new TiledHeatMapDataset(100, 10, 1.0, 2.0,
+                3.0, 4.0);
+        d1.setZValue(99, 2, 3.0);
+        TiledHeatMapDataset d2 = (TiledHeatMapDataset) d1.clone();
+        assertNotSame(d1, d2);
+        assertEquals(d1, d2);
+        d1.setZValue(99, 2, 4.0);
+        assertFalse(d1.equals(d2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        TiledHeatMapDataset d1 = new TiledHeatMapDataset(100, 10, 1.0, 2.0,
+                3.0, 4.0, true);
+        d1.appendRow(new double[100]);
+        d1.setZValue(99, 2, 3.0);
+        TiledHeatMapDataset d2 = (TiledHeatMapDataset) TestUtils.serialised(
+                d1);
+        assertEquals(d1, d2);
+    }
+
+}
@@ -0,0 +1,203 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.general;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.jfree.chart.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TopNPieDataset} class.
+ */
+public class TopNPieDatasetTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * Creates a source dataset.
+     *
+     * @return The dataset.
+     */
+    private DefaultPieDataset createSource() {
+        DefaultPieDataset d = new DefaultPieDataset();
+        d.setValue("A", 5.0);
+        d.setValue("B", 1.0);
+        d.setValue("C", 9.0);
+        d.setValue("D", 2.0);
+        d.setValue("E", 7.0);
+        return d;
+    }
+
+    /**
+     * The largest items are retained in source order, followed by the
+     * consolidated item.
+     */
+    @Test
+    public void testTopItems() {
+        TopNPieDataset d = new TopNPieDataset(createSource(), 3);
+        assertEquals(Arrays.asList("A", "C", "E", "Other"), d.getKeys());
+        assertEquals(5.0, d.getValue("A").doubleValue(), EPSILON);
+        assertEquals(9.0, d.getValue(1).doubleValue(), EPSILON);
+        assertEquals(3.0, d.getValue("Other").doubleValue(), EPSILON);
+        assertEquals(2, d.getOtherItemCount());
+        assertEquals(-1, d.getIndex("B"));
+
+        d.setMaximumItemCount(5);
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), d.getKeys());
+        assertEquals(0, d.getOtherItemCount());
+    }
+
+    /**
+     * A source item with the same key as the consolidated item is added to
+     * the consolidated item, so the key appears only once.
+     */
+    @Test
+    public void testOtherKeyInSource() {
+        DefaultPieDataset source = createSource();
+        source.setValue("Other", 8.0);
+        TopNPieDataset d = new TopNPieDataset(source, 3);
+        assertEquals(Arrays.asList("A", "C", "E", "Other"), d.getKeys());
+        assertEquals(11.0, d.getValue("Other").doubleValue(), EPSILON);
+        assertEquals(3, d.getOtherItemCount());
+
+        d.setMaximumItemCount(10);
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E", "Other"),
+                d.getKeys());
+        assertEquals(8.0, d.getValue("Other").doubleValue(), EPSILON);
+        assertEquals(1, d.getOtherItemCount());
+        assertEquals(DatasetUtils.calculatePieDatasetTotal(source),
+                DatasetUtils.calculatePieDatasetTotal(d), EPSILON);
+    }
+
+    /**
+     * The view follows incremental changes to the source.
+     */
+    @Test
+    public void testSourceUpdates() {
+        DefaultPieDataset source = createSource();
+        TopNPieDataset d = new TopNPieDataset(source, 2, "Rest");
+        assertEquals(Arrays.asList("C", "E", "Rest"), d.getKeys());
+        source.setValue("B", 20.0);
+        assertEquals(Arrays.asList("B", "C", "Rest"), d.getKeys());
+        assertEquals(14.0, d.getValue("Rest").doubleValue(), EPSILON);
+        source.setValue("F", 30.0);
+        assertEquals(Arrays.asList("B", "F", "Rest"), d.getKeys());
+        assertEquals(23.0, d.getValue("Rest").doubleValue(), EPSILON);
+        source.setValue("F", null);
+        assertEquals(Arrays.asList("B", "C", "Rest"), d.getKeys());
+        assertEquals(14.0, d.getValue("Rest").doubleValue(), EPSILON);
+        source.remove("B");
+        assertEquals(Arrays.asList("C", "E", "Rest"), d.getKeys());
+        assertEquals(7.0, d.getValue("Rest").doubleValue(), EPSILON);
+    }
+
+    /**
+     * Many random updates give the same result as a view built from
+     * scratch.
+     */
+    @Test
+    public void testManyUpdates() {
+        DefaultPieDataset source = new DefaultPieDataset();
+        TopNPieDataset d = new TopNPieDataset(source, 10);
+        Random random = new Random(17L);
+        for (int i = 0; i < 20000; i++) {
+            source.setValue("K" + random.nextInt(500),
+                    random.nextInt(1000) / 10.0);
+            if (i % 1000 == 0) {
+                d.getItemCount();
+            }
+        }
+        TopNPieDataset expected = new TopNPieDataset(source, 10);
+        assertEquals(expected.getKeys(), d.getKeys());
+        for (int i = 0; i < d.getItemCount(); i++) {
+            assertEquals(expected.getValue(i).doubleValue(),
+                    d.getValue(i).doubleValue(), 0.000001);
+        }
+        assertEquals(DatasetUtils.calculatePieDatasetTotal(source),
+                DatasetUtils.calculatePieDatasetTotal(d), 0.000001);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        DefaultPieDataset source = createSource();
+        TopNPieDataset d1 = new TopNPieDataset(source, 3);
+        TopNPieDataset d2 = new TopNPieDataset(source, 3);
+        assertTrue(d1.equals(d2));
+        assertEquals(d1.hashCode(), d2.hashCode());
+
+        d1.setMaximumItemCount(2);
+        assertFalse(d1.equals(d2));
+        d2.setMaximumItemCount(2);
+        assertTrue(d1.equals(d2));
+
+        d1.setOtherKey("X");
+        assertFalse(d1.equals(d2));
+        d2.setOtherKey("X");
+        assertTrue(d1.equals(d2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        DefaultPieDataset source = createSource();
+        TopNPieDataset d1 = new TopNPieDataset(source, 3);
+        TopNPieDataset d2 = (TopNPieDataset) d1.clone();
+        assertTrue(d1 != d2);
+        assertTrue(d1.equals(d2));
+
+        // the clone has its own source
+        source.setValue("B", 100.0);
+        assertFalse(d1.equals(d2));
+        assertEquals(Arrays.asList("A", "C", "E", "Other"), d2.getKeys());
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        TopNPieDataset d1 = new TopNPieDataset(createSource(), 3);
+        TopNPieDataset d2 = (TopNPieDataset) TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+        ((DefaultPieDataset) d2.getSource()).setValue("B", 100.0);
+        assertEquals(Arrays.asList("B", "C", "E", "Other"), d2.getKeys());
+    }
+
+}
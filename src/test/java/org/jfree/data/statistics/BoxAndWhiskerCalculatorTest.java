@@ -45,6 +45,7 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import org.junit.Test;
 
 /**
@@ -162,4 +163,53 @@ public class BoxAndWhiskerCalculatorTest {
         assertEquals(1.0, theItem.getMinRegularValue().doubleValue(), EPSILON);
         assertEquals(4.0, theItem.getMaxRegularValue().doubleValue(), EPSILON);
     }
+
+    /**
+     * The primitive array method gives the same results as the list method.
+     */
+    @Test
+    public void testCalculateBoxAndWhiskerStatisticsArray() {
+        Random random = new Random(42L);
+        for (int n = 0; n < 60; n++) {
+            double[] values = new double[n + 2];
+            List list = new ArrayList();
+            for (int i = 0; i < n; i++) {
+                double v = random.nextInt(20);
+                if (i % 7 == 3) {
+                    v = v * v * v;
+                }
+                values[i] = v;
+                list.add(new Double(v));
+            }
+            values[n] = Double.NaN;
+            values[n + 1] = 99.0;  // not included
+            BoxAndWhiskerItem expected = BoxAndWhiskerCalculator
+                    .calculateBoxAndWhiskerStatistics(list);
+            BoxAndWhiskerItem item = BoxAndWhiskerCalculator
+                    .calculateBoxAndWhiskerStatistics(values, n + 1);
+            assertEquals(expected, item);
+            assertEquals(99.0, values[n + 1], 0.0);
+        }
+    }
+
+    /**
+     * Statistics from a sketch are exact while the sketch holds every value.
+     */
+    @Test
+    public void testCalculateBoxAndWhiskerStatisticsSketch() {
+        QuantileSketch sketch = new QuantileSketch();
+        double[] values = {1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0,
+                40.0};
+        sketch.add(values, values.length);
+        BoxAndWhiskerItem item = BoxAndWhiskerCalculator
+                .estimateBoxAndWhiskerStatistics(sketch);
+        assertEquals(8.5, item.getMean().doubleValue(), EPSILON);
+        assertEquals(5.5, item.getMedian().doubleValue(), EPSILON);
+        assertEquals(1.0, item.getMinRegularValue().doubleValue(), EPSILON);
+        assertEquals(9.0, item.getMaxRegularValue().doubleValue(), EPSILON);
+        assertEquals(1, item.getOutliers().size());
+        assertEquals(40.0, ((Double) item.getOutliers().get(0)).doubleValue(),
+                EPSILON);
+    }
+
 }
@@ -0,0 +1,181 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link QuantileSketch} class.
+ */
+public class QuantileSketchTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * An empty sketch.
+     */
+    @Test
+    public void testEmpty() {
+        QuantileSketch s = new QuantileSketch();
+        assertEquals(0L, s.getCount());
+        assertTrue(Double.isNaN(s.getMean()));
+        assertTrue(Double.isNaN(s.getQuantile(0.5)));
+        assertEquals(0, s.getRetainedValues().length);
+    }
+
+    /**
+     * Before any values are promoted the quantiles are exact.
+     */
+    @Test
+    public void testExact() {
+        QuantileSketch s = new QuantileSketch();
+        s.add(4.0);
+        s.add(1.0);
+        s.add(Double.NaN);
+        s.add(3.0);
+        s.add(2.0);
+        assertEquals(4L, s.getCount());
+        assertEquals(2.5, s.getMean(), EPSILON);
+        assertEquals(1.0, s.getQuantile(0.0), EPSILON);
+        assertEquals(2.5, s.getQuantile(0.5), EPSILON);
+        assertEquals(4.0, s.getQuantile(1.0), EPSILON);
+        assertEquals(1.0, s.getMinimum(), EPSILON);
+        assertEquals(4.0, s.getMaximum(), EPSILON);
+    }
+
+    /**
+     * With many values the memory is bounded and the rank error is small.
+     */
+    @Test
+    public void testLarge() {
+        QuantileSketch s = new QuantileSketch();
+        Random random = new Random(1L);
+        int n = 1000000;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextGaussian();
+        }
+        s.add(values, n);
+        assertEquals(n, s.getCount());
+        assertTrue(s.getRetainedValues().length < 4 * s.getK());
+        Arrays.sort(values);
+        double[] q = {0.01, 0.25, 0.5, 0.75, 0.99};
+        for (int i = 0; i < q.length; i++) {
+            double estimate = s.getQuantile(q[i]);
+            int rank = Arrays.binarySearch(values, estimate);
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            assertEquals(q[i], rank / (double) n, 0.02);
+        }
+        assertEquals(values[0], s.getMinimum(), 0.0);
+        assertEquals(values[n - 1], s.getMaximum(), 0.0);
+    }
+
+    /**
+     * Merging two sketches.
+     */
+    @Test
+    public void testMerge() {
+        QuantileSketch s1 = new QuantileSketch(50);
+        QuantileSketch s2 = new QuantileSketch(50);
+        for (int i = 0; i < 10000; i++) {
+            s1.add(i);
+            s2.add(10000 + i);
+        }
+        s1.merge(s2);
+        assertEquals(20000L, s1.getCount());
+        assertEquals(9999.5, s1.getMean(), EPSILON);
+        assertEquals(0.0, s1.getMinimum(), EPSILON);
+        assertEquals(19999.0, s1.getMaximum(), EPSILON);
+        assertEquals(10000.0, s1.getQuantile(0.5), 20000 * 0.05);
+        assertEquals(10000L, s2.getCount());
+        s1.clear();
+        assertEquals(0L, s1.getCount());
+        s1.merge(s2);
+        assertEquals(s2.getQuantile(0.5), s1.getQuantile(0.5), 10000 * 0.05);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        QuantileSketch s1 = new QuantileSketch();
+        QuantileSketch s2 = new QuantileSketch();
+        assertTrue(s1.equals(s2));
+        s1.add(1.0);
+        assertFalse(s1.equals(s2));
+        s2.add(1.0);
+        assertTrue(s1.equals(s2));
+        assertEquals(s1.hashCode(), s2.hashCode());
+        assertFalse(s1.equals(new QuantileSketch(100)));
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        QuantileSketch s1 = new QuantileSketch(10);
+        for (int i = 0; i < 100; i++) {
+            s1.add(i);
+        }
+        QuantileSketch s2 = (QuantileSketch) s1.clone();
+        assertNotSame(s1, s2);
+        assertEquals(s1, s2);
+        s1.add(5.0);
+        assertFalse(s1.equals(s2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        QuantileSketch s1 = new QuantileSketch(10);
+        for (int i = 0; i < 100; i++) {
+            s1.add(i);
+        }
+        QuantileSketch s2 = (QuantileSketch) TestUtils.serialised(s1);
+        assertEquals(s1, s2);
+        assertEquals(s1.getQuantile(0.3), s2.getQuantile(0.3), EPSILON);
+    }
+
+}
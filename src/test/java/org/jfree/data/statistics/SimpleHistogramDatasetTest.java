@@ -44,6 +44,7 @@ package org.jfree.data.statistics;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
 import org.jfree.chart.TestUtils;
 import org.junit.Test;
@@ -125,4 +126,31 @@ public class SimpleHistogramDatasetTest {
         assertEquals(0, d1.getItemCount(0));
     }
 
+    /**
+     * Observations on the boundary between two bins go to the bin that
+     * includes the boundary.
+     */
+    @Test
+    public void testAddObservationBoundaries() {
+        SimpleHistogramDataset d1 = new SimpleHistogramDataset("D1");
+        d1.setAdjustForBinSize(false);
+        d1.addBin(new SimpleHistogramBin(2.0, 3.0, false, true));
+        d1.addBin(new SimpleHistogramBin(0.0, 1.0, true, false));
+        d1.addBin(new SimpleHistogramBin(1.0, 2.0, true, true));
+        d1.addObservation(1.0);
+        d1.addObservation(2.0);
+        d1.addObservation(3.0);
+        d1.addObservation(0.0);
+        assertEquals(1.0, d1.getYValue(0, 0), EPSILON);
+        assertEquals(2.0, d1.getYValue(0, 1), EPSILON);
+        assertEquals(1.0, d1.getYValue(0, 2), EPSILON);
+        try {
+            d1.addObservation(3.5);
+            fail("Expected a RuntimeException.");
+        }
+        catch (RuntimeException e) {
+            assertEquals("No bin.", e.getMessage());
+        }
+    }
+
 }
@@ -0,0 +1,252 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.general.SeriesDatasetChangeEvent;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link StreamingHistogramDataset} and
+ * {@link StreamingHistogram} classes.
+ */
+public class StreamingHistogramDatasetTest implements DatasetChangeListener {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /** The last event received. */
+    private DatasetChangeEvent lastEvent;
+
+    /**
+     * Receives dataset change events.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.lastEvent = event;
+    }
+
+    /**
+     * The bins for uniform histograms should match those created by
+     * {@link HistogramDataset}.
+     */
+    @Test
+    public void testUniformBins() {
+        double[] values = {1.0, 2.0, 3.0, 4.0, 6.0, 12.0, 5.0, 6.3, 4.5, 0.9,
+                10.0, -3.0};
+        HistogramDataset d1 = new HistogramDataset();
+        d1.addSeries("S", values, 7, 0.0, 10.0);
+        StreamingHistogramDataset d2 = new StreamingHistogramDataset();
+        d2.addSeries("S", 0.0, 10.0, 7);
+        d2.addObservations(0, values, values.length);
+        assertEquals(7, d2.getItemCount(0));
+        for (int i = 0; i < 7; i++) {
+            assertEquals(d1.getStartXValue(0, i), d2.getStartXValue(0, i),
+                    EPSILON);
+            assertEquals(d1.getEndXValue(0, i), d2.getEndXValue(0, i),
+                    EPSILON);
+            assertEquals(d1.getYValue(0, i), d2.getYValue(0, i), EPSILON);
+        }
+        d1.setType(HistogramType.SCALE_AREA_TO_1);
+        d2.setType(HistogramType.SCALE_AREA_TO_1);
+        assertEquals(d1.getYValue(0, 3), d2.getYValue(0, 3), EPSILON);
+    }
+
+    /**
+     * Some checks for the bin lookup with custom bins.
+     */
+    @Test
+    public void testCustomBins() {
+        StreamingHistogram h = new StreamingHistogram(
+                new double[] {0.0, 1.0, 5.0, 50.0});
+        assertEquals(3, h.getBinCount());
+        assertEquals(0, h.getBinIndex(-1.0));
+        assertEquals(0, h.getBinIndex(0.0));
+        assertEquals(0, h.getBinIndex(0.99));
+        assertEquals(1, h.getBinIndex(1.0));
+        assertEquals(2, h.getBinIndex(49.0));
+        assertEquals(2, h.getBinIndex(50.0));
+        assertEquals(2, h.getBinIndex(500.0));
+        assertEquals(-1, h.getBinIndex(Double.NaN));
+        h.add(Double.NaN);
+        assertEquals(0.0, h.getTotal(), EPSILON);
+    }
+
+    /**
+     * Adding an observation sends an event for the bin that changed.
+     */
+    @Test
+    public void testAddObservation() {
+        StreamingHistogramDataset d = new StreamingHistogramDataset();
+        d.addSeries("S1", 0.0, 10.0, 10);
+        d.addSeries("S2", new double[] {0.0, 1.0, 10.0});
+        d.addChangeListener(this);
+        d.addObservation(1, 3.0);
+        SeriesDatasetChangeEvent e = (SeriesDatasetChangeEvent) this.lastEvent;
+        assertEquals(1, e.getSeries());
+        assertEquals(1, e.getFirstItem());
+        assertEquals(1, e.getLastItem());
+        assertEquals(1.0, d.getYValue(1, 1), EPSILON);
+        this.lastEvent = null;
+        d.addObservation(0, 3.0, false);
+        assertEquals(null, this.lastEvent);
+        assertEquals(1.0, d.getYValue(0, 3), EPSILON);
+        assertEquals(3.5, d.getXValue(0, 3), EPSILON);
+    }
+
+    /**
+     * Histograms filled separately can be merged into the dataset.
+     */
+    @Test
+    public void testMerge() {
+        StreamingHistogramDataset d = new StreamingHistogramDataset();
+        d.addSeries("S1", 0.0, 4.0, 4);
+        StreamingHistogram h1 = d.getHistogram(0);
+        StreamingHistogram h2 = d.getHistogram(0);
+        h1.add(0.5);
+        h1.add(1.5);
+        h2.add(1.5);
+        d.merge(0, h1.drain());
+        d.merge(0, h2.drain());
+        assertEquals(0.0, h1.getTotal(), EPSILON);
+        assertEquals(1.0, d.getYValue(0, 0), EPSILON);
+        assertEquals(2.0, d.getYValue(0, 1), EPSILON);
+        d.setType(HistogramType.RELATIVE_FREQUENCY);
+        assertEquals(2.0 / 3.0, d.getYValue(0, 1), EPSILON);
+        try {
+            d.merge(0, new StreamingHistogram(0.0, 4.0, 2));
+            assertTrue(false);
+        }
+        catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Some checks for the decay() method.
+     */
+    @Test
+    public void testDecay() {
+        StreamingHistogramDataset d = new StreamingHistogramDataset();
+        d.addSeries("S1", 0.0, 4.0, 4);
+        d.addObservation(0, 0.5);
+        d.addObservation(0, 0.5);
+        d.decay(0.5);
+        d.addObservation(0, 0.5);
+        assertEquals(2.0, d.getYValue(0, 0), EPSILON);
+    }
+
+    /**
+     * Only the most recent slices are counted when a window is in use.
+     */
+    @Test
+    public void testWindow() {
+        StreamingHistogramDataset d = new StreamingHistogramDataset();
+        d.addSeries("S1", 0.0, 4.0, 4);
+        d.setWindowSize(2);
+        d.addObservation(0, 0.5);
+        d.advanceWindow();
+        d.addObservation(0, 1.5);
+        assertEquals(1.0, d.getYValue(0, 0), EPSILON);
+        assertEquals(1.0, d.getYValue(0, 1), EPSILON);
+        d.advanceWindow();
+        d.addObservation(0, 2.5);
+        assertEquals(0.0, d.getYValue(0, 0), EPSILON);
+        assertEquals(1.0, d.getYValue(0, 1), EPSILON);
+        assertEquals(1.0, d.getYValue(0, 2), EPSILON);
+        d.advanceWindow();
+        d.advanceWindow();
+        assertEquals(0.0, d.getHistogram(0).getTotal(), EPSILON);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        StreamingHistogramDataset d1 = new StreamingHistogramDataset();
+        StreamingHistogramDataset d2 = new StreamingHistogramDataset();
+        assertTrue(d1.equals(d2));
+        d1.addSeries("S1", 0.0, 4.0, 4);
+        assertFalse(d1.equals(d2));
+        d2.addSeries("S1", 0.0, 4.0, 4);
+        assertTrue(d1.equals(d2));
+        d1.addObservation(0, 1.0);
+        assertFalse(d1.equals(d2));
+        d2.addObservation(0, 1.0);
+        assertTrue(d1.equals(d2));
+        d1.setType(HistogramType.RELATIVE_FREQUENCY);
+        assertFalse(d1.equals(d2));
+        d2.setType(HistogramType.RELATIVE_FREQUENCY);
+        assertTrue(d1.equals(d2));
+        d1.setWindowSize(3);
+        assertFalse(d1.equals(d2));
+        d2.setWindowSize(3);
+        assertTrue(d1.equals(d2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        StreamingHistogramDataset d1 = new StreamingHistogramDataset();
+        d1.addSeries("S1", new double[] {0.0, 1.0, 10.0});
+        d1.addObservation(0, 1.0);
+        StreamingHistogramDataset d2 = (StreamingHistogramDataset) d1.clone();
+        assertTrue(d1 != d2);
+        assertTrue(d1.equals(d2));
+        d2.addObservation(0, 1.0);
+        assertFalse(d1.equals(d2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        StreamingHistogramDataset d1 = new StreamingHistogramDataset();
+        d1.addSeries("S1", 0.0, 4.0, 4);
+        d1.setWindowSize(2);
+        d1.addObservation(0, 1.0);
+        d1.advanceWindow();
+        StreamingHistogramDataset d2 = (StreamingHistogramDataset)
+                TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+    }
+
+}
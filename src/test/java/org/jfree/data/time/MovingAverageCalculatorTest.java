@@ -0,0 +1,190 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.jfree.chart.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link MovingAverageCalculator} class.
+ */
+public class MovingAverageCalculatorTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * A simple average over a window of three positions.
+     */
+    @Test
+    public void testSimple() {
+        MovingAverageCalculator c = new MovingAverageCalculator(
+                MovingAverageType.SIMPLE, 3.0);
+        assertTrue(Double.isNaN(c.getAverage()));
+        c.add(1.0, 1.0);
+        assertEquals(1.0, c.getAverage(), EPSILON);
+        c.add(2.0, 2.0);
+        assertEquals(1.5, c.getAverage(), EPSILON);
+        c.add(3.0, 3.0);
+        assertEquals(2.0, c.getAverage(), EPSILON);
+        c.add(4.0, 7.0);
+        assertEquals(4.0, c.getAverage(), EPSILON);
+        assertEquals(3, c.getValueCount());
+
+        // a gap in the positions evicts everything but the new value
+        c.add(10.0, 5.0);
+        assertEquals(5.0, c.getAverage(), EPSILON);
+        assertEquals(1, c.getValueCount());
+
+        // a missing value advances the window without adding to it
+        c.add(12.0, Double.NaN);
+        assertEquals(5.0, c.getAverage(), EPSILON);
+        c.add(13.0, Double.NaN);
+        assertTrue(Double.isNaN(c.getAverage()));
+    }
+
+    /**
+     * A linearly weighted average over a window of three positions.
+     */
+    @Test
+    public void testWeighted() {
+        MovingAverageCalculator c = new MovingAverageCalculator(
+                MovingAverageType.WEIGHTED, 3.0);
+        c.add(1.0, 1.0);
+        assertEquals(1.0, c.getAverage(), EPSILON);
+        c.add(2.0, 2.0);
+        assertEquals((2.0 * 1.0 + 3.0 * 2.0) / 5.0, c.getAverage(), EPSILON);
+        c.add(3.0, 3.0);
+        assertEquals((1.0 + 4.0 + 9.0) / 6.0, c.getAverage(), EPSILON);
+        c.add(4.0, 7.0);
+        assertEquals((2.0 + 6.0 + 21.0) / 6.0, c.getAverage(), EPSILON);
+
+        // skip one position, the value at 4.0 now has weight 1
+        c.add(6.0, 1.0);
+        assertEquals((7.0 + 3.0) / 4.0, c.getAverage(), EPSILON);
+    }
+
+    /**
+     * An exponential average, with and without gaps.
+     */
+    @Test
+    public void testExponential() {
+        MovingAverageCalculator c = new MovingAverageCalculator(
+                MovingAverageType.EXPONENTIAL, 3.0);
+        c.add(1.0, 2.0);
+        assertEquals(2.0, c.getAverage(), EPSILON);
+        c.add(2.0, 4.0);
+        assertEquals(3.0, c.getAverage(), EPSILON);
+        c.add(4.0, 4.0);
+        assertEquals(3.75, c.getAverage(), EPSILON);
+    }
+
+    /**
+     * Replacing the most recent value.
+     */
+    @Test
+    public void testReplaceLast() {
+        MovingAverageCalculator c = new MovingAverageCalculator(
+                MovingAverageType.SIMPLE, 2.0);
+        c.add(1.0, 1.0);
+        c.add(2.0, 3.0);
+        c.replaceLast(5.0);
+        assertEquals(3.0, c.getAverage(), EPSILON);
+        c.replaceLast(Double.NaN);
+        assertEquals(1.0, c.getAverage(), EPSILON);
+        c.replaceLast(7.0);
+        assertEquals(4.0, c.getAverage(), EPSILON);
+
+        c = new MovingAverageCalculator(MovingAverageType.EXPONENTIAL, 3.0);
+        c.add(1.0, 2.0);
+        c.add(2.0, 8.0);
+        c.replaceLast(4.0);
+        assertEquals(3.0, c.getAverage(), EPSILON);
+
+        c = new MovingAverageCalculator(MovingAverageType.WEIGHTED, 2.0);
+        c.add(1.0, 1.0);
+        c.add(2.0, 3.0);
+        c.replaceLast(4.0);
+        assertEquals(3.0, c.getAverage(), EPSILON);
+    }
+
+    /**
+     * The running sums should stay accurate over many steps (this also
+     * checks the growth of the window buffer).
+     */
+    @Test
+    public void testLongRun() {
+        MovingAverageCalculator c = new MovingAverageCalculator(
+                MovingAverageType.SIMPLE, 100.0);
+        for (int i = 1; i <= 100000; i++) {
+            c.add(i, i % 7 == 0 ? Double.NaN : i * 0.1);
+        }
+        double sum = 0.0;
+        int n = 0;
+        for (int i = 99901; i <= 100000; i++) {
+            if (i % 7 != 0) {
+                sum += i * 0.1;
+                n++;
+            }
+        }
+        assertEquals(n, c.getValueCount());
+        assertEquals(sum / n, c.getAverage(), 0.000001);
+    }
+
+    /**
+     * Positions must increase.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPositionOrder() {
+        MovingAverageCalculator c = new MovingAverageCalculator(
+                MovingAverageType.SIMPLE, 3.0);
+        c.add(2.0, 1.0);
+        c.add(2.0, 1.0);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        MovingAverageCalculator c1 = new MovingAverageCalculator(
+                MovingAverageType.WEIGHTED, 5.0);
+        c1.add(1.0, 2.0);
+        c1.add(2.0, 3.0);
+        MovingAverageCalculator c2 = (MovingAverageCalculator)
+                TestUtils.serialised(c1);
+        assertEquals(c1.getAverage(), c2.getAverage(), EPSILON);
+        c1.add(3.0, 4.0);
+        c2.add(3.0, 4.0);
+        assertEquals(c1.getAverage(), c2.getAverage(), EPSILON);
+    }
+
+}
@@ -0,0 +1,234 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+package org.jfree.data.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.jfree.chart.date.MonthConstants;
+import org.jfree.data.general.SeriesChangeEvent;
+import org.jfree.data.general.SeriesChangeListener;
+import org.jfree.data.xy.XYSeries;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TimeSeriesMovingAverage} and
+ * {@link XYSeriesMovingAverage} classes.
+ */
+public class TimeSeriesMovingAverageTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * Checks that two series contain the same periods and values.
+     *
+     * @param expected  the expected series.
+     * @param actual  the actual series.
+     */
+    private void assertSeriesEquals(TimeSeries expected, TimeSeries actual) {
+        assertEquals(expected.getItemCount(), actual.getItemCount());
+        for (int i = 0; i < expected.getItemCount(); i++) {
+            assertEquals(expected.getTimePeriod(i), actual.getTimePeriod(i));
+            Number e = expected.getValue(i);
+            Number a = actual.getValue(i);
+            if (e == null) {
+                assertNull(a);
+            }
+            else {
+                assertEquals(e.doubleValue(), a.doubleValue(), EPSILON);
+            }
+        }
+    }
+
+    /**
+     * A simple moving average over periods should match the result from
+     * {@link MovingAverage}, both for the initial data and as items are
+     * appended.
+     */
+    @Test
+    public void testSimplePeriods() {
+        TimeSeries source = createDailyTimeSeries1();
+        TimeSeriesMovingAverage ma = new TimeSeriesMovingAverage(source,
+                "MA", MovingAverageType.SIMPLE,
+                MovingAverageWindowType.PERIODS, 3);
+        assertSeriesEquals(MovingAverage.createMovingAverage(source, "X", 3,
+                0), ma.getSeries());
+
+        source.add(new Day(29, MonthConstants.AUGUST, 2003), 12.0);
+        source.add(new Day(2, MonthConstants.SEPTEMBER, 2003), null);
+        source.add(new Day(3, MonthConstants.SEPTEMBER, 2003), 18.0);
+        assertSeriesEquals(MovingAverage.createMovingAverage(source, "X", 3,
+                0), ma.getSeries());
+    }
+
+    /**
+     * A simple moving average over points should match the result from
+     * {@link MovingAverage#createPointMovingAverage}.
+     */
+    @Test
+    public void testSimplePoints() {
+        TimeSeries source = createDailyTimeSeries1();
+        TimeSeriesMovingAverage ma = new TimeSeriesMovingAverage(source,
+                "MA", MovingAverageType.SIMPLE,
+                MovingAverageWindowType.POINTS, 4);
+        assertSeriesEquals(MovingAverage.createPointMovingAverage(source, "X",
+                4), ma.getSeries());
+        source.add(new Day(29, MonthConstants.AUGUST, 2003), 12.0);
+        assertSeriesEquals(MovingAverage.createPointMovingAverage(source, "X",
+                4), ma.getSeries());
+    }
+
+    /**
+     * Updating the most recent item in the source updates the most recent
+     * item in the moving average.
+     */
+    @Test
+    public void testUpdateLastItem() {
+        TimeSeries source = createDailyTimeSeries1();
+        TimeSeriesMovingAverage ma = new TimeSeriesMovingAverage(source,
+                "MA", MovingAverageType.SIMPLE,
+                MovingAverageWindowType.PERIODS, 3);
+        source.addOrUpdate(new Day(28, MonthConstants.AUGUST, 2003), 20.0);
+        assertSeriesEquals(MovingAverage.createMovingAverage(source, "X", 3,
+                0), ma.getSeries());
+        assertEquals(15.35, ma.getSeries().getValue(
+                ma.getSeries().getItemCount() - 1).doubleValue(), EPSILON);
+    }
+
+    /**
+     * Items discarded from the front of the source do not affect the moving
+     * average of the items that remain, and the result series discards its
+     * own old items in the same way.
+     */
+    @Test
+    public void testMaximumItemCount() {
+        TimeSeries source = new TimeSeries("S");
+        source.setMaximumItemCount(5);
+        TimeSeriesMovingAverage ma = new TimeSeriesMovingAverage(source,
+                "MA", MovingAverageType.SIMPLE,
+                MovingAverageWindowType.POINTS, 3);
+        Day day = new Day(1, MonthConstants.JANUARY, 2010);
+        for (int i = 0; i < 20; i++) {
+            source.add(day, i);
+            day = (Day) day.next();
+        }
+        TimeSeries result = ma.getSeries();
+        assertEquals(5, result.getItemCount());
+        assertEquals(18.0, result.getValue(4).doubleValue(), EPSILON);
+        assertEquals(14.0, result.getValue(0).doubleValue(), EPSILON);
+    }
+
+    /**
+     * An insertion before the most recent item triggers a recalculation.
+     */
+    @Test
+    public void testInsertion() {
+        TimeSeries source = createDailyTimeSeries1();
+        TimeSeriesMovingAverage ma = new TimeSeriesMovingAverage(source,
+                "MA", MovingAverageType.WEIGHTED,
+                MovingAverageWindowType.PERIODS, 3);
+        source.add(new Day(12, MonthConstants.AUGUST, 2003), 9.0);
+        TimeSeriesMovingAverage check = new TimeSeriesMovingAverage(source,
+                "C", MovingAverageType.WEIGHTED,
+                MovingAverageWindowType.PERIODS, 3);
+        assertSeriesEquals(check.getSeries(), ma.getSeries());
+        source.clear();
+        assertEquals(0, ma.getSeries().getItemCount());
+    }
+
+    /**
+     * Appending an item sends a single event from the result series, and
+     * no events are sent after the object is disposed.
+     */
+    @Test
+    public void testEvents() {
+        TimeSeries source = createDailyTimeSeries1();
+        TimeSeriesMovingAverage ma = new TimeSeriesMovingAverage(source,
+                "MA", MovingAverageType.EXPONENTIAL,
+                MovingAverageWindowType.PERIODS, 3);
+        final int[] count = new int[1];
+        ma.getSeries().addChangeListener(new SeriesChangeListener() {
+            @Override
+            public void seriesChanged(SeriesChangeEvent event) {
+                count[0]++;
+            }
+        });
+        source.add(new Day(29, MonthConstants.AUGUST, 2003), 12.0);
+        assertEquals(1, count[0]);
+        ma.dispose();
+        source.add(new Day(30, MonthConstants.AUGUST, 2003), 12.0);
+        assertEquals(1, count[0]);
+        assertEquals(10, ma.getSeries().getItemCount());
+    }
+
+    /**
+     * A moving average of an {@code XYSeries} over an x-distance should
+     * match the result from {@link MovingAverage}.
+     */
+    @Test
+    public void testXYSeries() {
+        XYSeries source = new XYSeries("S", true, false);
+        source.add(1.0, 4.0);
+        source.add(2.0, 6.0);
+        source.add(4.5, 2.0);
+        XYSeriesMovingAverage ma = new XYSeriesMovingAverage(source, "MA",
+                MovingAverageType.SIMPLE, MovingAverageWindowType.PERIODS,
+                3.0);
+        source.add(5.0, 9.0);
+        source.add(5.5, 1.0);
+        XYSeries result = ma.getSeries();
+        assertEquals(5, result.getItemCount());
+        assertEquals(5.0, result.getY(1).doubleValue(), EPSILON);
+        assertEquals(4.0, result.getY(2).doubleValue(), EPSILON);
+        assertEquals(5.5, result.getY(3).doubleValue(), EPSILON);
+        assertEquals(4.0, result.getY(4).doubleValue(), EPSILON);
+        source.updateByIndex(4, 4.0);
+        assertEquals(5.0, result.getY(4).doubleValue(), EPSILON);
+    }
+
+    /**
+     * Creates a sample series.
+     *
+     * @return A sample series.
+     */
+    private TimeSeries createDailyTimeSeries1() {
+        TimeSeries series = new TimeSeries("Series 1");
+        series.add(new Day(11, MonthConstants.AUGUST, 2003), 11.2);
+        series.add(new Day(13, MonthConstants.AUGUST, 2003), 13.8);
+        series.add(new Day(17, MonthConstants.AUGUST, 2003), 14.1);
+        series.add(new Day(18, MonthConstants.AUGUST, 2003), 12.7);
+        series.add(new Day(19, MonthConstants.AUGUST, 2003), 16.5);
+        series.add(new Day(20, MonthConstants.AUGUST, 2003), 15.6);
+        series.add(new Day(25, MonthConstants.AUGUST, 2003), 19.8);
+        series.add(new Day(27, MonthConstants.AUGUST, 2003), 10.7);
+        series.add(new Day(28, MonthConstants.AUGUST, 2003), 14.3);
+        return series;
+    }
+
+}
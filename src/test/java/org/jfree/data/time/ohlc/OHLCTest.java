@@ -45,6 +45,9 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+
 import org.jfree.chart.TestUtils;
 import org.junit.Test;
 
@@ -100,6 +103,36 @@ public class OHLCTest {
         OHLC i1 = new OHLC(2.0, 4.0, 1.0, 3.0);
         OHLC i2 = (OHLC) TestUtils.serialised(i1);
         assertEquals(i1, i2);
+
+        i1 = new OHLC(2.0, 4.0, 1.0, 3.0, 500.0);
+        i2 = (OHLC) TestUtils.serialised(i1);
+        assertEquals(i1, i2);
+    }
+
+    /**
+     * An instance serialized before the volume was added (by the class as it
+     * was in 1.5.0) is read with an unspecified ({@code NaN}) volume.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testDeserializationWithoutVolume() throws Exception {
+        String hex
+            = "aced00057372001d6f72672e6a667265652e646174612e74696d652e6f68"
+            + "6c632e4f484c430859d5cb93b24863020004440005636c6f736544000468"
+            + "6967684400036c6f774400046f70656e7870400800000000000040100000"
+            + "000000003ff00000000000004000000000000000";
+        byte[] data = new byte[hex.length() / 2];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2),
+                    16);
+        }
+        ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(data));
+        OHLC ohlc = (OHLC) in.readObject();
+        in.close();
+        assertEquals(new OHLC(2.0, 4.0, 1.0, 3.0), ohlc);
+        assertTrue(Double.isNaN(ohlc.getVolume()));
     }
 
     /**
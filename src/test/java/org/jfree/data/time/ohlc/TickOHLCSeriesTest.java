@@ -0,0 +1,256 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2017, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
+ * Other names may be trademarks of their respective owners.]
+ *
+ */
+
+
+package org.jfree.data.time.ohlc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.general.DatasetChangeType;
+import org.jfree.data.general.SeriesChangeEvent;
+import org.jfree.data.general.SeriesChangeListener;
+import org.jfree.data.general.SeriesDatasetChangeEvent;
+import org.jfree.data.time.Minute;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TickOHLCSeries} class.
+ */
+public class TickOHLCSeriesTest implements SeriesChangeListener {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /** One minute in milliseconds. */
+    private static final long MINUTE = 60000L;
+
+    SeriesChangeEvent lastEvent;
+
+    int eventCount;
+
+    /**
+     * Records a change event.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void seriesChanged(SeriesChangeEvent event) {
+        this.lastEvent = event;
+        this.eventCount++;
+    }
+
+    private static TickOHLCSeries createSeries() {
+        return new TickOHLCSeries("S", Minute.class,
+                TimeZone.getTimeZone("UTC"), Locale.UK);
+    }
+
+    private static void assertBar(TickOHLCSeries s, int index, double open,
+            double high, double low, double close, double volume) {
+        OHLCItem item = (OHLCItem) s.getDataItem(index);
+        assertEquals(open, item.getOpenValue(), EPSILON);
+        assertEquals(high, item.getHighValue(), EPSILON);
+        assertEquals(low, item.getLowValue(), EPSILON);
+        assertEquals(close, item.getCloseValue(), EPSILON);
+        assertEquals(volume, item.getVolumeValue(), EPSILON);
+    }
+
+    /**
+     * Ticks within a period update the bar, later ticks start a new bar.
+     */
+    @Test
+    public void testAddTick() {
+        TickOHLCSeries s = createSeries();
+        s.addChangeListener(this);
+        s.addTick(1000L, 10.0, 1.0);
+        assertEquals(1, s.getItemCount());
+        assertEquals(0L, s.getPeriod(0).getFirstMillisecond());
+        assertTrue(s.getPeriod(0) instanceof Minute);
+        SeriesChangeEvent e = this.lastEvent;
+        assertEquals(DatasetChangeType.ITEMS_APPENDED, e.getType());
+        assertEquals(0, e.getFirstItem());
+
+        s.addTick(2000L, 12.0, 2.0);
+        s.addTick(3000L, 9.0, 1.0);
+        s.addTick(59999L, 11.0, 1.0);
+        assertEquals(1, s.getItemCount());
+        assertBar(s, 0, 10.0, 12.0, 9.0, 11.0, 5.0);
+        e = this.lastEvent;
+        assertEquals(DatasetChangeType.ITEMS_UPDATED, e.getType());
+        assertEquals(0, e.getFirstItem());
+        assertEquals(0, e.getLastItem());
+
+        s.addTick(MINUTE * 3 + 5, 13.0, 4.0);
+        assertEquals(2, s.getItemCount());
+        assertBar(s, 1, 13.0, 13.0, 13.0, 13.0, 4.0);
+        e = this.lastEvent;
+        assertEquals(DatasetChangeType.ITEMS_APPENDED, e.getType());
+        assertEquals(1, e.getFirstItem());
+        assertEquals(5, this.eventCount);
+    }
+
+    /**
+     * A late tick updates the high, low and volume of an existing bar, or
+     * inserts a new bar.
+     */
+    @Test
+    public void testLateTick() {
+        TickOHLCSeries s = createSeries();
+        s.addTick(1000L, 10.0, 1.0);
+        s.addTick(MINUTE * 2, 11.0, 1.0);
+        s.addChangeListener(this);
+        s.addTick(2000L, 14.0, 1.0);
+        assertBar(s, 0, 10.0, 14.0, 10.0, 10.0, 2.0);
+        SeriesChangeEvent e = this.lastEvent;
+        assertEquals(DatasetChangeType.ITEMS_UPDATED, e.getType());
+        assertEquals(0, e.getFirstItem());
+
+        s.addTick(MINUTE + 1, 8.0, Double.NaN);
+        assertEquals(3, s.getItemCount());
+        assertBar(s, 1, 8.0, 8.0, 8.0, 8.0, Double.NaN);
+        assertNull(this.lastEvent.getType());
+    }
+
+    /**
+     * A batch of ticks generates a single event.
+     */
+    @Test
+    public void testAddTicks() {
+        TickOHLCSeries s = createSeries();
+        s.addTick(0L, 5.0, 1.0);
+        s.addChangeListener(this);
+        long[] t = new long[] {10L, MINUTE, MINUTE + 10, MINUTE * 2};
+        double[] p = new double[] {6.0, 7.0, 4.0, 8.0};
+        s.addTicks(t, p, null, 4);
+        assertEquals(1, this.eventCount);
+        assertEquals(3, s.getItemCount());
+        assertBar(s, 0, 5.0, 6.0, 5.0, 6.0, 1.0);
+        assertBar(s, 1, 7.0, 7.0, 4.0, 4.0, Double.NaN);
+        SeriesChangeEvent e = this.lastEvent;
+        assertEquals(DatasetChangeType.ITEMS_APPENDED, e.getType());
+        assertEquals(0, e.getFirstItem());
+        assertEquals(2, e.getLastItem());
+    }
+
+    /**
+     * When the maximum item count is reached, the oldest bar is dropped and
+     * a plain event is sent.
+     */
+    @Test
+    public void testMaximumItemCount() {
+        TickOHLCSeries s = createSeries();
+        s.setMaximumItemCount(2);
+        s.addChangeListener(this);
+        s.addTick(0L, 1.0, 1.0);
+        s.addTick(MINUTE, 2.0, 1.0);
+        s.addTick(MINUTE * 2, 3.0, 1.0);
+        assertEquals(2, s.getItemCount());
+        assertBar(s, 0, 2.0, 2.0, 2.0, 2.0, 1.0);
+        assertNull(this.lastEvent.getType());
+        s.addTick(MINUTE * 2 + 1, 4.0, 1.0);
+        assertBar(s, 1, 3.0, 4.0, 3.0, 4.0, 2.0);
+    }
+
+    /**
+     * No events are sent while the notify flag is {@code false}.
+     */
+    @Test
+    public void testNotify() {
+        TickOHLCSeries s = createSeries();
+        s.addChangeListener(this);
+        s.setNotify(false);
+        s.addTick(0L, 1.0, 1.0);
+        s.addTick(10L, 2.0, 1.0);
+        assertNull(this.lastEvent);
+        assertEquals(1, s.getItemCount());
+    }
+
+    /**
+     * The collection passes on the detail from the series events.
+     */
+    @Test
+    public void testCollectionEvents() {
+        final DatasetChangeEvent[] last = new DatasetChangeEvent[1];
+        OHLCSeriesCollection dataset = new OHLCSeriesCollection();
+        dataset.addSeries(new OHLCSeries("A"));
+        TickOHLCSeries s = createSeries();
+        dataset.addSeries(s);
+        dataset.addChangeListener(new DatasetChangeListener() {
+            @Override
+            public void datasetChanged(DatasetChangeEvent event) {
+                last[0] = event;
+            }
+        });
+        s.addTick(0L, 1.0, 3.0);
+        s.addTick(1L, 2.0, 3.0);
+        SeriesDatasetChangeEvent e = (SeriesDatasetChangeEvent) last[0];
+        assertEquals(DatasetChangeType.ITEMS_UPDATED, e.getType());
+        assertEquals(1, e.getSeries());
+        assertEquals(0, e.getFirstItem());
+        assertEquals(6.0, dataset.getVolumeValue(1, 0), EPSILON);
+        assertEquals(6.0, dataset.getVolume(1, 0).doubleValue(), EPSILON);
+        assertEquals(2.0, dataset.getCloseValue(1, 0), EPSILON);
+    }
+
+    /**
+     * Ticks added to a clone do not change the original.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        TickOHLCSeries s1 = createSeries();
+        s1.addTick(0L, 1.0, 1.0);
+        TickOHLCSeries s2 = (TickOHLCSeries) s1.clone();
+        assertTrue(s1 != s2);
+        assertTrue(s1.equals(s2));
+        s2.addTick(1L, 5.0, 1.0);
+        assertFalse(s1.equals(s2));
+        assertBar(s1, 0, 1.0, 1.0, 1.0, 1.0, 1.0);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        TickOHLCSeries s1 = createSeries();
+        s1.addTick(0L, 1.0, 1.0);
+        TickOHLCSeries s2 = (TickOHLCSeries) TestUtils.serialised(s1);
+        assertEquals(s1, s2);
+        s2.addTick(1L, 2.0, 1.0);
+        assertEquals(1, s2.getItemCount());
+        assertBar(s2, 0, 1.0, 2.0, 1.0, 2.0, 2.0);
+    }
+
+}